@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -127,6 +128,44 @@ public class ExportUsfmTest extends InstrumentationTestCase {
         verifyExportedUsfmFile(zipFileName, separateChapters, source, usfmOutput);
     }
 
+    public void test05ValidExportZipOfBooks() throws Exception {
+        //given
+        String source = "mrk.usfm";
+        importTestTranslation(source);
+        List<TargetTranslation> targetTranslations = Arrays.asList(mTargetTranslation, mTargetTranslation);
+
+        //when
+        Uri zipOutput = ExportUsfm.saveToUSFMZip(targetTranslations, Uri.fromFile(mOutputFolder), "books.zip", false);
+
+        //then
+        assertNotNull("exported zip", zipOutput);
+        File unzipFolder = new File(mTempFolder, "scratch_test_unzip");
+        FileUtilities.forceMkdir(unzipFolder);
+        Zip.unzipFromStream(new FileInputStream(new File(zipOutput.getPath())), unzipFolder);
+        File[] usfmFiles = unzipFolder.listFiles();
+        assertEquals("each book should have its own file", 2, usfmFiles.length);
+        mErrorLog = "";
+        for(File usfmFile:usfmFiles) {
+            verifySingleUsfmFile(source, usfmFile);
+        }
+        if(!mErrorLog.isEmpty()) {
+            fail("Errors found:\n" + mErrorLog);
+        }
+    }
+
+    public void test06FailedExportZipIsRemoved() throws Exception {
+        //given
+        importTestTranslation("mrk.usfm");
+        List<TargetTranslation> targetTranslations = Arrays.asList(mTargetTranslation, null);
+
+        //when
+        Uri zipOutput = ExportUsfm.saveToUSFMZip(targetTranslations, Uri.fromFile(mOutputFolder), "books.zip", false);
+
+        //then
+        assertNull("export should fail", zipOutput);
+        assertFalse("partial zip should be removed", new File(mOutputFolder, "books.zip").exists());
+    }
+
 //    public void test08ValidExportIsaiahSingle() throws Exception {
 //        //given
 //        String zipFileName = null;
@@ -5,6 +5,7 @@ import android.app.Application;
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
+import android.content.pm.PackageManager;
 import android.content.res.Configuration;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
@@ -28,20 +29,25 @@ import org.unfoldingword.tools.foreground.Foreground;
 import org.unfoldingword.tools.logger.LogLevel;
 import org.unfoldingword.tools.logger.Logger;
 import com.door43.translationstudio.core.ArchiveDetails;
-import com.door43.translationstudio.core.Migration;
+import com.door43.translationstudio.core.BundledContainers;
+import com.door43.translationstudio.core.CatalogSyncState;
+import com.door43.translationstudio.core.DeploymentMarker;
 import com.door43.translationstudio.core.NewLanguageRequest;
 import com.door43.translationstudio.core.Profile;
+import com.door43.translationstudio.core.SourceCatalog;
 import com.door43.translationstudio.core.TargetTranslation;
+import com.door43.translationstudio.core.TranslationSettings;
 import com.door43.translationstudio.core.TranslationViewMode;
 import com.door43.translationstudio.core.Translator;
 import com.door43.translationstudio.core.Util;
+import com.door43.translationstudio.git.GitSessionFactory;
 import com.door43.translationstudio.services.BackupService;
+import com.door43.translationstudio.tasks.SearchGogsRepositoriesTask;
 import com.door43.translationstudio.ui.SettingsActivity;
 import com.door43.util.SdUtils;
 import com.door43.util.FileUtilities;
 import com.door43.util.StorageUtils;
 import com.door43.util.StringUtilities;
-import com.door43.util.Zip;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.KeyPair;
 import com.nostra13.universalimageloader.core.ImageLoader;
@@ -59,6 +65,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * This class provides global access to the application context as well as other important tools
@@ -76,16 +83,23 @@ public class App extends Application {
 
     private static final String PREFERENCES_NAME = "com.door43.translationstudio.general";
 //    private static final String DEFAULT_LIBRARY_ZIP = "library.zip";
-    private static final String LAST_VIEW_MODE = "last_view_mode_";
-    private static final String LAST_FOCUS_CHAPTER = "last_focus_chapter_";
-    private static final String LAST_FOCUS_FRAME = "last_focus_frame_";
-    private static final String OPEN_SOURCE_TRANSLATIONS = "open_source_translations_";
-    private static final String SELECTED_SOURCE_TRANSLATION = "selected_source_translation_";
     private static final String LAST_CHECKED_SERVER_FOR_UPDATES = "last_checked_server_for_updates";
 //    private static final String ASSETS_DIR = "assets";
     public static final int MIN_CHECKING_LEVEL = 3;
     private static ImageLoader mImageLoader;
     private static App sInstance;
+    private static final Object sLibraryLock = new Object();
+    private static Door43Client sLibrary = null;
+    private static BundledContainers sBundledContainers = null;
+    private static volatile boolean sLibraryDeployed = false;
+    private static int sVersionCode = -1;
+    private static final Object sProfileLock = new Object();
+    private static Profile sProfile = null;
+    private static boolean sProfileLoaded = false;
+    private static Translator sTranslator = null;
+    private static final List<OnProfileChangedListener> sProfileListeners = new CopyOnWriteArrayList<>();
+    private static final Object sSettingsLock = new Object();
+    private static TranslationSettings sTranslationSettings = null;
     private static String targetTranslationWithUpdates = null;
     private static File imagesDir;
     public final static long minimumRequiredRAM = 96 * 1024 * 1024; // 96 MB, Minimum RAM needed for reliable operation
@@ -123,6 +137,14 @@ public class App extends Application {
         PreferenceManager.setDefaultValues(this, R.xml.server_preferences, false);
         PreferenceManager.setDefaultValues(this, R.xml.sharing_preferences, false);
         PreferenceManager.setDefaultValues(this, R.xml.advanced_preferences, false);
+
+        // search results depend on who is logged in
+        addOnProfileChangedListener(new OnProfileChangedListener() {
+            @Override
+            public void onProfileChanged(Profile profile) {
+                SearchGogsRepositoriesTask.clearCache();
+            }
+        });
     }
 
     /**
@@ -214,6 +236,8 @@ public class App extends Application {
         catch(Exception e) {
             e.printStackTrace();
         }
+        // load the new keys the next time we connect
+        GitSessionFactory.reset();
     }
 
     /**
@@ -342,17 +366,87 @@ public class App extends Application {
     }
 
     /**
-     * Returns an instance of the door43 client
+     * Returns the shared instance of the door43 client.
+     * The index is opened the first time the library is used and stays open
+     * until the library is closed or deleted.
      * @return
      */
     @Nullable
     public static Door43Client getLibrary() {
-        try {
-            return new Door43Client(sInstance, dbFile(), containersDir());
-        } catch (IOException e) {
-            Logger.e(TAG, "Failed to initialize the door43 client", e);
+        synchronized (sLibraryLock) {
+            if(sLibrary == null) {
+                try {
+                    sLibrary = new Door43Client(sInstance, dbFile(), containersDir());
+                } catch (IOException e) {
+                    Logger.e(TAG, "Failed to initialize the door43 client", e);
+                }
+            }
+            return sLibrary;
         }
-        return null;
+    }
+
+    /**
+     * Closes the shared door43 client.
+     * The library will be opened again the next time it is requested.
+     * This must be called before the index is replaced on the disk.
+     */
+    public static void closeLibrary() {
+        synchronized (sLibraryLock) {
+            if(sLibrary != null) {
+                try {
+                    sLibrary.tearDown();
+                } catch (Exception e) {
+                    Logger.w(TAG, "Failed to close the door43 client", e);
+                }
+                sLibrary = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the resource containers packaged with the app that have not been extracted yet
+     * @return
+     */
+    public static BundledContainers getBundledContainers() {
+        synchronized (sLibraryLock) {
+            if(sBundledContainers == null) {
+                sBundledContainers = new BundledContainers(new File(databaseDir(), "containers.zip"),
+                        new File(databaseDir(), "containers_pending.txt"), containersDir());
+            }
+            return sBundledContainers;
+        }
+    }
+
+    /**
+     * Checks if a resource container is available in the library.
+     * Containers that are packaged with the app are available even if they have not been extracted yet.
+     * @param library
+     * @param containerSlug
+     * @return
+     */
+    public static boolean containerExists(Door43Client library, String containerSlug) {
+        return library.exists(containerSlug) || getBundledContainers().isPending(containerSlug);
+    }
+
+    /**
+     * Deletes a resource container from the library.
+     * A container packaged with the app that has not been extracted yet is forgotten as well
+     * otherwise it would still be reported as downloaded.
+     * @param library
+     * @param containerSlug
+     */
+    public static void deleteContainer(Door43Client library, String containerSlug) {
+        getBundledContainers().discard(containerSlug);
+        library.delete(containerSlug);
+    }
+
+    /**
+     * Extracts a resource container packaged with the app if it has not been extracted yet.
+     * This should be called before opening a container from the library.
+     * @param containerSlug
+     */
+    public static void prepareContainer(String containerSlug) {
+        getBundledContainers().extract(containerSlug);
     }
 
     /**
@@ -377,7 +471,7 @@ public class App extends Application {
      * The index (database) file
      * @return
      */
-    private static File dbFile() {
+    public static File dbFile() {
         return new File(databaseDir(), "index.sqlite");
     }
 
@@ -396,23 +490,80 @@ public class App extends Application {
      */
     public static void deployDefaultLibrary() throws Exception {
         Logger.i(TAG, "deploying the default library to " + containersDir().getParentFile());
+        closeLibrary();
         // copy index
         Util.writeStream(sInstance.getAssets().open("index.sqlite"), dbFile());
-        // extract resource containers
+        // resource containers are extracted when they are first opened
         File dir = containersDir();
         dir.mkdirs();
-        Zip.unzipFromStream(sInstance.getAssets().open("containers.zip"), dir);
+        getBundledContainers().install(sInstance.getAssets().open("containers.zip"));
+        getCatalogSyncState().reset();
+        markLibraryDeployed();
     }
 
     /**
-     * Check if the default index and resource containers have been deployed
+     * Check if the default index and resource containers have been deployed.
+     * The library is only inspected if it has changed since it was last marked as deployed.
      * @return
      */
     public static boolean isLibraryDeployed() {
-        boolean hasContainers = containersDir().exists() && containersDir().isDirectory() && containersDir().list().length > 0;
+        if(sLibraryDeployed && dbFile().isFile()) return true;
+
+        DeploymentMarker marker = DeploymentMarker.read(deploymentMarkerFile());
+        if(marker != null && marker.matches(getVersionCode(), dbFile(), containersDir())) {
+            sLibraryDeployed = true;
+            return true;
+        }
+
+        boolean hasContainers = containersDir().exists() && containersDir().isDirectory()
+                && (containersDir().list().length > 0 || getBundledContainers().listPending().size() > 0);
         Door43Client library = getLibrary();
-        return library != null && library.index.getSourceLanguages().size() > 0 && hasContainers;
-//        return dbFile().exists() && dbFile().isFile() && ;
+        boolean deployed = library != null && library.index.getSourceLanguages().size() > 0 && hasContainers;
+        if(deployed) {
+            markLibraryDeployed();
+        }
+        return deployed;
+    }
+
+    /**
+     * Records that the library is deployed in its current state.
+     * This should be called whenever the library has been deployed or updated.
+     */
+    public static void markLibraryDeployed() {
+        DeploymentMarker.create(getVersionCode(), dbFile(), containersDir(), getBundledContainers().listPending().size()).write(deploymentMarkerFile());
+        sLibraryDeployed = true;
+    }
+
+    /**
+     * The file that records the deployment of the library
+     * @return
+     */
+    private static File deploymentMarkerFile() {
+        return new File(databaseDir(), "deployed.json");
+    }
+
+    /**
+     * Returns the state of the last catalog sync
+     * @return
+     */
+    public static CatalogSyncState getCatalogSyncState() {
+        return new CatalogSyncState(new File(databaseDir(), "catalog_sync.json"));
+    }
+
+    /**
+     * Returns the version code of the app
+     * @return
+     */
+    private static int getVersionCode() {
+        if(sVersionCode == -1) {
+            try {
+                sVersionCode = sInstance.getPackageManager().getPackageInfo(sInstance.getPackageName(), 0).versionCode;
+            } catch (PackageManager.NameNotFoundException e) {
+                Logger.e(TAG, "Failed to read the version code", e);
+                return 0;
+            }
+        }
+        return sVersionCode;
     }
 
     /**
@@ -420,23 +571,28 @@ public class App extends Application {
      * ... or just the source content
      */
     public static void deleteLibrary() {
-        try {
-            Door43Client client = getLibrary();
-            if(client != null) client.tearDown();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        sLibraryDeployed = false;
+        FileUtilities.deleteQuietly(deploymentMarkerFile());
+        getCatalogSyncState().reset();
+        closeLibrary();
+        getBundledContainers().delete();
         FileUtilities.deleteQuietly(dbFile());
         FileUtilities.deleteQuietly(containersDir());
+        SourceCatalog.invalidate();
     }
 
     /**
-     * Returns an instance of the translator.
+     * Returns the shared instance of the translator.
      * Target translations are stored in the public directory so that they persist if the app is uninstalled.
      * @return
      */
     public static Translator getTranslator() {
-        return new Translator(sInstance, getProfile(), new File(publicDir(), "translations"));
+        synchronized (sProfileLock) {
+            if(sTranslator == null) {
+                sTranslator = new Translator(sInstance, getProfile(), new File(publicDir(), "translations"));
+            }
+            return sTranslator;
+        }
     }
 
     /**
@@ -638,10 +794,7 @@ public class App extends Application {
      * @param viewMode
      */
     public static void setLastViewMode(String targetTranslationId, TranslationViewMode viewMode) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.putString(LAST_VIEW_MODE + targetTranslationId, viewMode.name().toUpperCase());
-        editor.apply();
+        getTranslationSettings().setLastViewMode(targetTranslationId, viewMode);
     }
 
     /**
@@ -652,12 +805,8 @@ public class App extends Application {
      * @return
      */
     public static TranslationViewMode getLastViewMode(String targetTranslationId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        try {
-            String modeName = prefs.getString(LAST_VIEW_MODE + targetTranslationId, TranslationViewMode.READ.name());
-            return TranslationViewMode.valueOf(modeName.toUpperCase());
-        } catch (Exception e) {}
-        return TranslationViewMode.READ;
+        TranslationViewMode viewMode = getTranslationSettings().getLastViewMode(targetTranslationId);
+        return viewMode != null ? viewMode : TranslationViewMode.READ;
     }
 
     /**
@@ -688,11 +837,7 @@ public class App extends Application {
      * @param frameId
      */
     public static void setLastFocus(String targetTranslationId, String chapterId, String frameId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.putString(LAST_FOCUS_CHAPTER + targetTranslationId, chapterId);
-        editor.putString(LAST_FOCUS_FRAME + targetTranslationId, frameId);
-        editor.apply();
+        getTranslationSettings().setLastFocus(targetTranslationId, chapterId, frameId);
         setLastFocusTargetTranslation(targetTranslationId);
     }
 
@@ -702,8 +847,7 @@ public class App extends Application {
      * @return
      */
     public static String getLastFocusChapterId(String targetTranslationId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        return prefs.getString(LAST_FOCUS_CHAPTER + targetTranslationId, null);
+        return getTranslationSettings().getLastFocusChapterId(targetTranslationId);
     }
 
     /**
@@ -712,8 +856,7 @@ public class App extends Application {
      * @return
      */
     public static String getLastFocusFrameId(String targetTranslationId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        return prefs.getString(LAST_FOCUS_FRAME + targetTranslationId, null);
+        return getTranslationSettings().getLastFocusFrameId(targetTranslationId);
     }
 
     /**
@@ -723,18 +866,7 @@ public class App extends Application {
      */
     public static void addOpenSourceTranslation(String targetTranslationId, String sourceTranslationId) {
         if(sourceTranslationId != null && !sourceTranslationId.isEmpty()) {
-            SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-            SharedPreferences.Editor editor = prefs.edit();
-            String[] sourceTranslationIds = getOpenSourceTranslations(targetTranslationId);
-            String newIdSet = "";
-            for (String id : sourceTranslationIds) {
-                if (!id.equals(sourceTranslationId)) {
-                    newIdSet += id + "|";
-                }
-            }
-            newIdSet += sourceTranslationId;
-            editor.putString(OPEN_SOURCE_TRANSLATIONS + targetTranslationId, newIdSet);
-            editor.apply();
+            getTranslationSettings().addOpenSourceTranslation(targetTranslationId, sourceTranslationId);
         }
     }
 
@@ -745,24 +877,7 @@ public class App extends Application {
      */
     public static void removeOpenSourceTranslation(String targetTranslationId, String sourceTranslationId) {
         if(sourceTranslationId != null && !sourceTranslationId.isEmpty()) {
-            SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-            SharedPreferences.Editor editor = prefs.edit();
-            String[] sourceTranslationIds = getOpenSourceTranslations(targetTranslationId);
-            String newIdSet = "";
-            for (String id : sourceTranslationIds) {
-                if (!id.equals(sourceTranslationId)) {
-                    if (newIdSet.isEmpty()) {
-                        newIdSet = id;
-                    } else {
-                        newIdSet += "|" + id;
-                    }
-                } else if(id.equals(getSelectedSourceTranslationId(targetTranslationId))) {
-                    // unset the selected tab if it is removed
-                    setSelectedSourceTranslation(targetTranslationId, null);
-                }
-            }
-            editor.putString(OPEN_SOURCE_TRANSLATIONS + targetTranslationId, newIdSet);
-            editor.apply();
+            getTranslationSettings().removeOpenSourceTranslation(targetTranslationId, sourceTranslationId);
         }
     }
 
@@ -772,17 +887,7 @@ public class App extends Application {
      * @return
      */
     public static String[] getOpenSourceTranslations(String targetTranslationId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        String idSet = prefs.getString(OPEN_SOURCE_TRANSLATIONS + targetTranslationId, "").trim();
-        if(idSet.isEmpty()) {
-            return new String[0];
-        } else {
-            String[] ids = idSet.split("\\|");
-            for(int i=0; i < ids.length; i ++) {
-                ids[i] = Migration.migrateSourceTranslationSlug(ids[i]);
-            }
-            return ids;
-        }
+        return getTranslationSettings().getOpenSourceTranslations(targetTranslationId);
     }
 
     /**
@@ -791,14 +896,7 @@ public class App extends Application {
      * @param sourceTranslationId if null the selection will be unset
      */
     public static void setSelectedSourceTranslation(String targetTranslationId, String sourceTranslationId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        if(sourceTranslationId != null && !sourceTranslationId.isEmpty()) {
-            editor.putString(SELECTED_SOURCE_TRANSLATION + targetTranslationId, Migration.migrateSourceTranslationSlug(sourceTranslationId));
-        } else {
-            editor.remove(SELECTED_SOURCE_TRANSLATION + targetTranslationId);
-        }
-        editor.apply();
+        getTranslationSettings().setSelectedSourceTranslation(targetTranslationId, sourceTranslationId);
     }
 
     /**
@@ -808,17 +906,7 @@ public class App extends Application {
      * @return
      */
     public static String getSelectedSourceTranslationId(String targetTranslationId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        String selectedSourceTranslationId = prefs.getString(SELECTED_SOURCE_TRANSLATION + targetTranslationId, null);
-        if(selectedSourceTranslationId == null || selectedSourceTranslationId.isEmpty()) {
-            // default to first tab
-            String[] openSourceTranslationIds = getOpenSourceTranslations(targetTranslationId);
-            if(openSourceTranslationIds.length > 0) {
-                selectedSourceTranslationId = openSourceTranslationIds[0];
-                setSelectedSourceTranslation(targetTranslationId, selectedSourceTranslationId);
-            }
-        }
-        return Migration.migrateSourceTranslationSlug(selectedSourceTranslationId);
+        return getTranslationSettings().getSelectedSourceTranslationId(targetTranslationId);
     }
 
     /**
@@ -826,14 +914,34 @@ public class App extends Application {
      * @param targetTranslationId
      */
     public static void clearTargetTranslationSettings(String targetTranslationId) {
-        SharedPreferences prefs = sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.remove(SELECTED_SOURCE_TRANSLATION + targetTranslationId);
-        editor.remove(OPEN_SOURCE_TRANSLATIONS + targetTranslationId);
-        editor.remove(LAST_FOCUS_FRAME + targetTranslationId);
-        editor.remove(LAST_FOCUS_CHAPTER + targetTranslationId);
-        editor.remove(LAST_VIEW_MODE + targetTranslationId);
-        editor.apply();
+        getTranslationSettings().clear(targetTranslationId);
+    }
+
+    /**
+     * Writes any pending changes to the target translation settings to the disk
+     */
+    public static void flushTranslationSettings() {
+        TranslationSettings settings;
+        synchronized (sSettingsLock) {
+            settings = sTranslationSettings;
+        }
+        if(settings != null) {
+            settings.flush();
+        }
+    }
+
+    /**
+     * Returns the settings of the target translations
+     * @return
+     */
+    private static TranslationSettings getTranslationSettings() {
+        synchronized (sSettingsLock) {
+            if(sTranslationSettings == null) {
+                sTranslationSettings = new TranslationSettings(new File(sInstance.getFilesDir(), "translation_settings.json"),
+                        sInstance.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE));
+            }
+            return sTranslationSettings;
+        }
     }
 
     /**
@@ -901,10 +1009,25 @@ public class App extends Application {
     }
 
     /**
-     * Returns the current user profile
+     * Returns the current user profile.
+     * The profile is only read from the preferences once and then kept until it is changed.
      * @return
      */
     public static Profile getProfile() {
+        synchronized (sProfileLock) {
+            if(!sProfileLoaded) {
+                sProfile = loadProfile();
+                sProfileLoaded = true;
+            }
+            return sProfile;
+        }
+    }
+
+    /**
+     * Reads the user profile from the preferences
+     * @return
+     */
+    private static Profile loadProfile() {
         String profileString = getUserString("profile", null);
 
         try {
@@ -930,10 +1053,55 @@ public class App extends Application {
             } else {
                 setUserString("profile", null);
                 FileUtilities.deleteQuietly(getKeysFolder());
+                GitSessionFactory.reset();
             }
         } catch (JSONException e) {
             Logger.e(TAG, "setProfile: Failed to encode profile data", e);
         }
+        onProfileChanged(profile);
+    }
+
+    /**
+     * Registers a listener that is notified when the user logs in, logs out or changes their profile
+     * @param listener
+     */
+    public static void addOnProfileChangedListener(OnProfileChangedListener listener) {
+        sProfileListeners.add(listener);
+    }
+
+    /**
+     * Removes a profile listener
+     * @param listener
+     */
+    public static void removeOnProfileChangedListener(OnProfileChangedListener listener) {
+        sProfileListeners.remove(listener);
+    }
+
+    /**
+     * Updates everything that depends on the user profile
+     * @param profile
+     */
+    private static void onProfileChanged(Profile profile) {
+        synchronized (sProfileLock) {
+            sProfile = profile;
+            sProfileLoaded = true;
+            if(sTranslator != null) {
+                sTranslator.setProfile(profile);
+            }
+        }
+        for(OnProfileChangedListener listener:sProfileListeners) {
+            listener.onProfileChanged(profile);
+        }
+    }
+
+    /**
+     * Notified when the user profile changes
+     */
+    public interface OnProfileChangedListener {
+        /**
+         * @param profile the new profile. Null if the user logged out
+         */
+        void onProfileChanged(Profile profile);
     }
 
     /**
@@ -1110,10 +1278,6 @@ public class App extends Application {
         }
     }
 
-    public static boolean hasImages() {
-        return false;
-    }
-
     /**
      * Generates a unique temporary directory
      * @return a new directory
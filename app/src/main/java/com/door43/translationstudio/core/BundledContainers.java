@@ -0,0 +1,273 @@
+package com.door43.translationstudio.core;
+
+import com.door43.util.FileUtilities;
+
+import org.unfoldingword.tools.logger.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The resource containers that are packaged with the app.
+ * Rather than extracting every container when the library is deployed the archive is kept on the disk
+ * and each container is extracted the first time it is needed.
+ * The containers that have not been extracted yet are recorded in a pending list so they survive restarts.
+ */
+public class BundledContainers {
+    private static final String TAG = "BundledContainers";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final File archive;
+    private final File pendingFile;
+    private final File containersDir;
+    private final Object extractLock = new Object();
+    private Set<String> pending = null;
+    private ZipFile zip = null;
+    private Map<String, List<ZipEntry>> entries = null;
+
+    /**
+     * @param archive the copy of the packaged archive
+     * @param pendingFile the list of containers that have not been extracted
+     * @param containersDir the directory where containers are extracted
+     */
+    public BundledContainers(File archive, File pendingFile, File containersDir) {
+        this.archive = archive;
+        this.pendingFile = pendingFile;
+        this.containersDir = containersDir;
+    }
+
+    /**
+     * Copies the packaged archive to the disk and marks all of its containers as pending.
+     * Containers that already exist in the containers directory are not marked.
+     * @param packagedArchive the archive of containers packaged with the app
+     * @throws IOException
+     */
+    public void install(InputStream packagedArchive) throws IOException {
+        synchronized (extractLock) {
+            closeArchive();
+            archive.getParentFile().mkdirs();
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(archive), BUFFER_SIZE);
+            try {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int count;
+                while ((count = packagedArchive.read(buffer)) != -1) {
+                    out.write(buffer, 0, count);
+                }
+            } finally {
+                out.close();
+                packagedArchive.close();
+            }
+
+            Set<String> slugs = new LinkedHashSet<>();
+            for(String slug:index().keySet()) {
+                if(!new File(containersDir, slug).exists()) {
+                    slugs.add(slug);
+                }
+            }
+            synchronized (this) {
+                pending = slugs;
+                savePending();
+            }
+            if(slugs.isEmpty()) {
+                deleteArchive();
+            }
+        }
+    }
+
+    /**
+     * Checks if the container is bundled with the app but has not been extracted yet
+     * @param containerSlug
+     * @return
+     */
+    public synchronized boolean isPending(String containerSlug) {
+        return getPending().contains(containerSlug);
+    }
+
+    /**
+     * Returns the containers that have not been extracted yet
+     * @return
+     */
+    public synchronized List<String> listPending() {
+        return new ArrayList<>(getPending());
+    }
+
+    /**
+     * Extracts the container if it is bundled with the app and has not been extracted yet.
+     * The container is extracted to a temporary directory first so a partially extracted
+     * container is never opened.
+     * @param containerSlug
+     * @return true if the container was extracted
+     */
+    public boolean extract(String containerSlug) {
+        if(!isPending(containerSlug)) return false;
+
+        synchronized (extractLock) {
+            // another thread may have finished first
+            if(!isPending(containerSlug)) return false;
+
+            File destination = new File(containersDir, containerSlug);
+            boolean extracted = false;
+            if(!destination.exists()) {
+                File tempDir = new File(containersDir, containerSlug + ".extracting");
+                FileUtilities.deleteQuietly(tempDir);
+                try {
+                    List<ZipEntry> containerEntries = index().get(containerSlug);
+                    if(containerEntries != null) {
+                        for (ZipEntry entry : containerEntries) {
+                            extractEntry(entry, new File(tempDir, entry.getName().substring(containerSlug.length())));
+                        }
+                        extracted = tempDir.renameTo(destination);
+                    }
+                    if(!extracted) FileUtilities.deleteQuietly(tempDir);
+                } catch (IOException e) {
+                    Logger.e(TAG, "Failed to extract the bundled container " + containerSlug, e);
+                    FileUtilities.deleteQuietly(tempDir);
+                    return false;
+                }
+            }
+            discard(containerSlug);
+            return extracted;
+        }
+    }
+
+    /**
+     * Stops tracking a container e.g. if it was downloaded or deleted.
+     * This waits for an extraction that is in progress so the container is not extracted
+     * again after it was deleted.
+     * @param containerSlug
+     */
+    public void discard(String containerSlug) {
+        synchronized (extractLock) {
+            boolean finished;
+            synchronized (this) {
+                if(!getPending().remove(containerSlug)) return;
+                savePending();
+                finished = pending.isEmpty();
+            }
+            if(finished) {
+                // everything has been extracted
+                deleteArchive();
+            }
+        }
+    }
+
+    /**
+     * Removes the archive and the pending list
+     */
+    public void delete() {
+        synchronized (extractLock) {
+            synchronized (this) {
+                pending = new LinkedHashSet<>();
+                FileUtilities.deleteQuietly(pendingFile);
+            }
+            deleteArchive();
+        }
+    }
+
+    private void extractEntry(ZipEntry entry, File file) throws IOException {
+        if(entry.isDirectory()) {
+            file.mkdirs();
+            return;
+        }
+        file.getParentFile().mkdirs();
+        InputStream in = zip.getInputStream(entry);
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+        } finally {
+            out.close();
+            in.close();
+        }
+    }
+
+    /**
+     * Groups the entries of the archive by container.
+     * The first directory of each entry is the container slug.
+     * @return
+     * @throws IOException
+     */
+    private Map<String, List<ZipEntry>> index() throws IOException {
+        if(entries == null) {
+            zip = new ZipFile(archive);
+            Map<String, List<ZipEntry>> map = new HashMap<>();
+            Enumeration<? extends ZipEntry> all = zip.entries();
+            while(all.hasMoreElements()) {
+                ZipEntry entry = all.nextElement();
+                String name = entry.getName();
+                int separator = name.indexOf('/');
+                if(separator <= 0) continue;
+                String slug = name.substring(0, separator);
+                List<ZipEntry> containerEntries = map.get(slug);
+                if(containerEntries == null) {
+                    containerEntries = new ArrayList<>();
+                    map.put(slug, containerEntries);
+                }
+                containerEntries.add(entry);
+            }
+            entries = map;
+        }
+        return entries;
+    }
+
+    private Set<String> getPending() {
+        if(pending == null) {
+            pending = new LinkedHashSet<>();
+            if(pendingFile.isFile() && archive.isFile()) {
+                try {
+                    for(String slug:FileUtilities.readFileToString(pendingFile).split("\n")) {
+                        if(!slug.trim().isEmpty()) pending.add(slug.trim());
+                    }
+                } catch (IOException e) {
+                    Logger.e(TAG, "Failed to read the pending containers", e);
+                }
+            }
+        }
+        return pending;
+    }
+
+    private void savePending() {
+        StringBuilder sb = new StringBuilder();
+        for(String slug:pending) {
+            sb.append(slug).append("\n");
+        }
+        try {
+            FileUtilities.writeStringToFile(pendingFile, sb.toString());
+        } catch (IOException e) {
+            Logger.e(TAG, "Failed to save the pending containers", e);
+        }
+    }
+
+    private void closeArchive() {
+        if(zip != null) {
+            try {
+                zip.close();
+            } catch (IOException e) {
+                Logger.e(TAG, "Failed to close the bundled containers archive", e);
+            }
+        }
+        zip = null;
+        entries = null;
+    }
+
+    private void deleteArchive() {
+        closeArchive();
+        FileUtilities.deleteQuietly(archive);
+    }
+}
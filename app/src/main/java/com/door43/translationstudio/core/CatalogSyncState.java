@@ -0,0 +1,194 @@
+package com.door43.translationstudio.core;
+
+import com.door43.util.FileUtilities;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.unfoldingword.tools.logger.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Remembers the version of the root catalog that was last indexed completely.
+ * The root catalog lists the modification date of every project so if it has not changed
+ * since the last sync none of the catalogs below it have changed either and the sync can be skipped.
+ * The server is asked with a conditional request. The library downloads the root catalog again
+ * when it syncs so the content is only downloaded and compared by hash when the server
+ * does not send an ETag or Last-Modified header.
+ */
+public class CatalogSyncState {
+    private static final String TAG = "CatalogSyncState";
+    // sync everything once in a while in case the server changed a catalog without changing the root
+    private static final long MAX_AGE = 7L * 24 * 60 * 60 * 1000;
+    private static final int TIMEOUT = 10000;
+
+    private final File file;
+    private String pendingUrl = null;
+    private String pendingEtag = null;
+    private String pendingLastModified = null;
+    private String pendingHash = null;
+    private long pendingSyncedAt = 0;
+    private boolean pendingChunks = false;
+
+    /**
+     * @param file the file where the state is stored
+     */
+    public CatalogSyncState(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Checks if the root catalog has changed since the last complete sync.
+     * If anything goes wrong the catalog is assumed to have changed.
+     * @param url the url of the root catalog
+     * @return true if the catalogs must be synced
+     */
+    public boolean hasChanged(String url) {
+        pendingUrl = url;
+        pendingEtag = null;
+        pendingLastModified = null;
+        pendingHash = null;
+        pendingSyncedAt = 0;
+        pendingChunks = false;
+
+        JSONObject last = read();
+        boolean fresh = last != null
+                && url.equals(last.optString("url"))
+                && System.currentTimeMillis() - last.optLong("synced_at", 0) < MAX_AGE;
+
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
+            if(fresh) {
+                if(!last.optString("etag").isEmpty()) {
+                    connection.setRequestProperty("If-None-Match", last.optString("etag"));
+                }
+                if(!last.optString("last_modified").isEmpty()) {
+                    connection.setRequestProperty("If-Modified-Since", last.optString("last_modified"));
+                }
+            }
+            int code = connection.getResponseCode();
+            if(fresh && code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                pendingEtag = last.optString("etag");
+                pendingLastModified = last.optString("last_modified");
+                pendingHash = last.optString("hash");
+                pendingSyncedAt = last.optLong("synced_at", 0);
+                pendingChunks = last.optBoolean("chunks", false);
+                return false;
+            }
+            if(code != HttpURLConnection.HTTP_OK) return true;
+
+            pendingEtag = connection.getHeaderField("ETag");
+            pendingLastModified = connection.getHeaderField("Last-Modified");
+            boolean changed;
+            if(pendingEtag != null || pendingLastModified != null) {
+                // the server ignored the conditional request but the headers still identify the version
+                changed = !(fresh && nullToEmpty(pendingEtag).equals(last.optString("etag"))
+                        && nullToEmpty(pendingLastModified).equals(last.optString("last_modified")));
+            } else {
+                pendingHash = hash(connection.getInputStream());
+                changed = !(fresh && pendingHash.equals(last.optString("hash")));
+            }
+            if(!changed) {
+                pendingSyncedAt = last.optLong("synced_at", 0);
+                pendingChunks = last.optBoolean("chunks", false);
+            }
+            return changed;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            Logger.w(TAG, "Failed to check the root catalog " + url, e);
+            pendingUrl = null;
+            return true;
+        } finally {
+            if(connection != null) connection.disconnect();
+        }
+    }
+
+    /**
+     * Checks if the chunks were synced along with the unchanged root catalog seen by the last call
+     * to {@link #hasChanged(String)}
+     * @return
+     */
+    public boolean chunksSynced() {
+        return pendingChunks;
+    }
+
+    /**
+     * Records that the catalog seen by the last call to {@link #hasChanged(String)} has been synced completely.
+     * Skipped syncs are not recorded so a full sync still happens once in a while.
+     * @param chunks true if the chunks were synced as well as the sources
+     */
+    public void markSynced(boolean chunks) {
+        if(pendingUrl == null || (pendingHash == null && pendingEtag == null && pendingLastModified == null)) {
+            // we don't know which version was synced
+            reset();
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject();
+            json.put("url", pendingUrl);
+            json.put("etag", nullToEmpty(pendingEtag));
+            json.put("last_modified", nullToEmpty(pendingLastModified));
+            json.put("hash", nullToEmpty(pendingHash));
+            // TRICKY: an unchanged catalog keeps the time of the full sync
+            json.put("synced_at", pendingSyncedAt > 0 ? pendingSyncedAt : System.currentTimeMillis());
+            json.put("chunks", chunks);
+            file.getParentFile().mkdirs();
+            FileUtilities.writeStringToFile(file, json.toString());
+        } catch (JSONException | IOException e) {
+            Logger.w(TAG, "Failed to write the catalog sync state", e);
+        }
+    }
+
+    /**
+     * Forgets the last sync so the next sync is a full sync.
+     * This should be called whenever the index is replaced.
+     */
+    public void reset() {
+        FileUtilities.deleteQuietly(file);
+    }
+
+    /**
+     * Reads the state of the last sync
+     * @return the state or null if there was no sync
+     */
+    private JSONObject read() {
+        if(!file.isFile()) return null;
+        try {
+            return new JSONObject(FileUtilities.readFileToString(file));
+        } catch (Exception e) {
+            Logger.w(TAG, "Failed to read the catalog sync state", e);
+            return null;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String hash(InputStream in) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        DigestInputStream stream = new DigestInputStream(in, digest);
+        try {
+            byte[] buffer = new byte[8 * 1024];
+            while(stream.read(buffer) != -1) {
+                // the digest is updated as the stream is read
+            }
+        } finally {
+            stream.close();
+        }
+        StringBuilder hex = new StringBuilder();
+        for(byte b:digest.digest()) {
+            hex.append(String.format("%02x", b & 0xff));
+        }
+        return hex.toString();
+    }
+}
@@ -1,5 +1,7 @@
 package com.door43.translationstudio.core;
 
+import com.door43.translationstudio.App;
+
 import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.resourcecontainer.ContainerTools;
@@ -82,13 +84,14 @@ public class ContainerCache {
             // flag as loading
             sInstance.loadingContainers.add(resourceContainerSlug);
             try {
+                App.prepareContainer(resourceContainerSlug);
                 ResourceContainer rc = client.open(resourceContainerSlug);
                 sInstance.resourceContainers.put(rc.slug, rc);
                 return rc;
             } catch (InvalidRCException e) {
                 Logger.w("ContainerCache", "Deleting corrupt RC " + resourceContainerSlug, e);
                 // delete invalid container
-                client.delete(resourceContainerSlug);
+                App.deleteContainer(client, resourceContainerSlug);
             } catch (Exception e) {
                 Logger.e("ContainerCache", "Failed to open the RC " + resourceContainerSlug, e);
             } finally {
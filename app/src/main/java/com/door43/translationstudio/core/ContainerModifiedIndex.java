@@ -0,0 +1,160 @@
+package com.door43.translationstudio.core;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+
+import org.unfoldingword.door43client.Door43Client;
+import org.unfoldingword.door43client.OnProgressListener;
+import org.unfoldingword.door43client.models.Translation;
+import org.unfoldingword.resourcecontainer.ContainerTools;
+import org.unfoldingword.tools.logger.Logger;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the last modified time of every resource container in the library index at once.
+ * Looking up each container through the library costs a separate set of index queries which
+ * adds up quickly when checking the entire catalog for updates.
+ *
+ * TRICKY: this reads the private index database of door43-client directly and therefore
+ * depends on its schema. The query is only used when the database version and the columns
+ * it reads match what is expected here, otherwise every container is looked up through the
+ * library. Check {@link #SCHEMA_VERSION} and {@link #SCHEMA} when upgrading door43-client.
+ */
+public class ContainerModifiedIndex {
+    private static final String TAG = "ContainerModifiedIndex";
+    /**
+     * The version door43-client stores in the index database
+     */
+    private static final int SCHEMA_VERSION = 1;
+    /**
+     * The tables and columns read by {@link #QUERY}
+     */
+    private static final String[][] SCHEMA = {
+            {"resource_format", "resource_id", "mime_type", "modified_at"},
+            {"resource", "id", "project_id", "slug"},
+            {"project", "id", "source_language_id", "slug"},
+            {"source_language", "id", "slug"}
+    };
+    private static final int PROGRESS_INTERVAL = 16;
+    private static final String QUERY = "select sl.slug, p.slug, r.slug, max(rf.modified_at)"
+            + " from resource_format as rf"
+            + " inner join resource as r on r.id=rf.resource_id"
+            + " inner join project as p on p.id=r.project_id"
+            + " inner join source_language as sl on sl.id=p.source_language_id"
+            + " where rf.mime_type like 'application/tsrc%'"
+            + " group by sl.slug, p.slug, r.slug";
+
+    private ContainerModifiedIndex() {
+    }
+
+    /**
+     * Returns the last modified time of each of the translations keyed by resource container slug.
+     * Containers missing from the bulk query are looked up individually through the library.
+     * @param library
+     * @param indexFile the library index database
+     * @param translations
+     * @param listener receives the progress and may cancel the snapshot by returning false
+     * @return null if the snapshot was cancelled
+     */
+    public static Map<String, Integer> snapshot(Door43Client library, File indexFile, List<Translation> translations, OnProgressListener listener) {
+        Map<String, Integer> all = readAll(indexFile);
+        Map<String, Integer> snapshot = new HashMap<>(translations.size() * 2);
+        int count = 0;
+        for(Translation t:translations) {
+            if(++count % PROGRESS_INTERVAL == 0 && listener != null
+                    && !listener.onProgress("", translations.size(), count)) {
+                return null;
+            }
+            Integer modifiedAt = all.get(t.resourceContainerSlug);
+            if(modifiedAt == null) {
+                modifiedAt = library.getResourceContainerLastModified(t.language.slug, t.project.slug, t.resource.slug);
+            }
+            snapshot.put(t.resourceContainerSlug, modifiedAt);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads the last modified time of all resource containers in a single query
+     * @param indexFile the library index database
+     * @return an empty map if the index could not be read or has an unexpected schema
+     */
+    public static Map<String, Integer> readAll(File indexFile) {
+        Map<String, Integer> modified = new HashMap<>();
+        if(indexFile == null || !indexFile.isFile()) return modified;
+
+        SQLiteDatabase db = null;
+        Cursor cursor = null;
+        try {
+            db = SQLiteDatabase.openDatabase(indexFile.getAbsolutePath(), null, SQLiteDatabase.OPEN_READONLY);
+            if(!hasExpectedSchema(db)) {
+                Logger.w(TAG, "The index schema has changed. Falling back to the library lookups");
+                return modified;
+            }
+            cursor = db.rawQuery(QUERY, null);
+            while(cursor.moveToNext()) {
+                String slug = ContainerTools.makeSlug(cursor.getString(0), cursor.getString(1), cursor.getString(2));
+                modified.put(slug, cursor.getInt(3));
+            }
+        } catch (SQLiteException e) {
+            Logger.w(TAG, "Failed to read the last modified times from the index", e);
+            modified.clear();
+        } finally {
+            if(cursor != null) cursor.close();
+            if(db != null) db.close();
+        }
+        return modified;
+    }
+
+    /**
+     * Checks that the index has the version and the columns read by {@link #QUERY}
+     * @param db
+     * @return
+     */
+    private static boolean hasExpectedSchema(SQLiteDatabase db) {
+        if(db.getVersion() != SCHEMA_VERSION) return false;
+        for(String[] table:SCHEMA) {
+            Set<String> columns = new HashSet<>();
+            Cursor cursor = db.rawQuery("pragma table_info(" + table[0] + ")", null);
+            try {
+                int nameIndex = cursor.getColumnIndex("name");
+                while(cursor.moveToNext()) {
+                    columns.add(cursor.getString(nameIndex));
+                }
+            } finally {
+                cursor.close();
+            }
+            for(int i = 1; i < table.length; i ++) {
+                if(!columns.contains(table[i])) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two snapshots in a single pass
+     * @param before
+     * @param after
+     * @return the number of containers that were {added, updated}
+     */
+    public static int[] diff(Map<String, Integer> before, Map<String, Integer> after) {
+        int added = 0;
+        int updated = 0;
+        for(Map.Entry<String, Integer> entry:after.entrySet()) {
+            Integer previous = before.get(entry.getKey());
+            if(previous == null) {
+                added ++;
+            } else if(entry.getValue() > previous) {
+                updated ++;
+            }
+        }
+        return new int[]{added, updated};
+    }
+}
@@ -0,0 +1,98 @@
+package com.door43.translationstudio.core;
+
+import com.door43.util.FileUtilities;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.unfoldingword.tools.logger.Logger;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Records that the library has been deployed so it does not have to be inspected on every launch.
+ * The marker stores the app version that deployed the library, the number of resource containers
+ * and a fingerprint (size and modification time) of the index.
+ */
+public class DeploymentMarker {
+    private static final String TAG = "DeploymentMarker";
+
+    private final int version;
+    private final int containers;
+    private final long indexSize;
+    private final long indexModified;
+
+    private DeploymentMarker(int version, int containers, long indexSize, long indexModified) {
+        this.version = version;
+        this.containers = containers;
+        this.indexSize = indexSize;
+        this.indexModified = indexModified;
+    }
+
+    /**
+     * Creates a marker describing the library as it currently is on the disk
+     * @param version the version of the app
+     * @param index the index database
+     * @param containersDir the directory of resource containers
+     * @param bundledContainers the number of packaged containers that have not been extracted yet
+     * @return
+     */
+    public static DeploymentMarker create(int version, File index, File containersDir, int bundledContainers) {
+        String[] files = containersDir.list();
+        int containers = (files == null ? 0 : files.length) + bundledContainers;
+        return new DeploymentMarker(version, containers, index.length(), index.lastModified());
+    }
+
+    /**
+     * Reads the marker from the disk
+     * @param file
+     * @return the marker or null if it does not exist or is invalid
+     */
+    public static DeploymentMarker read(File file) {
+        if(!file.isFile()) return null;
+        try {
+            JSONObject json = new JSONObject(FileUtilities.readFileToString(file));
+            return new DeploymentMarker(json.getInt("version"),
+                    json.getInt("containers"),
+                    json.getLong("index_size"),
+                    json.getLong("index_modified"));
+        } catch (Exception e) {
+            Logger.w(TAG, "Failed to read the deployment marker", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the marker to the disk
+     * @param file
+     */
+    public void write(File file) {
+        try {
+            JSONObject json = new JSONObject();
+            json.put("version", version);
+            json.put("containers", containers);
+            json.put("index_size", indexSize);
+            json.put("index_modified", indexModified);
+            file.getParentFile().mkdirs();
+            FileUtilities.writeStringToFile(file, json.toString());
+        } catch (JSONException | IOException e) {
+            Logger.w(TAG, "Failed to write the deployment marker", e);
+        }
+    }
+
+    /**
+     * Checks if the marker still describes the library on the disk.
+     * Only the index is inspected so this does not need to open the index or list the containers.
+     * @param version the version of the app
+     * @param index the index database
+     * @param containersDir the directory of resource containers
+     * @return
+     */
+    public boolean matches(int version, File index, File containersDir) {
+        return this.version == version
+                && containers > 0
+                && containersDir.isDirectory()
+                && index.length() == indexSize
+                && index.lastModified() == indexModified;
+    }
+}
@@ -5,28 +5,137 @@ import android.util.Log;
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.util.FileUtilities;
+import com.door43.util.RemoteZip;
 import com.door43.util.Zip;
 
 
 import org.unfoldingword.tools.http.GetRequest;
 import org.unfoldingword.tools.http.Request;
+import org.unfoldingword.tools.logger.Logger;
 
 import java.io.File;
+import java.io.FilenameFilter;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Created by blm on 12/28/16.  Revived from pre-resource container code.
  * This is a temporary solution to downloading images until a resource container solution
  * is ready.
+ *
+ * Only the images that are needed are downloaded. Each image is read out of the remote archive
+ * with a range request and kept in a cache on the disk that is limited to {@link #MAX_CACHE_SIZE}.
+ * The whole archive is only downloaded if the server does not support range requests.
  */
 public class DownloadImages {
     public static final String TAG = DownloadImages.class.getName();
     private static final String IMAGES_URL = "https://cdn.unfoldingword.org/obs/jpg/obs-images-360px.zip";
     public static final int IMAGES_CATALOG_SIZE = 37620940; // this value doesn't seem to matter since GetRequest knows the size of the download
     public static final int TOTAL_FILE_COUNT = 598;
-    private File mImagesDir;
+    // much smaller than the archive. The images of the translation being printed are always kept
+    private static final long MAX_CACHE_SIZE = 10L * 1024 * 1024;
+    private static final String DIRECTORY_CACHE = "obs-images-360px.directory";
+    // the images that frames refer to but that are not in the archive
+    private static final String MISSING_IMAGES = "obs-images-360px.missing";
+    private final File mImagesDir;
+
+    public DownloadImages() {
+        mImagesDir = new File(App.publicDir(), "assets/images");
+    }
+
+    /**
+     * Returns the names of the images for each frame of the target translation
+     * @param targetTranslation
+     * @return
+     */
+    public static List<String> getImageNames(TargetTranslation targetTranslation) {
+        List<String> names = new ArrayList<>();
+        File[] chapterDirs = targetTranslation.getPath().listFiles();
+        if(chapterDirs == null) return names;
+        for(File chapterDir:chapterDirs) {
+            if(!chapterDir.isDirectory() || chapterDir.getName().equals(".git")) continue;
+            String[] frameFiles = chapterDir.list(new FilenameFilter() {
+                @Override
+                public boolean accept(File dir, String filename) {
+                    return filename.endsWith(".txt") && !filename.equals("reference.txt") && !filename.equals("title.txt");
+                }
+            });
+            if(frameFiles == null) continue;
+            for(String frameFile:frameFiles) {
+                String frameId = frameFile.substring(0, frameFile.length() - ".txt".length());
+                names.add(targetTranslation.getProjectId() + "-" + chapterDir.getName() + "-" + frameId + ".jpg");
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Checks if all of the images have already been downloaded.
+     * Images that are known to be missing from the archive are skipped
+     * so frames without an image do not cause a download every time.
+     * @param names
+     * @return
+     */
+    public boolean hasImages(List<String> names) {
+        Set<String> missing = null;
+        for(String name:names) {
+            if(new File(mImagesDir, name).isFile()) continue;
+            if(missing == null) missing = readMissingImages();
+            if(!missing.contains(name)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the names of the images that were not found in the archive
+     * @return
+     */
+    private Set<String> readMissingImages() {
+        Set<String> missing = new HashSet<>();
+        File file = new File(mImagesDir, MISSING_IMAGES);
+        if(file.isFile()) {
+            try {
+                for(String name:FileUtilities.readFileToString(file).split("\n")) {
+                    if(!name.isEmpty()) missing.add(name);
+                }
+            } catch (IOException e) {
+                Logger.w(TAG, "Failed to read the missing images", e);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Records which of the images were not found in the archive after a complete download.
+     * Images that have since been found are no longer recorded as missing.
+     * @param names the images that were downloaded
+     */
+    private void recordMissingImages(List<String> names) {
+        Set<String> missing = readMissingImages();
+        for(String name:names) {
+            if(new File(mImagesDir, name).isFile()) {
+                missing.remove(name);
+            } else {
+                missing.add(name);
+            }
+        }
+        StringBuilder contents = new StringBuilder();
+        for(String name:missing) {
+            contents.append(name).append('\n');
+        }
+        try {
+            FileUtilities.writeStringToFile(new File(mImagesDir, MISSING_IMAGES), contents.toString());
+        } catch (IOException e) {
+            Logger.w(TAG, "Failed to record the missing images", e);
+        }
+    }
 
 
     private boolean requestToFile(String apiUrl, File outputFile, final long expectedSize, final OnProgressListener listener) {
@@ -81,23 +190,15 @@ public class DownloadImages {
     }
 
     /**
-     *
+     * Downloads the images that are not in the cache yet
+     * @param names the names of the images
      * @param listener
      * @return
      */
-    public boolean download(OnProgressListener listener) {
+    public boolean download(List<String> names, OnProgressListener listener) {
         // TODO: 1/21/2016 we need to be sure to download images for the correct project. right now only obs has images
         // eventually the api will be updated so we can easily download the correct images.
 
-        String url = IMAGES_URL;
-        String filename = url.replaceAll(".*/", "");
-        File basePath = App.publicDir();
-        mImagesDir = new File(basePath, "assets/images");
-        File fullPath = new File(String.format("%s/%s", mImagesDir, filename));
-        if (mImagesDir == null) {
-            return false;
-        }
-
         if(!mImagesDir.isDirectory()) { // make sure folder exists
             mImagesDir.mkdirs();
         }
@@ -106,6 +207,102 @@ public class DownloadImages {
             return false;
         }
 
+        List<String> missing = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for(String name:names) {
+            File image = new File(mImagesDir, name);
+            if(image.isFile()) {
+                image.setLastModified(now); // recently used
+            } else {
+                missing.add(name);
+            }
+        }
+
+        boolean success = true;
+        if(!missing.isEmpty()) {
+            try {
+                success = downloadImages(missing, listener);
+            } catch (RemoteZip.RangeNotSupportedException e) {
+                Logger.w(TAG, "The images cannot be downloaded individually", e);
+                success = downloadArchive(listener);
+            }
+            if(success) {
+                recordMissingImages(missing);
+            }
+        }
+        trimCache(new HashSet<>(names));
+        return success;
+    }
+
+    /**
+     * Reads each image out of the remote archive
+     * @param names
+     * @param listener
+     * @return
+     * @throws RemoteZip.RangeNotSupportedException
+     */
+    private boolean downloadImages(List<String> names, OnProgressListener listener) throws RemoteZip.RangeNotSupportedException {
+        final String outOf = App.context().getResources().getString(R.string.out_of);
+        final String downloading = App.context().getResources().getString(R.string.downloading);
+        try {
+            RemoteZip zip = new RemoteZip(new URL(IMAGES_URL), new File(mImagesDir, DIRECTORY_CACHE));
+            for(int i = 0; i < names.size(); i ++) {
+                String message = String.format("%s: %d %s %d", downloading, i + 1, outOf, names.size());
+                if(listener != null && !listener.onProgress(i, names.size(), message)) {
+                    return false;
+                }
+                // frames without an image are skipped
+                zip.extract(names.get(i), new File(mImagesDir, names.get(i)));
+            }
+            return true;
+        } catch (RemoteZip.RangeNotSupportedException e) {
+            throw e;
+        } catch (IOException e) {
+            Logger.e(TAG, "Failed to download the images", e);
+            return false;
+        }
+    }
+
+    /**
+     * Removes the least recently used images once the cache is too large
+     * @param keep the images that must not be removed
+     */
+    private void trimCache(Set<String> keep) {
+        File[] files = mImagesDir.listFiles();
+        if(files == null) return;
+        long size = 0;
+        for(File f:files) {
+            size += f.length();
+        }
+        if(size <= MAX_CACHE_SIZE) return;
+
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File lhs, File rhs) {
+                long l = lhs.lastModified();
+                long r = rhs.lastModified();
+                return l < r ? -1 : (l == r ? 0 : 1);
+            }
+        });
+        for(File f:files) {
+            if(size <= MAX_CACHE_SIZE) break;
+            if(!f.isFile() || keep.contains(f.getName())
+                    || f.getName().equals(DIRECTORY_CACHE) || f.getName().equals(MISSING_IMAGES)) continue;
+            long length = f.length();
+            if(f.delete()) size -= length;
+        }
+    }
+
+    /**
+     * Downloads and extracts the entire archive of images
+     * @param listener
+     * @return
+     */
+    private boolean downloadArchive(OnProgressListener listener) {
+        String url = IMAGES_URL;
+        String filename = url.replaceAll(".*/", "");
+        File fullPath = new File(mImagesDir, filename);
+
         boolean success = requestToFile(url, fullPath, IMAGES_CATALOG_SIZE, listener);
         if (success) {
             int fileCount = 0;
@@ -11,14 +11,20 @@ import org.unfoldingword.tools.logger.Logger;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.PrintStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.unfoldingword.resourcecontainer.Project;
 
@@ -30,6 +36,7 @@ import org.unfoldingword.resourcecontainer.Project;
 public class ExportUsfm {
 
     public static final String TAG = ExportUsfm.class.getName();
+    private static final int BUFFER_SIZE = 64 * 1024;
 
 
     /**
@@ -59,6 +66,55 @@ public class ExportUsfm {
         return exportFile;
     }
 
+    /**
+     * output several target translations to a single zip of USFM files
+     * @param targetTranslations
+     * @param destinationFolder
+     * @param fileName name of the zip file
+     * @param outputToDocumentFile
+     * @return target zipFileName or null if error
+     */
+    static public Uri saveToUSFMZip(List<TargetTranslation> targetTranslations, Uri destinationFolder, String fileName, boolean outputToDocumentFile) {
+        if(destinationFolder == null) {
+            outputToDocumentFile = false;
+            destinationFolder = Uri.fromFile(App.getPublicDownloadsDirectory());
+        }
+
+        Uri outputUri = null;
+        try {
+            OutputDestination destination = OutputDestination.open(destinationFolder, fileName, outputToDocumentFile);
+            boolean success = false;
+            try {
+                ZipOutputStream zos = new ZipOutputStream(destination.stream);
+                Writer writer = new OutputStreamWriter(zos, "UTF-8");
+                Set<String> entryNames = new HashSet<>();
+                for(TargetTranslation targetTranslation:targetTranslations) {
+                    BookData bookData = BookData.generate(targetTranslation);
+                    String entryName = bookData.getDefaultUsfmFileName();
+                    if(!entryNames.add(entryName)) {
+                        entryName = targetTranslation.getId() + ".usfm";
+                    }
+                    zos.putNextEntry(new ZipEntry(entryName));
+                    writeUSFM(targetTranslation, bookData, writer);
+                    writer.flush();
+                    zos.closeEntry();
+                }
+                zos.finish();
+                outputUri = destination.uri;
+                success = true;
+            } finally {
+                destination.stream.close();
+                if(!success) {
+                    // don't leave a partial zip behind
+                    destination.delete();
+                }
+            }
+        } catch (Exception e) {
+            Logger.e(TAG, "Failed to export the target translations to " + fileName, e);
+        }
+        return outputUri;
+    }
+
     /**
      * Exports a target translation as a USFM file
      * @param targetTranslation
@@ -68,39 +124,55 @@ public class ExportUsfm {
      * @return output file
      */
     static private Uri exportAsUSFM(TargetTranslation targetTranslation, Uri destinationFolder, String fileName, boolean outputToDocumentFile) throws IOException {
-        File tempDir = new File(App.context().getCacheDir(), System.currentTimeMillis() + "");
-        tempDir.mkdirs();
-        ChapterTranslation[] chapters = targetTranslation.getChapterTranslations();
-        String outputFileName = null;
-        File tempFile = null;
-
         BookData bookData = BookData.generate(targetTranslation);
-        String bookCode = bookData.getBookCode();
-        String bookTitle = bookData.getBookTitle();
-        String bookName = bookData.getBookName();
-        String languageId = bookData.getLanguageId();
-        String languageName = bookData.getLanguageName();
-
+        String outputFileName;
         if((fileName != null) && (!fileName.isEmpty())) {
             outputFileName = fileName;
         } else {
             outputFileName = bookData.getDefaultUsfmFileName();
         }
 
-        tempFile = new File(tempDir, outputFileName);
-        tempFile.createNewFile();
+        OutputDestination destination = OutputDestination.open(destinationFolder, outputFileName, outputToDocumentFile);
+        boolean success = false;
+        try {
+            Writer writer = new OutputStreamWriter(destination.stream, "UTF-8");
+            writeUSFM(targetTranslation, bookData, writer);
+            writer.close();
+            success = true;
+        } finally {
+            if(!success) {
+                destination.stream.close();
+                destination.delete();
+            }
+        }
+        return destination.uri;
+    }
 
-        PrintStream ps = new PrintStream(tempFile);
+    /**
+     * Writes a target translation as USFM.
+     * The writer is flushed but not closed.
+     * @param targetTranslation
+     * @param bookData
+     * @param writer
+     * @throws IOException
+     */
+    public static void writeUSFM(TargetTranslation targetTranslation, BookData bookData, Writer writer) throws IOException {
+        String bookCode = bookData.getBookCode();
+        String bookTitle = bookData.getBookTitle();
+        String bookName = bookData.getBookName();
+        String languageId = bookData.getLanguageId();
+        String languageName = bookData.getLanguageName();
 
         String id = "\\id " + bookCode + " " + bookTitle + ", " + bookName + ", " + (languageId + ", " + languageName);
-        ps.println(id);
+        writeLine(writer, id);
         String bookID = "\\toc1 " + bookTitle;
-        ps.println(bookID);
+        writeLine(writer, bookID);
         String bookNameID = "\\toc2 " + bookName;
-        ps.println(bookNameID);
+        writeLine(writer, bookNameID);
         String shortBookID = "\\toc3 " + bookCode;
-        ps.println(shortBookID);
+        writeLine(writer, shortBookID);
 
+        ChapterTranslation[] chapters = targetTranslation.getChapterTranslations();
         for(ChapterTranslation chapter:chapters) {
             // TRICKY: the translation format doesn't matter for exporting
             FrameTranslation[] frames = targetTranslation.getFrameTranslations(chapter.getId(), TranslationFormat.DEFAULT);
@@ -108,19 +180,19 @@ public class ExportUsfm {
 
             int chapterInt = Util.strToInt(chapter.getId(),0);
             if(chapterInt != 0) {
-                ps.println("\\s5"); // section marker
+                writeLine(writer, "\\s5"); // section marker
                 String chapterNumber = "\\c " + chapter.getId();
-                ps.println(chapterNumber);
+                writeLine(writer, chapterNumber);
             }
 
             if((chapter.title != null) && (!chapter.title.isEmpty())) {
                 String chapterTitle = "\\cl " + chapter.title;
-                ps.println(chapterTitle);
+                writeLine(writer, chapterTitle);
             }
 
             if( (chapter.reference != null) && (!chapter.reference.isEmpty())) {
                 String chapterRef = "\\cd " + chapter.reference;
-                ps.println(chapterRef);
+                writeLine(writer, chapterRef);
             }
 
             ArrayList<FrameTranslation> frameList = sortFrameTranslations(frames);
@@ -129,53 +201,79 @@ public class ExportUsfm {
                 FrameTranslation frame = frameList.get(0);
                 int verseID = Util.strToInt(frame.getId(),0);
                 if((verseID == 0)) {
-                    String text = frame.body;
-                    ps.print(text);
+                    writer.write(frame.body);
                     startChunk++;
                 }
             }
 
             for (int i = startChunk; i < frameList.size(); i++) {
                 FrameTranslation frame = frameList.get(i);
-                String text = frame.body;
-
                 if(i > startChunk) {
-                    ps.println("\\s5"); // section marker
+                    writeLine(writer, "\\s5"); // section marker
                 }
-                ps.print(text);
+                writer.write(frame.body);
             }
         }
+        writer.flush();
+    }
 
-        ps.close();
+    private static void writeLine(Writer writer, String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    /**
+     * A buffered output stream to a file in a folder or on the sd card
+     */
+    private static class OutputDestination {
+        final OutputStream stream;
+        final Uri uri;
+        private final File file;
+        private final DocumentFile documentFile;
+
+        private OutputDestination(OutputStream stream, Uri uri, File file, DocumentFile documentFile) {
+            this.stream = stream;
+            this.uri = uri;
+            this.file = file;
+            this.documentFile = documentFile;
+        }
 
-        Uri pdfOutputUri = null;
-        if( (tempFile != null) && (outputFileName != null) ) {
+        /**
+         * Creates the output file, replacing any existing file with the same name
+         * @param destinationFolder
+         * @param fileName
+         * @param outputToDocumentFile
+         * @return
+         * @throws IOException
+         */
+        static OutputDestination open(Uri destinationFolder, String fileName, boolean outputToDocumentFile) throws IOException {
             if(outputToDocumentFile) {
-                try {
-                    SdUtils.documentFileDelete( destinationFolder, outputFileName); // make sure file does not exist, otherwise api will create a duplicate file in next line
-                    DocumentFile sdCardFile = SdUtils.documentFileCreate(destinationFolder, outputFileName);
-                    OutputStream outputStream = SdUtils.createOutputStream(sdCardFile);
-                    BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
-
-                    FileInputStream fis = new FileInputStream(tempFile);
-                    int bytes = FileUtilities.copy(fis, bufferedOutputStream);
-                    bufferedOutputStream.close();
-                    fis.close();
-                    pdfOutputUri = sdCardFile.getUri();
-                } catch (Exception e) {
-                    Logger.e(TAG, "Failed to copy the USFM file to: " + pdfOutputUri, e);
-                    pdfOutputUri = null;
+                SdUtils.documentFileDelete( destinationFolder, fileName); // make sure file does not exist, otherwise api will create a duplicate file in next line
+                DocumentFile sdCardFile = SdUtils.documentFileCreate(destinationFolder, fileName);
+                if(sdCardFile == null) {
+                    throw new IOException("Could not create " + fileName);
                 }
+                OutputStream outputStream = new BufferedOutputStream(SdUtils.createOutputStream(sdCardFile), BUFFER_SIZE);
+                return new OutputDestination(outputStream, sdCardFile.getUri(), null, sdCardFile);
             } else {
-                File pdfOutputPath = new File(destinationFolder.getPath(), outputFileName);
-                boolean success = FileUtilities.moveOrCopyQuietly(tempFile, pdfOutputPath);
-                if (success) {
-                    pdfOutputUri = Uri.fromFile(pdfOutputPath);
-                }
+                File folder = new File(destinationFolder.getPath());
+                folder.mkdirs();
+                File outputFile = new File(folder, fileName);
+                OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(outputFile), BUFFER_SIZE);
+                return new OutputDestination(outputStream, Uri.fromFile(outputFile), outputFile, null);
+            }
+        }
+
+        /**
+         * Removes a partially written file
+         */
+        void delete() {
+            if(file != null) {
+                FileUtilities.deleteQuietly(file);
+            } else if(documentFile != null) {
+                documentFile.delete();
             }
         }
-        FileUtilities.deleteQuietly(tempDir);
-        return pdfOutputUri;
     }
 
     /**
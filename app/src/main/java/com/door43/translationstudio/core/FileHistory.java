@@ -3,18 +3,16 @@ package com.door43.translationstudio.core;
 import com.door43.translationstudio.git.Repo;
 
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.LogCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectLoader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.treewalk.TreeWalk;
-import org.eclipse.jgit.treewalk.filter.PathFilter;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents the commit history of a single file within a git repository
@@ -24,6 +22,7 @@ public class FileHistory {
     private final File file;
     private final Git git;
     private RevCommit[] history = new RevCommit[0];
+    private ObjectId[] blobs = new ObjectId[0];
     private int index = 0;
 
     /**
@@ -61,32 +60,25 @@ public class FileHistory {
 
             // load history
             Repository repository = this.git.getRepository();
-            ObjectId head = repository.resolve("HEAD");
-            if(head != null) {
-                LogCommand log = this.git.log();
-                log.add(head);
-                log.addPath(this.file.toString());
-                Iterable<RevCommit> commits = log.call();
-                ArrayList<RevCommit> historyList = new ArrayList<>();
-                for (RevCommit commit : commits) {
-                    historyList.add(commit);
-
-                    // restore current position
-                    if (currentCommit != null) {
-                        String hash = commit.toString().split(" ")[1];
-                        String currentHash = currentCommit.toString().split(" ")[1];
-                        if (hash.equals(currentHash)) {
-                            index = historyList.size() - 1;
-                            currentCommit = null;
-                        }
-                    }
+            List<FileHistoryIndex.Entry> entries = FileHistoryIndex.get(repository).getHistory(repository, this.file.toString());
+            RevCommit[] commits = new RevCommit[entries.size()];
+            ObjectId[] blobs = new ObjectId[entries.size()];
+            for(int i = 0; i < entries.size(); i ++) {
+                FileHistoryIndex.Entry entry = entries.get(i);
+                commits[i] = entry.commit;
+                blobs[i] = entry.blob;
+
+                // restore current position
+                if(currentCommit != null && currentCommit.equals(entry.commit)) {
+                    index = i;
+                    currentCommit = null;
                 }
-                this.history = historyList.toArray(new RevCommit[historyList.size()]);
-            } else {
-                this.history = new RevCommit[0];
             }
+            this.history = commits;
+            this.blobs = blobs;
         } else {
             this.history = new RevCommit[0];
+            this.blobs = new ObjectId[0];
         }
     }
 
@@ -177,14 +169,21 @@ public class FileHistory {
      */
     public String read(RevCommit commit) throws IOException, IllegalStateException {
         if(commit != null) {
-            TreeWalk walk = new TreeWalk(this.git.getRepository());
-            walk.addTree(commit.getTree());
-            walk.setRecursive(true);
-            walk.setFilter(PathFilter.create(this.file.toString()));
-            if (!walk.next()) {
+            ObjectId objectId = null;
+            boolean indexed = false;
+            for(int i = 0; i < this.history.length; i ++) {
+                if(this.history[i].equals(commit)) {
+                    objectId = this.blobs[i];
+                    indexed = true;
+                    break;
+                }
+            }
+            if(!indexed) {
+                objectId = findBlob(commit);
+            }
+            if(objectId == null) {
                 throw new IllegalStateException("Did not find expected file '" + this.file.toString() + "'");
             }
-            ObjectId objectId = walk.getObjectId(0);
             ObjectLoader loader = this.git.getRepository().open(objectId);
             return new String(loader.getBytes(), "UTF-8");
         } else {
@@ -192,6 +191,23 @@ public class FileHistory {
         }
     }
 
+    /**
+     * Looks up the file blob in a commit that is not part of the loaded history
+     * @param commit
+     * @return null if the file does not exist in the commit
+     */
+    private ObjectId findBlob(RevCommit commit) throws IOException {
+        TreeWalk walk = TreeWalk.forPath(this.git.getRepository(), this.file.toString(), commit.getTree());
+        if(walk == null) {
+            return null;
+        }
+        try {
+            return walk.getObjectId(0);
+        } finally {
+            walk.release();
+        }
+    }
+
     /**
      * Checks if the history cursor is currently at the HEAD
      * @return
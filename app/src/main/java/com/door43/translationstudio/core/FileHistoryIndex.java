@@ -0,0 +1,239 @@
+package com.door43.translationstudio.core;
+
+import android.util.LruCache;
+
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.unfoldingword.tools.logger.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Indexes the commit history of every file in a target translation repository.
+ * Each path maps to the ordered list of commits (newest first) that changed it along with the
+ * id of the blob written in that commit so a revision can be loaded directly without walking trees.
+ *
+ * The index is built once by walking the full history and afterwards only the commits added
+ * since the last indexed HEAD are walked.
+ * Only the indexes of the most recently viewed translations are kept.
+ */
+public class FileHistoryIndex {
+    private static final String TAG = "FileHistoryIndex";
+    /**
+     * The number of translations whose index is kept in memory
+     */
+    private static final int MAX_INDEXES = 3;
+    private static final LruCache<String, FileHistoryIndex> indexes = new LruCache<>(MAX_INDEXES);
+    private static final ThreadPoolExecutor updater = new ThreadPoolExecutor(1, 1,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    static {
+        updater.allowCoreThreadTimeOut(true);
+    }
+
+    private final Map<String, List<Entry>> history = new HashMap<>();
+    private final AtomicBoolean updateQueued = new AtomicBoolean(false);
+    private ObjectId indexedHead = null;
+
+    private FileHistoryIndex() {
+    }
+
+    /**
+     * Returns the history index for the repository.
+     * The index is created empty and will be populated the first time it is updated.
+     * @param repository
+     * @return
+     */
+    public static FileHistoryIndex get(Repository repository) {
+        String key = repository.getDirectory().getAbsolutePath();
+        synchronized (indexes) {
+            FileHistoryIndex index = indexes.get(key);
+            if(index == null) {
+                index = new FileHistoryIndex();
+                indexes.put(key, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Brings an existing index up to date in the background after new commits have been made.
+     * Nothing is done if the repository has not been indexed yet so commits remain cheap
+     * for translations whose history is never viewed.
+     * @param repository
+     */
+    public static void onCommit(final Repository repository) {
+        final FileHistoryIndex index;
+        synchronized (indexes) {
+            index = indexes.get(repository.getDirectory().getAbsolutePath());
+        }
+        // TRICKY: the history is brought up to date when it is read so updates can be coalesced
+        if(index != null && index.updateQueued.compareAndSet(false, true)) {
+            updater.execute(new Runnable() {
+                @Override
+                public void run() {
+                    index.updateQueued.set(false);
+                    try {
+                        index.update(repository);
+                    } catch (IOException e) {
+                        Logger.e(TAG, "Failed to update the file history of " + repository.getDirectory(), e);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops the index of a repository e.g. when the translation is deleted
+     * @param gitDir the .git directory of the repository
+     */
+    public static void remove(File gitDir) {
+        synchronized (indexes) {
+            indexes.remove(gitDir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Returns the history of a file with the most recent commit first
+     * @param repository
+     * @param path path of the file relative to the repository
+     * @return
+     * @throws IOException
+     */
+    public synchronized List<Entry> getHistory(Repository repository, String path) throws IOException {
+        update(repository);
+        List<Entry> entries = history.get(path);
+        if(entries == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Indexes any commits that were added since the last update.
+     * If HEAD was moved to a commit that does not descend from the indexed HEAD (e.g. a reset)
+     * the index is rebuilt.
+     * @param repository
+     * @throws IOException
+     */
+    public synchronized void update(Repository repository) throws IOException {
+        ObjectId head = repository.resolve("HEAD");
+        if(head == null) {
+            history.clear();
+            indexedHead = null;
+            return;
+        }
+        if(head.equals(indexedHead)) {
+            return;
+        }
+
+        RevWalk walk = new RevWalk(repository);
+        try {
+            RevCommit headCommit = walk.parseCommit(head);
+            if(indexedHead != null) {
+                boolean descends;
+                try {
+                    RevCommit oldHead = walk.parseCommit(indexedHead);
+                    descends = walk.isMergedInto(oldHead, headCommit);
+                } catch (MissingObjectException e) {
+                    descends = false;
+                }
+                walk.reset();
+                if(descends) {
+                    walk.markUninteresting(walk.parseCommit(indexedHead));
+                } else {
+                    history.clear();
+                }
+            }
+            walk.markStart(headCommit);
+
+            Map<String, List<Entry>> added = new HashMap<>();
+            TreeWalk treeWalk = new TreeWalk(repository);
+            treeWalk.setRecursive(true);
+            try {
+                for (RevCommit commit : walk) {
+                    indexCommit(walk, treeWalk, commit, added);
+                }
+            } finally {
+                treeWalk.release();
+            }
+
+            // new commits go in front of the previously indexed ones
+            for(Map.Entry<String, List<Entry>> e : added.entrySet()) {
+                List<Entry> existing = history.get(e.getKey());
+                if(existing != null) {
+                    e.getValue().addAll(existing);
+                }
+                history.put(e.getKey(), e.getValue());
+            }
+            indexedHead = head.copy();
+        } finally {
+            walk.release();
+        }
+    }
+
+    /**
+     * Records the files changed by a single commit.
+     * A file is considered changed when its blob differs from the one in every parent
+     * which matches the simplification used by git log for a path.
+     */
+    private static void indexCommit(RevWalk walk, TreeWalk treeWalk, RevCommit commit, Map<String, List<Entry>> added) throws IOException {
+        RevCommit[] parents = commit.getParents();
+        treeWalk.reset();
+        treeWalk.addTree(commit.getTree());
+        for(RevCommit parent : parents) {
+            treeWalk.addTree(walk.parseCommit(parent).getTree());
+        }
+        treeWalk.setFilter(parents.length > 0 ? TreeFilter.ANY_DIFF : TreeFilter.ALL);
+
+        while(treeWalk.next()) {
+            ObjectId blob = treeWalk.getObjectId(0);
+            boolean changed = true;
+            for(int i = 1; i < treeWalk.getTreeCount(); i ++) {
+                if(blob.equals(treeWalk.getObjectId(i))) {
+                    changed = false;
+                    break;
+                }
+            }
+            if(changed) {
+                String path = treeWalk.getPathString();
+                List<Entry> entries = added.get(path);
+                if(entries == null) {
+                    entries = new ArrayList<>();
+                    added.put(path, entries);
+                }
+                entries.add(new Entry(commit, ObjectId.zeroId().equals(blob) ? null : blob.copy()));
+            }
+        }
+    }
+
+    /**
+     * A single revision of a file
+     */
+    public static class Entry {
+        public final RevCommit commit;
+        /**
+         * The blob of the file at this commit. This is null if the file was deleted.
+         */
+        public final ObjectId blob;
+
+        private Entry(RevCommit commit, ObjectId blob) {
+            this.commit = commit;
+            this.blob = blob;
+        }
+    }
+}
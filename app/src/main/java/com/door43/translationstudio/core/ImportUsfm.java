@@ -20,14 +20,29 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -57,7 +72,14 @@ public class ImportUsfm {
     public static final String CHAPTER_NUMBER_MARKER = "\\\\c\\s(\\d+(-\\d+)?)\\s";
     public static final Pattern PATTERN_CHAPTER_NUMBER_MARKER = Pattern.compile(CHAPTER_NUMBER_MARKER);
     public static final Pattern PATTERN_USFM_VERSE_SPAN = Pattern.compile(USFMVerseSpan.PATTERN);
+    private static final Pattern PATTERN_USFM_TAG = Pattern.compile("\\\\([\\w\\d]+)\\s([^\\n\\\\]*)");
     public static final int END_MARKER = 999999;
+    private static final int MAX_CONCURRENT_BOOKS = Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors()));
+    private static final ThreadPoolExecutor bookPool = new ThreadPoolExecutor(MAX_CONCURRENT_BOOKS, MAX_CONCURRENT_BOOKS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    static {
+        bookPool.allowCoreThreadTimeOut(true);
+    }
     public static final String FIRST_VERSE = "first_verse";
     public static final String FILE_NAME = "file_name";
 
@@ -86,8 +108,11 @@ public class ImportUsfm {
     private int mCurrentChapter;
     private int mChaperCount;
     private List<MissingNameItem> mBooksMissingNames;
-    private boolean mCancel = false;
+    private volatile boolean mCancel = false;
     private List<String> mChapters;
+    private Map<String, Object> mBookLocks = new HashMap<>();
+    private final List<ImportUsfm> mBookImporters = new ArrayList<>();
+    private final AtomicInteger mBooksFinished = new AtomicInteger();
 
     /**
      * constructor
@@ -175,6 +200,38 @@ public class ImportUsfm {
         this.mBooksMissingNames = bookMissingNames;
     }
 
+    /**
+     * constructor used to process a single book of a multi-book import on a worker thread.
+     * Results are kept separately and merged back into the parent when the book is finished.
+     * @param parent
+     * @param bookIndex
+     */
+    private ImportUsfm(final ImportUsfm parent, int bookIndex) {
+        this.mStatusUpdateListener = new UpdateStatusListener() {
+            @Override
+            public void statusUpdate(String textStatus, int percentStatus) {
+                parent.onBookStatus(textStatus);
+            }
+        };
+        this.mContext = parent.mContext;
+        this.mChunks = null;
+
+        this.mTempDir = parent.mTempDir;
+        this.mTempOutput = parent.mTempOutput;
+        this.mTempSrce = parent.mTempSrce;
+        this.mSourceFiles = parent.mSourceFiles;
+        this.mImportProjects = new ArrayList<>();
+        this.mErrors = new ArrayList<>();
+        this.mFoundBooks = new ArrayList<>();
+        this.mCurrentBook = bookIndex;
+        this.mTargetLanguage = parent.mTargetLanguage;
+        this.mBooksMissingNames = new ArrayList<>();
+        this.mBookLocks = parent.mBookLocks;
+        this.mCancel = parent.mCancel;
+        this.mCurrentChapter = 0;
+        this.mChaperCount = 1;
+    }
+
     /**
      * generate JSON from object
      * @return
@@ -230,6 +287,11 @@ public class ImportUsfm {
      */
     public void setCancel(boolean mCancel) {
         this.mCancel = mCancel;
+        synchronized (mBookImporters) {
+            for(ImportUsfm bookImporter : mBookImporters) {
+                bookImporter.setCancel(mCancel);
+            }
+        }
     }
 
     /**
@@ -538,16 +600,15 @@ public class ImportUsfm {
             }
             Logger.i(TAG, "found files: " + TextUtils.join("\n", mSourceFiles));
 
-            for (mCurrentBook = 0; mCurrentBook < mSourceFiles.size(); mCurrentBook++) {
-                mCurrentChapter = 0;
-                File file = mSourceFiles.get(mCurrentBook);
-                String name = file.getName();
-                updateStatus(R.string.found_book, name);
-                success = processBook(file);
-                if (!success) {
-                    addError(R.string.could_not_parse, getShortFilePath(file.toString()));
+            if(mSourceFiles.size() > 1) {
+                successOverall = processBooks();
+            } else {
+                for (mCurrentBook = 0; mCurrentBook < mSourceFiles.size(); mCurrentBook++) {
+                    mCurrentChapter = 0;
+                    File file = mSourceFiles.get(mCurrentBook);
+                    success = processBookFile(file);
+                    successOverall = successOverall && success;
                 }
-                successOverall = successOverall && success;
             }
 
             mCurrentBook = mSourceFiles.size() - 1; // set to last book
@@ -563,6 +624,127 @@ public class ImportUsfm {
         return successOverall;
     }
 
+    /**
+     * process each of the source files in parallel.
+     * The results of each book are merged in order so they are reported the same as if the books
+     * had been processed one after another.
+     *
+     * @return
+     */
+    private boolean processBooks() {
+        boolean successOverall = true;
+        mBooksFinished.set(0);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        List<ImportUsfm> bookImporters = new ArrayList<>();
+        for (int i = 0; i < mSourceFiles.size(); i++) {
+            final ImportUsfm bookImporter = new ImportUsfm(this, i);
+            final File file = mSourceFiles.get(i);
+            synchronized (mBookImporters) {
+                mBookImporters.add(bookImporter);
+            }
+            bookImporters.add(bookImporter);
+            futures.add(bookPool.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    try {
+                        return bookImporter.processBookFile(file);
+                    } finally {
+                        mBooksFinished.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        try {
+            for (mCurrentBook = 0; mCurrentBook < futures.size(); mCurrentBook++) {
+                boolean success;
+                try {
+                    success = futures.get(mCurrentBook).get();
+                } catch (ExecutionException e) {
+                    Logger.e(TAG, "error processing book " + mSourceFiles.get(mCurrentBook), e.getCause());
+                    success = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    setCancel(true);
+                    success = false;
+                }
+                mergeBookResults(bookImporters.get(mCurrentBook));
+                successOverall = successOverall && success;
+            }
+        } finally {
+            synchronized (mBookImporters) {
+                mBookImporters.clear();
+            }
+        }
+        return successOverall;
+    }
+
+    /**
+     * import a single source file and record an error if it could not be parsed
+     *
+     * @param file
+     * @return
+     */
+    private boolean processBookFile(File file) {
+        String name = file.getName();
+        updateStatus(R.string.found_book, name);
+        boolean success = processBook(file);
+        if (!success) {
+            addError(R.string.could_not_parse, getShortFilePath(file.toString()));
+        }
+        return success;
+    }
+
+    /**
+     * copy the results of a book processed by a child importer into the results for the current book
+     *
+     * @param bookImporter
+     */
+    private void mergeBookResults(ImportUsfm bookImporter) {
+        normalizeMessageQueue();
+        normalizeBookQueue();
+        int index = bookImporter.mCurrentBook;
+        if(index < bookImporter.mErrors.size()) {
+            mErrors.set(mCurrentBook, bookImporter.mErrors.get(index));
+        }
+        if(index < bookImporter.mFoundBooks.size()) {
+            mFoundBooks.set(mCurrentBook, bookImporter.mFoundBooks.get(index));
+        }
+        mImportProjects.addAll(bookImporter.mImportProjects);
+        mBooksMissingNames.addAll(bookImporter.mBooksMissingNames);
+    }
+
+    /**
+     * forward a status update from a book being processed in parallel
+     *
+     * @param text
+     */
+    private void onBookStatus(String text) {
+        int fileCount = Math.max(1, mSourceFiles.size());
+        int percentDone = Math.round(100.0f * mBooksFinished.get() / fileCount);
+        UpdateStatusListener listener = mStatusUpdateListener;
+        if (listener != null) {
+            listener.statusUpdate(text, percentDone);
+        }
+    }
+
+    /**
+     * get the lock used to keep two copies of the same book from being written at the same time
+     *
+     * @param bookShortName
+     * @return
+     */
+    private Object getBookLock(String bookShortName) {
+        synchronized (mBookLocks) {
+            Object lock = mBookLocks.get(bookShortName);
+            if(lock == null) {
+                lock = new Object();
+                mBookLocks.put(bookShortName, lock);
+            }
+            return lock;
+        }
+    }
+
     /**
      * import single file
      *
@@ -749,30 +931,30 @@ public class ImportUsfm {
      * @return
      */
     private boolean processBook(File file) {
-        boolean success;
-        try {
-            String book = FileUtilities.readFileToString(file);
-            success = processBook(book, file.toString());
-        } catch (Exception e) {
-            Logger.e(TAG, "error reading book " + file.toString(), e);
-            addError(R.string.error_reading_file, file.toString());
-            success = false;
-        }
-        return success;
+        return processBook(new FileBook(file), file.toString(), true, null);
     }
 
     private boolean processBook(String book, String name) {
-        return processBook(book, name, true, null);
+        return processBook(new TextBook(book), name, true, null);
     }
 
     public boolean processText(String book, String name, boolean promptForName, String useName) {
         mCurrentBook = mFoundBooks.size();
-        boolean success = processBook(book, name, promptForName, useName);
+        boolean success = processBook(new TextBook(book), name, promptForName, useName);
         mProcessSuccess = success;
         return success;
     }
 
-    private boolean processBook(String book, String name, boolean promptForName, String useName) {
+    /**
+     * process a book one chapter at a time
+     *
+     * @param book
+     * @param name
+     * @param promptForName
+     * @param useName
+     * @return
+     */
+    private boolean processBook(BookSource book, String name, boolean promptForName, String useName) {
         if(mCancel) {
             return false;
         }
@@ -781,11 +963,15 @@ public class ImportUsfm {
         mBookShortName = "";
         String description = getShortFilePath(name);
         setBookName("", description);
+        UsfmChapterReader reader = null;
         try {
             mCurrentChapter = 0;
             mChaperCount = 1;
 
-            extractBookID(book);
+            // the book identification is in the text before the first chapter
+            reader = book.open();
+            UsfmChapterReader.Section header = reader.next();
+            extractBookID(header.text);
 
             // TODO: 4/12/16 verify book
 
@@ -795,7 +981,7 @@ public class ImportUsfm {
             }
 
 //            boolean hasSections = isPresent(book, PATTERN_SECTION_MARKER);
-            boolean hasVerses = isPresent(book, PATTERN_USFM_VERSE_SPAN);
+            boolean hasVerses = hasVerses(book);
 
             if (useName != null) {
                 mBookShortName = useName;
@@ -803,7 +989,7 @@ public class ImportUsfm {
 
             if (isMissing(mBookShortName)) {
                 addError(R.string.missing_book_short_name);
-                addBookMissingName(name, null, book);
+                addBookMissingName(name, null, book.readAll());
                 return promptForName;
             }
 
@@ -816,57 +1002,143 @@ public class ImportUsfm {
                 return false;
             }
 
-            mTempDest = new File(mTempOutput, mBookShortName);
-            mProjectFolder = new File(mTempDest, mBookShortName + "-" + mTargetLanguage.slug);
+            synchronized (getBookLock(mBookShortName)) {
+                mTempDest = new File(mTempOutput, mBookShortName);
+                mProjectFolder = new File(mTempDest, mBookShortName + "-" + mTargetLanguage.slug);
 
-            if (isMissing(mBookName)) {
-                addError(R.string.missing_book_name);
-                mBookName = mBookShortName;
-            }
+                if (isMissing(mBookName)) {
+                    addError(R.string.missing_book_name);
+                    mBookName = mBookShortName;
+                }
 
-            List<Versification> versifications = App.getLibrary().index().getVersifications("en");
-            List<ChunkMarker> markers = App.getLibrary().index().getChunkMarkers(mBookShortName, versifications.get(0).slug);
-            boolean haveChunksList = markers.size() > 0;
+                List<Versification> versifications = App.getLibrary().index().getVersifications("en");
+                List<ChunkMarker> markers = App.getLibrary().index().getChunkMarkers(mBookShortName, versifications.get(0).slug);
+                boolean haveChunksList = markers.size() > 0;
 
-            if (!haveChunksList) { // no chunk list
-                // TODO: 4/13/16 add support for processing by sections
+                if (!haveChunksList) { // no chunk list
+                    // TODO: 4/13/16 add support for processing by sections
 
-                addWarning(R.string.no_chunk_list, mBookShortName);
-                addBookMissingName(mBookName, mBookShortName, book);
-                return promptForName;
-            } else { // has chunks
-                ParsedChunks parsedChunks = parseChunks(markers);
-                mChapters = parsedChunks.chapters;
-                mChunks = parsedChunks.chunks;
-                mChaperCount = mChapters.size();
+                    addWarning(R.string.no_chunk_list, mBookShortName);
+                    addBookMissingName(mBookName, mBookShortName, book.readAll());
+                    return promptForName;
+                } else { // has chunks
+                    ParsedChunks parsedChunks = parseChunks(markers);
+                    mChapters = parsedChunks.chapters;
+                    mChunks = parsedChunks.chunks;
+                    mChaperCount = mChapters.size();
 
-                success = extractChaptersFromBook(book);
-                successOverall = successOverall && success;
-            }
+                    success = extractChaptersFromBook(header, reader);
+                    successOverall = successOverall && success;
+                }
 
-            if(mCancel) {
-                successOverall = false;
-            }
+                if(mCancel) {
+                    successOverall = false;
+                }
 
-            if (successOverall) {
-                mCurrentChapter = (mChaperCount + 1);
-                updateStatus(R.string.building_manifest);
+                if (successOverall) {
+                    mCurrentChapter = (mChaperCount + 1);
+                    updateStatus(R.string.building_manifest);
 
-                success = buildManifest();
-                successOverall = successOverall && success;
-            }
+                    success = buildManifest();
+                    successOverall = successOverall && success;
+                }
 
-            if (successOverall) {
-                mImportProjects.add(mProjectFolder);
+                if (successOverall) {
+                    mImportProjects.add(mProjectFolder);
+                }
             }
-
+        } catch (IOException e) {
+            Logger.e(TAG, "error reading book " + name, e);
+            addError(R.string.error_reading_file, name);
+            return false;
         } catch (Exception e) {
             Logger.e(TAG, "error parsing book", e);
             return false;
+        } finally {
+            if(reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    Logger.w(TAG, "failed to close book " + name, e);
+                }
+            }
         }
         return successOverall;
     }
 
+    /**
+     * check the book for verses. This stops reading at the first verse found.
+     *
+     * @param book
+     * @return
+     * @throws IOException
+     */
+    private boolean hasVerses(BookSource book) throws IOException {
+        UsfmChapterReader reader = book.open();
+        try {
+            UsfmChapterReader.Section section;
+            while ((section = reader.next()) != null) {
+                if (isPresent(section.text, PATTERN_USFM_VERSE_SPAN)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * A book that can be read more than once
+     */
+    private interface BookSource {
+        UsfmChapterReader open() throws IOException;
+
+        String readAll() throws IOException;
+    }
+
+    /**
+     * A book in a file which is read one chapter at a time
+     */
+    private static class FileBook implements BookSource {
+        private final File file;
+
+        FileBook(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public UsfmChapterReader open() throws IOException {
+            return new UsfmChapterReader(new InputStreamReader(new FileInputStream(file)));
+        }
+
+        @Override
+        public String readAll() throws IOException {
+            return FileUtilities.readFileToString(file);
+        }
+    }
+
+    /**
+     * A book that has already been read into memory
+     */
+    private static class TextBook implements BookSource {
+        private final String text;
+
+        TextBook(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public UsfmChapterReader open() {
+            return new UsfmChapterReader(new StringReader(text));
+        }
+
+        @Override
+        public String readAll() {
+            return text;
+        }
+    }
+
     public String getShortFilePath(String name) {
         String filename = name;
         if(name != null) {
@@ -920,37 +1192,43 @@ public class ImportUsfm {
     }
 
     /**
-     * extract chapters in book
+     * extract chapters in book one chapter at a time
      *
-     * @param text
+     * @param header the text before the first chapter
+     * @param reader reads the rest of the book
      * @return
+     * @throws IOException
      */
-    public boolean extractChaptersFromBook(CharSequence text) {
-        Pattern pattern = PATTERN_CHAPTER_NUMBER_MARKER;
-        Matcher matcher = pattern.matcher(text);
-        int lastIndex = 0;
-        CharSequence section;
+    public boolean extractChaptersFromBook(UsfmChapterReader.Section header, UsfmChapterReader reader) throws IOException {
+        UsfmChapterReader.Section next;
+        String section = header.text;
         mChapter = null;
         mLastChapter = 0;
         boolean successOverall = true;
         boolean success;
         boolean foundChapter = false;
-        while (matcher.find() && successOverall) {
+        while (successOverall && (next = reader.next()) != null) {
             if(mCancel) {
                 return false;
             }
 
             foundChapter = true;
             success = true;
-            section = text.subSequence(lastIndex, matcher.start()); // get section before this chapter marker
 
-            String chapter = matcher.group(1); // chapter number for next section
+            String chapter = next.chapter; // chapter number for next section
             mCurrentChapter = Integer.valueOf(chapter);
             if(mCurrentChapter > mChapters.size()) { //make sure in range
+                // the rest of the book is part of the last chapter
+                StringBuilder rest = new StringBuilder(section);
+                do {
+                    rest.append(next.marker).append(next.text);
+                } while ((next = reader.next()) != null);
+                section = rest.toString();
                 break;
             }
 
             if(mCurrentChapter <= 0) { // skip till we get to chapter 1
+                section = section + next.marker + next.text;
                 continue;
             }
 
@@ -981,7 +1259,7 @@ public class ImportUsfm {
 
             mLastChapter++;
             mChapter = chapter; // chapter number for next section
-            lastIndex = matcher.end();
+            section = next.text;
         }
 
         if(!foundChapter) { // if no chapters found
@@ -991,8 +1269,7 @@ public class ImportUsfm {
         }
 
         if (successOverall) {
-            section = text.subSequence(lastIndex, text.length()); // get last section
-            success = breakUpChapter(section, mChapter);
+            success = breakUpChapter(section, mChapter); // last section
             mLastChapter = Integer.valueOf(mChapter);
             successOverall = successOverall && success;
         }
@@ -1069,15 +1346,16 @@ public class ImportUsfm {
                 int currentChapter = Integer.valueOf(chapter);
                 updateStatus(R.string.processing_chapter, new Integer(mChaperCount - currentChapter + 1).toString());
 
+                ChunkScan scan = new ChunkScan(new UsfmVerses.Markers(cleanedString));
                 String lastFirst = null;
                 for (int i = 0; (i < versebreaks.size()) && success; i++) {
                     String first = versebreaks.get(i);
-                    success = extractVerses(chapter, cleanedString, lastFirst, first);
+                    success = extractVerses(chapter, cleanedString, scan, lastFirst, first);
                     successOverall = successOverall && success;
                     lastFirst = first;
                 }
                 if (successOverall) {
-                    success = extractVerses(chapter, cleanedString, lastFirst, END_MARKER +"");
+                    success = extractVerses(chapter, cleanedString, scan, lastFirst, END_MARKER +"");
                     successOverall = successOverall && success;
                 }
 
@@ -1198,18 +1476,18 @@ public class ImportUsfm {
      *
      * @param chapter
      * @param text
+     * @param scan the verse markers found in text
      * @param start
      * @param end
      * @return
      */
-    private boolean extractVerses(String chapter, CharSequence text, String start, String end) {
+    private boolean extractVerses(String chapter, CharSequence text, ChunkScan scan, String start, String end) {
         boolean success = true;
         if (null == start) { // skip over stuff before verse 1 for now
 
             // TODO: 11/1/16 save stuff before verse one
             if (!isMissing(chapter)) {
-                Pattern pattern = PATTERN_USFM_VERSE_SPAN;
-                Matcher matcher = pattern.matcher(text);
+                UsfmVerses.Markers.Cursor matcher = scan.markers.cursor();
                 if (matcher.find()) {
                     int verseStart = matcher.start();
                     if(verseStart > 0) {
@@ -1224,7 +1502,7 @@ public class ImportUsfm {
 
         int startVerse = Integer.valueOf(start);
         int endVerse = Integer.valueOf(end);
-        success = extractVerseRange(chapter, text, startVerse, endVerse, start);
+        success = extractVerseRange(chapter, text, scan, startVerse, endVerse, start);
         return success;
     }
 
@@ -1233,25 +1511,38 @@ public class ImportUsfm {
      *
      * @param chapter
      * @param text
+     * @param scan the verse markers found in text and where the previous chunk stopped
      * @param start
      * @param end
      * @param firstVerse
      * @return
      */
-    private boolean extractVerseRange(String chapter, CharSequence text, int start, int end, String firstVerse) {
+    private boolean extractVerseRange(String chapter, CharSequence text, ChunkScan scan, int start, int end, String firstVerse) {
         boolean successOverall = true;
         boolean success;
         if (!isMissing(chapter)) {
-            Pattern pattern = PATTERN_USFM_VERSE_SPAN;
-            Matcher matcher = pattern.matcher(text);
+            UsfmVerses.Markers.Cursor matcher;
             int lastIndex = 0;
-            String section = "";
+            StringBuilder section = new StringBuilder();
             int currentVerse = 0;
             int foundVerseCount = 0;
             int endVerseRange = 0;
             boolean done = false;
             boolean matchesFound = false;
             CharSequence pretext = "";
+            if (scan.canResume(start)) {
+                // TRICKY: the previous chunk stopped on the first verse of this chunk so this is
+                // the same state a scan from the start of the chapter would reach
+                matcher = scan.markers.cursor(scan.position);
+                currentVerse = scan.currentVerse;
+                endVerseRange = scan.endVerseRange;
+                lastIndex = scan.lastIndex;
+                pretext = scan.pretext;
+                matchesFound = true;
+            } else {
+                matcher = scan.markers.cursor();
+            }
+            scan.resumable = false;
             while (matcher.find()) {
                 matchesFound = true;
 
@@ -1268,7 +1559,7 @@ public class ImportUsfm {
                             foundVerseCount++;
                         }
 
-                        String verse = matcher.group(1);
+                        String verse = matcher.verse();
                         int[] verseRange = getVerseRange(verse);
                         if(null == verseRange) {
                             break;
@@ -1277,18 +1568,19 @@ public class ImportUsfm {
                         endVerseRange = verseRange[1];
 
                         VerseSplitResults results = splitAtVerseEnd(text, lastIndex, matcher.start());
-                        section = section + pretext + results.verse;
+                        section.append(pretext).append(results.verse);
                         pretext = results.extra;
                         lastIndex = matcher.start(); // update end of chunk
 
                         if (currentVerse >= end) {
-                             break;
+                            scan.stop(end, matcher.position(), currentVerse, endVerseRange, lastIndex, pretext);
+                            break;
                         }
 
                         boolean found = matcher.find();
                         if(!found) { // we have reached the end, use this verse
                             results = splitAtVerseEnd(text, lastIndex, text.length());
-                            section = section + pretext + results.verse;
+                            section.append(pretext).append(results.verse);
                             pretext = "";
                             foundVerseCount++;
                             break;
@@ -1299,7 +1591,7 @@ public class ImportUsfm {
                     break;
                 }
 
-                String verse = matcher.group(1);
+                String verse = matcher.verse();
                 int[] verseRange = getVerseRange(verse);
                 if(null == verseRange) {
                     return false;
@@ -1314,12 +1606,12 @@ public class ImportUsfm {
 
             if (!done && matchesFound && (currentVerse >= start) && (currentVerse < end)) {
                 VerseSplitResults results = splitAtVerseEnd(text, lastIndex, text.length());
-                section = section + pretext + results.verse;
+                section.append(pretext).append(results.verse);
             }
 
             if(start != 0) { // text before first verse is not a concern
                 int delta = foundVerseCount - (end - start);
-                if (section.isEmpty()) {
+                if (section.length() == 0) {
                     String format = mContext.getResources().getString(R.string.could_not_find_verses_in_chapter);
                     String msg = String.format(format, start, end - 1, chapter);
                     addWarning(msg);
@@ -1359,6 +1651,53 @@ public class ImportUsfm {
         return new VerseSplitResults(verseStr, "");
     }
 
+    /**
+     * The verse markers of a chapter and where the previous chunk stopped.
+     * Chunks are extracted in order so each chunk continues from the marker where the previous
+     * chunk stopped instead of walking the markers from the start of the chapter again.
+     */
+    private static class ChunkScan {
+        final UsfmVerses.Markers markers;
+        boolean resumable = false;
+        int nextStart;
+        int position;
+        int currentVerse;
+        int endVerseRange;
+        int lastIndex;
+        CharSequence pretext;
+
+        ChunkScan(UsfmVerses.Markers markers) {
+            this.markers = markers;
+        }
+
+        /**
+         * Records the state of the scan when a chunk stopped on the first verse after it
+         * @param nextStart the first verse of the next chunk
+         * @param position the position of the marker the chunk stopped on
+         * @param currentVerse
+         * @param endVerseRange
+         * @param lastIndex
+         * @param pretext
+         */
+        void stop(int nextStart, int position, int currentVerse, int endVerseRange, int lastIndex, CharSequence pretext) {
+            this.resumable = true;
+            this.nextStart = nextStart;
+            this.position = position;
+            this.currentVerse = currentVerse;
+            this.endVerseRange = endVerseRange;
+            this.lastIndex = lastIndex;
+            this.pretext = pretext;
+        }
+
+        /**
+         * @param start the first verse of the chunk
+         * @return true if the chunk can continue from where the previous chunk stopped
+         */
+        boolean canResume(int start) {
+            return resumable && nextStart == start;
+        }
+    }
+
     class VerseSplitResults {
         final String verse;
         final String extra;
@@ -1408,7 +1747,12 @@ public class ImportUsfm {
             String cleanChunk = removePattern(section, PATTERN_SECTION_MARKER);
             FileUtilities.forceMkdir(chapterFolder);
             File output = new File(chapterFolder, fileName + ".txt");
-            FileUtilities.writeStringToFile(output, cleanChunk);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output), "UTF-8"));
+            try {
+                writer.write(cleanChunk);
+            } finally {
+                writer.close();
+            }
             return true;
         } catch (Exception e) {
             Logger.e(TAG, "error parsing chapter " + mChapter, e);
@@ -1543,8 +1887,7 @@ public class ImportUsfm {
      */
     private String removeKnownUsfmTags(CharSequence text) {
         if (text.length() > 0) {
-            final String USFM_TAG = "\\\\([\\w\\d]+)\\s([^\\n\\\\]*)";
-            Pattern regexPattern = Pattern.compile(USFM_TAG);
+            Pattern regexPattern = PATTERN_USFM_TAG;
 
             // find instance
             Matcher matcher = regexPattern.matcher(text);
@@ -1639,15 +1982,15 @@ public class ImportUsfm {
      * @return
      */
     private String removePattern(CharSequence text, Pattern removePattern) {
-        String out = "";
+        StringBuilder out = new StringBuilder(text.length());
         Matcher matcher = removePattern.matcher(text);
         int lastIndex = 0;
         while (matcher.find()) {
-            out = out + text.subSequence(lastIndex, matcher.start()); // get section before this chunk marker
+            out.append(text, lastIndex, matcher.start()); // get section before this chunk marker
             lastIndex = matcher.end();
         }
-        out = out + text.subSequence(lastIndex, text.length()); // get last section
-        return out;
+        out.append(text, lastIndex, text.length()); // get last section
+        return out.toString();
     }
 
     /**
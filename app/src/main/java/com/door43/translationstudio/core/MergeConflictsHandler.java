@@ -5,6 +5,7 @@ import android.os.Looper;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.tasks.MergeConflictsParseTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.home.ImportDialog;
 
 import org.unfoldingword.tools.taskmanager.ManagedTask;
@@ -152,7 +153,7 @@ public class MergeConflictsHandler {
                 }
             }
         });
-        TaskManager.addTask(task);
+        TaskMetrics.addTask(task);
     }
 
     public interface OnMergeConflictListener {
@@ -3,12 +3,16 @@ package com.door43.translationstudio.core;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.util.LruCache;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.rendering.PatternRegistry;
 import com.door43.translationstudio.tasks.PrintPDFTask;
 import com.door43.translationstudio.ui.spannables.Span;
 import com.door43.translationstudio.ui.spannables.USFMVerseSpan;
+import com.door43.util.FileUtilities;
+import com.door43.util.ReadAheadQueue;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.BaseFont;
 import com.itextpdf.text.pdf.PdfContentByte;
@@ -23,23 +27,57 @@ import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.resourcecontainer.Project;
 import org.unfoldingword.resourcecontainer.Resource;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
+import org.unfoldingword.tools.logger.Logger;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created by joel on 11/12/2015.
  */
 public class PdfPrinter extends PdfPageEventHelper {
+    private static final String TAG = "PdfPrinter";
     private static final float VERTICAL_PADDING = 72.0f; // 1 inch
     private static final float HORIZONTAL_PADDING = 72.0f; // 1 inch
     public static final float RATIO_OF_SP_TO_PT = 2.5f;
+    /**
+     * The number of chapters that may be converted ahead of the chapter being written
+     */
+    private static final int READ_AHEAD_CHAPTERS = 3;
+    /**
+     * The number of rows added to a chapter table before they are written to the document
+     */
+    private static final int ROWS_PER_FLUSH = 20;
+    private static final int MAX_THREADS = Math.max(1, Math.min(READ_AHEAD_CHAPTERS, Runtime.getRuntime().availableProcessors()));
+    private static final ThreadPoolExecutor conversionPool = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    static {
+        conversionPool.allowCoreThreadTimeOut(true);
+    }
+    /**
+     * The number of fonts kept loaded between prints
+     */
+    private static final int MAX_CACHED_FONTS = 4;
+    private static final LruCache<String, BaseFont> baseFonts = new LruCache<>(MAX_CACHED_FONTS);
+    // TRICKY: iText images are changed when they are placed so only the file contents are shared between prints
+    private static final LruCache<String, byte[]> imageCache = new LruCache<String, byte[]>((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 32)) {
+        @Override
+        protected int sizeOf(String key, byte[] value) {
+            return Math.max(1, value.length);
+        }
+    };
     private final TargetTranslation targetTranslation;
     private final Context context;
     private final Font titleFont;
@@ -51,7 +89,6 @@ public class PdfPrinter extends PdfPageEventHelper {
     private final Font headingFont;
     private final Font licenseFont;
     private final TranslationFormat format;
-    private final Door43Client library;
     private final ResourceContainer sourceContainer;
     private final Font superScriptFont;
     private final BaseFont baseFont;
@@ -67,6 +104,8 @@ public class PdfPrinter extends PdfPageEventHelper {
     private Paragraph mCurrentParagraph;
     private final PrintPDFTask task;
     private final float targetLanguageFontSize;
+    private float maxImageWidth;
+    private float maxImageHeight;
 
     public PdfPrinter(Context context, Door43Client library, TargetTranslation targetTranslation, TranslationFormat format,
                       String targetLanguageFontPath, float targetLanguageFontSize, boolean targetlanguageRtl,
@@ -74,22 +113,15 @@ public class PdfPrinter extends PdfPageEventHelper {
         this.targetTranslation = targetTranslation;
         this.context = context;
         this.format = format;
-        this.library = library;
         this.imagesDir = imagesDir;
         Project p = library.index.getProject("en", targetTranslation.getProjectId(), true);
         java.util.List<Resource> resources = library.index.getResources(p.languageSlug, p.slug);
-        ResourceContainer rc = null;
-        try {
-            rc = library.open("en", targetTranslation.getProjectId(), resources.get(0).slug);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        this.sourceContainer = rc;
+        this.sourceContainer = ContainerCache.cacheClosest(library, "en", targetTranslation.getProjectId(), resources.get(0).slug);
 
         targetLanguageFontSize = targetLanguageFontSize / RATIO_OF_SP_TO_PT;
         this.targetLanguageFontSize = targetLanguageFontSize;
 
-        baseFont = BaseFont.createFont(targetLanguageFontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+        baseFont = getBaseFont(targetLanguageFontPath);
         titleFont = new Font(baseFont, targetLanguageFontSize * 2.5f, Font.BOLD);
         chapterFont = new Font(baseFont, targetLanguageFontSize * 2);
         bodyFont = new Font(baseFont, targetLanguageFontSize);
@@ -100,7 +132,7 @@ public class PdfPrinter extends PdfPageEventHelper {
         superScriptFont = new Font(baseFont, targetLanguageFontSize * 0.9f);
         superScriptFont.setColor(94, 94, 94);
 
-        licenseBaseFont = BaseFont.createFont(licenseFontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+        licenseBaseFont = getBaseFont(licenseFontPath);
         licenseFont = new Font(licenseBaseFont, 20);
         this.targetlanguageRtl = targetlanguageRtl;
         this.task = task;
@@ -126,15 +158,26 @@ public class PdfPrinter extends PdfPageEventHelper {
         File tempFile = File.createTempFile(targetTranslation.getId(), ".pdf");
 
         Document document = new Document(PageSize.LETTER, HORIZONTAL_PADDING, HORIZONTAL_PADDING, VERTICAL_PADDING, VERTICAL_PADDING);
-        writer = PdfWriter.getInstance(document, new FileOutputStream(tempFile));
-        writer.setPageEvent(this);
-        document.open();
-        addMetaData(document);
-        addTitlePage(document);
-        addLicensePage(document);
-        addTOC(document);
-        addContent(document);
-        document.close();
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile));
+        boolean success = false;
+        try {
+            writer = PdfWriter.getInstance(document, out);
+            writer.setPageEvent(this);
+            document.open();
+            addMetaData(document);
+            addTitlePage(document);
+            addLicensePage(document);
+            addTOC(document);
+            addContent(document);
+            document.close();
+            success = true;
+        } finally {
+            if(!success) {
+                // TRICKY: closing an unfinished document would try to write the remaining pages
+                FileUtilities.closeQuietly(out);
+                tempFile.delete();
+            }
+        }
 
         return tempFile;
     }
@@ -309,74 +352,126 @@ public class PdfPrinter extends PdfPageEventHelper {
     }
 
     /**
-     * Adds the content of the book
+     * Adds the content of the book.
+     * The chapters are converted to table cells on worker threads a few chapters ahead of the
+     * chapter being written so that only a small window of the book is held in memory.
+     * Each chapter table is flushed to the document as rows are added.
      * @param document
      */
     private void addContent(Document document) throws DocumentException, IOException {
-        ChapterTranslation[] chapterTranslations = targetTranslation.getChapterTranslations();
+        long startTime = System.currentTimeMillis();
+        final ChapterTranslation[] chapterTranslations = targetTranslation.getChapterTranslations();
         int chapterCount = chapterTranslations.length + 1;
         double increments = 1.0/ chapterCount;
         double progress = 0;
-        for(ChapterTranslation c: chapterTranslations) {
+        maxImageWidth = pageWidth(document);
+        maxImageHeight = pageHeight(document);
+
+        java.util.List<Callable<java.util.List<PdfPCell>>> jobs = new ArrayList<>();
+        for(final ChapterTranslation chapter:chapterTranslations) {
+            jobs.add(new Callable<java.util.List<PdfPCell>>() {
+                @Override
+                public java.util.List<PdfPCell> call() throws Exception {
+                    return renderChapterBody(chapter);
+                }
+            });
+        }
+        ReadAheadQueue<java.util.List<PdfPCell>> chapterBodies = new ReadAheadQueue<>(conversionPool, jobs, READ_AHEAD_CHAPTERS);
+        try {
+            for(int i = 0; i < chapterTranslations.length; i ++) {
+                // keep the conversion ahead of the writer
+                chapterBodies.fill(i);
+
+                if(task != null) {
+                    if(task.isCanceled()) {
+                        throw new InterruptedIOException("Printing was canceled");
+                    }
+                    task.updateProgress(progress+=increments);
+                }
 
-            PdfPTable table = new PdfPTable(1);
-            table.setWidthPercentage(100);
+                ChapterTranslation c = chapterTranslations[i];
+                boolean chapter0 = (Util.strToInt(c.getId(), 0) == 0);
+                if(!chapter0) { // if chapter 00, then skip title since that was already printed as first page.
+                    if (includeIncomplete || c.isTitleFinished() || sourceContainer.readChunk(c.getId(), "title").isEmpty()) {
+                        addChapterPage(document, c);
+                    }
+                }
 
-            if(task != null) {
-                task.updateProgress(progress+=increments);
-            }
+                java.util.List<PdfPCell> cells = chapterBodies.take(i);
 
-            boolean chapter0 = (Util.strToInt(c.getId(), 0) == 0);
-            if(!chapter0) { // if chapter 00, then skip title since that was already printed as first page.
-                if (includeIncomplete || c.isTitleFinished() || sourceContainer.readChunk(c.getId(), "title").isEmpty()) {
-                    addChapterPage(document, c);
+                // stream the chapter body into the document
+                PdfPTable table = new PdfPTable(1);
+                table.setWidthPercentage(100);
+                table.setComplete(false);
+                for(int j = 0; j < cells.size(); j ++) {
+                    table.addCell(cells.get(j));
+                    if((j + 1) % ROWS_PER_FLUSH == 0) {
+                        document.add(table);
+                    }
                 }
+                table.setComplete(true);
+                document.add(table);
             }
+        } finally {
+            chapterBodies.cancel();
+        }
+        Logger.i(TAG, "Printed " + chapterTranslations.length + " chapters of " + targetTranslation.getId() + " in " + (System.currentTimeMillis() - startTime) + "ms");
+    }
 
-            // get chapter body
-            FrameTranslation[] frames = targetTranslation.getFrameTranslations(c.getId(), this.format);
-            ArrayList<FrameTranslation> frameList = ExportUsfm.sortFrameTranslations(frames);
-            for(int i=0; i < frameList.size(); i ++) {
-                FrameTranslation f = frameList.get(i);
-                if(includeIncomplete || f.isFinished()) {
-                    if(includeMedia && this.format == TranslationFormat.MARKDOWN) {
-                        // TODO: 11/13/2015 insert frame images if we have them.
-                        // TODO: 11/13/2015 eventually we need to provide the directory where to find these images which will be downloaded not in assets
-                        try {
-                            File imageFile = new File(imagesDir, targetTranslation.getProjectId() + "-" + f.getComplexId() + ".jpg");
-                            if(imageFile.exists()) {
-                                if( i != 0) {
-                                    addBidiTextToTable(10, " ", subFont, table); // add space between text above and image below
-                                }
-                                addImage(document, table, imageFile.getAbsolutePath());
+    /**
+     * Converts the body of a chapter to table cells.
+     * This does not touch the document so it may be run on any thread.
+     * @param c
+     * @return
+     */
+    private java.util.List<PdfPCell> renderChapterBody(ChapterTranslation c) {
+        java.util.List<PdfPCell> cells = new ArrayList<>();
+
+        // get chapter body
+        FrameTranslation[] frames = targetTranslation.getFrameTranslations(c.getId(), this.format);
+        ArrayList<FrameTranslation> frameList = ExportUsfm.sortFrameTranslations(frames);
+        for(int i=0; i < frameList.size(); i ++) {
+            FrameTranslation f = frameList.get(i);
+            if(includeIncomplete || f.isFinished()) {
+                if(includeMedia && this.format == TranslationFormat.MARKDOWN) {
+                    // TODO: 11/13/2015 insert frame images if we have them.
+                    // TODO: 11/13/2015 eventually we need to provide the directory where to find these images which will be downloaded not in assets
+                    try {
+                        File imageFile = new File(imagesDir, targetTranslation.getProjectId() + "-" + f.getComplexId() + ".jpg");
+                        if(imageFile.exists()) {
+                            if( i != 0) {
+                                cells.add(createBidiCell(new Paragraph(10, " ", subFont))); // add space between text above and image below
                             }
-                        } catch (Exception e) {
-                            e.printStackTrace();
+                            cells.add(createImageCell(getImage(imageFile), maxImageWidth, maxImageHeight));
                         }
-                    }
-                    // TODO: 11/13/2015 render body according to the format
-                    String body = f.body;
-                    if(format == TranslationFormat.USFM) {
-                        addUSFM(f.body, table);
-                    } else {
-                        addBidiTextToTable(16, body, this.bodyFont, table);
+                    } catch (Exception e) {
+                        e.printStackTrace();
                     }
                 }
+                // TODO: 11/13/2015 render body according to the format
+                if(format == TranslationFormat.USFM) {
+                    cells.add(createBidiCell(createUSFMParagraph(f.body)));
+                } else {
+                    cells.add(createBidiCell(new Paragraph(16, f.body, this.bodyFont)));
+                }
             }
+        }
 
-            // chapter reference
-            if((includeIncomplete || c.isReferenceFinished()) && !c.reference.isEmpty()) {
-                addBidiTextToTable(16, " ", this.bodyFont, table);
-                addBidiTextToTable(16, c.reference, subFont, table);
-            }
-
-            document.add(table);
+        // chapter reference
+        if((includeIncomplete || c.isReferenceFinished()) && !c.reference.isEmpty()) {
+            cells.add(createBidiCell(new Paragraph(16, " ", this.bodyFont)));
+            cells.add(createBidiCell(new Paragraph(16, c.reference, subFont)));
         }
+        return cells;
     }
 
-    private void addUSFM(String usfm, PdfPTable table) {
-        Pattern pattern = Pattern.compile(USFMVerseSpan.PATTERN);
-        Matcher matcher = pattern.matcher(usfm);
+    /**
+     * Converts usfm to a paragraph with formatted verse markers
+     * @param usfm
+     * @return
+     */
+    private Paragraph createUSFMParagraph(String usfm) {
+        Matcher matcher = PatternRegistry.USFM_VERSE.matcher(usfm);
         int lastIndex = 0;
         Paragraph paragraph = new Paragraph(targetLanguageFontSize * 1.6f, "", bodyFont);
         while(matcher.find()) {
@@ -399,34 +494,31 @@ public class PdfPrinter extends PdfPageEventHelper {
             lastIndex = matcher.end();
         }
         paragraph.add(usfm.subSequence(lastIndex, usfm.length()).toString());
-        addBidiParagraphToTable(table, paragraph);
+        return paragraph;
     }
 
     /**
-     * put text in table cell, set text direction, and add to table
-     * @param leading
-     * @param text
-     * @param font
+     * package paragraph in table cell, set text direction, and add to table
      * @param table
+     * @param paragraph
      * @return
      */
-    private PdfPCell addBidiTextToTable(int leading, String text, Font font, PdfPTable table) {
-        Paragraph paragraph = new Paragraph(leading, text, font);
-        return addBidiParagraphToTable(table, paragraph);
+    private PdfPCell addBidiParagraphToTable(PdfPTable table, Paragraph paragraph) {
+        PdfPCell cell = createBidiCell(paragraph);
+        table.addCell(cell);
+        return cell;
     }
 
     /**
-     * package paragraph in table cell, set text direction, and add to table
-     * @param table
+     * package paragraph in table cell and set text direction
      * @param paragraph
      * @return
      */
-    private PdfPCell addBidiParagraphToTable(PdfPTable table, Paragraph paragraph) {
+    private PdfPCell createBidiCell(Paragraph paragraph) {
         PdfPCell cell = new PdfPCell();
         cell.addElement(paragraph);
         cell.setRunDirection(targetlanguageRtl ? PdfWriter.RUN_DIRECTION_RTL : PdfWriter.RUN_DIRECTION_LTR);  // need to set predominant language direction in case first character runs other direction
         cell.setBorder(Rectangle.NO_BORDER);
-        table.addCell(cell);
         return cell;
     }
 
@@ -445,17 +537,61 @@ public class PdfPrinter extends PdfPageEventHelper {
      * @throws IOException
      */
     public static void addImage(Document document, PdfPTable table, String path) throws DocumentException, IOException {
-        Image image = Image.getInstance(path);
+        table.addCell(createImageCell(getImage(new File(path)), pageWidth(document), pageHeight(document)));
+    }
+
+    /**
+     * Places an image in a table cell, scaling it down to fit on the page if needed
+     * @param image
+     * @param maxWidth
+     * @param maxHeight
+     * @return
+     */
+    private static PdfPCell createImageCell(Image image, float maxWidth, float maxHeight) {
         image.setAlignment(Element.ALIGN_CENTER);
-        if(image.getScaledWidth() > pageWidth(document) || image.getScaledHeight() > pageHeight(document)) {
-            image.scaleToFit(pageWidth(document), pageHeight(document));
+        if(image.getScaledWidth() > maxWidth || image.getScaledHeight() > maxHeight) {
+            image.scaleToFit(maxWidth, maxHeight);
         }
 
         Paragraph paragraph = new Paragraph(new Chunk(image, 0, 0, true));
         PdfPCell cell = new PdfPCell();
         cell.addElement(paragraph);
         cell.setBorder(Rectangle.NO_BORDER);
-        table.addCell(cell);
+        return cell;
+    }
+
+    /**
+     * Loads an image using the cached file contents if possible.
+     * A new image is returned every time so it can be scaled and placed without affecting other prints.
+     * @param file
+     * @return
+     * @throws BadElementException
+     * @throws IOException
+     */
+    private static Image getImage(File file) throws BadElementException, IOException {
+        String key = file.getAbsolutePath() + ":" + file.lastModified();
+        byte[] data = imageCache.get(key);
+        if(data == null) {
+            data = FileUtilities.readFileToByteArray(file);
+            imageCache.put(key, data);
+        }
+        return Image.getInstance(data);
+    }
+
+    /**
+     * Loads a font from the cache or from the disk
+     * @param path
+     * @return
+     * @throws DocumentException
+     * @throws IOException
+     */
+    private static BaseFont getBaseFont(String path) throws DocumentException, IOException {
+        BaseFont font = baseFonts.get(path);
+        if(font == null) {
+            font = BaseFont.createFont(path, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+            baseFonts.put(path, font);
+        }
+        return font;
     }
 
     /**
@@ -0,0 +1,289 @@
+package com.door43.translationstudio.core;
+
+import com.door43.translationstudio.App;
+
+import org.unfoldingword.door43client.Door43Client;
+import org.unfoldingword.door43client.models.Translation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The source translations available for download organized by language, testament, book and resource type.
+ * The catalog is built once after each catalog update and shared until the library index changes
+ * so opening and filtering the download dialog does not have to query the index again.
+ * Languages are indexed by code and name so they can be looked up by prefix.
+ */
+public class SourceCatalog {
+    public static final String[] RESOURCE_TYPES = {"book", "dict"};
+
+    private static final String[] ntBookList = BibleCodes.getNtBooks();
+    private static final String[] otBookList = BibleCodes.getOtBooks();
+
+    private static SourceCatalog sCatalog = null;
+    private static long sIndexModified = 0;
+    private static long sIndexSize = 0;
+
+    private final List<Translation> sources;
+    private final Map<String, List<Integer>> byLanguage = new TreeMap<>();
+    private final Map<String, List<Integer>> byResourceType = new HashMap<>();
+    private final Map<String, List<Integer>> ntBooks = new LinkedHashMap<>();
+    private final Map<String, List<Integer>> otBooks = new LinkedHashMap<>();
+    private final Map<String, List<Integer>> taBooks = new LinkedHashMap<>();
+    private final Map<String, List<Integer>> otherBooks = new LinkedHashMap<>();
+    private final Map<String, Set<Category>> languageCategories = new HashMap<>();
+    private final String[] languageSlugs;
+    private final PrefixEntry[] codeIndex;
+    private final PrefixEntry[] nameIndex;
+
+    /**
+     * The groups of books shown in the download dialog
+     */
+    public enum Category {
+        OLD_TESTAMENT,
+        NEW_TESTAMENT,
+        TRANSLATION_ACADEMY,
+        OTHER
+    }
+
+    /**
+     * @param sources the available sources
+     * @param types the resource type of each source
+     */
+    private SourceCatalog(List<Translation> sources, List<String> types) {
+        this.sources = sources;
+        for (String book : ntBookList) {
+            ntBooks.put(book, new ArrayList<Integer>());
+        }
+        for (String book : otBookList) {
+            otBooks.put(book, new ArrayList<Integer>());
+        }
+
+        for(int i = 0; i < sources.size(); i ++) {
+            Translation t = sources.get(i);
+            addTo(byLanguage, t.language.slug, i);
+            addTo(byResourceType, types.get(i), i);
+
+            String book = t.project.slug;
+            Category category;
+            if(ntBooks.containsKey(book)) {
+                ntBooks.get(book).add(i);
+                category = Category.NEW_TESTAMENT;
+            } else if(otBooks.containsKey(book)) {
+                otBooks.get(book).add(i);
+                category = Category.OLD_TESTAMENT;
+            } else if(book.startsWith("ta-")) {
+                addTo(taBooks, book, i);
+                category = Category.TRANSLATION_ACADEMY;
+            } else {
+                addTo(otherBooks, book, i);
+                category = Category.OTHER;
+            }
+
+            Set<Category> categories = languageCategories.get(t.language.slug);
+            if(categories == null) {
+                categories = new HashSet<>();
+                languageCategories.put(t.language.slug, categories);
+            }
+            categories.add(category);
+        }
+
+        // index the languages in display order
+        languageSlugs = byLanguage.keySet().toArray(new String[byLanguage.size()]);
+        codeIndex = new PrefixEntry[languageSlugs.length];
+        nameIndex = new PrefixEntry[languageSlugs.length];
+        for(int i = 0; i < languageSlugs.length; i ++) {
+            Translation t = sources.get(byLanguage.get(languageSlugs[i]).get(0));
+            codeIndex[i] = new PrefixEntry(normalize(t.language.slug), i);
+            nameIndex[i] = new PrefixEntry(normalize(t.language.name), i);
+        }
+        Arrays.sort(codeIndex);
+        Arrays.sort(nameIndex);
+    }
+
+    /**
+     * Returns the catalog of available sources.
+     * The catalog is only rebuilt if the library index has changed since it was last built.
+     * @param library
+     * @return
+     */
+    public static SourceCatalog get(Door43Client library) {
+        File indexFile = App.dbFile();
+        synchronized (SourceCatalog.class) {
+            if(sCatalog != null && indexFile.lastModified() == sIndexModified && indexFile.length() == sIndexSize) {
+                return sCatalog;
+            }
+        }
+        return rebuild(library);
+    }
+
+    /**
+     * Builds the catalog from the library index and replaces the shared catalog.
+     * This should be called after the catalog has been updated.
+     * @param library
+     * @return
+     */
+    public static SourceCatalog rebuild(Door43Client library) {
+        File indexFile = App.dbFile();
+        long modified = indexFile.lastModified();
+        long size = indexFile.length();
+
+        List<Translation> sources = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        for(String type:RESOURCE_TYPES) {
+            List<Translation> translations = library.index.findTranslations(null, null, null, type, null, App.MIN_CHECKING_LEVEL, -1);
+            sources.addAll(translations);
+            types.addAll(Collections.nCopies(translations.size(), type));
+        }
+        SourceCatalog catalog = new SourceCatalog(Collections.unmodifiableList(sources), types);
+
+        synchronized (SourceCatalog.class) {
+            sCatalog = catalog;
+            sIndexModified = modified;
+            sIndexSize = size;
+        }
+        return catalog;
+    }
+
+    /**
+     * Drops the shared catalog e.g. when the library is replaced
+     */
+    public static synchronized void invalidate() {
+        sCatalog = null;
+    }
+
+    /**
+     * Returns the language slugs whose code or name begins with the prefix.
+     * Languages matching by code come first followed by those matching by name.
+     * @param prefix
+     * @return
+     */
+    public List<String> findLanguages(String prefix) {
+        String key = normalize(prefix);
+        Set<Integer> byCode = new TreeSet<>();
+        collect(codeIndex, key, byCode);
+        Set<Integer> byName = new TreeSet<>();
+        collect(nameIndex, key, byName);
+        byName.removeAll(byCode);
+
+        List<String> languages = new ArrayList<>(byCode.size() + byName.size());
+        for(Integer i:byCode) {
+            languages.add(languageSlugs[i]);
+        }
+        for(Integer i:byName) {
+            languages.add(languageSlugs[i]);
+        }
+        return languages;
+    }
+
+    /**
+     * Checks if the language has any sources in the category
+     * @param languageSlug
+     * @param category
+     * @return
+     */
+    public boolean hasCategory(String languageSlug, Category category) {
+        Set<Category> categories = languageCategories.get(languageSlug);
+        return categories != null && categories.contains(category);
+    }
+
+    /**
+     * Returns the first source in the language
+     * @param languageSlug
+     * @return
+     */
+    public Translation getLanguageSource(String languageSlug) {
+        List<Integer> items = byLanguage.get(languageSlug);
+        if(items == null || items.isEmpty()) return null;
+        return sources.get(items.get(0));
+    }
+
+    public List<Translation> getSources() {
+        return sources;
+    }
+
+    public Map<String, List<Integer>> getByLanguage() {
+        return byLanguage;
+    }
+
+    /**
+     * @return the sources grouped by resource type e.g. book or dict
+     */
+    public Map<String, List<Integer>> getByResourceType() {
+        return byResourceType;
+    }
+
+    public Map<String, List<Integer>> getNtBooks() {
+        return ntBooks;
+    }
+
+    public Map<String, List<Integer>> getOtBooks() {
+        return otBooks;
+    }
+
+    public Map<String, List<Integer>> getTaBooks() {
+        return taBooks;
+    }
+
+    public Map<String, List<Integer>> getOther() {
+        return otherBooks;
+    }
+
+    private static void addTo(Map<String, List<Integer>> map, String key, int index) {
+        List<Integer> items = map.get(key);
+        if(items == null) {
+            items = new ArrayList<>();
+            map.put(key, items);
+        }
+        items.add(index);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.US);
+    }
+
+    /**
+     * Adds the languages of all the entries beginning with the prefix
+     */
+    private static void collect(PrefixEntry[] index, String prefix, Set<Integer> matches) {
+        int low = 0;
+        int high = index.length;
+        while(low < high) {
+            int mid = (low + high) >>> 1;
+            if(index[mid].key.compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for(int i = low; i < index.length && index[i].key.startsWith(prefix); i ++) {
+            matches.add(index[i].language);
+        }
+    }
+
+    private static class PrefixEntry implements Comparable<PrefixEntry> {
+        final String key;
+        final int language;
+
+        PrefixEntry(String key, int language) {
+            this.key = key;
+            this.language = language;
+        }
+
+        @Override
+        public int compareTo(PrefixEntry another) {
+            return key.compareTo(another.key);
+        }
+    }
+}
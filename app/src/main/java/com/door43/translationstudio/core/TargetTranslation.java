@@ -11,6 +11,7 @@ import org.unfoldingword.resourcecontainer.ResourceContainer;
 import org.unfoldingword.door43client.models.TargetLanguage;
 import org.unfoldingword.tools.logger.Logger;
 
+import com.door43.translationstudio.git.LocalObjectImporter;
 import com.door43.translationstudio.git.Repo;
 import com.door43.util.NumericStringComparator;
 import com.door43.util.FileUtilities;
@@ -20,11 +21,11 @@ import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.CommitCommand;
 import org.eclipse.jgit.api.CreateBranchCommand;
 import org.eclipse.jgit.api.DeleteBranchCommand;
-import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.MergeCommand;
 import org.eclipse.jgit.api.MergeResult;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.json.JSONArray;
@@ -94,8 +95,17 @@ public class TargetTranslation {
      * @param targetTranslationDir
      */
     private TargetTranslation(File targetTranslationDir) throws Exception {
+        this(targetTranslationDir, Manifest.generate(targetTranslationDir));
+    }
+
+    /**
+     * Creates a new instance of the target translation from a manifest that has already been read
+     * @param targetTranslationDir
+     * @param manifest
+     */
+    private TargetTranslation(File targetTranslationDir, Manifest manifest) throws Exception {
         this.targetTranslationDir = targetTranslationDir;
-        this.manifest = Manifest.generate(targetTranslationDir);
+        this.manifest = manifest;
 
         // target language
         JSONObject targetLanguageJson = this.manifest.getJSONObject(FIELD_MANIFEST_TARGET_LANGUAGE);
@@ -293,13 +303,7 @@ public class TargetTranslation {
             File manifestFile = new File(targetTranslationDir, "manifest.json");
             if (manifestFile.exists()) {
                 try {
-                    JSONObject manifest = new JSONObject(FileUtilities.readFileToString(manifestFile));
-                    int version = manifest.getInt(FIELD_MANIFEST_PACKAGE_VERSION);
-                    if (version == PACKAGE_VERSION) {
-                        return new TargetTranslation(targetTranslationDir);
-                    } else {
-                        Logger.w(TargetTranslation.class.getName(), "Unsupported target translation version " + version + " in" + targetTranslationDir.getName());
-                    }
+                    return open(targetTranslationDir, FileUtilities.readFileToString(manifestFile));
                 } catch (Exception e) {
                     e.printStackTrace();
                 }
@@ -310,6 +314,28 @@ public class TargetTranslation {
         return null;
     }
 
+    /**
+     * Opens an existing target translation using the contents of its manifest file
+     * @param targetTranslationDir
+     * @param manifestContents the contents of the manifest file
+     * @return null if the manifest is invalid
+     */
+    @Nullable
+    public static TargetTranslation open(File targetTranslationDir, String manifestContents) {
+        try {
+            Manifest manifest = Manifest.fromString(targetTranslationDir, manifestContents);
+            int version = manifest.getInt(FIELD_MANIFEST_PACKAGE_VERSION);
+            if (version == PACKAGE_VERSION) {
+                return new TargetTranslation(targetTranslationDir, manifest);
+            } else {
+                Logger.w(TargetTranslation.class.getName(), "Unsupported target translation version " + version + " in" + targetTranslationDir.getName());
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     /**
      * Creates a new target translation
      * @param translator
@@ -1063,6 +1089,7 @@ public class TargetTranslation {
         } else {
             commit.call();
         }
+        FileHistoryIndex.onCommit(git.getRepository());
         return true;
     }
 
@@ -1171,27 +1198,17 @@ public class TargetTranslation {
                 .setForce(true)
                 .call();
 
-        // attach remote
-        repo.deleteRemote("new");
-        repo.setRemote("new", newDir.getAbsolutePath());
-        FetchCommand fetch = repo.getGit().fetch();
-        fetch.setRemote("new");
-        fetch.call();
-
-        // create branch for new changes
-        DeleteBranchCommand deleteBranch = repo.getGit().branchDelete();
-        deleteBranch.setBranchNames("new");
-        deleteBranch.setForce(true);
-        deleteBranch.call();
-        CreateBranchCommand branch = repo.getGit().branchCreate();
-        branch.setName("new");
-        branch.setStartPoint("new/master");
-        branch.call();
+        // copy the imported history straight from its object database
+        ObjectId importedHead = LocalObjectImporter.importHead(git.getRepository(), newDir);
+        if(importedHead == null) {
+            mergeManifests(manifest, importedManifest);
+            return true;
+        }
 
         // perform merge
-        MergeCommand merge = repo.getGit().merge();
+        MergeCommand merge = git.merge();
         merge.setFastForward(MergeCommand.FastForwardMode.NO_FF);
-        merge.include(repo.getGit().getRepository().getRef("new"));
+        merge.include("new", importedHead);
         MergeResult result = merge.call();
 
         // merge manifests
@@ -1213,14 +1230,19 @@ public class TargetTranslation {
     public static Manifest mergeManifests(Manifest original, Manifest imported) {
         // merge manifests
         // TODO: 5/25/16 merge notes
-        original.join(imported.getJSONArray(FIELD_TRANSLATORS), FIELD_TRANSLATORS);
-        original.join(imported.getJSONArray(FIELD_FINISHED_CHUNKS), FIELD_FINISHED_CHUNKS);
-        original.join(imported.getJSONArray(FIELD_SOURCE_TRANSLATIONS), FIELD_SOURCE_TRANSLATIONS);
-
-        // add missing parent draft status
-        if((!original.has(FIELD_PARENT_DRAFT) || !Manifest.valueExists(original.getJSONObject(FIELD_PARENT_DRAFT), "resource_id"))
-                && imported.has(FIELD_PARENT_DRAFT)) {
-            original.put(FIELD_PARENT_DRAFT, imported.getJSONObject(FIELD_PARENT_DRAFT));
+        original.beginBatch();
+        try {
+            original.join(imported.getJSONArray(FIELD_TRANSLATORS), FIELD_TRANSLATORS);
+            original.join(imported.getJSONArray(FIELD_FINISHED_CHUNKS), FIELD_FINISHED_CHUNKS);
+            original.join(imported.getJSONArray(FIELD_SOURCE_TRANSLATIONS), FIELD_SOURCE_TRANSLATIONS);
+
+            // add missing parent draft status
+            if ((!original.has(FIELD_PARENT_DRAFT) || !Manifest.valueExists(original.getJSONObject(FIELD_PARENT_DRAFT), "resource_id"))
+                    && imported.has(FIELD_PARENT_DRAFT)) {
+                original.put(FIELD_PARENT_DRAFT, imported.getJSONObject(FIELD_PARENT_DRAFT));
+            }
+        } finally {
+            original.endBatch();
         }
         return original;
     }
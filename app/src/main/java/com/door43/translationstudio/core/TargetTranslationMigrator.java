@@ -1,11 +1,14 @@
 package com.door43.translationstudio.core;
 
+import android.content.Context;
+import android.content.SharedPreferences;
 import android.content.res.AssetManager;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.rendering.USXtoUSFMConverter;
 import com.door43.util.FileUtilities;
 import com.door43.util.Manifest;
+import com.door43.util.Security;
 import com.door43.util.StringUtilities;
 
 import org.json.JSONArray;
@@ -13,6 +16,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.Translation;
+import org.unfoldingword.resourcecontainer.ContainerTools;
 import org.unfoldingword.resourcecontainer.Resource;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
 import org.unfoldingword.tools.logger.Logger;
@@ -39,6 +43,7 @@ public class TargetTranslationMigrator {
     private static final String MANIFEST_FILE = "manifest.json";
     public static final String LICENSE = "LICENSE";
     public static final String TAG = "TargetTranslationMigrator";
+    private static final String MIGRATION_PREFERENCES = "com.door43.translationstudio.migrations";
 
     /**
      * Performs a migration on a manifest object.
@@ -76,7 +81,12 @@ public class TargetTranslationMigrator {
         File migratedDir = targetTranslationDir;
         File manifestFile = new File(targetTranslationDir, MANIFEST_FILE);
         try {
-            JSONObject manifest = new JSONObject(FileUtilities.readFileToString(manifestFile));
+            String manifestString = FileUtilities.readFileToString(manifestFile);
+            if(isMigrated(targetTranslationDir, manifestString)) {
+                // nothing has changed since the last migration
+                return recordMigration(finishMigration(targetTranslationDir, migratedDir));
+            }
+            JSONObject manifest = new JSONObject(manifestString);
             int packageVersion = 2; // default to version 2 if no package version is available
             if(manifest.has("package_version")) {
                 packageVersion = manifest.getInt("package_version");
@@ -109,6 +119,93 @@ public class TargetTranslationMigrator {
             e.printStackTrace();
             migratedDir = null;
         }
+        // TRICKY: the stamp is recorded from the final manifest because finishing the migration may change it
+        return recordMigration(finishMigration(targetTranslationDir, migratedDir));
+    }
+
+    /**
+     * Checks if a target translation has already been migrated to the current version
+     * and has not changed since.
+     * @param targetTranslationDir
+     * @return
+     */
+    public static boolean isMigrated(File targetTranslationDir) {
+        try {
+            return isMigrated(targetTranslationDir, FileUtilities.readFileToString(new File(targetTranslationDir, MANIFEST_FILE)));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks the migration stamp of a target translation against its manifest
+     * @param targetTranslationDir
+     * @param manifestString the contents of the manifest
+     * @return
+     */
+    private static boolean isMigrated(File targetTranslationDir, String manifestString) {
+        if(!isTrackedDir(targetTranslationDir)) return false;
+        SharedPreferences prefs = App.context().getSharedPreferences(MIGRATION_PREFERENCES, Context.MODE_PRIVATE);
+        String stamp = prefs.getString(targetTranslationDir.getName(), null);
+        return stamp != null && stamp.equals(migrationStamp(manifestString));
+    }
+
+    /**
+     * Records that a target translation in the translator directory is already at the current version
+     * e.g. after a migrated import has been moved into place.
+     * @param targetTranslationDir
+     */
+    public static void markMigrated(File targetTranslationDir) {
+        recordMigration(targetTranslationDir);
+    }
+
+    /**
+     * Records that a target translation has been migrated to the current version
+     * so the migration can be skipped until the manifest changes.
+     * @param targetTranslationDir the migrated target translation dir. May be null
+     * @return the target translation dir
+     */
+    private static File recordMigration(File targetTranslationDir) {
+        if(targetTranslationDir == null || !isTrackedDir(targetTranslationDir)) return targetTranslationDir;
+        try {
+            String manifestString = FileUtilities.readFileToString(new File(targetTranslationDir, MANIFEST_FILE));
+            SharedPreferences prefs = App.context().getSharedPreferences(MIGRATION_PREFERENCES, Context.MODE_PRIVATE);
+            prefs.edit().putString(targetTranslationDir.getName(), migrationStamp(manifestString)).apply();
+        } catch (IOException e) {
+            Logger.w(TAG, "Failed to record the migration of " + targetTranslationDir.getName(), e);
+        }
+        return targetTranslationDir;
+    }
+
+    /**
+     * Builds the migration stamp from the package version and a fingerprint of the manifest
+     * @param manifestString
+     * @return
+     */
+    private static String migrationStamp(String manifestString) {
+        return TargetTranslation.PACKAGE_VERSION + ":" + Security.sha1(manifestString);
+    }
+
+    /**
+     * Only translations in the translator directory are tracked.
+     * Temporary copies made during imports hold new content so they are always migrated,
+     * but the result is marked as migrated once it is moved into the translator directory.
+     * @param targetTranslationDir
+     * @return
+     */
+    private static boolean isTrackedDir(File targetTranslationDir) {
+        File parent = targetTranslationDir.getParentFile();
+        return parent != null && parent.equals(App.getTranslator().getPath());
+    }
+
+    /**
+     * Performs the migration steps that depend on the state of the library rather than on the version
+     * of the target translation.
+     * @param targetTranslationDir
+     * @param migratedDir
+     * @return the target translation dir. Null if the migration failed
+     */
+    private static File finishMigration(File targetTranslationDir, File migratedDir) {
         if(migratedDir != null) {
             // import new language requests
             TargetTranslation tt = TargetTranslation.open(targetTranslationDir);
@@ -216,6 +313,7 @@ public class TargetTranslationMigrator {
         // TRICKY: ts android only supports book translations right now
         List<Translation> translations = App.getLibrary().index.findTranslations(null, projectSlug, null, "book", null, 3, -1);
         if(translations.size() > 0) {
+            App.prepareContainer(translations.get(0).resourceContainerSlug);
             ResourceContainer container = App.getLibrary().open(translations.get(0).resourceContainerSlug);
             for (File dir : chapters) {
                 File chunk00 = new File(dir, "00.txt");
@@ -686,6 +784,7 @@ public class TargetTranslationMigrator {
                     break;
                 }
             }
+            App.prepareContainer(ContainerTools.makeSlug(p.languageSlug, p.slug, resource.slug));
             resourceContainer = library.open(p.languageSlug, p.slug, resource.slug);
         } catch (Exception e) {
             e.printStackTrace();
@@ -738,6 +837,11 @@ public class TargetTranslationMigrator {
             String[] parts = frameFileName.split(".txt");
             String frameId = parts[0];
             String chunkText = resourceContainer.readChunk(chapterId, frameId);
+            if(!chunkText.isEmpty() && invalidChunks.isEmpty()) {
+                // valid chunk with nothing to merge into it
+                lastValidFrameFile = frameFile;
+                continue;
+            }
             String frameBody = "";
             try {
                 frameBody = FileUtilities.readFileToString(frameFile).trim();
@@ -0,0 +1,372 @@
+package com.door43.translationstudio.core;
+
+import android.content.SharedPreferences;
+
+import com.door43.util.FileUtilities;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.unfoldingword.tools.logger.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The settings the user has chosen for each target translation e.g. the open source translation tabs.
+ * Settings are read from the disk once and kept in memory.
+ * Changes are written to a single file in the background and several changes made
+ * in quick succession are written together. Call {@link #flush()} when the app may be stopped
+ * so pending changes are not lost.
+ */
+public class TranslationSettings {
+    private static final String TAG = "TranslationSettings";
+    private static final long WRITE_DELAY = 500;
+
+    // the keys used before the settings were stored in their own file
+    private static final String LEGACY_LAST_VIEW_MODE = "last_view_mode_";
+    private static final String LEGACY_LAST_FOCUS_CHAPTER = "last_focus_chapter_";
+    private static final String LEGACY_LAST_FOCUS_FRAME = "last_focus_frame_";
+    private static final String LEGACY_OPEN_SOURCE_TRANSLATIONS = "open_source_translations_";
+    private static final String LEGACY_SELECTED_SOURCE_TRANSLATION = "selected_source_translation_";
+
+    private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    static {
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    private final File file;
+    private final SharedPreferences legacyPreferences;
+    private Map<String, Settings> settings = null;
+    private boolean writeScheduled = false;
+
+    /**
+     * @param file the file where the settings are stored
+     * @param legacyPreferences the preferences where the settings used to be stored. These will be migrated.
+     */
+    public TranslationSettings(File file, SharedPreferences legacyPreferences) {
+        this.file = file;
+        this.legacyPreferences = legacyPreferences;
+    }
+
+    /**
+     * Returns the last view mode of the target translation
+     * @param targetTranslationId
+     * @return the last view mode or null
+     */
+    public synchronized TranslationViewMode getLastViewMode(String targetTranslationId) {
+        Settings s = load().get(targetTranslationId);
+        return s == null ? null : s.viewMode;
+    }
+
+    public synchronized void setLastViewMode(String targetTranslationId, TranslationViewMode viewMode) {
+        edit(targetTranslationId).viewMode = viewMode;
+        save();
+    }
+
+    public synchronized String getLastFocusChapterId(String targetTranslationId) {
+        Settings s = load().get(targetTranslationId);
+        return s == null ? null : s.chapterId;
+    }
+
+    public synchronized String getLastFocusFrameId(String targetTranslationId) {
+        Settings s = load().get(targetTranslationId);
+        return s == null ? null : s.frameId;
+    }
+
+    public synchronized void setLastFocus(String targetTranslationId, String chapterId, String frameId) {
+        Settings s = edit(targetTranslationId);
+        s.chapterId = chapterId;
+        s.frameId = frameId;
+        save();
+    }
+
+    /**
+     * Returns the open source translation tabs of the target translation
+     * @param targetTranslationId
+     * @return
+     */
+    public synchronized String[] getOpenSourceTranslations(String targetTranslationId) {
+        Settings s = load().get(targetTranslationId);
+        if(s == null) return new String[0];
+        return s.openSourceTranslations.toArray(new String[s.openSourceTranslations.size()]);
+    }
+
+    /**
+     * Adds a source translation tab to the end of the open tabs
+     * @param targetTranslationId
+     * @param sourceTranslationId
+     */
+    public synchronized void addOpenSourceTranslation(String targetTranslationId, String sourceTranslationId) {
+        String id = Migration.migrateSourceTranslationSlug(sourceTranslationId);
+        List<String> open = edit(targetTranslationId).openSourceTranslations;
+        open.remove(id);
+        open.add(id);
+        save();
+    }
+
+    /**
+     * Removes a source translation tab.
+     * If the tab was selected the selection is unset.
+     * @param targetTranslationId
+     * @param sourceTranslationId
+     */
+    public synchronized void removeOpenSourceTranslation(String targetTranslationId, String sourceTranslationId) {
+        Settings s = load().get(targetTranslationId);
+        if(s == null) return;
+        String id = Migration.migrateSourceTranslationSlug(sourceTranslationId);
+        if(s.openSourceTranslations.remove(id)) {
+            if(id.equals(s.selectedSourceTranslation)) {
+                s.selectedSourceTranslation = null;
+            }
+            save();
+        }
+    }
+
+    /**
+     * Returns the selected source translation tab.
+     * If there is no selection the first open tab is returned.
+     * @param targetTranslationId
+     * @return
+     */
+    public synchronized String getSelectedSourceTranslationId(String targetTranslationId) {
+        Settings s = load().get(targetTranslationId);
+        if(s == null) return null;
+        if(s.selectedSourceTranslation == null && !s.openSourceTranslations.isEmpty()) {
+            // default to the first tab
+            return s.openSourceTranslations.get(0);
+        }
+        return s.selectedSourceTranslation;
+    }
+
+    /**
+     * Sets or unsets the selected source translation tab
+     * @param targetTranslationId
+     * @param sourceTranslationId if null the selection will be unset
+     */
+    public synchronized void setSelectedSourceTranslation(String targetTranslationId, String sourceTranslationId) {
+        if(sourceTranslationId != null && !sourceTranslationId.isEmpty()) {
+            edit(targetTranslationId).selectedSourceTranslation = Migration.migrateSourceTranslationSlug(sourceTranslationId);
+        } else {
+            Settings s = load().get(targetTranslationId);
+            if(s == null) return;
+            s.selectedSourceTranslation = null;
+        }
+        save();
+    }
+
+    /**
+     * Removes all of the settings of a target translation
+     * @param targetTranslationId
+     */
+    public synchronized void clear(String targetTranslationId) {
+        if(load().remove(targetTranslationId) != null) {
+            save();
+        }
+    }
+
+    /**
+     * Returns the settings of a target translation so they can be changed
+     */
+    private Settings edit(String targetTranslationId) {
+        Settings s = load().get(targetTranslationId);
+        if(s == null) {
+            s = new Settings();
+            settings.put(targetTranslationId, s);
+        }
+        return s;
+    }
+
+    /**
+     * Loads the settings the first time they are needed
+     */
+    private Map<String, Settings> load() {
+        if(settings != null) return settings;
+
+        settings = new HashMap<>();
+        if(file.exists()) {
+            try {
+                JSONObject json = new JSONObject(FileUtilities.readFileToString(file));
+                Iterator<String> keys = json.keys();
+                while(keys.hasNext()) {
+                    String key = keys.next();
+                    settings.put(key, Settings.fromJson(json.getJSONObject(key)));
+                }
+            } catch (Exception e) {
+                Logger.e(TAG, "Failed to read the translation settings", e);
+            }
+        } else {
+            migrateLegacyPreferences();
+        }
+        return settings;
+    }
+
+    /**
+     * Moves the settings out of the shared preferences.
+     * Source translation slugs are migrated once here instead of every time they are read.
+     */
+    private void migrateLegacyPreferences() {
+        if(legacyPreferences == null) return;
+        SharedPreferences.Editor editor = legacyPreferences.edit();
+        boolean migrated = false;
+        for(Map.Entry<String, ?> entry:legacyPreferences.getAll().entrySet()) {
+            String key = entry.getKey();
+            if(!(entry.getValue() instanceof String)) continue;
+            String value = (String)entry.getValue();
+            if(key.startsWith(LEGACY_LAST_VIEW_MODE)) {
+                try {
+                    edit(key.substring(LEGACY_LAST_VIEW_MODE.length())).viewMode = TranslationViewMode.valueOf(value.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    // use the default
+                }
+            } else if(key.startsWith(LEGACY_LAST_FOCUS_CHAPTER)) {
+                edit(key.substring(LEGACY_LAST_FOCUS_CHAPTER.length())).chapterId = value;
+            } else if(key.startsWith(LEGACY_LAST_FOCUS_FRAME)) {
+                edit(key.substring(LEGACY_LAST_FOCUS_FRAME.length())).frameId = value;
+            } else if(key.startsWith(LEGACY_OPEN_SOURCE_TRANSLATIONS)) {
+                List<String> open = edit(key.substring(LEGACY_OPEN_SOURCE_TRANSLATIONS.length())).openSourceTranslations;
+                for(String id:value.trim().split("\\|")) {
+                    if(id.isEmpty()) continue;
+                    id = Migration.migrateSourceTranslationSlug(id);
+                    if(!open.contains(id)) open.add(id);
+                }
+            } else if(key.startsWith(LEGACY_SELECTED_SOURCE_TRANSLATION)) {
+                if(!value.isEmpty()) {
+                    edit(key.substring(LEGACY_SELECTED_SOURCE_TRANSLATION.length())).selectedSourceTranslation = Migration.migrateSourceTranslationSlug(value);
+                }
+            } else {
+                continue;
+            }
+            editor.remove(key);
+            migrated = true;
+        }
+        // write the file even if there is nothing to migrate so this only happens once
+        try {
+            write(toJson());
+        } catch (Exception e) {
+            Logger.e(TAG, "Failed to save the migrated translation settings", e);
+            return;
+        }
+        if(migrated) editor.apply();
+    }
+
+    /**
+     * Schedules the settings to be written to the disk
+     */
+    private void save() {
+        if(writeScheduled) return;
+        writeScheduled = true;
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    // collect other changes made shortly after this one
+                    Thread.sleep(WRITE_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                flush();
+            }
+        });
+    }
+
+    /**
+     * Writes the pending changes to the disk now instead of waiting for the scheduled write
+     */
+    public void flush() {
+        // TRICKY: the file is locked first so the writes happen in the same order as the changes
+        synchronized (file) {
+            String contents;
+            synchronized (this) {
+                if(!writeScheduled) return;
+                writeScheduled = false;
+                try {
+                    contents = toJson();
+                } catch (JSONException e) {
+                    Logger.e(TAG, "Failed to encode the translation settings", e);
+                    return;
+                }
+            }
+            try {
+                write(contents);
+            } catch (IOException e) {
+                Logger.e(TAG, "Failed to save the translation settings", e);
+            }
+        }
+    }
+
+    private String toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        for(Map.Entry<String, Settings> entry:settings.entrySet()) {
+            json.put(entry.getKey(), entry.getValue().toJson());
+        }
+        return json.toString();
+    }
+
+    /**
+     * Replaces the settings file so a partially written file is never read
+     */
+    private void write(String contents) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        FileUtilities.writeStringToFile(temp, contents);
+        if(!temp.renameTo(file)) {
+            FileUtilities.deleteQuietly(temp);
+            throw new IOException("Failed to replace " + file);
+        }
+    }
+
+    /**
+     * The settings of a single target translation
+     */
+    private static class Settings {
+        TranslationViewMode viewMode = null;
+        String chapterId = null;
+        String frameId = null;
+        String selectedSourceTranslation = null;
+        final List<String> openSourceTranslations = new ArrayList<>();
+
+        JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            if(viewMode != null) json.put("view_mode", viewMode.name());
+            if(chapterId != null) json.put("chapter", chapterId);
+            if(frameId != null) json.put("frame", frameId);
+            if(selectedSourceTranslation != null) json.put("selected_source", selectedSourceTranslation);
+            JSONArray open = new JSONArray();
+            for(String id:openSourceTranslations) {
+                open.put(id);
+            }
+            json.put("open_sources", open);
+            return json;
+        }
+
+        static Settings fromJson(JSONObject json) throws JSONException {
+            Settings s = new Settings();
+            if(json.has("view_mode")) {
+                try {
+                    s.viewMode = TranslationViewMode.valueOf(json.getString("view_mode"));
+                } catch (IllegalArgumentException e) {
+                    // use the default
+                }
+            }
+            s.chapterId = json.optString("chapter", null);
+            s.frameId = json.optString("frame", null);
+            s.selectedSourceTranslation = json.optString("selected_source", null);
+            JSONArray open = json.optJSONArray("open_sources");
+            if(open != null) {
+                for(int i = 0; i < open.length(); i ++) {
+                    s.openSourceTranslations.add(open.getString(i));
+                }
+            }
+            return s;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import android.content.Context;
 import android.content.pm.PackageInfo;
 import android.text.Editable;
 import android.text.SpannedString;
+import android.util.LruCache;
 
 import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.TargetLanguage;
@@ -27,7 +28,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.unfoldingword.resourcecontainer.Resource;
 
@@ -40,9 +44,35 @@ public class Translator {
     public static final String ARCHIVE_EXTENSION = "tstudio";
     public static final String TAG = Translator.class.getName();
 
+    /**
+     * The number of manifest characters that are kept in memory
+     */
+    private static final int MAX_MANIFEST_CACHE_SIZE = 1024 * 1024;
+    /**
+     * The manifests of target translations that have already been opened keyed by directory.
+     * Only the text of the manifest is shared. Every caller gets its own target translation
+     * because target translations are not thread safe.
+     * The least recently opened manifests are dropped once the cache is full.
+     */
+    private static final LruCache<String, ManifestSnapshot> sManifests = new LruCache<String, ManifestSnapshot>(MAX_MANIFEST_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(String key, ManifestSnapshot snapshot) {
+            return snapshot.contents.length();
+        }
+    };
+    /**
+     * The coarsest modification time resolution of the file systems the translations are stored on
+     */
+    private static final long MODIFIED_TIME_RESOLUTION = 2000;
+    /**
+     * The directory names of target translations that are waiting to be migrated in the background.
+     * These are hidden until the migration finishes so they are not changed at the same time.
+     */
+    private static final Set<String> sPendingMigrations = Collections.synchronizedSet(new HashSet<String>());
+
     private final File mRootDir;
     private final Context mContext;
-    private Profile profile;
+    private volatile Profile profile;
 
     public Translator(Context context, Profile profile, File rootDir) {
         mContext = context;
@@ -50,6 +80,14 @@ public class Translator {
         this.profile = profile;
     }
 
+    /**
+     * Changes the profile used as the author of target translations
+     * @param profile
+     */
+    public void setProfile(Profile profile) {
+        this.profile = profile;
+    }
+
     /**
      * Returns the root directory to the target translations
      * @return
@@ -121,6 +159,28 @@ public class Translator {
         return translations.toArray(new String[translations.size()]);
     }
 
+    /**
+     * Hides or shows a target translation while it is waiting to be migrated
+     * @param targetTranslationDirName the name of the target translation directory
+     * @param pending
+     */
+    public static void setMigrationPending(String targetTranslationDirName, boolean pending) {
+        if(pending) {
+            sPendingMigrations.add(targetTranslationDirName);
+        } else {
+            sPendingMigrations.remove(targetTranslationDirName);
+        }
+    }
+
+    /**
+     * Checks if a target translation is waiting to be migrated
+     * @param targetTranslationDirName the name of the target translation directory
+     * @return
+     */
+    public static boolean isMigrationPending(String targetTranslationDirName) {
+        return sPendingMigrations.contains(targetTranslationDirName);
+    }
+
     /**
      * Returns the local translations cache directory.
      * This is where import and export operations can expand files.
@@ -138,7 +198,7 @@ public class Translator {
      * @param resourceType the type of translation that is occurring
      * @param resourceSlug the resource that is being created
      * @param translationFormat the format of the translated text
-     * @return A new or existing Target Translation
+     * @return A new or existing Target Translation. Null if it could not be created or is waiting to be migrated
      */
     public TargetTranslation createTargetTranslation(NativeSpeaker nativeSpeaker, TargetLanguage targetLanguage, String projectSlug, ResourceType resourceType, String resourceSlug, TranslationFormat translationFormat) {
         // TRICKY: force deprecated formats to use new formats
@@ -149,7 +209,13 @@ public class Translator {
         }
 
         String targetTranslationId = TargetTranslation.generateTargetTranslationId(targetLanguage.slug, projectSlug, resourceType, resourceSlug);
-        TargetTranslation targetTranslation = getTargetTranslation(targetTranslationId);
+        // TRICKY: a target translation that is being migrated must not be opened or created again
+        if(sPendingMigrations.contains(targetTranslationId)) {
+            Logger.w(TAG, "The target translation " + targetTranslationId + " is waiting to be migrated");
+            return null;
+        }
+        TargetTranslation targetTranslation = openTargetTranslation(new File(mRootDir, targetTranslationId));
+        setTargetTranslationAuthor(targetTranslation);
         if(targetTranslation == null) {
             File targetTranslationDir = new File(this.mRootDir, targetTranslationId);
             try {
@@ -175,20 +241,63 @@ public class Translator {
     }
 
     /**
-     * Returns a target translation if it exists
+     * Returns a target translation if it exists.
+     * Target translations that are waiting to be migrated are not returned.
      * @param targetTranslationId
      * @return
      */
     public TargetTranslation getTargetTranslation(String targetTranslationId) {
-        if(targetTranslationId != null) {
+        if(targetTranslationId != null && !sPendingMigrations.contains(targetTranslationId)) {
             File targetTranslationDir = new File(mRootDir, targetTranslationId);
-            TargetTranslation targetTranslation = TargetTranslation.open(targetTranslationDir);
+            TargetTranslation targetTranslation = openTargetTranslation(targetTranslationDir);
             setTargetTranslationAuthor(targetTranslation);
             return targetTranslation;
         }
         return null;
     }
 
+    /**
+     * Opens a target translation.
+     * The manifest is only read from the disk again if it may have changed since it was last read.
+     * @param targetTranslationDir
+     * @return
+     */
+    private static TargetTranslation openTargetTranslation(File targetTranslationDir) {
+        String key = targetTranslationDir.getAbsolutePath();
+        File manifestFile = new File(targetTranslationDir, "manifest.json");
+        long modified = manifestFile.lastModified();
+        long size = manifestFile.length();
+        if(modified == 0) return TargetTranslation.open(targetTranslationDir);
+
+        String contents = null;
+        synchronized (sManifests) {
+            ManifestSnapshot snapshot = sManifests.get(key);
+            if(snapshot != null && snapshot.modified == modified && snapshot.size == size) {
+                contents = snapshot.contents;
+            } else {
+                sManifests.remove(key);
+            }
+        }
+
+        if(contents == null) {
+            long readAt = System.currentTimeMillis();
+            try {
+                contents = FileUtilities.readFileToString(manifestFile);
+            } catch (IOException e) {
+                Logger.w(TAG, "Failed to read the manifest of " + targetTranslationDir.getName(), e);
+                return null;
+            }
+            // TRICKY: a change written within the resolution of the modification time could
+            // keep the same time and size so recently changed manifests are not kept.
+            if(readAt - modified > MODIFIED_TIME_RESOLUTION && manifestFile.lastModified() == modified) {
+                synchronized (sManifests) {
+                    sManifests.put(key, new ManifestSnapshot(contents, modified, size));
+                }
+            }
+        }
+        return TargetTranslation.open(targetTranslationDir, contents);
+    }
+
     /**
      * Deletes a target translation from the device
      * @param targetTranslationId
@@ -196,6 +305,10 @@ public class Translator {
     public void deleteTargetTranslation(String targetTranslationId) {
         if(targetTranslationId != null) {
             File targetTranslationDir = new File(mRootDir, targetTranslationId);
+            synchronized (sManifests) {
+                sManifests.remove(targetTranslationDir.getAbsolutePath());
+            }
+            FileHistoryIndex.remove(new File(targetTranslationDir, ".git"));
             FileUtilities.safeDelete(targetTranslationDir);
         }
     }
@@ -475,11 +588,14 @@ public class Translator {
                         }
                     }  else {
                         // import new translation
+                        FileHistoryIndex.remove(new File(localDir, ".git"));
                         FileUtilities.safeDelete(localDir); // in case local was an invalid target translation
                         FileUtilities.moveOrCopyQuietly(newDir, localDir);
                     }
                     // update the generator info. TRICKY: we re-open to get the updated manifest.
                     TargetTranslation.updateGenerator(mContext, TargetTranslation.open(localDir));
+                    // the imported translation was migrated above so it does not need to be migrated again
+                    TargetTranslationMigrator.markMigrated(localDir);
 
                     importedSlug = targetTranslationId;
                 }
@@ -556,6 +672,7 @@ public class Translator {
     public void restoreTargetTranslation(TargetTranslation tempTargetTranslation) throws IOException {
         if(tempTargetTranslation != null) {
             File destDir = new File(mRootDir, tempTargetTranslation.getId());
+            FileHistoryIndex.remove(new File(destDir, ".git"));
             FileUtilities.safeDelete(destDir);
             FileUtilities.moveOrCopyQuietly(tempTargetTranslation.getPath(), destDir);
         }
@@ -570,9 +687,25 @@ public class Translator {
         if(!tt.getPath().getName().equals(tt.getId())) {
             File dest = new File(tt.getPath().getParentFile(), tt.getId());
             if(!dest.exists()) {
+                FileHistoryIndex.remove(new File(tt.getPath(), ".git"));
                 return FileUtilities.moveOrCopyQuietly(tt.getPath(), dest);
             }
         }
         return false;
     }
+
+    /**
+     * The contents of a manifest file as it was when it was read
+     */
+    private static class ManifestSnapshot {
+        final String contents;
+        final long modified;
+        final long size;
+
+        ManifestSnapshot(String contents, long modified, long size) {
+            this.contents = contents;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package com.door43.translationstudio.core;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a USFM book one chapter at a time so the whole book does not have to be held in memory.
+ * The book is split at chapter markers e.g. \c 1 in the same way as splitting the whole text
+ * with {@link #PATTERN}. Lines are ended with \n just like FileUtilities.readStreamToString().
+ * This only depends on the JDK so it can be used outside of the app e.g. by the benchmarks.
+ */
+public class UsfmChapterReader implements Closeable {
+    public static final String PATTERN = "\\\\c\\s(\\d+(-\\d+)?)\\s";
+    private static final Pattern CHAPTER = Pattern.compile(PATTERN);
+    // a marker that was not complete at the end of the buffer is found again when more is read
+    private static final int MAX_MARKER_LENGTH = 64;
+
+    private final BufferedReader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private String chapter = null;
+    private String marker = "";
+    private boolean finished = false;
+
+    /**
+     * @param reader the book. This is closed when the chapter reader is closed.
+     */
+    public UsfmChapterReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next section of the book.
+     * The first section is the text before the first chapter marker and has no chapter.
+     *
+     * @return the section or null if the end of the book has been reached
+     * @throws IOException
+     */
+    public Section next() throws IOException {
+        if(finished) {
+            return null;
+        }
+        int searchFrom = 0;
+        while(true) {
+            // only run the pattern when there could be a marker
+            int candidate = buffer.indexOf("\\c", searchFrom);
+            Matcher matcher = candidate >= 0 ? CHAPTER.matcher(buffer) : null;
+            if(matcher != null && matcher.find(candidate)) {
+                Section section = new Section(chapter, marker, buffer.substring(0, matcher.start()));
+                chapter = matcher.group(1);
+                marker = matcher.group();
+                buffer.delete(0, matcher.end());
+                return section;
+            }
+            searchFrom = Math.max(0, buffer.length() - MAX_MARKER_LENGTH);
+            String line = reader.readLine();
+            if(line == null) {
+                finished = true;
+                Section section = new Section(chapter, marker, buffer.toString());
+                buffer.setLength(0);
+                return section;
+            }
+            buffer.append(line).append('\n');
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * The text of a chapter
+     */
+    public static class Section {
+        /**
+         * the chapter number or null for the text before the first chapter
+         */
+        public final String chapter;
+        /**
+         * the chapter marker that came before the text or an empty string
+         */
+        public final String marker;
+        /**
+         * the text after the chapter marker up to the next chapter marker
+         */
+        public final String text;
+
+        public Section(String chapter, String marker, String text) {
+            this.chapter = chapter;
+            this.marker = marker;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.door43.translationstudio.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses USFM verse markers e.g. \v 1 or \v 1-3.
+ * This only depends on the JDK so it can be used outside of the app e.g. by the benchmarks.
+ */
+public class UsfmVerses {
+    public static final String PATTERN = "\\\\v\\s(\\d+(-\\d+)?)\\s?";
+    private static final Pattern VERSE = Pattern.compile(PATTERN);
+
+    private UsfmVerses() {
+    }
+
+    /**
+     * Returns the range of verses that a chunk of text spans.
+     * The text is scanned directly for verse markers (see {@link #PATTERN})
+     * so no matcher, strings or spans are created.
+     *
+     * @param text
+     * @return int[0] if no verses, int[1] if one verse, int[2] if a range of verses
+     */
+    public static int[] getVerseRange(CharSequence text) {
+        int startVerse = 0;
+        int endVerse = 0;
+        boolean found = false;
+        int[] verses = new int[2];
+        int length = text.length();
+        int i = 0;
+        while(i + 3 < length) {
+            if(text.charAt(i) != '\\' || text.charAt(i + 1) != 'v'
+                    || !isWhitespace(text.charAt(i + 2)) || !isDigit(text.charAt(i + 3))) {
+                i ++;
+                continue;
+            }
+
+            // read \d+(-\d+)?
+            int numberStart = i + 3;
+            int numberEnd = numberStart;
+            while(numberEnd < length && isDigit(text.charAt(numberEnd))) numberEnd ++;
+            if(numberEnd + 1 < length && text.charAt(numberEnd) == '-' && isDigit(text.charAt(numberEnd + 1))) {
+                numberEnd ++;
+                while(numberEnd < length && isDigit(text.charAt(numberEnd))) numberEnd ++;
+            }
+            parseVerseNumbers(text, numberStart, numberEnd, verses);
+
+            if(!found) {
+                // first verse
+                startVerse = verses[0];
+                found = true;
+            }
+            // last verse
+            endVerse = verses[1] > 0 ? verses[1] : verses[0];
+            i = numberEnd;
+        }
+        return toVerseRange(startVerse, endVerse);
+    }
+
+    /**
+     * Parses a verse number or range of verse numbers e.g. 1 or 1-3 without allocating substrings
+     * @param text the text containing the verse
+     * @param start the index of the first digit
+     * @param end the index after the last character of the verse
+     * @param verses receives the start verse at index 0 and the end verse (or 0) at index 1
+     */
+    public static void parseVerseNumbers(CharSequence text, int start, int end, int[] verses) {
+        int value = 0;
+        int field = 0;
+        verses[0] = 0;
+        verses[1] = 0;
+        for(int i = start; i < end; i ++) {
+            char c = text.charAt(i);
+            if(c == '-' && field == 0) {
+                verses[0] = value;
+                value = 0;
+                field = 1;
+            } else {
+                value = value * 10 + (c - '0');
+            }
+        }
+        verses[field] = value;
+    }
+
+    /**
+     * Builds the verse range result from the first and last verse found in a chunk
+     * @param startVerse
+     * @param endVerse
+     * @return int[0] if no verses, int[1] if one verse, int[2] if a range of verses
+     */
+    public static int[] toVerseRange(int startVerse, int endVerse) {
+        if(startVerse <= 0 || endVerse <= 0) {
+            // no verse range
+            return new int[0];
+        } else if(startVerse == endVerse) {
+            // single verse
+            return new int[]{startVerse};
+        } else {
+            // verse range
+            return new int[]{startVerse, endVerse};
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Matches the regular expression whitespace class \s
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\013' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * The verse markers in a chapter.
+     * The chapter is scanned once and each chunk walks the markers with a cursor
+     * instead of scanning the chapter again.
+     */
+    public static class Markers {
+        private final List<Integer> starts = new ArrayList<>();
+        private final List<String> verses = new ArrayList<>();
+
+        public Markers(CharSequence text) {
+            Matcher matcher = VERSE.matcher(text);
+            while (matcher.find()) {
+                starts.add(matcher.start());
+                verses.add(matcher.group(1));
+            }
+        }
+
+        public Cursor cursor() {
+            return new Cursor(-1);
+        }
+
+        /**
+         * Returns a cursor on a marker as if find() had just returned it.
+         * This lets the next chunk continue from where the previous chunk stopped.
+         * @param position the position of the marker see {@link Cursor#position()}
+         * @return
+         */
+        public Cursor cursor(int position) {
+            return new Cursor(position);
+        }
+
+        /**
+         * Steps through the markers in the same way as Matcher.find()
+         */
+        public class Cursor {
+            private int index;
+
+            private Cursor(int index) {
+                this.index = index;
+            }
+
+            public boolean find() {
+                if(index < starts.size()) {
+                    index++;
+                }
+                return index < starts.size();
+            }
+
+            public int start() {
+                return starts.get(index);
+            }
+
+            public String verse() {
+                return verses.get(index);
+            }
+
+            /**
+             * @return the position of the current marker
+             */
+            public int position() {
+                return index;
+            }
+        }
+    }
+}
@@ -7,17 +7,109 @@ import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 
+import org.eclipse.jgit.errors.TransportException;
+import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
 import org.eclipse.jgit.transport.OpenSshConfig.Host;
+import org.eclipse.jgit.transport.RemoteSession;
+import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.util.FS;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by joel on 9/15/2014.
+ *
+ * A single instance is shared by all git transports so the ssh keys are only loaded once.
+ * While a shared connection is open (see {@link #openSharedConnection()}) every transport to the
+ * same server reuses one authenticated ssh connection instead of performing a new handshake.
  */
 public class GitSessionFactory extends JschConfigSessionFactory {
+    private static GitSessionFactory sInstance = null;
+
+    private final Map<String, SharedSession> sharedSessions = new HashMap<>();
+    private final AtomicInteger droppedConnections = new AtomicInteger(0);
+    private int sharedConnectionUsers = 0;
+
+    /**
+     * Returns the shared session factory
+     * @return
+     */
+    public static synchronized GitSessionFactory getInstance() {
+        if(sInstance == null) {
+            sInstance = new GitSessionFactory();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Discards the shared session factory so the ssh keys are loaded again.
+     * This should be called when the ssh keys change.
+     */
+    public static synchronized void reset() {
+        if(sInstance != null) {
+            sInstance.closeSharedSessions();
+            sInstance = null;
+        }
+    }
+
+    /**
+     * Keeps ssh connections open until {@link #closeSharedConnection()} is called.
+     * Calls may be nested e.g. by several tasks running at once.
+     */
+    public synchronized void openSharedConnection() {
+        sharedConnectionUsers ++;
+    }
+
+    /**
+     * Releases a shared connection.
+     * The connections are closed once every user has released them.
+     */
+    public synchronized void closeSharedConnection() {
+        if(sharedConnectionUsers > 0) sharedConnectionUsers --;
+        if(sharedConnectionUsers == 0) {
+            closeSharedSessions();
+        }
+    }
+
+    /**
+     * Returns how many shared connections have dropped so far.
+     * A transport that failed while this number changed may succeed when it is tried again
+     * because the next transport opens a new connection.
+     * @return
+     */
+    public int getDroppedConnectionCount() {
+        return droppedConnections.get();
+    }
+
+    @Override
+    public synchronized RemoteSession getSession(URIish uri, CredentialsProvider credentialsProvider, FS fs, int tms) throws TransportException {
+        if(sharedConnectionUsers == 0) {
+            return super.getSession(uri, credentialsProvider, fs, tms);
+        }
+
+        String key = uri.getUser() + "@" + uri.getHost() + ":" + uri.getPort();
+        SharedSession session = sharedSessions.get(key);
+        if(session == null || session.isBroken()) {
+            if(session != null) session.close();
+            session = new SharedSession(super.getSession(uri, credentialsProvider, fs, tms), droppedConnections);
+            sharedSessions.put(key, session);
+        }
+        return session;
+    }
+
+    private void closeSharedSessions() {
+        for(SharedSession session:sharedSessions.values()) {
+            session.close();
+        }
+        sharedSessions.clear();
+    }
+
     @Override
     protected void configure(Host arg0, Session session) {
         session.setConfig("StrictHostKeyChecking", "no");
@@ -45,4 +137,48 @@ public class GitSessionFactory extends JschConfigSessionFactory {
         }
         return jsch;
     }
+
+    /**
+     * An ssh connection that stays open when a transport is done with it.
+     * Each command runs in its own channel so several transports can use the connection at once.
+     */
+    private static class SharedSession implements RemoteSession {
+        private final RemoteSession session;
+        private final AtomicInteger droppedConnections;
+        private volatile boolean broken = false;
+
+        SharedSession(RemoteSession session, AtomicInteger droppedConnections) {
+            this.session = session;
+            this.droppedConnections = droppedConnections;
+        }
+
+        @Override
+        public Process exec(String commandName, int timeout) throws IOException {
+            try {
+                return session.exec(commandName, timeout);
+            } catch (IOException e) {
+                // the connection was probably dropped. The next transport will reconnect
+                synchronized (this) {
+                    if(!broken) {
+                        broken = true;
+                        droppedConnections.incrementAndGet();
+                    }
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void disconnect() {
+            // the connection is closed when the shared connection is released
+        }
+
+        boolean isBroken() {
+            return broken;
+        }
+
+        void close() {
+            session.disconnect();
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.door43.translationstudio.git;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.ObjectWalk;
+import org.eclipse.jgit.revwalk.RevObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Copies the history of a repository on the disk into another repository.
+ * Objects are read straight from the other repository's object database so there is no need
+ * to configure a remote, negotiate a pack, or create remote tracking refs as a fetch would.
+ */
+public class LocalObjectImporter {
+
+    private LocalObjectImporter() {
+    }
+
+    /**
+     * Makes the HEAD commit of the source repository available in the destination repository.
+     * Nothing is copied if the destination already contains the commit.
+     * Otherwise only the objects that the destination does not have are copied.
+     * @param destination the repository receiving the objects
+     * @param sourceDir the working directory of the source repository
+     * @return the HEAD commit of the source repository or null if it does not have any commits
+     * @throws IOException
+     */
+    public static ObjectId importHead(Repository destination, File sourceDir) throws IOException {
+        Repository sourceRepo = Git.open(sourceDir).getRepository();
+        try {
+            ObjectId head = sourceRepo.resolve("HEAD");
+            if(head == null) {
+                return null;
+            }
+            if(destination.getObjectDatabase().has(head)) {
+                return head; // already related
+            }
+            copyObjects(sourceRepo, destination, head);
+            return head;
+        } finally {
+            sourceRepo.close();
+        }
+    }
+
+    /**
+     * Copies everything reachable from the commit that is missing in the destination
+     * @param source
+     * @param destination
+     * @param commit
+     * @throws IOException
+     */
+    private static void copyObjects(Repository source, Repository destination, ObjectId commit) throws IOException {
+        ObjectReader reader = source.newObjectReader();
+        ObjectInserter inserter = destination.newObjectInserter();
+        ObjectWalk walk = new ObjectWalk(reader);
+        try {
+            walk.markStart(walk.parseCommit(commit));
+
+            // skip the history both repositories share
+            ObjectId destinationHead = destination.resolve("HEAD");
+            if(destinationHead != null && source.getObjectDatabase().has(destinationHead)) {
+                try {
+                    walk.markUninteresting(walk.parseCommit(destinationHead));
+                } catch (MissingObjectException e) {
+                    // the commit is not complete in the source
+                }
+            }
+
+            RevObject object;
+            while((object = walk.next()) != null) {
+                copyObject(reader, inserter, destination, object);
+            }
+            while((object = walk.nextObject()) != null) {
+                copyObject(reader, inserter, destination, object);
+            }
+            inserter.flush();
+        } finally {
+            walk.release();
+            inserter.release();
+            reader.release();
+        }
+    }
+
+    private static void copyObject(ObjectReader reader, ObjectInserter inserter, Repository destination, RevObject object) throws IOException {
+        if(destination.getObjectDatabase().has(object)) {
+            return;
+        }
+        ObjectLoader loader = reader.open(object);
+        InputStream in = loader.openStream();
+        try {
+            inserter.insert(loader.getType(), loader.getSize(), in);
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -170,6 +170,20 @@ public class Repo {
         }
     }
 
+    /**
+     * Points the remote at the url.
+     * The config is only written if the remote does not already point at the url.
+     * @param remote the name of the remote
+     * @param url the url of the remote
+     * @throws IOException
+     */
+    public void ensureRemote(String remote, String url) throws IOException {
+        StoredConfig config = getStoredConfig();
+        if(url.equals(config.getString("remote", remote, "url"))) return;
+        deleteRemote(remote);
+        setRemote(remote, url);
+    }
+
     public void deleteRemote(String remote) throws IOException {
         StoredConfig config = getStoredConfig();
         config.unsetSection("remote", remote);
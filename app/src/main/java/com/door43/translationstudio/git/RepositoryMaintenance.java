@@ -0,0 +1,174 @@
+package com.door43.translationstudio.git;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ReflogEntry;
+import org.eclipse.jgit.lib.ReflogReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.unfoldingword.tools.logger.Logger;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Keeps the object database of a repository small.
+ * Every auto save writes loose objects which are never packed by the app on its own.
+ * Maintenance repacks the repository (writing a bitmap index with the pack), removes old backup
+ * branches and the leftovers of old imports, and prunes the objects that are no longer reachable.
+ */
+public class RepositoryMaintenance {
+    private static final String TAG = "RepositoryMaintenance";
+    public static final String BACKUP_BRANCH = "backup-master";
+    // older versions merged imports through a remote and branch with this name
+    private static final String LEGACY_IMPORT_NAME = "new";
+    // keep the backup of the last pull or merge around long enough to be undone
+    private static final long BACKUP_BRANCH_MAX_AGE = 7L * 24 * 60 * 60 * 1000;
+    // unreachable objects younger than this may still be in use e.g. by an unfinished commit
+    private static final long PRUNE_GRACE_PERIOD = 24L * 60 * 60 * 1000;
+    private static final long MAX_LOOSE_OBJECTS = 500;
+    private static final long MAX_PACK_FILES = 10;
+
+    private RepositoryMaintenance() {
+    }
+
+    /**
+     * Checks if the repository has enough loose objects or packs to be worth repacking
+     * @param repo
+     * @return
+     */
+    public static boolean isNeeded(Repo repo) {
+        try {
+            Stats stats = Stats.of(repo.getGit());
+            return stats.looseObjects > MAX_LOOSE_OBJECTS || stats.packFiles > MAX_PACK_FILES;
+        } catch (Exception e) {
+            Logger.w(TAG, "Failed to read the statistics of " + repo.getLocalPath(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Removes stale backup branches, repacks the repository and prunes unreachable objects
+     * @param repo
+     * @return true if the maintenance was performed
+     */
+    public static boolean run(Repo repo) {
+        try {
+            Git git = repo.getGit();
+            Stats before = Stats.of(git);
+            long start = System.currentTimeMillis();
+
+            removeStaleBackupBranch(git.getRepository());
+            removeLegacyImportRefs(git.getRepository());
+            git.gc()
+                    .setExpire(new Date(System.currentTimeMillis() - PRUNE_GRACE_PERIOD))
+                    .call();
+
+            Stats after = Stats.of(git);
+            Logger.i(TAG, String.format(Locale.US, "Maintained %s in %dms. before: %s. after: %s",
+                    repo.getLocalPath(), System.currentTimeMillis() - start, before, after));
+            return true;
+        } catch (Exception e) {
+            Logger.e(TAG, "Failed to maintain " + repo.getLocalPath(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the backup branch if it was created long ago.
+     * The branch only exists so a pull or merge can be undone.
+     * @param repository
+     */
+    private static void removeStaleBackupBranch(Repository repository) {
+        String refName = Constants.R_HEADS + BACKUP_BRANCH;
+        try {
+            if(repository.getRef(refName) == null) return;
+            ReflogReader reflog = repository.getReflogReader(refName);
+            ReflogEntry last = reflog == null ? null : reflog.getLastEntry();
+            if(last == null) return; // we don't know how old it is
+            long age = System.currentTimeMillis() - last.getWho().getWhen().getTime();
+            if(age > BACKUP_BRANCH_MAX_AGE) {
+                new Git(repository).branchDelete()
+                        .setBranchNames(BACKUP_BRANCH)
+                        .setForce(true)
+                        .call();
+            }
+        } catch (Exception e) {
+            Logger.w(TAG, "Failed to remove the backup branch", e);
+        }
+    }
+
+    /**
+     * Deletes the remote and branches that older versions created to merge imported translations.
+     * The remote points at an import directory that no longer exists and the branches keep
+     * the imported history from being pruned.
+     * @param repository
+     */
+    private static void removeLegacyImportRefs(Repository repository) {
+        try {
+            StoredConfig config = repository.getConfig();
+            if(config.getSubsections("remote").contains(LEGACY_IMPORT_NAME)) {
+                config.unsetSection("remote", LEGACY_IMPORT_NAME);
+                config.save();
+            }
+
+            List<String> refNames = new ArrayList<>();
+            if(repository.getRef(Constants.R_HEADS + LEGACY_IMPORT_NAME) != null) {
+                refNames.add(Constants.R_HEADS + LEGACY_IMPORT_NAME);
+            }
+            String remotePrefix = Constants.R_REMOTES + LEGACY_IMPORT_NAME + "/";
+            for(String name:repository.getRefDatabase().getRefs(remotePrefix).keySet()) {
+                refNames.add(remotePrefix + name);
+            }
+            if(!refNames.isEmpty()) {
+                new Git(repository).branchDelete()
+                        .setBranchNames(refNames.toArray(new String[refNames.size()]))
+                        .setForce(true)
+                        .call();
+            }
+        } catch (Exception e) {
+            Logger.w(TAG, "Failed to remove the refs of old imports", e);
+        }
+    }
+
+    /**
+     * The size of the object database
+     */
+    private static class Stats {
+        long looseObjects;
+        long looseSize;
+        long packedObjects;
+        long packedSize;
+        long packFiles;
+
+        static Stats of(Git git) throws Exception {
+            Properties properties = git.gc().getStatistics();
+            Stats stats = new Stats();
+            stats.looseObjects = read(properties, "numberOfLooseObjects");
+            stats.looseSize = read(properties, "sizeOfLooseObjects");
+            stats.packedObjects = read(properties, "numberOfPackedObjects");
+            stats.packedSize = read(properties, "sizeOfPackedObjects");
+            stats.packFiles = read(properties, "numberOfPackFiles");
+            return stats;
+        }
+
+        private static long read(Properties properties, String key) {
+            Object value = properties.get(key);
+            if(value == null) return 0;
+            try {
+                return Long.parseLong(value.toString());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d loose objects (%d bytes), %d packed objects (%d bytes) in %d packs",
+                    looseObjects, looseSize, packedObjects, packedSize, packFiles);
+        }
+    }
+}
@@ -11,7 +11,7 @@ public class TransportCallback implements TransportConfigCallback {
     private GitSessionFactory ssh;
 
     public TransportCallback() {
-        ssh = new GitSessionFactory();
+        ssh = GitSessionFactory.getInstance();
     }
 
     @Override
@@ -0,0 +1,69 @@
+package com.door43.translationstudio.rendering;
+
+import com.door43.translationstudio.ui.spannables.USFMNoteSpan;
+import com.door43.translationstudio.ui.spannables.USFMVerseSpan;
+import com.door43.translationstudio.ui.spannables.USXNoteSpan;
+import com.door43.translationstudio.ui.spannables.USXVerseSpan;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Shared precompiled regular expressions used while parsing and rendering translations.
+ * Compiled patterns are immutable and thread safe so they may be used from any task.
+ */
+public class PatternRegistry {
+    public static final Pattern USFM_VERSE = Pattern.compile(USFMVerseSpan.PATTERN);
+    public static final Pattern USFM_NOTE = Pattern.compile(USFMNoteSpan.PATTERN);
+    public static final Pattern USFM_NOTE_CHAR = Pattern.compile(USFMNoteSpan.CHAR_PATTERN);
+    public static final Pattern USFM_CHAPTER_MARKER = Pattern.compile("\\\\c +\\d+ *", Pattern.DOTALL);
+    public static final Pattern USX_VERSE = Pattern.compile(USXVerseSpan.PATTERN);
+    public static final Pattern USX_NOTE = Pattern.compile(USXNoteSpan.PATTERN);
+    public static final Pattern LEADING_TRAILING_WHITESPACE = Pattern.compile("(^\\s*|\\s*$)");
+    public static final Pattern WHITESPACE = Pattern.compile("(\\s+)");
+    public static final Pattern LINE_BREAKS = Pattern.compile("(\\s*\\n+\\s*)");
+    public static final Pattern MARKDOWN_TITLE = Pattern.compile("#(.*)");
+    public static final Pattern MARKDOWN_TITLE_AND_BODY = Pattern.compile("#+([^\\n]+)\\n+([\\s\\S]*)");
+
+    private static final ConcurrentHashMap<String, Pattern> styledPatterns = new ConcurrentHashMap<>();
+
+    private PatternRegistry() {
+    }
+
+    /**
+     * Returns a pattern that matches a para tag pair e.g. <para style=""></para>
+     * @param style a string or regular expression to identify the style
+     * @return
+     */
+    public static Pattern paraPattern(String style) {
+        return get("<para\\s+style=\"" + style + "\"\\s*>\\s*(((?!</para>).)*)</para>", Pattern.DOTALL);
+    }
+
+    /**
+     * Returns a pattern that matches a single para tag e.g. <para style=""/>
+     * @param style a string or regular expression to identify the style
+     * @return
+     */
+    public static Pattern paraShortPattern(String style) {
+        return get("<para\\s+style=\"" + style + "\"\\s*/>", Pattern.DOTALL);
+    }
+
+    /**
+     * Returns a compiled pattern, compiling it only the first time it is requested
+     * @param regex
+     * @param flags
+     * @return
+     */
+    public static Pattern get(String regex, int flags) {
+        String key = flags + ":" + regex;
+        Pattern pattern = styledPatterns.get(key);
+        if(pattern == null) {
+            pattern = Pattern.compile(regex, flags);
+            Pattern existing = styledPatterns.putIfAbsent(key, pattern);
+            if(existing != null) {
+                pattern = existing;
+            }
+        }
+        return pattern;
+    }
+}
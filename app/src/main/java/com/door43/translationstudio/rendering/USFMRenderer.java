@@ -182,7 +182,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
      */
     public CharSequence trimWhitespace(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(^\\s*|\\s*$)");
+        Pattern pattern = PatternRegistry.LEADING_TRAILING_WHITESPACE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -288,7 +288,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
      */
     public CharSequence renderWhiteSpace(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(\\s+)");
+        Pattern pattern = PatternRegistry.WHITESPACE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -307,7 +307,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
      */
     public CharSequence renderLineBreaks(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(\\s*\\n+\\s*)");
+        Pattern pattern = PatternRegistry.LINE_BREAKS;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -346,7 +346,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
      */
     public CharSequence renderNote(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile(USFMNoteSpan.PATTERN);
+        Pattern pattern = PatternRegistry.USFM_NOTE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -387,7 +387,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
             // but at least JellyBean becomes usable and doesn't crash.
         }
 
-        Pattern pattern = Pattern.compile(USFMVerseSpan.PATTERN);
+        Pattern pattern = PatternRegistry.USFM_VERSE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         List<Integer> foundVerses = new ArrayList<>();
@@ -545,7 +545,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
      */
     public CharSequence renderChapterMarker(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("\\\\c +\\d+ *", Pattern.DOTALL);
+        Pattern pattern = PatternRegistry.USFM_CHAPTER_MARKER;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -685,7 +685,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
      * @return
      */
     private static Pattern paraPattern(String style) {
-        return Pattern.compile("<para\\s+style=\""+style+"\"\\s*>\\s*(((?!</para>).)*)</para>", Pattern.DOTALL);  // TODO: 3/1/16 need to upgrade to USFM
+        return PatternRegistry.paraPattern(style);  // TODO: 3/1/16 need to upgrade to USFM
     }
 
     /**
@@ -694,7 +694,7 @@ public class USFMRenderer extends ClickableRenderingEngine {
      * @return
      */
     private static Pattern paraShortPattern(String style) {
-        return Pattern.compile("<para\\s+style=\""+style+"\"\\s*/>", Pattern.DOTALL); // TODO: 3/1/16 need to upgrade to USFM
+        return PatternRegistry.paraShortPattern(style); // TODO: 3/1/16 need to upgrade to USFM
     }
 
     /**
@@ -186,7 +186,7 @@ public class USXRenderer extends ClickableRenderingEngine {
      */
     public CharSequence trimWhitespace(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(^\\s*|\\s*$)");
+        Pattern pattern = PatternRegistry.LEADING_TRAILING_WHITESPACE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -292,7 +292,7 @@ public class USXRenderer extends ClickableRenderingEngine {
      */
     public CharSequence renderWhiteSpace(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(\\s+)");
+        Pattern pattern = PatternRegistry.WHITESPACE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -311,7 +311,7 @@ public class USXRenderer extends ClickableRenderingEngine {
      */
     public CharSequence renderLineBreaks(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(\\s*\\n+\\s*)");
+        Pattern pattern = PatternRegistry.LINE_BREAKS;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -330,7 +330,7 @@ public class USXRenderer extends ClickableRenderingEngine {
      */
     public CharSequence renderNote(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile(USXNoteSpan.PATTERN);
+        Pattern pattern = PatternRegistry.USX_NOTE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -371,7 +371,7 @@ public class USXRenderer extends ClickableRenderingEngine {
                             // but at least JellyBean becomes usable and doesn't crash.
         }
 
-        Pattern pattern = Pattern.compile(USXVerseSpan.PATTERN);
+        Pattern pattern = PatternRegistry.USX_VERSE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         List<Integer> foundVerses = new ArrayList<>();
@@ -678,7 +678,7 @@ public class USXRenderer extends ClickableRenderingEngine {
      * @return
      */
     private static Pattern paraPattern(String style) {
-        return Pattern.compile("<para\\s+style=\""+style+"\"\\s*>\\s*(((?!</para>).)*)</para>", Pattern.DOTALL);
+        return PatternRegistry.paraPattern(style);
     }
 
     /**
@@ -687,7 +687,7 @@ public class USXRenderer extends ClickableRenderingEngine {
      * @return
      */
     private static Pattern paraShortPattern(String style) {
-        return Pattern.compile("<para\\s+style=\""+style+"\"\\s*/>", Pattern.DOTALL);
+        return PatternRegistry.paraShortPattern(style);
     }
 
     /**
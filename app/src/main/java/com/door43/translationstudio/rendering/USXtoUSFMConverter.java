@@ -78,7 +78,7 @@ public class USXtoUSFMConverter  {
      */
     public CharSequence trimWhitespace(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(^\\s*|\\s*$)");
+        Pattern pattern = PatternRegistry.LEADING_TRAILING_WHITESPACE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -115,7 +115,7 @@ public class USXtoUSFMConverter  {
      */
     public CharSequence renderWhiteSpace(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(\\s+)");
+        Pattern pattern = PatternRegistry.WHITESPACE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -133,7 +133,7 @@ public class USXtoUSFMConverter  {
      */
     public CharSequence renderLineBreaks(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile("(\\s*\\n+\\s*)");
+        Pattern pattern = PatternRegistry.LINE_BREAKS;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -151,7 +151,7 @@ public class USXtoUSFMConverter  {
      */
     public CharSequence renderNote(CharSequence in) {
         CharSequence out = "";
-        Pattern pattern = Pattern.compile(USXNoteSpan.PATTERN);
+        Pattern pattern = PatternRegistry.USX_NOTE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         while(matcher.find()) {
@@ -242,7 +242,7 @@ public class USXtoUSFMConverter  {
             // but at least JellyBean becomes usable and doesn't crash.
         }
 
-        Pattern pattern = Pattern.compile(USXVerseSpan.PATTERN);
+        Pattern pattern = PatternRegistry.USX_VERSE;
         Matcher matcher = pattern.matcher(in);
         int lastIndex = 0;
         List<Integer> foundVerses = new ArrayList<>();
@@ -368,7 +368,7 @@ public class USXtoUSFMConverter  {
      * @return
      */
     private static Pattern paraPattern(String style) {
-        return Pattern.compile("<para\\s+style=\""+style+"\"\\s*>\\s*(((?!</para>).)*)</para>", Pattern.DOTALL);
+        return PatternRegistry.paraPattern(style);
     }
 
     /**
@@ -377,7 +377,7 @@ public class USXtoUSFMConverter  {
      * @return
      */
     private static Pattern paraShortPattern(String style) {
-        return Pattern.compile("<para\\s+style=\""+style+"\"\\s*/>", Pattern.DOTALL);
+        return PatternRegistry.paraShortPattern(style);
     }
 }
 
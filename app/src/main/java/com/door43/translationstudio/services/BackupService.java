@@ -6,12 +6,15 @@ import android.app.PendingIntent;
 import android.app.Service;
 import android.content.Context;
 import android.content.Intent;
+import android.content.IntentFilter;
 import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
+import android.os.BatteryManager;
 import android.os.Build;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.IBinder;
+import android.os.PowerManager;
 import android.preference.PreferenceManager;
 import androidx.core.app.NotificationCompat;
 import androidx.core.content.ContextCompat;
@@ -20,7 +23,13 @@ import android.util.Log;
 import org.eclipse.jgit.api.errors.RejectCommitException;
 import org.unfoldingword.tools.foreground.Foreground;
 import org.unfoldingword.tools.logger.Logger;
+import org.unfoldingword.tools.taskmanager.TaskManager;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.git.Repo;
+import com.door43.translationstudio.git.RepositoryMaintenance;
+import com.door43.translationstudio.tasks.PullTargetTranslationTask;
+import com.door43.translationstudio.tasks.PushTargetTranslationTask;
+import com.door43.translationstudio.tasks.SyncAllTargetTranslationsTask;
 import com.door43.translationstudio.ui.SettingsActivity;
 import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.core.Translator;
@@ -29,21 +38,27 @@ import com.door43.translationstudio.App;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This services runs in the background to provide automatic backups for translations.
  * For now this service is backup the translations to two locations for added peace of mind.
+ * While the device is idle and charging the service also repacks the translation repositories.
  */
 public class BackupService extends Service implements Foreground.Listener {
     public static final String TAG = BackupService.class.getName();
+    private static final String KEY_LAST_MAINTENANCE = "last_repository_maintenance";
+    private static final long MAINTENANCE_CHECK_INTERVAL = 30 * 60 * 1000;
+    private static final long MAINTENANCE_INTERVAL = 12 * 60 * 60 * 1000;
     private final Timer sTimer = new Timer();
     private static boolean sRunning = false;
     private boolean isPaused = false;
-    private boolean executingBackup = false;
+    private final AtomicBoolean executingBackup = new AtomicBoolean(false);
     private Foreground foreground;
     private Handler handler;
     private Runnable runner;
     private HandlerThread handlerThread;
+    private boolean maintenanceScheduled = false;
 
     @Override
     public IBinder onBind(Intent intent) {
@@ -77,6 +92,19 @@ public class BackupService extends Service implements Foreground.Listener {
     @Override
     public int onStartCommand(Intent intent, int flags, int startid) {
         SharedPreferences pref = PreferenceManager.getDefaultSharedPreferences(getApplication());
+        if(!maintenanceScheduled) {
+            maintenanceScheduled = true;
+            sTimer.scheduleAtFixedRate(new TimerTask() {
+                @Override
+                public void run() {
+                    try {
+                        runMaintenance();
+                    } catch(Exception e) {
+                        Logger.e(TAG, "Repository maintenance failed", e);
+                    }
+                }
+            }, MAINTENANCE_CHECK_INTERVAL, MAINTENANCE_CHECK_INTERVAL);
+        }
         int backupIntervalMinutes = Integer.parseInt(pref.getString(SettingsActivity.KEY_PREF_BACKUP_INTERVAL, getResources().getString(R.string.pref_default_backup_interval)));
         if(backupIntervalMinutes > 0) {
             int backupInterval = backupIntervalMinutes * 1000 * 60;
@@ -88,9 +116,7 @@ public class BackupService extends Service implements Foreground.Listener {
                     try {
                         runBackup(isPaused);
                     } catch(Exception e) {
-                        // recover from exceptions
-                        executingBackup = false;
-                        e.printStackTrace();
+                        Logger.e(TAG, "Backup failed", e);
                     }
                 }
             }, backupInterval, backupInterval);
@@ -125,9 +151,18 @@ public class BackupService extends Service implements Foreground.Listener {
      * Performs the backup if necessary
      */
     private void runBackup(boolean paused) {
-        if(paused || this.executingBackup) return;
+        if(paused || !executingBackup.compareAndSet(false, true)) return;
+        try {
+            backup();
+        } finally {
+            executingBackup.set(false);
+        }
+    }
 
-        this.executingBackup = true;
+    /**
+     * Commits the pending changes and backs up the translations that have content
+     */
+    private void backup() {
         boolean backupPerformed = false;
         if(ContextCompat.checkSelfPermission(this, Manifest.permission.WRITE_EXTERNAL_STORAGE)
                 == PackageManager.PERMISSION_GRANTED) {
@@ -182,7 +217,80 @@ public class BackupService extends Service implements Foreground.Listener {
         } else {
             Logger.e(TAG, "Missing permission to write to external storage. Automatic backups skipped.");
         }
-        this.executingBackup = false;
+    }
+
+    /**
+     * Repacks the repositories that have accumulated many loose objects.
+     * This only runs while the app is in the background and the device is idle and charging.
+     */
+    private void runMaintenance() {
+        if(!isPaused || executingBackup.get() || !isIdleAndCharging() || isSyncing()) return;
+
+        SharedPreferences pref = PreferenceManager.getDefaultSharedPreferences(getApplication());
+        long lastMaintenance = pref.getLong(KEY_LAST_MAINTENANCE, 0);
+        if(System.currentTimeMillis() - lastMaintenance < MAINTENANCE_INTERVAL) return;
+
+        if(!executingBackup.compareAndSet(false, true)) return;
+        try {
+            maintainRepositories(pref);
+        } finally {
+            executingBackup.set(false);
+        }
+    }
+
+    /**
+     * Repacks the repositories that need it and records when maintenance finished
+     * @param pref
+     */
+    private void maintainRepositories(SharedPreferences pref) {
+        Logger.i(TAG, "Checking if repositories need maintenance");
+        Translator translator = App.getTranslator();
+        int maintained = 0;
+        boolean interrupted = false;
+        for (String filename : translator.getTargetTranslationFileNames()) {
+            // stop if the user needs the device again
+            if(!isPaused || !isIdleAndCharging()) {
+                interrupted = true;
+                break;
+            }
+            TargetTranslation t = translator.getTargetTranslation(filename);
+            if(t == null) continue;
+            Repo repo = t.getRepo();
+            if(RepositoryMaintenance.isNeeded(repo) && RepositoryMaintenance.run(repo)) {
+                maintained ++;
+            }
+        }
+        if(!interrupted) {
+            pref.edit().putLong(KEY_LAST_MAINTENANCE, System.currentTimeMillis()).apply();
+        }
+        Logger.i(TAG, "Finished repository maintenance. " + maintained + " repositories were repacked");
+    }
+
+    /**
+     * Checks if the device is charging and the screen is off
+     * @return
+     */
+    private boolean isIdleAndCharging() {
+        Intent battery = registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        boolean charging = battery != null && battery.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0;
+        PowerManager power = (PowerManager)getSystemService(Context.POWER_SERVICE);
+        boolean interactive;
+        if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT_WATCH) {
+            interactive = power.isInteractive();
+        } else {
+            interactive = power.isScreenOn();
+        }
+        return charging && !interactive;
+    }
+
+    /**
+     * Checks if a translation is being uploaded or downloaded
+     * @return
+     */
+    private boolean isSyncing() {
+        return TaskManager.getTask(PullTargetTranslationTask.TASK_ID) != null
+                || TaskManager.getTask(PushTargetTranslationTask.TASK_ID) != null
+                || TaskManager.getTask(SyncAllTargetTranslationsTask.TASK_ID) != null;
     }
 
     /**
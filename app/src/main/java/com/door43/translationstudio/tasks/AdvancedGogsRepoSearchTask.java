@@ -1,20 +1,43 @@
 package com.door43.translationstudio.tasks;
 
 import com.door43.translationstudio.App;
+import com.door43.translationstudio.R;
+import com.door43.translationstudio.core.Profile;
+import com.door43.translationstudio.ui.SettingsActivity;
 
+import org.unfoldingword.tools.logger.Logger;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 
+import org.unfoldingword.gogsclient.GogsAPI;
 import org.unfoldingword.gogsclient.Repository;
+import org.unfoldingword.gogsclient.Response;
 import org.unfoldingword.gogsclient.User;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This task performs a hybrid search on gogs that includes for repositories by username as well as repository name
  */
 public class AdvancedGogsRepoSearchTask extends ManagedTask {
     public static final String TASK_ID = "advanced_gogs_search";
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+    private static final ThreadPoolExecutor requestPool = new ThreadPoolExecutor(MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    static {
+        requestPool.allowCoreThreadTimeOut(true);
+    }
     private final User authUser;
     private final String userQuery;
     private final String repoQuery;
@@ -46,9 +69,6 @@ public class AdvancedGogsRepoSearchTask extends ManagedTask {
     @Override
     public void start() {
         if(App.isNetworkAvailable()) {
-            // submit new language requests
-            delegate(new SubmitNewLanguageRequestsTask());
-
             // user search or user and repo search
             if((!userQuery.isEmpty() && repoQuery.equals("_"))
                     || (!userQuery.isEmpty() && !repoQuery.equals("_"))) {
@@ -56,20 +76,145 @@ public class AdvancedGogsRepoSearchTask extends ManagedTask {
                 SearchGogsUsersTask searchUsersTask = new SearchGogsUsersTask(this.authUser, this.userQuery, this.limit);
                 delegate(searchUsersTask);
                 List<User> users = searchUsersTask.getUsers();
+                List<Integer> uids = new ArrayList<>();
                 for(User user:users) {
-                    // search by repo
-                    SearchGogsRepositoriesTask searchReposTask = new SearchGogsRepositoriesTask(this.authUser, user.getId(), this.repoQuery, this.limit);
-                    delegate(searchReposTask);
-                    this.repositories.addAll(searchReposTask.getRepositories());
+                    uids.add(user.getId());
                 }
+                this.repositories = searchRepositories(uids);
             // repo search or any search
             } else {
                 // just search repos
-                SearchGogsRepositoriesTask searchReposTask = new SearchGogsRepositoriesTask(this.authUser, 0, this.repoQuery, this.limit);
-                delegate(searchReposTask);
-                this.repositories = searchReposTask.getRepositories();
+                List<Integer> uids = new ArrayList<>();
+                uids.add(0);
+                this.repositories = searchRepositories(uids);
+            }
+        }
+    }
+
+    /**
+     * Searches the repositories of each user concurrently.
+     * The search requests are issued together and then the details (clone urls)
+     * of every repository found are fetched together so the whole search takes
+     * roughly two round trips regardless of how many users matched.
+     * Recent results are served from the cache.
+     *
+     * @param uids the users to search. 0 searches all users
+     * @return the repositories found in the same order as the users
+     */
+    private List<Repository> searchRepositories(List<Integer> uids) {
+        Profile profile = App.getProfile();
+        if(profile == null || profile.gogsUser == null) {
+            return new ArrayList<>();
+        }
+        final String apiUrl = App.getUserString(SettingsActivity.KEY_PREF_GOGS_API, R.string.pref_default_gogs_api);
+        Map<Integer, List<Repository>> results = new HashMap<>();
+
+        // search repos of users without recent results
+        Map<Integer, Future<List<Repository>>> searches = new HashMap<>();
+        for(final int uid:uids) {
+            List<Repository> cached = SearchGogsRepositoriesTask.getCachedResults(this.authUser, uid, this.repoQuery, this.limit);
+            if(cached != null) {
+                results.put(uid, cached);
+            } else if(!searches.containsKey(uid)) {
+                searches.put(uid, requestPool.submit(new Callable<List<Repository>>() {
+                    @Override
+                    public List<Repository> call() throws Exception {
+                        GogsAPI api = new GogsAPI(apiUrl);
+                        List<Repository> repos = api.searchRepos(repoQuery, uid, limit);
+                        checkResponse(api);
+                        return repos;
+                    }
+                }));
             }
         }
+
+        // fetch additional information about the repos (clone urls)
+        Map<Integer, List<Future<Repository>>> details = new HashMap<>();
+        Set<Integer> failed = new HashSet<>();
+        for(Map.Entry<Integer, Future<List<Repository>>> search:searches.entrySet()) {
+            List<Repository> found = waitFor(search.getValue());
+            List<Future<Repository>> futures = new ArrayList<>();
+            if(found == null) {
+                failed.add(search.getKey());
+            } else {
+                for (final Repository repo : found) {
+                    futures.add(requestPool.submit(new Callable<Repository>() {
+                        @Override
+                        public Repository call() throws Exception {
+                            GogsAPI api = new GogsAPI(apiUrl);
+                            Repository details = api.getRepo(repo, authUser);
+                            if(details == null) {
+                                checkResponse(api);
+                            }
+                            return details;
+                        }
+                    }));
+                }
+            }
+            details.put(search.getKey(), futures);
+        }
+        for(Map.Entry<Integer, List<Future<Repository>>> detail:details.entrySet()) {
+            List<Repository> repos = new ArrayList<>();
+            for(Future<Repository> future:detail.getValue()) {
+                Repository repo = waitFor(future);
+                if(repo != null) {
+                    repos.add(repo);
+                } else {
+                    failed.add(detail.getKey());
+                }
+            }
+            // TRICKY: incomplete results are not cached so a dropped request is retried by the next search
+            if(!isCanceled() && !failed.contains(detail.getKey())) {
+                SearchGogsRepositoriesTask.cacheResults(this.authUser, detail.getKey(), this.repoQuery, this.limit, repos);
+            }
+            results.put(detail.getKey(), repos);
+        }
+
+        List<Repository> repos = new ArrayList<>();
+        for(int uid:uids) {
+            List<Repository> userRepos = results.remove(uid);
+            if(userRepos != null) {
+                repos.addAll(userRepos);
+            }
+        }
+        return repos;
+    }
+
+    /**
+     * Checks if the last request of the api succeeded
+     * @param api
+     * @throws IOException if the request failed
+     */
+    private static void checkResponse(GogsAPI api) throws IOException {
+        Response response = api.getLastResponse();
+        if(response == null) {
+            throw new IOException("Gogs did not respond");
+        }
+        if(!SearchGogsRepositoriesTask.isSuccess(response)) {
+            throw new IOException("Gogs responded with " + response.code, response.exception);
+        }
+    }
+
+    /**
+     * Waits for a request to finish.
+     * Remaining requests are cancelled if this task has been cancelled.
+     * @param future
+     * @return null if the request failed or was cancelled
+     */
+    private <T> T waitFor(Future<T> future) {
+        if(isCanceled()) {
+            future.cancel(true);
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.w(TASK_ID, "Repository search request failed", e.getCause());
+        }
+        return null;
     }
 
     /**
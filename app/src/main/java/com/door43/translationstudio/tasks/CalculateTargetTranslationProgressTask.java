@@ -12,20 +12,20 @@ public class CalculateTargetTranslationProgressTask extends ManagedTask {
 
     public static final String TASK_ID = "calculate_target_translation_progress";
     public final TargetTranslation targetTranslation;
-    private final Door43Client library;
     public int translationProgress = 0;
 
-    public CalculateTargetTranslationProgressTask(Door43Client library, TargetTranslation targetTranslation) {
-        this.library = library;
+    public CalculateTargetTranslationProgressTask(TargetTranslation targetTranslation) {
         this.targetTranslation = targetTranslation;
     }
 
     @Override
     public void start() {
+        Door43Client library = App.getLibrary();
         String[] sourceTranslationIds = App.getOpenSourceTranslations(targetTranslation.getId());
-        if(sourceTranslationIds.length > 0 && library.exists(sourceTranslationIds[0])) {
+        if(sourceTranslationIds.length > 0 && App.containerExists(library, sourceTranslationIds[0])) {
             ResourceContainer container;
             try {
+                App.prepareContainer(sourceTranslationIds[0]);
                 container = library.open(sourceTranslationIds[0]);
             } catch (Exception e) {
                 Logger.e("CalculateTranslationProgressTask", "Failed to load container " + sourceTranslationIds[0], e);
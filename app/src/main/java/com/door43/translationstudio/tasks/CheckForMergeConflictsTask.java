@@ -32,7 +32,7 @@ public class CheckForMergeConflictsTask extends ManagedTask {
         mConflictCount = 0;
         if(mItems != null) {
             for (ListItem item : mItems) {
-                item.load(mSourceContainer, mTargetTranslation);
+                item.loadMergeConflictState(mTargetTranslation);
                 if(item.hasMergeConflicts) {
                     mConflictCount++;
                 }
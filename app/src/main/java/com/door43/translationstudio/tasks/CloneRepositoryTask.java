@@ -12,15 +12,19 @@ import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.errors.NoRemoteRepositoryException;
+import org.eclipse.jgit.lib.Constants;
 
 import java.io.File;
+import java.util.Collections;
 
 /**
- * Clones a repository from the server
+ * Clones a repository from the server.
+ * Only the master branch is downloaded since that is the only branch the app uses.
  */
 public class CloneRepositoryTask extends ManagedTask {
 
     public static final String TASK_ID = "clone_target_translation";
+    private static final String BRANCH = Constants.R_HEADS + Constants.MASTER;
     private final File destDir;
     private final String cloneUrl;
     private Status status = Status.UNKNOWN;
@@ -48,12 +52,16 @@ public class CloneRepositoryTask extends ManagedTask {
                 // prepare destination
                 destDir.mkdirs();
 
-                CloneCommand cloneCommand = Git.cloneRepository()
-                        .setURI(cloneUrl)
-                        .setTransportConfigCallback(new TransportCallback())
-                        .setDirectory(destDir);
                 try {
-                    Git result = cloneCommand.call();
+                    Git result = cloneCommand(true).call();
+                    if(result.getRepository().resolve(Constants.HEAD) == null) {
+                        // the repository does not have a master branch so download everything
+                        Logger.i(this.getClass().getName(), "Missing " + BRANCH + " in " + cloneUrl + ". Cloning all branches");
+                        result.getRepository().close();
+                        FileUtilities.deleteQuietly(destDir);
+                        destDir.mkdirs();
+                        result = cloneCommand(false).call();
+                    }
                     result.getRepository().close();
                     this.status = Status.SUCCESS;
                 } catch (TransportException e) {
@@ -88,6 +96,24 @@ public class CloneRepositoryTask extends ManagedTask {
         }
     }
 
+    /**
+     * Prepares the clone command
+     * @param masterOnly if true only the master branch will be downloaded
+     * @return
+     */
+    private CloneCommand cloneCommand(boolean masterOnly) {
+        CloneCommand cloneCommand = Git.cloneRepository()
+                .setURI(cloneUrl)
+                .setTransportConfigCallback(new TransportCallback())
+                .setDirectory(destDir);
+        if(masterOnly) {
+            cloneCommand.setCloneAllBranches(false)
+                    .setBranchesToClone(Collections.singletonList(BRANCH))
+                    .setBranch(BRANCH);
+        }
+        return cloneCommand;
+    }
+
     public Status getStatus() {
         return status;
     }
@@ -8,6 +8,7 @@ import org.unfoldingword.tools.logger.Logger;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 
 import java.io.File;
+import java.util.List;
 
 /**
  * Created by jshuma on 1/11/16.
@@ -16,11 +17,16 @@ public class DownloadImagesTask extends ManagedTask {
 
     public static final String TASK_ID = "download_images_task";
 
+    private final List<String> mImageNames;
     private int mMaxProgress = 100;
     private boolean mSuccess;
     private File mImagesDir;
 
-    public DownloadImagesTask() {
+    /**
+     * @param imageNames the names of the images to download
+     */
+    public DownloadImagesTask(List<String> imageNames) {
+        mImageNames = imageNames;
         mSuccess = false;
         mImagesDir = null;
     }
@@ -30,7 +36,7 @@ public class DownloadImagesTask extends ManagedTask {
         mSuccess = false;
         try {
             DownloadImages downloadImages = new DownloadImages();
-            mSuccess = downloadImages.download(new DownloadImages.OnProgressListener() {
+            mSuccess = downloadImages.download(mImageNames, new DownloadImages.OnProgressListener() {
 
                 @Override
                 public boolean onProgress(int progress, int max, String message) {
@@ -9,6 +9,9 @@ import com.door43.translationstudio.core.ExportUsfm;
 import com.door43.translationstudio.core.TargetTranslation;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Created by blm on 2/22/17.
  */
@@ -16,11 +19,13 @@ import org.unfoldingword.tools.taskmanager.ManagedTask;
 public class ExportToUsfmTask extends ManagedTask {
 
     public static final String TASK_ID = "export_to_usfm_task";
+    public static final String TASK_ID_ALL = "export_all_to_usfm_task";
     public static final String TAG = ExportProjectTask.class.getSimpleName();
     final private String filename;
     final private Uri path;
     private String message = "";
     final private TargetTranslation targetTranslation;
+    final private List<TargetTranslation> targetTranslations;
     final private boolean outputToDocumentFile;
 
     public ExportToUsfmTask(Activity activity, TargetTranslation targetTranslation, Uri path, String filename, boolean outputToDocumentFile) {
@@ -28,6 +33,25 @@ public class ExportToUsfmTask extends ManagedTask {
         this.filename = filename;
         this.path = path;
         this.targetTranslation = targetTranslation;
+        this.targetTranslations = null;
+        this.outputToDocumentFile = outputToDocumentFile;
+        message = activity.getString(R.string.please_wait);
+    }
+
+    /**
+     * Exports several target translations to a single zip of USFM files
+     * @param activity
+     * @param targetTranslations
+     * @param path the folder or null for the downloads folder
+     * @param filename the name of the zip file
+     * @param outputToDocumentFile
+     */
+    public ExportToUsfmTask(Activity activity, TargetTranslation[] targetTranslations, Uri path, String filename, boolean outputToDocumentFile) {
+        setThreadPriority(Process.THREAD_PRIORITY_DEFAULT);
+        this.filename = filename;
+        this.path = path;
+        this.targetTranslation = null;
+        this.targetTranslations = Arrays.asList(targetTranslations);
         this.outputToDocumentFile = outputToDocumentFile;
         message = activity.getString(R.string.please_wait);
     }
@@ -35,7 +59,12 @@ public class ExportToUsfmTask extends ManagedTask {
     @Override
     public void start() {
         publishProgress(-1, message);
-        Uri exportFile = ExportUsfm.saveToUSFM( targetTranslation, path, filename, outputToDocumentFile);
+        Uri exportFile;
+        if(targetTranslations != null) {
+            exportFile = ExportUsfm.saveToUSFMZip(targetTranslations, path, filename, outputToDocumentFile);
+        } else {
+            exportFile = ExportUsfm.saveToUSFM( targetTranslation, path, filename, outputToDocumentFile);
+        }
         setResult(exportFile);
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.door43.translationstudio.tasks;
+
+import com.door43.translationstudio.App;
+import com.door43.translationstudio.core.BundledContainers;
+
+import org.unfoldingword.tools.logger.Logger;
+import org.unfoldingword.tools.taskmanager.ManagedTask;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extracts the resource containers packaged with the app in the background.
+ * The containers the user is most likely to open are extracted first:
+ * the sources opened in the user's translations, then those in the device language and english.
+ */
+public class ExtractBundledContainersTask extends ManagedTask {
+    public static final String TASK_ID = "extract_bundled_containers_task";
+    private int max = 0;
+
+    @Override
+    public void start() {
+        BundledContainers bundled = App.getBundledContainers();
+        List<String> pending = bundled.listPending();
+        if(pending.isEmpty()) return;
+
+        Set<String> ordered = new LinkedHashSet<>();
+        // sources that are already in use
+        for(String targetTranslationId:App.getTranslator().getTargetTranslationFileNames()) {
+            for(String containerSlug:App.getOpenSourceTranslations(targetTranslationId)) {
+                if(pending.contains(containerSlug)) ordered.add(containerSlug);
+            }
+        }
+        // likely languages
+        List<String> languages = new ArrayList<>();
+        languages.add(App.getDeviceLanguageCode());
+        languages.add("en");
+        for(String language:languages) {
+            for(String containerSlug:pending) {
+                if(containerSlug.startsWith(language + "_")) ordered.add(containerSlug);
+            }
+        }
+        ordered.addAll(pending);
+
+        max = ordered.size();
+        int count = 0;
+        for(String containerSlug:ordered) {
+            if(isCanceled()) return;
+            bundled.extract(containerSlug);
+            count ++;
+            publishProgress((float)count / max, containerSlug);
+        }
+        Logger.i(TASK_ID, "Extracted " + count + " bundled containers");
+    }
+
+    @Override
+    public int maxProgress() {
+        return max;
+    }
+}
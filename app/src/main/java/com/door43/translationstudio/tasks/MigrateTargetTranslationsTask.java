@@ -0,0 +1,77 @@
+package com.door43.translationstudio.tasks;
+
+import com.door43.translationstudio.core.TargetTranslation;
+import com.door43.translationstudio.core.TargetTranslationMigrator;
+import com.door43.translationstudio.core.Translator;
+
+import org.unfoldingword.tools.logger.Logger;
+import org.unfoldingword.tools.taskmanager.ManagedTask;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Migrates target translations in the background.
+ * This is used after an app update so the migrations do not block opening the app.
+ * The target translations are hidden by the {@link Translator} until they have been migrated.
+ */
+public class MigrateTargetTranslationsTask extends ManagedTask {
+    public static final String TASK_ID = "migrate_target_translations";
+    private final List<File> targetTranslationDirs;
+
+    /**
+     * @param targetTranslationDirs the target translation directories to migrate
+     */
+    public MigrateTargetTranslationsTask(List<File> targetTranslationDirs) {
+        this.targetTranslationDirs = targetTranslationDirs;
+    }
+
+    @Override
+    public void start() {
+        try {
+            for(int i = 0; i < targetTranslationDirs.size(); i ++) {
+                if(isCanceled()) break;
+                File dir = targetTranslationDirs.get(i);
+                publishProgress((float)i / targetTranslationDirs.size(), dir.getName());
+                migrate(dir);
+                // the target translation can be opened again
+                Translator.setMigrationPending(dir.getName(), false);
+            }
+            publishProgress(1, "");
+        } finally {
+            // TRICKY: never leave target translations hidden if the migration stops early
+            for(File dir:targetTranslationDirs) {
+                Translator.setMigrationPending(dir.getName(), false);
+            }
+        }
+    }
+
+    /**
+     * Migrates a single target translation and commits the changes
+     * @param dir
+     */
+    private void migrate(File dir) {
+        Logger.i(TASK_ID, "Migrating: " + dir);
+        File migratedDir = TargetTranslationMigrator.migrate(dir);
+        if (migratedDir == null) {
+            Logger.w(TASK_ID, "Failed to migrate the target translation " + dir.getName());
+            return;
+        }
+
+        // commit migration changes
+        TargetTranslation tt = TargetTranslation.open(migratedDir);
+        if(tt != null) {
+            try {
+                tt.unlockRepo(); // TRICKY: prune dangling locks
+                tt.commitSync();
+            } catch (Exception e) {
+                Logger.e(TASK_ID, "Failed to commit migration changes to target translation " + tt.getId());
+            }
+        }
+    }
+
+    @Override
+    public int maxProgress() {
+        return targetTranslationDirs.size();
+    }
+}
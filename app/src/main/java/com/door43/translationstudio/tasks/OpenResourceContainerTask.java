@@ -0,0 +1,39 @@
+package com.door43.translationstudio.tasks;
+
+import com.door43.translationstudio.App;
+
+import org.unfoldingword.resourcecontainer.ResourceContainer;
+import org.unfoldingword.tools.logger.Logger;
+import org.unfoldingword.tools.taskmanager.ManagedTask;
+
+/**
+ * Opens a resource container from the library.
+ * A container packaged with the app is extracted first if needed, which may take a while.
+ */
+public class OpenResourceContainerTask extends ManagedTask {
+    public static final String TASK_ID = "open_resource_container";
+    private final String containerSlug;
+    private ResourceContainer container = null;
+
+    public OpenResourceContainerTask(String containerSlug) {
+        this.containerSlug = containerSlug;
+    }
+
+    @Override
+    public void start() {
+        try {
+            App.prepareContainer(containerSlug);
+            container = App.getLibrary().open(containerSlug);
+        } catch (Exception e) {
+            Logger.e(OpenResourceContainerTask.class.getName(), "Failed to open the resource container " + containerSlug, e);
+        }
+    }
+
+    /**
+     * Returns the opened container
+     * @return the container or null if it could not be opened
+     */
+    public ResourceContainer getContainer() {
+        return container;
+    }
+}
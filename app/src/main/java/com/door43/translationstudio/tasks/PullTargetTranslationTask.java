@@ -43,6 +43,7 @@ public class PullTargetTranslationTask extends ManagedTask {
     private Status status = Status.UNKNOWN;
     private Map<String, int[][]> conflicts = new HashMap<>();
     private String sourceURL = null;
+    private boolean submitNewLanguageRequests = true;
 
     /**
      * do a pull from a specific URL
@@ -61,7 +62,9 @@ public class PullTargetTranslationTask extends ManagedTask {
     public void start() {
         if(App.isNetworkAvailable()) {
             // submit new language requests
-            delegate(new SubmitNewLanguageRequestsTask());
+            if(submitNewLanguageRequests) {
+                delegate(new SubmitNewLanguageRequestsTask());
+            }
 
             Profile profile = App.getProfile();
             if (targetTranslation != null && App.isNetworkAvailable() && profile != null && profile.gogsUser != null) {
@@ -103,8 +106,7 @@ public class PullTargetTranslationTask extends ManagedTask {
     private String pull(Repo repo, String remote) {
         Git git;
         try {
-            repo.deleteRemote("origin");
-            repo.setRemote("origin", remote);
+            repo.ensureRemote("origin", remote);
             git = repo.getGit();
         } catch (IOException e) {
             return null;
@@ -218,6 +220,13 @@ public class PullTargetTranslationTask extends ManagedTask {
         }
     }
 
+    /**
+     * Skips submitting new language requests e.g. when they have already been submitted for a batch of pulls
+     */
+    void skipNewLanguageRequests() {
+        submitNewLanguageRequests = false;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -8,16 +8,27 @@ import org.unfoldingword.tools.taskmanager.ManagedTask;
 
 import org.unfoldingword.gogsclient.GogsAPI;
 import org.unfoldingword.gogsclient.Repository;
+import org.unfoldingword.gogsclient.Response;
 import org.unfoldingword.gogsclient.User;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Searches for repositories in gogs
  */
 public class SearchGogsRepositoriesTask extends ManagedTask {
     public static final String TASK_ID = "search_gogs_repositories";
+    private static final long CACHE_TTL = 5 * 60 * 1000; // 5 minutes
+    private static final int CACHE_SIZE = 50;
+    private static final Map<String, CachedResult> cache = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
     private final String query;
     private final int uid;
     private final User authUser;
@@ -34,23 +45,105 @@ public class SearchGogsRepositoriesTask extends ManagedTask {
     @Override
     public void start() {
         if(App.isNetworkAvailable()) {
+            List<Repository> cached = getCachedResults(this.authUser, this.uid, this.query, this.limit);
+            if(cached != null) {
+                this.repositories = cached;
+                return;
+            }
+
             GogsAPI api = new GogsAPI(App.getUserString(SettingsActivity.KEY_PREF_GOGS_API, R.string.pref_default_gogs_api));
             Profile profile = App.getProfile();
 
             if(profile != null && profile.gogsUser != null) {
                 List<Repository> repos = api.searchRepos(this.query, this.uid, this.limit);
+                boolean complete = isSuccess(api.getLastResponse());
                 // fetch additional information about the repos (clone urls)
                 for(Repository repo:repos) {
                     repo = api.getRepo(repo, this.authUser);
                     if(repo != null) {
                         this.repositories.add(repo);
+                    } else {
+                        complete = false;
                     }
                 }
+                // incomplete results are not cached so the next search tries again
+                if(complete) {
+                    cacheResults(this.authUser, this.uid, this.query, this.limit, this.repositories);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns recent results for the same search if they have not expired
+     * @param authUser the user authenticating the request
+     * @param uid the user whose repositories were searched
+     * @param query the repository query
+     * @param limit the maximum number of results
+     * @return null if there are no recent results
+     */
+    public static List<Repository> getCachedResults(User authUser, int uid, String query, int limit) {
+        String key = cacheKey(authUser, uid, query, limit);
+        synchronized (cache) {
+            CachedResult result = cache.get(key);
+            if(result != null) {
+                if(System.currentTimeMillis() - result.createdAt < CACHE_TTL) {
+                    return new ArrayList<>(result.repositories);
+                }
+                cache.remove(key);
             }
         }
+        return null;
+    }
+
+    /**
+     * Stores the results of a search so repeated searches can skip the network
+     * @param authUser the user authenticating the request
+     * @param uid the user whose repositories were searched
+     * @param query the repository query
+     * @param limit the maximum number of results
+     * @param repositories the repositories that were found
+     */
+    public static void cacheResults(User authUser, int uid, String query, int limit, List<Repository> repositories) {
+        String key = cacheKey(authUser, uid, query, limit);
+        synchronized (cache) {
+            cache.put(key, new CachedResult(new ArrayList<>(repositories)));
+        }
+    }
+
+    /**
+     * Clears all of the cached search results
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Checks if a gogs request succeeded
+     * @param response
+     * @return false if there was no response
+     */
+    static boolean isSuccess(Response response) {
+        return response != null && response.exception == null && response.code >= 200 && response.code < 300;
+    }
+
+    private static String cacheKey(User authUser, int uid, String query, int limit) {
+        String authName = authUser == null ? "" : authUser.getUsername();
+        return authName + "|" + uid + "|" + limit + "|" + (query == null ? "" : query);
     }
 
     public List<Repository> getRepositories() {
         return this.repositories;
     }
+
+    private static class CachedResult {
+        private final long createdAt = System.currentTimeMillis();
+        private final List<Repository> repositories;
+
+        private CachedResult(List<Repository> repositories) {
+            this.repositories = repositories;
+        }
+    }
 }
@@ -28,6 +28,7 @@ import java.util.List;
  * Requests already submitted will be skipped
  */
 public class SubmitNewLanguageRequestsTask extends ManagedTask {
+    public static final String TASK_ID = "submit_new_language_requests";
 
     private List<NewLanguageRequest> requests = new ArrayList<>();
     private int mMaxProgress = 1;
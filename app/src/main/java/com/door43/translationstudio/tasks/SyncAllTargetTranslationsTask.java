@@ -0,0 +1,201 @@
+package com.door43.translationstudio.tasks;
+
+import android.os.Process;
+
+import com.door43.translationstudio.App;
+import com.door43.translationstudio.core.Profile;
+import com.door43.translationstudio.core.TargetTranslation;
+import com.door43.translationstudio.core.Translator;
+import com.door43.translationstudio.git.GitSessionFactory;
+
+import org.eclipse.jgit.merge.MergeStrategy;
+import org.unfoldingword.tools.logger.Logger;
+import org.unfoldingword.tools.taskmanager.ManagedTask;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backs up all of the target translations to the server.
+ * Each target translation is pulled and then pushed just like a single backup, but several
+ * target translations are synced at once over a single ssh connection.
+ * The result of each target translation is available from {@link #getResults()}.
+ */
+public class SyncAllTargetTranslationsTask extends ManagedTask {
+    public static final String TASK_ID = "sync_all_target_translations_task";
+    private static final int MAX_CONCURRENT_SYNCS = 3;
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONCURRENT_SYNCS, MAX_CONCURRENT_SYNCS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private final Map<String, Status> results = Collections.synchronizedMap(new LinkedHashMap<String, Status>());
+    private volatile boolean authFailed = false;
+    private int max = 0;
+
+    public SyncAllTargetTranslationsTask() {
+        setThreadPriority(Process.THREAD_PRIORITY_DEFAULT);
+    }
+
+    @Override
+    public void start() {
+        Profile profile = App.getProfile();
+        if(!App.isNetworkAvailable() || profile == null || profile.gogsUser == null) return;
+
+        // submit new language requests once for all of the target translations
+        delegate(new SubmitNewLanguageRequestsTask());
+
+        final Translator translator = App.getTranslator();
+        String[] targetTranslationIds = translator.getTargetTranslationIDs();
+        max = targetTranslationIds.length;
+        for(String id:targetTranslationIds) {
+            results.put(id, Status.SKIPPED);
+        }
+        publishProgress(-1, "Backing up translations");
+
+        GitSessionFactory ssh = GitSessionFactory.getInstance();
+        ssh.openSharedConnection();
+        try {
+            CompletionService<String> completion = new ExecutorCompletionService<>(executor);
+            for(final String id:targetTranslationIds) {
+                completion.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        if(!isCanceled() && !authFailed) {
+                            TargetTranslation targetTranslation = translator.getTargetTranslation(id);
+                            if(targetTranslation != null) {
+                                results.put(id, sync(targetTranslation));
+                            }
+                        }
+                        return id;
+                    }
+                });
+            }
+
+            for(int i = 0; i < targetTranslationIds.length; i ++) {
+                try {
+                    String id = completion.take().get();
+                    publishProgress((float)(i + 1) / max, id);
+                } catch (ExecutionException e) {
+                    Logger.e(TASK_ID, "Failed to sync a target translation", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            ssh.closeSharedConnection();
+        }
+    }
+
+    /**
+     * Pulls the changes from the server and then pushes the local changes.
+     * A pull or push that fails because the shared connection dropped is tried once more
+     * on a new connection.
+     * @param targetTranslation
+     * @return
+     */
+    private Status sync(TargetTranslation targetTranslation) {
+        GitSessionFactory ssh = GitSessionFactory.getInstance();
+        int dropped = ssh.getDroppedConnectionCount();
+        PullTargetTranslationTask.Status pullStatus = pull(targetTranslation);
+        if(pullStatus == PullTargetTranslationTask.Status.UNKNOWN && ssh.getDroppedConnectionCount() != dropped) {
+            Logger.w(TASK_ID, "The connection dropped while pulling " + targetTranslation.getId() + ". Trying again");
+            pullStatus = pull(targetTranslation);
+        }
+        if(pullStatus == PullTargetTranslationTask.Status.NO_REMOTE_REPO) {
+            // create the missing repository
+            CreateRepositoryTask repoTask = new CreateRepositoryTask(targetTranslation);
+            repoTask.start();
+            if(!repoTask.isSuccess()) return Status.FAILED;
+            pullStatus = pull(targetTranslation);
+        }
+
+        switch (pullStatus) {
+            case UP_TO_DATE:
+            case UNKNOWN:
+                // TRICKY: we continue to push for unknown status in case the repo was just created (the missing branch is an error)
+                break;
+            case MERGE_CONFLICTS:
+                // the conflicts must be resolved by the user before the translation can be pushed
+                return Status.MERGE_CONFLICTS;
+            case AUTH_FAILURE:
+                authFailed = true;
+                return Status.AUTH_FAILURE;
+            default:
+                return Status.FAILED;
+        }
+
+        dropped = ssh.getDroppedConnectionCount();
+        PushTargetTranslationTask.Status pushStatus = push(targetTranslation);
+        if(pushStatus == PushTargetTranslationTask.Status.UNKNOWN && ssh.getDroppedConnectionCount() != dropped) {
+            Logger.w(TASK_ID, "The connection dropped while pushing " + targetTranslation.getId() + ". Trying again");
+            pushStatus = push(targetTranslation);
+        }
+        if(pushStatus == PushTargetTranslationTask.Status.OK) {
+            return Status.OK;
+        } else if(pushStatus.isRejected()) {
+            return Status.REJECTED;
+        } else if(pushStatus == PushTargetTranslationTask.Status.AUTH_FAILURE) {
+            authFailed = true;
+            return Status.AUTH_FAILURE;
+        } else {
+            return Status.FAILED;
+        }
+    }
+
+    private PullTargetTranslationTask.Status pull(TargetTranslation targetTranslation) {
+        PullTargetTranslationTask pull = new PullTargetTranslationTask(targetTranslation, MergeStrategy.RECURSIVE, null);
+        pull.skipNewLanguageRequests();
+        pull.start();
+        return pull.getStatus();
+    }
+
+    private PushTargetTranslationTask.Status push(TargetTranslation targetTranslation) {
+        PushTargetTranslationTask push = new PushTargetTranslationTask(targetTranslation);
+        push.start();
+        return push.getStatus();
+    }
+
+    @Override
+    public int maxProgress() {
+        return max;
+    }
+
+    /**
+     * Returns the result of each target translation
+     * @return
+     */
+    public Map<String, Status> getResults() {
+        synchronized (results) {
+            return new LinkedHashMap<>(results);
+        }
+    }
+
+    /**
+     * Checks if the server rejected the ssh keys
+     * @return
+     */
+    public boolean isAuthFailure() {
+        return authFailed;
+    }
+
+    public enum Status {
+        OK,
+        MERGE_CONFLICTS,
+        REJECTED,
+        AUTH_FAILURE,
+        FAILED,
+        SKIPPED
+    }
+}
@@ -0,0 +1,289 @@
+package com.door43.translationstudio.tasks;
+
+import android.os.SystemClock;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.unfoldingword.tools.taskmanager.ManagedTask;
+import org.unfoldingword.tools.taskmanager.TaskManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * Records how long background tasks wait in the queue and how long they run.
+ * Tasks should be added to the {@link TaskManager} through {@link #addTask(ManagedTask)} or
+ * {@link #addTask(ManagedTask, String)} so they are measured.
+ * The metrics are kept per task type (the class of the task) and can be viewed in the
+ * developer tools or exported as json e.g. when submitting a bug report.
+ */
+public class TaskMetrics {
+    private static final int MAX_SAMPLES = 256;
+
+    private static final Map<ManagedTask, long[]> times = new WeakHashMap<>();
+    private static final Set<ManagedTask> instrumented = Collections.newSetFromMap(new WeakHashMap<ManagedTask, Boolean>());
+    private static final Map<String, TypeMetrics> types = new TreeMap<>();
+    private static final Set<String> workerThreads = new HashSet<>();
+    private static final long createdAt = SystemClock.elapsedRealtime();
+    private static int queued = 0;
+    private static int running = 0;
+    private static int peakQueued = 0;
+    private static int peakRunning = 0;
+
+    private static final ManagedTask.OnStartListener onStart = new ManagedTask.OnStartListener() {
+        @Override
+        public void onTaskStart(ManagedTask task) {
+            started(task);
+        }
+    };
+
+    private static final ManagedTask.OnFinishedListener onFinished = new ManagedTask.OnFinishedListener() {
+        @Override
+        public void onTaskFinished(ManagedTask task) {
+            finished(task);
+        }
+    };
+
+    private TaskMetrics() {
+    }
+
+    /**
+     * Adds a task to the task manager and measures it
+     * @param task
+     * @return the id of the task
+     */
+    public static int addTask(ManagedTask task) {
+        enqueued(task);
+        return TaskManager.addTask(task);
+    }
+
+    /**
+     * Adds a task to the task manager with a key and measures it
+     * @param task
+     * @param key
+     */
+    public static void addTask(ManagedTask task, String key) {
+        enqueued(task);
+        TaskManager.addTask(task, key);
+    }
+
+    /**
+     * Records that a task was cancelled and discarded because it is no longer needed
+     * e.g. when the item it renders scrolled off the screen.
+     * TRICKY: collected tasks are destroyed so their finished listener never runs.
+     * They are settled here instead.
+     * @param task
+     */
+    public static synchronized void onGarbageCollected(ManagedTask task) {
+        typeOf(task).garbageCollected ++;
+        instrumented.remove(task);
+        long[] time = times.remove(task);
+        if(time != null) {
+            if(time[1] == 0) {
+                queued --;
+            } else {
+                running --;
+            }
+        }
+    }
+
+    private static synchronized void enqueued(ManagedTask task) {
+        if(instrumented.add(task)) {
+            task.addOnStartListener(onStart);
+            task.addOnFinishedListener(onFinished);
+        }
+        long[] previous = times.put(task, new long[]{SystemClock.elapsedRealtime(), 0});
+        if(previous == null || previous[1] != 0) {
+            queued ++;
+            peakQueued = Math.max(peakQueued, queued);
+        }
+        typeOf(task).enqueued ++;
+    }
+
+    private static synchronized void started(ManagedTask task) {
+        long now = SystemClock.elapsedRealtime();
+        workerThreads.add(Thread.currentThread().getName());
+        TypeMetrics metrics = typeOf(task);
+        metrics.started ++;
+        long[] time = times.get(task);
+        if(time == null) {
+            // the task was already collected
+            return;
+        }
+        if(time[1] == 0) {
+            time[1] = now;
+            metrics.queueDelay.add(now - time[0]);
+            queued --;
+        }
+        running ++;
+        peakRunning = Math.max(peakRunning, running);
+    }
+
+    private static synchronized void finished(ManagedTask task) {
+        long now = SystemClock.elapsedRealtime();
+        TypeMetrics metrics = typeOf(task);
+        metrics.finished ++;
+        if(task.isCanceled()) metrics.cancelled ++;
+        long[] time = times.remove(task);
+        if(time != null) {
+            if(time[1] == 0) {
+                // finished before it was started e.g. it was cancelled while queued
+                queued --;
+            } else {
+                metrics.runTime.add(now - time[1]);
+                running --;
+            }
+        }
+    }
+
+    private static TypeMetrics typeOf(ManagedTask task) {
+        String name = task.getClass().getSimpleName();
+        if(name.isEmpty()) {
+            // anonymous tasks
+            name = task.getClass().getName();
+            name = name.substring(name.lastIndexOf('.') + 1);
+        }
+        TypeMetrics metrics = types.get(name);
+        if(metrics == null) {
+            metrics = new TypeMetrics();
+            types.put(name, metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Clears all of the recorded metrics.
+     * Tasks that are currently queued or running are still tracked.
+     */
+    public static synchronized void reset() {
+        types.clear();
+        workerThreads.clear();
+        peakQueued = queued;
+        peakRunning = running;
+    }
+
+    /**
+     * Returns the metrics as json
+     * @return
+     * @throws JSONException
+     */
+    public static synchronized JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("uptime_ms", SystemClock.elapsedRealtime() - createdAt);
+        json.put("queued", queued);
+        json.put("running", running);
+        json.put("peak_queued", peakQueued);
+        json.put("peak_running", peakRunning);
+        json.put("worker_threads", workerThreads.size());
+        JSONObject typesJson = new JSONObject();
+        for(Map.Entry<String, TypeMetrics> entry:types.entrySet()) {
+            typesJson.put(entry.getKey(), entry.getValue().toJson());
+        }
+        json.put("types", typesJson);
+        return json;
+    }
+
+    /**
+     * Returns a human readable summary of the metrics
+     * @return
+     */
+    public static synchronized String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Queued: ").append(queued).append(" (peak ").append(peakQueued).append(")\n");
+        sb.append("Running: ").append(running).append(" (peak ").append(peakRunning).append(")\n");
+        sb.append("Worker threads used: ").append(workerThreads.size()).append("\n");
+        for(Map.Entry<String, TypeMetrics> entry:types.entrySet()) {
+            TypeMetrics m = entry.getValue();
+            sb.append("\n").append(entry.getKey()).append("\n");
+            sb.append(String.format(Locale.US, "  %d queued, %d finished, %d cancelled, %d collected\n",
+                    m.enqueued, m.finished, m.cancelled, m.garbageCollected));
+            sb.append("  wait ").append(m.queueDelay.describe()).append("\n");
+            sb.append("  run  ").append(m.runTime.describe()).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The metrics of a single type of task
+     */
+    private static class TypeMetrics {
+        int enqueued = 0;
+        int started = 0;
+        int finished = 0;
+        int cancelled = 0;
+        int garbageCollected = 0;
+        final Samples queueDelay = new Samples();
+        final Samples runTime = new Samples();
+
+        JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("enqueued", enqueued);
+            json.put("started", started);
+            json.put("finished", finished);
+            json.put("cancelled", cancelled);
+            json.put("garbage_collected", garbageCollected);
+            json.put("queue_delay_ms", queueDelay.toJson());
+            json.put("run_time_ms", runTime.toJson());
+            return json;
+        }
+    }
+
+    /**
+     * The most recent durations in milliseconds.
+     * Only the last {@link #MAX_SAMPLES} are kept so the percentiles follow recent behavior.
+     */
+    private static class Samples {
+        private final long[] values = new long[MAX_SAMPLES];
+        private int size = 0;
+        private int next = 0;
+        private long count = 0;
+        private long max = 0;
+
+        void add(long value) {
+            values[next] = value;
+            next = (next + 1) % values.length;
+            if(size < values.length) size ++;
+            count ++;
+            max = Math.max(max, value);
+        }
+
+        /**
+         * Returns the percentiles {p50, p95, p99} of the recent samples
+         */
+        long[] percentiles() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new long[]{percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99)};
+        }
+
+        private static long percentile(long[] sorted, int p) {
+            if(sorted.length == 0) return 0;
+            // nearest rank
+            int rank = (int)Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        String describe() {
+            if(size == 0) return "-";
+            long[] p = percentiles();
+            return String.format(Locale.US, "p50 %dms, p95 %dms, p99 %dms, max %dms", p[0], p[1], p[2], max);
+        }
+
+        JSONObject toJson() throws JSONException {
+            long[] p = percentiles();
+            JSONObject json = new JSONObject();
+            json.put("count", count);
+            json.put("p50", p[0]);
+            json.put("p95", p[1]);
+            json.put("p99", p[2]);
+            json.put("max", max);
+            return json;
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class TranslationProgressTask extends ManagedTask {
         // load source
         ResourceContainer container;
         try {
+            App.prepareContainer(sourceTranslation.resourceContainerSlug);
             container = library.open(sourceTranslation.resourceContainerSlug);
         } catch (Exception e) {
             e.printStackTrace();
@@ -2,13 +2,17 @@ package com.door43.translationstudio.tasks;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.core.CatalogSyncState;
 import com.door43.translationstudio.ui.SettingsActivity;
 
 import org.unfoldingword.tools.logger.Logger;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 
 /**
- * Indexes all of the content in the api
+ * Indexes all of the content in the api.
+ * The sources and chunks are listed by the root catalog so they are skipped when it has not changed.
+ * The language catalogs are always updated because they change independently of the root catalog
+ * e.g. when new languages are approved.
  */
 
 public class UpdateAllTask extends ManagedTask {
@@ -20,31 +24,41 @@ public class UpdateAllTask extends ManagedTask {
     @Override
     public void start() {
         publishProgress(-1, "");
-        try {
-            String server = App.getPref(SettingsActivity.KEY_PREF_MEDIA_SERVER, App.getRes(R.string.pref_default_media_server));
-            String rootApiUrl = server + App.getRes(R.string.root_catalog_api);
-            App.getLibrary().updateSources(rootApiUrl, new org.unfoldingword.door43client.OnProgressListener() {
-                @Override
-                public boolean onProgress(String tag, long max, long complete) {
-                    maxProgress = (int)max;
-                    publishProgress((float)complete/(float)max, tag);
+        String server = App.getPref(SettingsActivity.KEY_PREF_MEDIA_SERVER, App.getRes(R.string.pref_default_media_server));
+        String rootApiUrl = server + App.getRes(R.string.root_catalog_api);
+        CatalogSyncState syncState = App.getCatalogSyncState();
+        boolean rootUnchanged = App.isLibraryDeployed() && !syncState.hasChanged(rootApiUrl);
+        boolean chunksUnchanged = rootUnchanged && syncState.chunksSynced();
+        boolean rootSynced = true;
+        if(rootUnchanged) {
+            Logger.i(TASK_ID, "The catalog has not changed since the last sync");
+            success = true;
+        } else {
+            try {
+                App.getLibrary().updateSources(rootApiUrl, new org.unfoldingword.door43client.OnProgressListener() {
+                    @Override
+                    public boolean onProgress(String tag, long max, long complete) {
+                        maxProgress = (int)max;
+                        publishProgress((float)complete/(float)max, tag);
 
-                    if(UpdateAllTask.this.isCanceled()) {
-                        Logger.i(this.getClass().getSimpleName(), "Download Cancelled");
-                        return false;
+                        if(UpdateAllTask.this.isCanceled()) {
+                            Logger.i(this.getClass().getSimpleName(), "Download Cancelled");
+                            return false;
+                        }
+                        return true;
                     }
-                    return true;
-                }
-            });
-            success = true;
-        } catch (Exception e) {
-            e.printStackTrace();
+                });
+                success = true;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
         }
         if(isCanceled()) {
             return;
         }
 
         overallSuccess &= success;
+        rootSynced &= success;
         success = false;
 
         publishProgress(-1, "");
@@ -73,27 +87,36 @@ public class UpdateAllTask extends ManagedTask {
         overallSuccess &= success;
         success = false;
 
-        publishProgress(-1, "");
-        try {
-            App.getLibrary().updateChunks(new org.unfoldingword.door43client.OnProgressListener() {
-                @Override
-                public boolean onProgress(String tag, long max, long complete) {
-                    maxProgress = (int)max;
-                    publishProgress((float)complete/(float)max, tag);
+        if(chunksUnchanged) {
+            success = true;
+        } else {
+            publishProgress(-1, "");
+            try {
+                App.getLibrary().updateChunks(new org.unfoldingword.door43client.OnProgressListener() {
+                    @Override
+                    public boolean onProgress(String tag, long max, long complete) {
+                        maxProgress = (int)max;
+                        publishProgress((float)complete/(float)max, tag);
 
-                    if(UpdateAllTask.this.isCanceled()) {
-                        Logger.i(this.getClass().getSimpleName(), "Download Cancelled");
-                        return false;
+                        if(UpdateAllTask.this.isCanceled()) {
+                            Logger.i(this.getClass().getSimpleName(), "Download Cancelled");
+                            return false;
+                        }
+                        return true;
                     }
-                    return true;
-                }
-            });
-            success = true;
-        } catch (Exception e) {
-            e.printStackTrace();
+                });
+                success = true;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
         }
 
         overallSuccess &= success;
+        rootSynced &= success;
+        // a cancelled sync may have skipped some of the catalogs
+        if(!chunksUnchanged && rootSynced && !isCanceled()) {
+            syncState.markSynced(true);
+        }
     }
 
     @Override
@@ -16,9 +16,11 @@ import com.door43.translationstudio.R;
 import com.door43.translationstudio.ui.SettingsActivity;
 import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.core.TargetTranslationMigrator;
+import com.door43.translationstudio.core.Translator;
 import com.door43.util.FileUtilities;
 
 import org.unfoldingword.tools.taskmanager.ManagedTask;
+import org.unfoldingword.tools.taskmanager.TaskManager;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -159,7 +161,9 @@ public class UpdateAppTask extends ManagedTask {
     /**
      * Updates the target translations
      * NOTE: we used to do this manually but now we run this every time so we don't have to manually
-     * add a new migration path each time
+     * add a new migration path each time.
+     * Translations that were already migrated and have not changed are only checked for language
+     * updates. The rest are migrated in the background so they do not block opening the app.
      */
     private void updateTargetTranslations() {
         // TRICKY: we manually list the target translations because they won't be viewable until updated
@@ -170,24 +174,53 @@ public class UpdateAppTask extends ManagedTask {
                 return pathname.isDirectory() && !pathname.getName().equals("cache");
             }
         });
+        List<File> pending = new ArrayList<>();
         if(dirs != null) {
             for (File tt : dirs) {
-                Logger.i(this.getClass().getSimpleName(),"Migrating: "+ tt);
-                if (TargetTranslationMigrator.migrate(tt) == null) {
-                    Logger.w(this.getClass().getName(), "Failed to migrate the target translation " + tt.getName());
+                if(TargetTranslationMigrator.isMigrated(tt)) {
+                    String manifest = readManifest(tt);
+                    File migratedDir = TargetTranslationMigrator.migrate(tt);
+                    if (migratedDir == null) {
+                        Logger.w(this.getClass().getName(), "Failed to migrate the target translation " + tt.getName());
+                        continue;
+                    }
+                    TargetTranslation targetTranslation = TargetTranslation.open(migratedDir);
+                    if(targetTranslation == null) continue;
+                    try {
+                        targetTranslation.unlockRepo(); // TRICKY: prune dangling locks
+                        if(!migratedDir.equals(tt) || !manifest.equals(readManifest(migratedDir))) {
+                            // commit language changes made during the migration
+                            targetTranslation.commitSync();
+                        }
+                    } catch (Exception e) {
+                        Logger.e(this.getClass().getName(), "Failed to commit migration changes to target translation " + targetTranslation.getId());
+                    }
+                } else {
+                    pending.add(tt);
                 }
             }
         }
 
-        // commit migration changes
-        TargetTranslation[] translations = App.getTranslator().getTargetTranslations();
-        for(TargetTranslation tt:translations) {
-            try {
-                tt.unlockRepo(); // TRICKY: prune dangling locks
-                tt.commitSync();
-            } catch (Exception e) {
-                Logger.e(this.getClass().getName(), "Failed to commit migration changes to target translation " + tt.getId());
+        if(pending.size() > 0 && TaskManager.getTask(MigrateTargetTranslationsTask.TASK_ID) == null) {
+            Logger.i(this.getClass().getSimpleName(), "Queuing migration of " + pending.size() + " target translations");
+            for(File dir:pending) {
+                // hide the target translation until it has been migrated
+                Translator.setMigrationPending(dir.getName(), true);
             }
+            TaskMetrics.addTask(new MigrateTargetTranslationsTask(pending), MigrateTargetTranslationsTask.TASK_ID);
+        }
+    }
+
+    /**
+     * Reads the manifest of a target translation
+     * @param targetTranslationDir
+     * @return the contents of the manifest or an empty string if it could not be read
+     */
+    private static String readManifest(File targetTranslationDir) {
+        try {
+            return FileUtilities.readFileToString(new File(targetTranslationDir, "manifest.json"));
+        } catch (Exception e) {
+            return "";
         }
     }
 
@@ -2,19 +2,23 @@ package com.door43.translationstudio.tasks;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.core.CatalogSyncState;
+import com.door43.translationstudio.core.ContainerModifiedIndex;
+import com.door43.translationstudio.core.SourceCatalog;
 import com.door43.translationstudio.ui.SettingsActivity;
 
 import org.unfoldingword.door43client.Door43Client;
+import org.unfoldingword.door43client.OnProgressListener;
 import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.tools.logger.Logger;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Indexes all of the source meta from the api
+ * Indexes all of the source meta from the api.
+ * Nothing is downloaded if the root catalog has not changed since the last sync.
  */
 public class UpdateSourceTask extends ManagedTask {
     public static final String TASK_ID = "update-source-task";
@@ -24,34 +28,44 @@ public class UpdateSourceTask extends ManagedTask {
     private int addedCnt = 0;
     private String prefix;
 
+    /**
+     * Publishes the progress while the last modified times are collected
+     */
+    private final OnProgressListener snapshotProgress = new OnProgressListener() {
+        @Override
+        public boolean onProgress(String tag, long max, long complete) {
+            publishProgress((float)complete/(float)max, "");
+            return !UpdateSourceTask.this.isCanceled();
+        }
+    };
+
     @Override
     public void start() {
         updatedCnt = 0;
         addedCnt = 0;
         success = false;
-        int count = 0;
 
         publishProgress(-1, "");
 
+        String server = App.getPref(SettingsActivity.KEY_PREF_MEDIA_SERVER, App.getRes(R.string.pref_default_media_server));
+        String rootApiUrl = server + App.getRes(R.string.root_catalog_api);
+        CatalogSyncState syncState = App.getCatalogSyncState();
+        if(App.isLibraryDeployed() && !syncState.hasChanged(rootApiUrl)) {
+            // nothing was added or updated since the last sync
+            Logger.i(TASK_ID, "The catalog has not changed since the last sync");
+            success = true;
+            return;
+        }
+        if(isCanceled()) {
+            return;
+        }
+
         Door43Client library = App.getLibrary();
         List<Translation> availableTranslationsAll = library.index.findTranslations(null, null, null, "book", null, App.MIN_CHECKING_LEVEL, -1);
-        Map<String,Integer> previouslyUpdated = new HashMap<>();
-
         maxProgress = availableTranslationsAll.size();
-        for (Translation t : availableTranslationsAll) {
-
-            if( ++count % 16 == 0) {
-                publishProgress((float)count/maxProgress, "");
-
-                if(UpdateSourceTask.this.isCanceled()) {
-                    success = false;
-                    return;
-                }
-            }
-
-            String id = t.resourceContainerSlug;
-            int lastModifiedOnServer = library.getResourceContainerLastModified(t.language.slug, t.project.slug, t.resource.slug);
-            previouslyUpdated.put(id, lastModifiedOnServer);
+        Map<String,Integer> previouslyUpdated = ContainerModifiedIndex.snapshot(library, App.dbFile(), availableTranslationsAll, snapshotProgress);
+        if(previouslyUpdated == null || isCanceled()) {
+            return;
         }
 
         availableTranslationsAll = null; // free up memory while downloading
@@ -59,9 +73,7 @@ public class UpdateSourceTask extends ManagedTask {
         publishProgress(-1, "");
 
         try {
-            String server = App.getPref(SettingsActivity.KEY_PREF_MEDIA_SERVER, App.getRes(R.string.pref_default_media_server));
-            String rootApiUrl = server + App.getRes(R.string.root_catalog_api);
-            App.getLibrary().updateSources(rootApiUrl, new org.unfoldingword.door43client.OnProgressListener() {
+            App.getLibrary().updateSources(rootApiUrl, new OnProgressListener() {
                 @Override
                 public boolean onProgress(String tag, long max, long complete) {
                     maxProgress = (int)max;
@@ -80,6 +92,8 @@ public class UpdateSourceTask extends ManagedTask {
                 }
             });
             success = true;
+            // a cancelled sync may have skipped some of the catalogs
+            if(!isCanceled()) syncState.markSynced(false);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -89,39 +103,21 @@ public class UpdateSourceTask extends ManagedTask {
 
             library = App.getLibrary();
             availableTranslationsAll = library.index.findTranslations(null, null, null, "book", null, App.MIN_CHECKING_LEVEL, -1);
-
             maxProgress = availableTranslationsAll.size();
-            count = 0;
+            Map<String,Integer> currentlyUpdated = ContainerModifiedIndex.snapshot(library, App.dbFile(), availableTranslationsAll, snapshotProgress);
+            if(currentlyUpdated == null || isCanceled()) {
+                success = false;
+                return;
+            }
 
-            for (Translation t : availableTranslationsAll) {
-                if(UpdateSourceTask.this.isCanceled()) {
-                    break;
-                }
+            int[] changes = ContainerModifiedIndex.diff(previouslyUpdated, currentlyUpdated);
+            addedCnt = changes[0];
+            updatedCnt = changes[1];
 
-                if( ++count % 16 == 0) {
-                    publishProgress((float)count/maxProgress, "");
+            App.markLibraryDeployed();
 
-                    if(UpdateSourceTask.this.isCanceled()) {
-                        success = false;
-                        return;
-                    }
-                }
-
-                String id = t.resourceContainerSlug;
-                if(previouslyUpdated.containsKey(id)) {
-                    try {
-                        int lastModifiedOnServer = library.getResourceContainerLastModified(t.language.slug, t.project.slug, t.resource.slug);
-                        Integer previousUpdate = previouslyUpdated.get(id);
-                        if (lastModifiedOnServer > previousUpdate) {
-                            updatedCnt++; // update times have changed
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                } else {
-                    addedCnt++; // new entry
-                }
-            }
+            // organize the new catalog now so the download dialog opens immediately
+            SourceCatalog.rebuild(library);
         }
     }
 
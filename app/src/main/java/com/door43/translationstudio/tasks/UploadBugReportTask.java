@@ -1,5 +1,6 @@
 package com.door43.translationstudio.tasks;
 
+import org.json.JSONException;
 import org.unfoldingword.tools.http.Request;
 import org.unfoldingword.tools.logger.GithubReporter;
 import org.unfoldingword.tools.logger.Logger;
@@ -41,6 +42,19 @@ public class UploadBugReportTask extends ManagedTask {
         return mResponseCode;
     }
 
+    /**
+     * Returns the task metrics formatted for the bug report
+     * @return
+     */
+    private static String taskMetrics() {
+        try {
+            return "\n\nTask metrics:\n```json\n" + TaskMetrics.toJson().toString(2) + "\n```";
+        } catch (JSONException e) {
+            Logger.w(UploadBugReportTask.class.getName(), "Failed to include the task metrics", e);
+            return "";
+        }
+    }
+
     @Override
     public void start() {
         mResponseCode = -1;
@@ -53,7 +67,7 @@ public class UploadBugReportTask extends ManagedTask {
         if(githubTokenIdentifier != 0) {
             GithubReporter reporter = new GithubReporter(App.context(), githubUrl, App.context().getResources().getString(githubTokenIdentifier));
             try {
-                Request request = reporter.reportBug(mNotes, logFile);
+                Request request = reporter.reportBug(mNotes + taskMetrics(), logFile);
                 mResponseCode = request.getResponseCode();
             } catch (IOException e) {
                 e.printStackTrace();
@@ -5,15 +5,17 @@ import android.content.Context;
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.core.ChapterTranslation;
+import com.door43.translationstudio.core.ContainerCache;
 import com.door43.translationstudio.core.Frame;
 import com.door43.translationstudio.core.FrameTranslation;
 import com.door43.translationstudio.core.MergeConflictsHandler;
-import com.door43.translationstudio.core.ProjectTranslation;
+import com.door43.translationstudio.core.SlugSorter;
 import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.core.TranslationFormat;
 import com.door43.translationstudio.core.Translator;
 import com.door43.translationstudio.core.Util;
 import com.door43.translationstudio.ui.publish.ValidationItem;
+import com.door43.util.Security;
 import com.door43.util.StringUtilities;
 
 import org.json.JSONException;
@@ -28,7 +30,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Performs the validation on a target translation.
@@ -36,11 +47,28 @@ import java.util.List;
  */
 public class ValidationTask extends ManagedTask {
     public static final String TASK_ID = "validation_task";
+    private static final int MAX_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final ThreadPoolExecutor validationPool = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    static {
+        validationPool.allowCoreThreadTimeOut(true);
+    }
+    /**
+     * The number of translations for which chapter validations are kept
+     */
+    private static final int MAX_CACHED_TRANSLATIONS = 3;
+    private static final Map<String, Map<String, ChapterValidation>> validationCache = new LinkedHashMap<String, Map<String, ChapterValidation>>(MAX_CACHED_TRANSLATIONS + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, ChapterValidation>> eldest) {
+            return size() > MAX_CACHED_TRANSLATIONS;
+        }
+    };
     private final String mTargetTranslationId;
     private final String mSourceTranslationId;
     private final String hasWarnings;
     private final String titleStr;
     private final String referenceStr;
+    private final String validationFailedStr;
     private List<ValidationItem> mValidations = new ArrayList<>();
 
     public ValidationTask(Context context, String targetTranslationId, String sourceTranslationId) {
@@ -49,6 +77,7 @@ public class ValidationTask extends ManagedTask {
         hasWarnings = context.getString(R.string.has_warnings);
         titleStr = context.getString(R.string.title);
         referenceStr = context.getString(R.string.reference);
+        validationFailedStr = context.getString(R.string.validation_failed);
     }
 
     @Override
@@ -56,116 +85,73 @@ public class ValidationTask extends ManagedTask {
         Door43Client library = App.getLibrary();
         Translator translator = App.getTranslator();
 
-        TargetTranslation targetTranslation = translator.getTargetTranslation(mTargetTranslationId);
-        TargetLanguage targetLanguage = library.index().getTargetLanguage(targetTranslation.getTargetLanguageId());
+        final TargetTranslation targetTranslation = translator.getTargetTranslation(mTargetTranslationId);
+        final TargetLanguage targetLanguage = library.index().getTargetLanguage(targetTranslation.getTargetLanguageId());
 
-        ResourceContainer container;
-        try {
-            container = library.open(mSourceTranslationId);
-        } catch (Exception e) {
-            Logger.e("ValidationTask", "Failed to load resource container", e);
+        final ResourceContainer container = ContainerCache.cache(library, mSourceTranslationId);
+        if(container == null) {
+            Logger.e("ValidationTask", "Failed to load resource container " + mSourceTranslationId);
             return;
         }
-        TranslationFormat format;
+        final TranslationFormat format;
         try {
             format = TranslationFormat.parse(container.info.getString("content_mime_type"));
         } catch (JSONException e) {
             Logger.e("ValidationTask", "Failed to read the translation format from the container", e);
             return;
         }
-        String projectTitle = "";
-        projectTitle = container.readChunk("front", "title");
-        SourceLanguage sourceLanguage = library.index().getSourceLanguage(container.language.slug);
-        String[] chapters = container.chapters();
-
-        // validate chapters
-        int lastValidChapterIndex = -1;
-        List<ValidationItem> chapterValidations = new ArrayList<>();
+        final String projectTitle = container.readChunk("front", "title");
+        final SourceLanguage sourceLanguage = library.index().getSourceLanguage(container.language.slug);
+        final Map<String, ChapterValidation> cachedChapters = getCachedChapters();
 
-        ProjectTranslation projectTranslation = targetTranslation.getProjectTranslation();
+        ArrayList<String> chapterList = sortChapters(container.chapters());
 
-        ArrayList<String> chapterList = sortChapters(chapters);
-        for(int i = 0; i < chapterList.size(); i ++) {
-            String chapterSlug = chapterList.get(i);
-            List<String> chunks = new ArrayList(Arrays.asList(container.chunks(chapterSlug)));
-
-            // validate frames
-            int lastValidFrameIndex = -1;
-            boolean chapterIsValid = true;
-            List<ValidationItem> frameValidations = new ArrayList<>();
-
-            ChapterTranslation chapterTranslation = targetTranslation.getChapterTranslation(chapterSlug);
-            if(MergeConflictsHandler.isMergeConflicted(chapterTranslation.title) || chunks.contains("title") && !chapterTranslation.isTitleFinished()) {
-                chapterIsValid = false;
-                frameValidations.add(ValidationItem.generateInvalidFrame(getChunkTitle(container, chapterSlug, "title", titleStr), sourceLanguage, chapterTranslation.title, targetLanguage, TranslationFormat.DEFAULT, mTargetTranslationId, chapterSlug, "00"));
-            }
-
-            if(MergeConflictsHandler.isMergeConflicted(chapterTranslation.reference) || chunks.contains("reference") && !chapterTranslation.isReferenceFinished()) {
-                chapterIsValid = false;
-                frameValidations.add(ValidationItem.generateInvalidFrame(getChunkTitle(container, chapterSlug, "reference", referenceStr), sourceLanguage, chapterTranslation.reference, targetLanguage, TranslationFormat.DEFAULT, mTargetTranslationId, chapterSlug, "00"));
-            }
-
-            for(int j = 0; j < chunks.size(); j ++) {
-                String chunkSlug = chunks.get(j);
-                if( ("title".equals(chunkSlug)) || ("reference".equals(chunkSlug)) ) { // if chunk types we have already handled, then skip
-                    continue;
-                }
-
-                FrameTranslation frameTranslation = targetTranslation.getFrameTranslation(chapterSlug, chunkSlug, format);
-                String chunkText;
-                chunkText = container.readChunk(chapterSlug, chunkSlug);
-                // TODO: also validate the checking questions
-                if(lastValidFrameIndex == -1 && (frameTranslation.isFinished() || chunkText.isEmpty())) {
-                    // start new valid range
-                    lastValidFrameIndex = j;
-                } else if(MergeConflictsHandler.isMergeConflicted(frameTranslation.body) || !(frameTranslation.isFinished() || chunkText.isEmpty()) || (frameTranslation.isFinished() || chunkText.isEmpty()) && j == chunks.size() - 1){
-                    // close valid range
-                    if(lastValidFrameIndex > -1) {
-                        int previousFrameIndex = j - 1;
-                        if(frameTranslation.isFinished() || chunkText.isEmpty()) {
-                            previousFrameIndex = j;
-                        }
-                        if(lastValidFrameIndex < previousFrameIndex) {
-                            // range
-                            String previousFrame = "";
-                            previousFrame = container.readChunk(chapterSlug, chunks.get(previousFrameIndex));
-                            String lastValidText = "";
-                            lastValidText = container.readChunk(chapterSlug, chunks.get(lastValidFrameIndex));
-                            String frameTitle = projectTitle + " " + StringUtilities.formatNumber(chapterSlug);
-                            frameTitle += ":" + Frame.getStartVerse(lastValidText, format) + "-" + Frame.getEndVerse(previousFrame, format);
-                            frameValidations.add(ValidationItem.generateValidFrame(frameTitle, sourceLanguage, true));
-                        } else {
-                            String lastValidFrame = chunks.get(lastValidFrameIndex);
-                            String lastValidText = "";
-                            lastValidText = container.readChunk(chapterSlug, chunks.get(lastValidFrameIndex));
-                            String frameTitle = projectTitle + " " + StringUtilities.formatNumber(chapterSlug);
-                            frameTitle += ":" + Frame.getStartVerse(lastValidText, format);
-                            if(!Frame.getStartVerse(lastValidText, format).equals(Frame.getEndVerse(lastValidText, format))) {
-                                frameTitle += "-" + Frame.getEndVerse(lastValidText, format);
-                            }
-                            frameValidations.add(ValidationItem.generateValidFrame(frameTitle, sourceLanguage, false));
-                        }
-                        lastValidFrameIndex = -1;
+        // validate the chapters in parallel. Chapters that have not changed since the last run are reused.
+        List<Future<ChapterValidation>> futures = new ArrayList<>();
+        for(final String chapterSlug:chapterList) {
+            futures.add(validationPool.submit(new Callable<ChapterValidation>() {
+                @Override
+                public ChapterValidation call() throws Exception {
+                    if(isCanceled()) {
+                        return null;
                     }
-
-                    // add invalid frame
-                    if(!(frameTranslation.isFinished() || chunkText.isEmpty())) {
-                        chapterIsValid = false;
-                        String frameTitle = projectTitle + " " + StringUtilities.formatNumber(chapterSlug);
-                        frameTitle += ":" + Frame.getStartVerse(chunkText, format);
-                        if (!Frame.getStartVerse(chunkText, format).equals(Frame.getEndVerse(chunkText, format))) {
-                            frameTitle += "-" + Frame.getEndVerse(chunkText, format);
-                        }
-                        frameValidations.add(ValidationItem.generateInvalidFrame(frameTitle, sourceLanguage, frameTranslation.body,
-                                targetLanguage, frameTranslation.getFormat(), mTargetTranslationId, chapterSlug, chunkSlug));
+                    try {
+                        return validateChapter(targetTranslation, targetLanguage, container, sourceLanguage,
+                                format, projectTitle, chapterSlug, cachedChapters.get(chapterSlug));
+                    } catch (Exception e) {
+                        // report the chapter instead of failing the whole validation
+                        Logger.e("ValidationTask", "Failed to validate chapter " + chapterSlug, e);
+                        return failedChapter(targetLanguage, sourceLanguage, projectTitle, chapterSlug);
                     }
                 }
-
+            }));
+        }
+        ChapterValidation[] results = new ChapterValidation[chapterList.size()];
+        for(int i = 0; i < futures.size(); i ++) {
+            results[i] = waitFor(futures.get(i));
+            if(results[i] == null) {
+                // canceled. Do not publish partial results
+                for(int j = i + 1; j < futures.size(); j ++) {
+                    futures.get(j).cancel(true);
+                }
+                return;
             }
+            if(results[i].fingerprint != null) {
+                cachedChapters.put(chapterList.get(i), results[i]);
+            }
+        }
+
+        // group the chapters into ranges
+        int lastValidChapterIndex = -1;
+        List<ValidationItem> chapterValidations = new ArrayList<>();
+        for(int i = 0; i < chapterList.size(); i ++) {
+            String chapterSlug = chapterList.get(i);
+            boolean chapterIsValid = results[i].valid;
+
             if(lastValidChapterIndex == -1 && chapterIsValid) {
                 // start new valid range
                 lastValidChapterIndex = i;
-            } else if(!chapterIsValid || chapterIsValid && i == chapters.length - 1) {
+            } else if(!chapterIsValid || chapterIsValid && i == chapterList.size() - 1) {
                 // close valid range
                 if(lastValidChapterIndex > -1) {
                     int previousChapterIndex = i - 1;
@@ -174,12 +160,12 @@ public class ValidationTask extends ManagedTask {
                     }
                     if(lastValidChapterIndex < previousChapterIndex) {
                         // range
-                        String previousChapterSlug = chapters[previousChapterIndex];
-                        String lastValidChapterSlug = chapters[lastValidChapterIndex];
+                        String previousChapterSlug = chapterList.get(previousChapterIndex);
+                        String lastValidChapterSlug = chapterList.get(lastValidChapterIndex);
                         String chapterTitle = projectTitle + " " + StringUtilities.formatNumber(lastValidChapterSlug) + "-" + StringUtilities.formatNumber(previousChapterSlug);
                         chapterValidations.add(ValidationItem.generateValidGroup(chapterTitle, sourceLanguage, true));
                     } else {
-                        String lastValidChapter = chapters[lastValidChapterIndex];
+                        String lastValidChapter = chapterList.get(lastValidChapterIndex);
                         String chapterTitle  = projectTitle + " " + StringUtilities.formatNumber(lastValidChapter);
                         chapterValidations.add(ValidationItem.generateValidGroup(chapterTitle, sourceLanguage, false));
                     }
@@ -188,8 +174,7 @@ public class ValidationTask extends ManagedTask {
 
                 // add invalid chapter
                 if(!chapterIsValid) {
-                    String chapterTitle = "";
-                    chapterTitle = container.readChunk(chapterSlug, "title");
+                    String chapterTitle = results[i].title;
                     if (chapterTitle.isEmpty()) {
                         chapterTitle = projectTitle + " " + StringUtilities.formatNumber(chapterSlug);
                     }
@@ -197,7 +182,7 @@ public class ValidationTask extends ManagedTask {
                     chapterValidations.add(ValidationItem.generateInvalidGroup(chapterTitle, sourceLanguage));
 
                     // add frame validations
-                    chapterValidations.addAll(frameValidations);
+                    chapterValidations.addAll(results[i].frameValidations);
                 }
             }
         }
@@ -210,6 +195,223 @@ public class ValidationTask extends ManagedTask {
         }
     }
 
+    /**
+     * Validates the frames in a single chapter.
+     * If the translation of the chapter has not changed since the previous validation the previous result is returned.
+     *
+     * @param previous the previous validation of this chapter or null
+     * @return
+     */
+    private ChapterValidation validateChapter(TargetTranslation targetTranslation, TargetLanguage targetLanguage,
+                                              ResourceContainer container, SourceLanguage sourceLanguage,
+                                              TranslationFormat format, String projectTitle, String chapterSlug,
+                                              ChapterValidation previous) {
+        List<String> chunks = new SlugSorter().sort(new ArrayList<>(Arrays.asList(container.chunks(chapterSlug))));
+        ChapterTranslation chapterTranslation = targetTranslation.getChapterTranslation(chapterSlug);
+
+        // read the translation and fingerprint the chapter
+        StringBuilder fingerprintBuilder = new StringBuilder();
+        fingerprintBuilder.append(container.slug).append('|').append(container.modifiedAt).append('|')
+                .append(projectTitle).append('|').append(titleStr).append('|').append(referenceStr).append('|')
+                .append(chapterTranslation.isTitleFinished()).append(chapterTranslation.title).append('|')
+                .append(chapterTranslation.isReferenceFinished()).append(chapterTranslation.reference);
+        FrameTranslation[] frameTranslations = new FrameTranslation[chunks.size()];
+        for(int j = 0; j < chunks.size(); j ++) {
+            String chunkSlug = chunks.get(j);
+            fingerprintBuilder.append('|').append(chunkSlug);
+            if( ("title".equals(chunkSlug)) || ("reference".equals(chunkSlug)) ) {
+                continue;
+            }
+            frameTranslations[j] = targetTranslation.getFrameTranslation(chapterSlug, chunkSlug, format);
+            fingerprintBuilder.append(frameTranslations[j].isFinished()).append(frameTranslations[j].body.length())
+                    .append(':').append(frameTranslations[j].body);
+        }
+        String fingerprint = Security.sha1(fingerprintBuilder.toString());
+        if(previous != null && fingerprint != null && fingerprint.equals(previous.fingerprint)) {
+            return previous;
+        }
+
+        // validate frames
+        int lastValidFrameIndex = -1;
+        boolean chapterIsValid = true;
+        List<ValidationItem> frameValidations = new ArrayList<>();
+        String chapterPrefix = projectTitle + " " + StringUtilities.formatNumber(chapterSlug);
+
+        if(MergeConflictsHandler.isMergeConflicted(chapterTranslation.title) || chunks.contains("title") && !chapterTranslation.isTitleFinished()) {
+            chapterIsValid = false;
+            frameValidations.add(ValidationItem.generateInvalidFrame(getChunkTitle(container, chapterSlug, "title", titleStr), sourceLanguage, chapterTranslation.title, targetLanguage, TranslationFormat.DEFAULT, mTargetTranslationId, chapterSlug, "00"));
+        }
+
+        if(MergeConflictsHandler.isMergeConflicted(chapterTranslation.reference) || chunks.contains("reference") && !chapterTranslation.isReferenceFinished()) {
+            chapterIsValid = false;
+            frameValidations.add(ValidationItem.generateInvalidFrame(getChunkTitle(container, chapterSlug, "reference", referenceStr), sourceLanguage, chapterTranslation.reference, targetLanguage, TranslationFormat.DEFAULT, mTargetTranslationId, chapterSlug, "00"));
+        }
+
+        // verse ranges are parsed at most once per chunk
+        int[][] verseRanges = new int[chunks.size()][];
+        for(int j = 0; j < chunks.size(); j ++) {
+            String chunkSlug = chunks.get(j);
+            if( ("title".equals(chunkSlug)) || ("reference".equals(chunkSlug)) ) { // if chunk types we have already handled, then skip
+                continue;
+            }
+
+            FrameTranslation frameTranslation = frameTranslations[j];
+            String chunkText = container.readChunk(chapterSlug, chunkSlug);
+            verseRanges[j] = Frame.getVerseRange(chunkText, format);
+            boolean frameIsValid = frameTranslation.isFinished() || chunkText.isEmpty();
+            // TODO: also validate the checking questions
+            if(lastValidFrameIndex == -1 && frameIsValid) {
+                // start new valid range
+                lastValidFrameIndex = j;
+            } else if(MergeConflictsHandler.isMergeConflicted(frameTranslation.body) || !frameIsValid || frameIsValid && j == chunks.size() - 1){
+                // close valid range
+                if(lastValidFrameIndex > -1) {
+                    int previousFrameIndex = j - 1;
+                    if(frameIsValid) {
+                        previousFrameIndex = j;
+                    }
+                    if(lastValidFrameIndex < previousFrameIndex) {
+                        // range
+                        String frameTitle = chapterPrefix + ":" + getStartVerse(verseRanges[lastValidFrameIndex]) + "-" + getEndVerse(lastVerseRange(verseRanges, previousFrameIndex));
+                        frameValidations.add(ValidationItem.generateValidFrame(frameTitle, sourceLanguage, true));
+                    } else {
+                        String frameTitle = chapterPrefix + ":" + getVerseTitle(verseRanges[lastValidFrameIndex]);
+                        frameValidations.add(ValidationItem.generateValidFrame(frameTitle, sourceLanguage, false));
+                    }
+                    lastValidFrameIndex = -1;
+                }
+
+                // add invalid frame
+                if(!frameIsValid) {
+                    chapterIsValid = false;
+                    String frameTitle = chapterPrefix + ":" + getVerseTitle(verseRanges[j]);
+                    frameValidations.add(ValidationItem.generateInvalidFrame(frameTitle, sourceLanguage, frameTranslation.body,
+                            targetLanguage, frameTranslation.getFormat(), mTargetTranslationId, chapterSlug, chunkSlug));
+                }
+            }
+        }
+
+        String chapterTitle = "";
+        if(!chapterIsValid) {
+            chapterTitle = container.readChunk(chapterSlug, "title");
+        }
+        return new ChapterValidation(fingerprint, chapterIsValid, chapterTitle, frameValidations);
+    }
+
+    /**
+     * Builds the result of a chapter that could not be validated
+     * @return
+     */
+    private ChapterValidation failedChapter(TargetLanguage targetLanguage, SourceLanguage sourceLanguage, String projectTitle, String chapterSlug) {
+        List<ValidationItem> frameValidations = new ArrayList<>();
+        String title = projectTitle + " " + StringUtilities.formatNumber(chapterSlug) + " - " + validationFailedStr;
+        frameValidations.add(ValidationItem.generateInvalidFrame(title, sourceLanguage, "", targetLanguage,
+                TranslationFormat.DEFAULT, mTargetTranslationId, chapterSlug, "00"));
+        return new ChapterValidation(null, false, "", frameValidations);
+    }
+
+    /**
+     * Returns the cached chapter validations for this translation pair
+     * @return
+     */
+    private Map<String, ChapterValidation> getCachedChapters() {
+        String key = mTargetTranslationId + "|" + mSourceTranslationId;
+        synchronized (validationCache) {
+            Map<String, ChapterValidation> chapters = validationCache.get(key);
+            if(chapters == null) {
+                chapters = new ConcurrentHashMap<>();
+                validationCache.put(key, chapters);
+            }
+            return chapters;
+        }
+    }
+
+    /**
+     * Discards all of the cached chapter validations
+     */
+    public static void clearCache() {
+        synchronized (validationCache) {
+            validationCache.clear();
+        }
+    }
+
+    /**
+     * Waits for a chapter to finish validating
+     * @param future
+     * @return null if this task was canceled
+     */
+    private <T> T waitFor(Future<T> future) {
+        if(isCanceled()) {
+            future.cancel(true);
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.e("ValidationTask", "Failed to validate the chapter", e.getCause());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the verse range of a chunk or of the closest chunk before it.
+     * Title and reference chunks do not have a verse range.
+     * @param verseRanges
+     * @param index
+     * @return the verse range or null
+     */
+    private static int[] lastVerseRange(int[][] verseRanges, int index) {
+        for(int i = index; i >= 0; i --) {
+            if(verseRanges[i] != null) return verseRanges[i];
+        }
+        return null;
+    }
+
+    /**
+     * Formats the beginning verse of a verse range
+     * @param verses
+     * @return
+     */
+    private static String getStartVerse(int[] verses) {
+        if(verses != null && verses.length > 0) {
+            return verses[0] + "";
+        }
+        return "";
+    }
+
+    /**
+     * Formats the ending verse of a verse range
+     * @param verses
+     * @return
+     */
+    private static String getEndVerse(int[] verses) {
+        if(verses == null) {
+            return "";
+        } else if(verses.length == 1) {
+            return verses[0] + "";
+        } else if(verses.length == 2) {
+            return verses[1] + "";
+        }
+        return "";
+    }
+
+    /**
+     * Formats a verse range e.g. 1-5
+     * @param verses
+     * @return
+     */
+    private static String getVerseTitle(int[] verses) {
+        String start = getStartVerse(verses);
+        String end = getEndVerse(verses);
+        if(!start.equals(end)) {
+            return start + "-" + end;
+        }
+        return start;
+    }
+
     /**
      * sort the chapters
      * @param chapters
@@ -262,4 +464,21 @@ public class ValidationTask extends ManagedTask {
     public ValidationItem[] getValidations() {
         return mValidations.toArray(new ValidationItem[mValidations.size()]);
     }
+
+    /**
+     * The validation results of a single chapter
+     */
+    private static class ChapterValidation {
+        final String fingerprint;
+        final boolean valid;
+        final String title;
+        final List<ValidationItem> frameValidations;
+
+        ChapterValidation(String fingerprint, boolean valid, String title, List<ValidationItem> frameValidations) {
+            this.fingerprint = fingerprint;
+            this.valid = valid;
+            this.title = title == null ? "" : title;
+            this.frameValidations = frameValidations;
+        }
+    }
 }
@@ -78,6 +78,13 @@ public abstract class BaseActivity extends AppCompatActivity implements Foregrou
         }
     }
 
+    @Override
+    public void onPause() {
+        super.onPause();
+        // the app may be stopped without returning to this activity
+        App.flushTranslationSettings();
+    }
+
     private boolean isBootActivity() {
         return this instanceof TermsOfUseActivity
                 || this instanceof SplashScreenActivity
@@ -16,6 +16,7 @@ import android.widget.EditText;
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.tasks.CheckForLatestReleaseTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.tasks.UploadCrashReportTask;
 
 import org.unfoldingword.tools.logger.Logger;
@@ -61,7 +62,7 @@ public class CrashReporterActivity extends BaseActivity implements ManagedTask.O
 
                                 CheckForLatestReleaseTask task = new CheckForLatestReleaseTask();
                                 task.addOnFinishedListener(CrashReporterActivity.this);
-                                TaskManager.addTask(task, CheckForLatestReleaseTask.TASK_ID);
+                                TaskMetrics.addTask(task, CheckForLatestReleaseTask.TASK_ID);
                             }
                         })
                         .setNegativeButton(R.string.label_close, new DialogInterface.OnClickListener() {
@@ -147,7 +148,7 @@ public class CrashReporterActivity extends BaseActivity implements ManagedTask.O
 
                         UploadCrashReportTask newTask = new UploadCrashReportTask(mNotes);
                         newTask.addOnFinishedListener(CrashReporterActivity.this);
-                        TaskManager.addTask(newTask, UploadCrashReportTask.TASK_ID);
+                        TaskMetrics.addTask(newTask, UploadCrashReportTask.TASK_ID);
                     }
                 })
                 .show();
@@ -196,7 +197,7 @@ public class CrashReporterActivity extends BaseActivity implements ManagedTask.O
 
                 UploadCrashReportTask newTask = new UploadCrashReportTask(mCrashReportText.getText().toString().trim());
                 newTask.addOnFinishedListener(CrashReporterActivity.this);
-                TaskManager.addTask(newTask, UploadCrashReportTask.TASK_ID);
+                TaskMetrics.addTask(newTask, UploadCrashReportTask.TASK_ID);
             }
         } else if(task instanceof UploadCrashReportTask) {
             boolean success = ((UploadCrashReportTask) task).isSuccess();
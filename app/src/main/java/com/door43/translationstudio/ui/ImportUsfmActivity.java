@@ -21,6 +21,7 @@ import org.unfoldingword.tools.logger.Logger;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.core.FileHistoryIndex;
 import com.door43.translationstudio.core.ImportUsfm;
 import com.door43.translationstudio.core.MissingNameItem;
 import com.door43.translationstudio.core.TargetTranslation;
@@ -473,6 +474,7 @@ public class ImportUsfmActivity extends BaseActivity implements TargetLanguageLi
                                 }
                             } else {
                                 // import new translation
+                                FileHistoryIndex.remove(new File(mDestinationTargetTranslationDir, ".git"));
                                 FileUtilities.safeDelete(mDestinationTargetTranslationDir); // in case local was an invalid target translation
                                 FileUtilities.moveOrCopyQuietly(newDir, mDestinationTargetTranslationDir);
                             }
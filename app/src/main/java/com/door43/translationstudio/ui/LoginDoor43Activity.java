@@ -14,6 +14,7 @@ import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.core.Profile;
 import com.door43.translationstudio.tasks.LoginDoor43Task;
+import com.door43.translationstudio.tasks.TaskMetrics;
 
 import org.unfoldingword.gogsclient.User;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
@@ -50,7 +51,7 @@ public class LoginDoor43Activity extends AppCompatActivity implements ManagedTas
                 LoginDoor43Task task = new LoginDoor43Task(username, password, fullName);
                 showProgressDialog();
                 task.addOnFinishedListener(LoginDoor43Activity.this);
-                TaskManager.addTask(task, LoginDoor43Task.TASK_ID);
+                TaskMetrics.addTask(task, LoginDoor43Task.TASK_ID);
             }
         });
 
@@ -18,6 +18,7 @@ import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.core.Profile;
 import com.door43.translationstudio.tasks.RegisterDoor43Task;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
 import com.door43.widget.ViewUtil;
@@ -77,7 +78,7 @@ public class RegisterDoor43Activity extends AppCompatActivity implements Managed
                                 RegisterDoor43Task task = new RegisterDoor43Task(username, password, fullName, email);
                                 showProgressDialog();
                                 task.addOnFinishedListener(RegisterDoor43Activity.this);
-                                TaskManager.addTask(task, RegisterDoor43Task.TASK_ID);
+                                TaskMetrics.addTask(task, RegisterDoor43Task.TASK_ID);
                             }
                         });
                     } else {
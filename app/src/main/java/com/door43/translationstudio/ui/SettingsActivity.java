@@ -37,6 +37,7 @@ import com.door43.translationstudio.R;
 import com.door43.translationstudio.ui.legal.LegalDocumentActivity;
 import com.door43.translationstudio.services.BackupService;
 import com.door43.translationstudio.tasks.CheckForLatestReleaseTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.util.TTFAnalyzer;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
@@ -321,7 +322,7 @@ public class SettingsActivity extends PreferenceActivity implements ManagedTask.
 
                 CheckForLatestReleaseTask task = new CheckForLatestReleaseTask();
                 task.addOnFinishedListener(SettingsActivity.this);
-                TaskManager.addTask(task, CheckForLatestReleaseTask.TASK_ID);
+                TaskMetrics.addTask(task, CheckForLatestReleaseTask.TASK_ID);
                 return true;
             }
         });
@@ -558,7 +559,7 @@ public class SettingsActivity extends PreferenceActivity implements ManagedTask.
 
                     CheckForLatestReleaseTask task = new CheckForLatestReleaseTask();
                     task.addOnFinishedListener((SettingsActivity)getActivity());
-                    TaskManager.addTask(task, CheckForLatestReleaseTask.TASK_ID);
+                    TaskMetrics.addTask(task, CheckForLatestReleaseTask.TASK_ID);
                     return true;
                 }
             });
@@ -14,6 +14,8 @@ import android.widget.TextView;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.tasks.ExtractBundledContainersTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.tasks.UpdateAppTask;
 
 import org.unfoldingword.tools.logger.Logger;
@@ -115,7 +117,7 @@ public class SplashScreenActivity extends BaseActivity implements ManagedTask.On
                 UpdateAppTask updateTask = new UpdateAppTask(App.context());
                 updateTask.addOnFinishedListener(this);
                 updateTask.addOnStartListener(this);
-                TaskManager.addTask(updateTask, UpdateAppTask.TASK_ID);
+                TaskMetrics.addTask(updateTask, UpdateAppTask.TASK_ID);
             }
         }
     }
@@ -160,6 +162,19 @@ public class SplashScreenActivity extends BaseActivity implements ManagedTask.On
     public void onTaskFinished(final ManagedTask task) {
         TaskManager.clearTask(task);
         disconnectTask(task);
+
+        // finish extracting the packaged resource containers in the background
+        if(TaskManager.getTask(ExtractBundledContainersTask.TASK_ID) == null
+                && !App.getBundledContainers().listPending().isEmpty()) {
+            ManagedTask extractTask = new ExtractBundledContainersTask();
+            extractTask.addOnFinishedListener(new ManagedTask.OnFinishedListener() {
+                @Override
+                public void onTaskFinished(ManagedTask task) {
+                    TaskManager.clearTask(task);
+                }
+            });
+            TaskMetrics.addTask(extractTask, ExtractBundledContainersTask.TASK_ID);
+        }
         openMainActivity();
     }
 
@@ -9,6 +9,7 @@ import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.core.Profile;
 import com.door43.translationstudio.tasks.LogoutTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.home.HomeActivity;
 import com.door43.translationstudio.ui.legal.LegalDocumentActivity;
 
@@ -45,7 +46,7 @@ public class TermsOfUseActivity extends BaseActivity implements ManagedTask.OnFi
                     // log out
                     User user = App.getProfile().gogsUser;
                     LogoutTask task = new LogoutTask(user);
-                    TaskManager.addTask(task, LogoutTask.TASK_ID);
+                    TaskMetrics.addTask(task, LogoutTask.TASK_ID);
                     task.addOnFinishedListener(TermsOfUseActivity.this);
                     App.setProfile(null);
 
@@ -27,8 +27,10 @@ import org.unfoldingword.tools.logger.Logger;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.dialogs.ErrorLogDialog;
 import com.door43.translationstudio.ui.BaseActivity;
+import com.door43.util.FileUtilities;
 import com.door43.util.SdUtils;
 import com.door43.util.StringUtilities;
 import com.door43.widget.ViewUtil;
@@ -138,7 +140,7 @@ public class DeveloperToolsActivity extends BaseActivity implements ManagedTask.
                 };
                 task.addOnProgressListener(DeveloperToolsActivity.this);
                 task.addOnFinishedListener(DeveloperToolsActivity.this);
-                TaskManager.addTask(task, TASK_REGENERATE_KEYS);
+                TaskMetrics.addTask(task, TASK_REGENERATE_KEYS);
             }
         }));
 
@@ -222,6 +224,32 @@ public class DeveloperToolsActivity extends BaseActivity implements ManagedTask.
             }
         }));
 
+        mDeveloperTools.add(new ToolItem("Task metrics", "View how long background tasks wait and run.", R.drawable.ic_description_black_24dp, new ToolItem.ToolAction() {
+            @Override
+            public void run() {
+                String message = TaskMetrics.summary();
+                Logger.i(TAG, "task metrics:\n" + message);
+
+                new AlertDialog.Builder(DeveloperToolsActivity.this, R.style.AppTheme_Dialog)
+                        .setTitle("Task Metrics")
+                        .setMessage(message)
+                        .setPositiveButton(R.string.menu_share, new DialogInterface.OnClickListener() {
+                            @Override
+                            public void onClick(DialogInterface dialog, int which) {
+                                shareTaskMetrics();
+                            }
+                        })
+                        .setNeutralButton("Reset", new DialogInterface.OnClickListener() {
+                            @Override
+                            public void onClick(DialogInterface dialog, int which) {
+                                TaskMetrics.reset();
+                            }
+                        })
+                        .setNegativeButton(R.string.label_close, null)
+                        .show();
+            }
+        }));
+
         mDeveloperTools.add(new ToolItem("Delete Library", "Deletes the entire library database so it can be rebuilt from scratch", R.drawable.ic_delete_black_24dp, new ToolItem.ToolAction() {
             @Override
             public void run() {
@@ -280,6 +308,25 @@ public class DeveloperToolsActivity extends BaseActivity implements ManagedTask.
         super.onDestroy();
     }
 
+    /**
+     * Writes the task metrics to a json file and shares it
+     */
+    private void shareTaskMetrics() {
+        try {
+            File dir = App.getSharingDir();
+            File file = new File(dir, "task_metrics.json");
+            FileUtilities.writeStringToFile(file, TaskMetrics.toJson().toString(2));
+            Uri u = FileProvider.getUriForFile(DeveloperToolsActivity.this, "com.door43.translationstudio.fileprovider", file);
+            Intent intent = new Intent(Intent.ACTION_SEND);
+            intent.setType("application/json");
+            intent.putExtra(Intent.EXTRA_STREAM, u);
+            intent.addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+            startActivity(Intent.createChooser(intent, "Email:"));
+        } catch (Exception e) {
+            Logger.e(TAG, "Failed to share the task metrics", e);
+        }
+    }
+
     final static long KB = 1024;
     final static long MB = KB*KB;
     final static long GB = MB*KB;
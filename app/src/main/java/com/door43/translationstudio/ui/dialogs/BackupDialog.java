@@ -45,6 +45,7 @@ import com.door43.translationstudio.tasks.CreateRepositoryTask;
 import com.door43.translationstudio.tasks.PullTargetTranslationTask;
 import com.door43.translationstudio.tasks.PushTargetTranslationTask;
 import com.door43.translationstudio.tasks.RegisterSSHKeysTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.util.SdUtils;
 import org.unfoldingword.tools.taskmanager.SimpleTaskWatcher;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
@@ -128,7 +129,7 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
                 User user = App.getProfile().gogsUser;
                 LogoutTask task = new LogoutTask(user);
                 taskWatcher.watch(task);
-                TaskManager.addTask(task, LogoutTask.TASK_ID);
+                TaskMetrics.addTask(task, LogoutTask.TASK_ID);
 
                 App.setProfile(null);
                 Intent logoutIntent = new Intent(getActivity(), ProfileActivity.class);
@@ -522,7 +523,7 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
         initProgressWatcher(R.string.exporting);
         ExportToUsfmTask usfmExportTask = new ExportToUsfmTask(getActivity(), targetTranslation, mDestinationFolderUri, fileName, isOutputToDocumentFile);
         taskWatcher.watch(usfmExportTask);
-        TaskManager.addTask(usfmExportTask, ExportToUsfmTask.TASK_ID);
+        TaskMetrics.addTask(usfmExportTask, ExportToUsfmTask.TASK_ID);
         return true;
     }
 
@@ -585,7 +586,7 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
         initProgressWatcher(R.string.exporting);
         ExportProjectTask sdExportTask = new ExportProjectTask(getActivity(), filename, mDestinationFolderUri, targetTranslation);
         taskWatcher.watch(sdExportTask);
-        TaskManager.addTask(sdExportTask, ExportProjectTask.TASK_ID);
+        TaskMetrics.addTask(sdExportTask, ExportProjectTask.TASK_ID);
         return true;
     }
 
@@ -691,7 +692,7 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
                 initProgressWatcher(R.string.backup);
                 PushTargetTranslationTask pushtask = new PushTargetTranslationTask(targetTranslation);
                 taskWatcher.watch(pushtask);
-                TaskManager.addTask(pushtask, PushTargetTranslationTask.TASK_ID);
+                TaskMetrics.addTask(pushtask, PushTargetTranslationTask.TASK_ID);
             } else if(status == PullTargetTranslationTask.Status.AUTH_FAILURE) {
                 Logger.i(this.getClass().getName(), "Authentication failed");
                 // if we have already tried ask the user if they would like to try again
@@ -703,14 +704,14 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
                 initProgressWatcher(R.string.backup);
                 RegisterSSHKeysTask keyTask = new RegisterSSHKeysTask(false);
                 taskWatcher.watch(keyTask);
-                TaskManager.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
+                TaskMetrics.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
             } else if(status == PullTargetTranslationTask.Status.NO_REMOTE_REPO) {
                 Logger.i(this.getClass().getName(), "The repository " + targetTranslation.getId() + " could not be found");
                 // create missing repo
                 initProgressWatcher(R.string.backup);
                 CreateRepositoryTask repoTask = new CreateRepositoryTask(targetTranslation);
                 taskWatcher.watch(repoTask);
-                TaskManager.addTask(repoTask, CreateRepositoryTask.TASK_ID);
+                TaskMetrics.addTask(repoTask, CreateRepositoryTask.TASK_ID);
             } else if(status == PullTargetTranslationTask.Status.MERGE_CONFLICTS) {
                 Logger.i(this.getClass().getName(), "The server contains conflicting changes for " + targetTranslation.getId());
                 MergeConflictsHandler.backgroundTestForConflictedChunks(targetTranslation.getId(), new MergeConflictsHandler.OnMergeConflictListener() {
@@ -722,7 +723,7 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
                         initProgressWatcher(R.string.backup);
                         PushTargetTranslationTask pushtask = new PushTargetTranslationTask(targetTranslation);
                         taskWatcher.watch(pushtask);
-                        TaskManager.addTask(pushtask, PushTargetTranslationTask.TASK_ID);
+                        TaskMetrics.addTask(pushtask, PushTargetTranslationTask.TASK_ID);
                     }
 
                     @Override
@@ -892,7 +893,7 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
         initProgressWatcher(R.string.backup);
         PullTargetTranslationTask pullTask = new PullTargetTranslationTask(targetTranslation, theirs, null);
         taskWatcher.watch(pullTask);
-        TaskManager.addTask(pullTask, PullTargetTranslationTask.TASK_ID);
+        TaskMetrics.addTask(pullTask, PullTargetTranslationTask.TASK_ID);
     }
 
     /**
@@ -1014,7 +1015,7 @@ public class BackupDialog extends DialogFragment implements SimpleTaskWatcher.On
                         initProgressWatcher(R.string.backup);
                         RegisterSSHKeysTask keyTask = new RegisterSSHKeysTask(true);
                         taskWatcher.watch(keyTask);
-                        TaskManager.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
+                        TaskMetrics.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
                     }
                 })
                 .setNegativeButton(R.string.no, new DialogInterface.OnClickListener() {
@@ -11,6 +11,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.core.SourceCatalog;
 import com.door43.translationstudio.core.TranslationType;
 import com.door43.translationstudio.core.Typography;
 import com.door43.translationstudio.core.Util;
@@ -23,6 +24,7 @@ import org.unfoldingword.resourcecontainer.Language;
 import org.unfoldingword.tools.logger.Logger;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -44,6 +46,7 @@ public class DownloadSourcesAdapter  extends BaseAdapter {
     private List<String> mSelected = new ArrayList<>();
     private List<String> mDownloaded = new ArrayList<>();
     private List<ViewItem> mItems = new ArrayList<>();
+    private SourceCatalog mCatalog;
     private List<Translation> mAvailableSources;
     private Map<String,List<Integer>> mByLanguage;
     private Map<String,List<Integer>> mOtBooks;
@@ -76,8 +79,9 @@ public class DownloadSourcesAdapter  extends BaseAdapter {
 a     * @param task
      */
     public void setData(GetAvailableSourcesTask task) {
-        if(task != null) {
-            mAvailableSources = task.getSources();
+        if(task != null && task.getCatalog() != null) {
+            mCatalog = task.getCatalog();
+            mAvailableSources = mCatalog.getSources();
             Logger.i(TAG, "Found " + mAvailableSources.size() + " sources");
 
             mByLanguage = task.getByLanguage();
@@ -285,44 +289,19 @@ a     * @param task
      */
     private void getLanguages() {
         mItems = new ArrayList<>();
-        for (String key : mByLanguage.keySet()) {
-            List<Integer> items = mByLanguage.get(key);
-            if((items != null)  && (items.size() > 0)) {
-                int index = items.get(0);
-                if((index >= 0) && (index < mAvailableSources.size())) {
-                    Translation sourceTranslation = mAvailableSources.get(index);
-                    String title = sourceTranslation.language.name + "  (" + sourceTranslation.language.slug + ")";
-                    ViewItem newItem = new ViewItem(title, sourceTranslation.language.slug, sourceTranslation, false, false);
-                    mItems.add(newItem);
-                }
-            }
-        }
+        Collection<String> languages;
         if((mSearch != null) && !mSearch.isEmpty()) {
-            List<ViewItem> filteredItems = new ArrayList<>();
-
-            // filter by language code
-            for (ViewItem item : mItems) {
-                String code = item.sourceTranslation.language.slug;
-                if(code.length() >= mSearch.length()) {
-                    if (code.substring(0, mSearch.length()).equalsIgnoreCase(mSearch)) {
-                        filteredItems.add(item);
-                    }
-                }
-            }
-
-            // filter by language name
-            for (ViewItem item : mItems) {
-                String name = item.sourceTranslation.language.name;
-                if(name.length() >= mSearch.length()) {
-                    if (name.substring(0, mSearch.length()).equalsIgnoreCase(mSearch)) {
-                        if (!filteredItems.contains(item)) { // prevent duplicates
-                            filteredItems.add(item);
-                        }
-                    }
-                }
+            languages = mCatalog.findLanguages(mSearch); // matches by language code then by name
+        } else {
+            languages = mByLanguage.keySet();
+        }
+        for (String language : languages) {
+            Translation sourceTranslation = mCatalog.getLanguageSource(language);
+            if(sourceTranslation != null) {
+                String title = sourceTranslation.language.name + "  (" + sourceTranslation.language.slug + ")";
+                ViewItem newItem = new ViewItem(title, sourceTranslation.language.slug, sourceTranslation, false, false);
+                mItems.add(newItem);
             }
-
-            mItems = filteredItems;
         }
     }
 
@@ -338,17 +317,17 @@ a     * @param task
                 boolean found = false;
                 switch (id) {
                     case R.string.old_testament_label:
-                        found = isLanguageInCategory(mByLanguage, mOtBooks);
+                        found = mCatalog.hasCategory(mLanguageFilter, SourceCatalog.Category.OLD_TESTAMENT);
                         break;
                     case R.string.new_testament_label:
-                        found = isLanguageInCategory(mByLanguage, mNtBooks);
+                        found = mCatalog.hasCategory(mLanguageFilter, SourceCatalog.Category.NEW_TESTAMENT);
                         break;
                     case R.string.ta_label:
-                        found = isLanguageInCategory(mByLanguage, mTaBooks);
+                        found = mCatalog.hasCategory(mLanguageFilter, SourceCatalog.Category.TRANSLATION_ACADEMY);
                         break;
                     default:
                     case R.string.other_label:
-                        found = isLanguageInCategory(mByLanguage, mOtherBooks);
+                        found = mCatalog.hasCategory(mLanguageFilter, SourceCatalog.Category.OTHER);
                         break;
                 }
                 if(!found) { // if category is not found, skip
@@ -362,29 +341,6 @@ a     * @param task
         }
     }
 
-    /**
-     * check if category (OT, NT, other) contains the selected language
-     * @param sortSet
-     * @param category
-     * @return
-     */
-    private boolean isLanguageInCategory(Map<String, List<Integer>> sortSet, Map<String, List<Integer>> category) {
-        boolean found = false;
-        if(sortSet.containsKey(mLanguageFilter)) {
-            List<Integer> items = sortSet.get(mLanguageFilter);
-            for (Integer index : items) {
-                if ((index >= 0) && (index < mAvailableSources.size())) {
-                    Translation sourceTranslation = mAvailableSources.get(index);
-                    if (category.containsKey(sourceTranslation.project.slug)) {
-                        found = true;
-                        break;
-                    }
-                }
-            }
-        }
-        return found;
-    }
-
     /**
      * create list of source selections that match book
      */
@@ -534,19 +490,23 @@ a     * @param task
             }
         }
 
-        if(sortSet != null) {
-            List<ViewItem> unOrdered = mItems;
-            mItems = new ArrayList<>();
+        if(sortSet != null) { // order by book
+            Map<String, List<ViewItem>> byBook = new HashMap<>();
+            for (ViewItem viewItem : mItems) {
+                String book = viewItem.sourceTranslation.project.slug;
+                List<ViewItem> bookItems = byBook.get(book);
+                if(bookItems == null) {
+                    bookItems = new ArrayList<>();
+                    byBook.put(book, bookItems);
+                }
+                bookItems.add(viewItem);
+            }
 
+            mItems = new ArrayList<>();
             for (String book : sortSet.keySet() ) {
-                for (int i = 0; i < unOrdered.size(); i++) {
-                    ViewItem viewItem = unOrdered.get(i);
-                    Translation sourceTranslation = viewItem.sourceTranslation;
-                    if(book.equals(sourceTranslation.project.slug)) {
-                        mItems.add(viewItem);
-                        unOrdered.remove(viewItem);
-                        i--;
-                    }
+                List<ViewItem> bookItems = byBook.get(book);
+                if(bookItems != null) {
+                    mItems.addAll(bookItems);
                 }
             }
         }
@@ -38,11 +38,11 @@ import com.door43.translationstudio.core.TranslationType;
 import com.door43.translationstudio.core.Typography;
 import com.door43.translationstudio.tasks.DownloadResourceContainersTask;
 import com.door43.translationstudio.tasks.GetAvailableSourcesTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.tools.logger.Logger;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
@@ -65,7 +65,6 @@ public class DownloadSourcesDialog extends DialogFragment implements ManagedTask
     public static final String STATE_DOWNLOADED_LIST = "state_downloaded_list";
     public static final String STATE_DOWNLOADED_ERROR_MESSAGES = "state_downloaded_error_messages";
     public static final boolean RESTORE = true;
-    private Door43Client mLibrary;
     private ProgressDialog mProgressDialog = null;
     private DownloadSourcesAdapter mAdapter;
     private List<DownloadSourcesAdapter.FilterStep> mSteps;
@@ -88,7 +87,6 @@ public class DownloadSourcesDialog extends DialogFragment implements ManagedTask
         getDialog().requestWindowFeature(Window.FEATURE_NO_TITLE);
         v = inflater.inflate(R.layout.dialog_download_sources, container, false);
 
-        mLibrary = App.getLibrary();
         mSteps = new ArrayList<>();
 
         ManagedTask task = new GetAvailableSourcesTask();
@@ -96,7 +94,7 @@ public class DownloadSourcesDialog extends DialogFragment implements ManagedTask
         createProgressDialog(task, false);
         task.addOnProgressListener(this);
         task.addOnFinishedListener(this);
-        mGetAvailableSourcesTaskID = TaskManager.addTask(task);
+        mGetAvailableSourcesTaskID = TaskMetrics.addTask(task);
 
         ImageButton backButton = (ImageButton) v.findViewById(R.id.search_back_button);
         backButton.setOnClickListener(new View.OnClickListener() {
@@ -149,7 +147,7 @@ public class DownloadSourcesDialog extends DialogFragment implements ManagedTask
                             task.addOnFinishedListener(DownloadSourcesDialog.this);
                             task.addOnProgressListener(DownloadSourcesDialog.this);
                             createProgressDialog(task, true);
-                            TaskManager.addTask(task, TASK_DOWNLOAD_SOURCES);
+                            TaskMetrics.addTask(task, TASK_DOWNLOAD_SOURCES);
                         } else {
                             new AlertDialog.Builder(getActivity(), R.style.AppTheme_Dialog)
                                     .setTitle(R.string.internet_not_available)
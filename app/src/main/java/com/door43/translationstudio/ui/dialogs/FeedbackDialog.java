@@ -22,6 +22,7 @@ import android.widget.LinearLayout;
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.tasks.CheckForLatestReleaseTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.tasks.UploadBugReportTask;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
@@ -124,7 +125,7 @@ public class FeedbackDialog extends DialogFragment implements ManagedTask.OnFini
         showLoadingUI();
         CheckForLatestReleaseTask task = new CheckForLatestReleaseTask();
         task.addOnFinishedListener(FeedbackDialog.this);
-        TaskManager.addTask(task, CheckForLatestReleaseTask.TASK_ID);
+        TaskMetrics.addTask(task, CheckForLatestReleaseTask.TASK_ID);
     }
 
     private void showLoadingUI() {
@@ -201,7 +202,7 @@ public class FeedbackDialog extends DialogFragment implements ManagedTask.OnFini
     private void doUploadBugReportTask() {
         UploadBugReportTask newTask = new UploadBugReportTask(mMessage);
         newTask.addOnFinishedListener(FeedbackDialog.this);
-        TaskManager.addTask(newTask, UploadBugReportTask.TASK_ID);
+        TaskMetrics.addTask(newTask, UploadBugReportTask.TASK_ID);
     }
 
     /**
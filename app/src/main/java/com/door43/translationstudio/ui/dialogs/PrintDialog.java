@@ -25,17 +25,18 @@ import android.widget.TextView;
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.core.ContainerCache;
+import com.door43.translationstudio.core.DownloadImages;
 import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.core.TranslationType;
 import com.door43.translationstudio.core.Translator;
 import com.door43.translationstudio.core.Typography;
 import com.door43.translationstudio.tasks.DownloadImagesTask;
 import com.door43.translationstudio.tasks.PrintPDFTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.filechooser.FileChooserActivity;
 import com.door43.util.FileUtilities;
 import com.door43.util.SdUtils;
 
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.TargetLanguage;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
 import org.unfoldingword.tools.logger.Logger;
@@ -69,7 +70,6 @@ public class PrintDialog extends DialogFragment implements SimpleTaskWatcher.OnF
     public static final String STATE_OUTPUT_FILENAME = "state_output_filename";
     private Translator translator;
     private TargetTranslation mTargetTranslation;
-    private Door43Client library;
     private boolean includeImages = false;
     private boolean includeIncompleteFrames = true;
     private Button printButton;
@@ -100,7 +100,6 @@ public class PrintDialog extends DialogFragment implements SimpleTaskWatcher.OnF
         View v = inflater.inflate(R.layout.dialog_print, container, false);
 
         translator = App.getTranslator();
-        library = App.getLibrary();
 
         Bundle args = getArguments();
         if(args == null || !args.containsKey(ARG_TARGET_TRANSLATION_ID)) {
@@ -136,7 +135,7 @@ public class PrintDialog extends DialogFragment implements SimpleTaskWatcher.OnF
 
         String title = mTargetTranslation.getProjectTranslation().getTitle().replaceAll("\n+$", "");
         if(title.isEmpty()) {
-            ResourceContainer sourceContainer = ContainerCache.cacheClosest(library, null, mTargetTranslation.getProjectId(), mTargetTranslation.getResourceSlug());
+            ResourceContainer sourceContainer = ContainerCache.cacheClosest(App.getLibrary(), null, mTargetTranslation.getProjectId(), mTargetTranslation.getResourceSlug());
             if(sourceContainer != null) {
                 title = sourceContainer.readChunk("front", "title").replaceAll("\n+$", "");
             }
@@ -272,12 +271,14 @@ public class PrintDialog extends DialogFragment implements SimpleTaskWatcher.OnF
         if(!force && SdUtils.exists(mDestinationFolderUri, mDestinationFilename)) {
             return false;
         }
-        if(includeImages && !App.hasImages()) {
+        DownloadImages images = new DownloadImages();
+        if(includeImages && !images.hasImages(DownloadImages.getImageNames(mTargetTranslation))) {
             showInternetUsePrompt();
         } else {
+            mImagesDir = images.getImagesDir();
             PrintPDFTask task = new PrintPDFTask(mTargetTranslation.getId(), mExportFile, includeImages, includeIncompleteFrames, mImagesDir);
             taskWatcher.watch(task);
-            TaskManager.addTask(task, PrintPDFTask.TASK_ID);
+            TaskMetrics.addTask(task, PrintPDFTask.TASK_ID);
         }
         return true;
     }
@@ -301,9 +302,9 @@ public class PrintDialog extends DialogFragment implements SimpleTaskWatcher.OnF
                     @Override
                     public void onClick(DialogInterface dialog, int which) {
                         mAlertShown = DialogShown.NONE;
-                        DownloadImagesTask task = new DownloadImagesTask();
+                        DownloadImagesTask task = new DownloadImagesTask(DownloadImages.getImageNames(mTargetTranslation));
                         taskWatcher.watch(task);
-                        TaskManager.addTask(task, DownloadImagesTask.TASK_ID);
+                        TaskMetrics.addTask(task, DownloadImagesTask.TASK_ID);
                     }
                 })
                 .show();
@@ -443,7 +444,7 @@ public class PrintDialog extends DialogFragment implements SimpleTaskWatcher.OnF
                         taskWatcher.watch(printTask);
                     }
                 });
-                TaskManager.addTask(printTask, PrintPDFTask.TASK_ID);
+                TaskMetrics.addTask(printTask, PrintPDFTask.TASK_ID);
             } else {
                 // download failed
                 new Handler(Looper.getMainLooper()).post(new Runnable() {
@@ -16,8 +16,9 @@ import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.core.Translator;
 import com.door43.translationstudio.ui.BaseActivity;
 import com.door43.translationstudio.tasks.ImportDraftTask;
+import com.door43.translationstudio.tasks.OpenResourceContainerTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
 import org.unfoldingword.tools.taskmanager.SimpleTaskWatcher;
@@ -34,7 +35,6 @@ public class DraftActivity extends BaseActivity implements SimpleTaskWatcher.OnF
     public static final String EXTRA_TARGET_TRANSLATION_ID = "target_translation_id";
     private TargetTranslation mTargetTranslation;
     private Translator mTranslator;
-    private Door43Client mLibrary;
     private RecyclerView mRecylerView;
     private LinearLayoutManager mLayoutManager;
     private DraftAdapter mAdapter;
@@ -49,7 +49,6 @@ public class DraftActivity extends BaseActivity implements SimpleTaskWatcher.OnF
         getSupportActionBar().setDisplayHomeAsUpEnabled(true);
 
         mTranslator = App.getTranslator();
-        mLibrary = App.getLibrary();
 
         // validate parameters
         List<Translation> draftTranslations = new ArrayList<>();
@@ -58,7 +57,7 @@ public class DraftActivity extends BaseActivity implements SimpleTaskWatcher.OnF
             String targetTranslationId = extras.getString(EXTRA_TARGET_TRANSLATION_ID, null);
             mTargetTranslation = mTranslator.getTargetTranslation(targetTranslationId);
             if(mTargetTranslation != null) {
-                draftTranslations = mLibrary.index().findTranslations(mTargetTranslation.getTargetLanguage().slug, mTargetTranslation.getProjectId(), null, "book", null, 0, -1);
+                draftTranslations = App.getLibrary().index().findTranslations(mTargetTranslation.getTargetLanguage().slug, mTargetTranslation.getProjectId(), null, "book", null, 0, -1);
             } else {
                 throw new InvalidParameterException("a valid target translation id is required");
             }
@@ -78,22 +77,19 @@ public class DraftActivity extends BaseActivity implements SimpleTaskWatcher.OnF
         mLayoutManager = new LinearLayoutManager(this);
         mRecylerView.setLayoutManager(mLayoutManager);
         mRecylerView.setItemAnimator(new DefaultItemAnimator());
-        // TODO: 10/6/16 we need to open the container in a task for better performance
-        ResourceContainer rc;
-        try {
-            rc = mLibrary.open(mDraftTranslation.resourceContainerSlug);
-        } catch (Exception e) {
-            e.printStackTrace();
-            finish();
-            return;
-        }
-        mSourceContainer = rc;
-        mAdapter = new DraftAdapter(this, mSourceContainer);
-        mRecylerView.setAdapter(mAdapter);
 
         taskWatcher = new SimpleTaskWatcher(this, R.string.loading);
         taskWatcher.setOnFinishedListener(this);
 
+        // TRICKY: the container may have to be extracted from the packaged archive first
+        String openTaskId = OpenResourceContainerTask.TASK_ID + "_" + mDraftTranslation.resourceContainerSlug;
+        ManagedTask openTask = TaskManager.getTask(openTaskId);
+        if(openTask == null) {
+            openTask = new OpenResourceContainerTask(mDraftTranslation.resourceContainerSlug);
+            TaskMetrics.addTask(openTask, openTaskId);
+        }
+        taskWatcher.watch(openTask);
+
         FloatingActionButton fab = (FloatingActionButton)findViewById(R.id.fab);
         fab.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -105,20 +101,15 @@ public class DraftActivity extends BaseActivity implements SimpleTaskWatcher.OnF
                         .setPositiveButton(R.string.label_import, new DialogInterface.OnClickListener() {
                             @Override
                             public void onClick(DialogInterface dialog, int which) {
+                                if(mSourceContainer == null) return;
                                 // // TODO: 1/20/2016 use the draft from the selected tab
                                 ImportDraftTask task = new ImportDraftTask(mSourceContainer);
                                 taskWatcher.watch(task);
-                                TaskManager.addTask(task, ImportDraftTask.TASK_ID);
+                                TaskMetrics.addTask(task, ImportDraftTask.TASK_ID);
                             }
                         }).show();
             }
         });
-
-        // re-attach to tasks
-        ManagedTask task = TaskManager.getTask(ImportDraftTask.TASK_ID);
-        if(task != null) {
-            taskWatcher.watch(task);
-        }
     }
 
     @Override
@@ -135,6 +126,22 @@ public class DraftActivity extends BaseActivity implements SimpleTaskWatcher.OnF
     public void onFinished(ManagedTask task) {
         taskWatcher.stop();
         TaskManager.clearTask(task);
+        if(task instanceof OpenResourceContainerTask) {
+            mSourceContainer = ((OpenResourceContainerTask) task).getContainer();
+            if(mSourceContainer == null) {
+                finish();
+                return;
+            }
+            mAdapter = new DraftAdapter(this, mSourceContainer);
+            mRecylerView.setAdapter(mAdapter);
+
+            // re-attach to tasks
+            ManagedTask importTask = TaskManager.getTask(ImportDraftTask.TASK_ID);
+            if(importTask != null) {
+                taskWatcher.watch(importTask);
+            }
+            return;
+        }
         TargetTranslation targetTranslation = ((ImportDraftTask) task).getTargetTranslation();
         if(targetTranslation != null) {
             finish();
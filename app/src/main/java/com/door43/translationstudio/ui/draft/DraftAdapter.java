@@ -23,7 +23,6 @@ import com.door43.translationstudio.ui.spannables.Span;
 import com.door43.widget.ViewUtil;
 
 import org.json.JSONException;
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.SourceLanguage;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
 
@@ -38,17 +37,15 @@ public class DraftAdapter extends RecyclerView.Adapter<DraftAdapter.ViewHolder>
     private final Activity mContext;
 
     private ResourceContainer mDraftTranslation;
-    private final Door43Client mLibrary;
     private String[] mChapters;
     private int mLayoutBuildNumber = 0;
 
     public DraftAdapter(Activity context, ResourceContainer draftTranslation) {
-        mLibrary = App.getLibrary();
         mContext = context;
         mDraftTranslation = draftTranslation;
         mSourceLanguage = null;
         try {
-            mSourceLanguage = mLibrary.index().getSourceLanguage(mDraftTranslation.info.getJSONObject("language").getString("slug"));
+            mSourceLanguage = App.getLibrary().index().getSourceLanguage(mDraftTranslation.info.getJSONObject("language").getString("slug"));
         } catch (JSONException e) {
             e.printStackTrace();
         }
@@ -64,7 +61,7 @@ public class DraftAdapter extends RecyclerView.Adapter<DraftAdapter.ViewHolder>
         mDraftTranslation = draftTranslation;
         mSourceLanguage = null;
         try {
-            mSourceLanguage = mLibrary.index().getSourceLanguage(mDraftTranslation.info.getJSONObject("language").getString("slug"));
+            mSourceLanguage = App.getLibrary().index().getSourceLanguage(mDraftTranslation.info.getJSONObject("language").getString("slug"));
         } catch (JSONException e) {
             e.printStackTrace();
         }
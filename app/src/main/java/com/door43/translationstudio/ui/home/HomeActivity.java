@@ -27,7 +27,6 @@ import android.widget.PopupMenu;
 import android.widget.TextView;
 
 import org.eclipse.jgit.merge.MergeStrategy;
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.TargetLanguage;
 import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.gogsclient.User;
@@ -53,23 +52,32 @@ import com.door43.translationstudio.ui.newtranslation.NewTargetTranslationActivi
 import com.door43.translationstudio.ui.dialogs.FeedbackDialog;
 import com.door43.translationstudio.ui.translate.TargetTranslationActivity;
 import com.door43.translationstudio.tasks.ExamineImportsForCollisionsTask;
+import com.door43.translationstudio.tasks.ExportToUsfmTask;
 import com.door43.translationstudio.tasks.ImportProjectsTask;
 import org.unfoldingword.tools.taskmanager.SimpleTaskWatcher;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
 
+import com.door43.translationstudio.tasks.MigrateTargetTranslationsTask;
 import com.door43.translationstudio.tasks.PullTargetTranslationTask;
 import com.door43.translationstudio.tasks.RegisterSSHKeysTask;
+import com.door43.translationstudio.tasks.SyncAllTargetTranslationsTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.tasks.UpdateAllTask;
 import com.door43.translationstudio.tasks.UpdateCatalogsTask;
 import com.door43.translationstudio.tasks.UpdateSourceTask;
 import com.door43.util.FileUtilities;
+import com.door43.util.SdUtils;
 import com.door43.widget.ViewUtil;
 
 
 import java.io.File;
 import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFinishedListener, WelcomeFragment.OnCreateNewTargetTranslation, TargetTranslationListFragment.OnItemClickListener, EventBuffer.OnEventListener, ManagedTask.OnProgressListener, ManagedTask.OnFinishedListener, DialogInterface.OnCancelListener {
     private static final int NEW_TARGET_TRANSLATION_REQUEST = 1;
@@ -78,7 +86,6 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
     public static final String STATE_DIALOG_TRANSLATION_ID = "state_dialog_translationID";
     public static final String TAG = HomeActivity.class.getSimpleName();
     public static final int INVALID = -1;
-    private Door43Client mLibrary;
     private Translator mTranslator;
     private Fragment mFragment;
     private SimpleTaskWatcher taskWatcher;
@@ -107,7 +114,6 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
             }
         });
 
-        mLibrary = App.getLibrary();
         mTranslator = App.getTranslator();
 
         if(findViewById(R.id.fragment_container) != null) {
@@ -150,6 +156,23 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
                                 mUpdateDialog = new UpdateLibraryDialog();
                                 showDialogFragment(mUpdateDialog, UpdateLibraryDialog.TAG);
                                 return true;
+                            case R.id.action_backup_all:
+                                if(TaskManager.getTask(SyncAllTargetTranslationsTask.TASK_ID) == null) {
+                                    SyncAllTargetTranslationsTask syncTask = new SyncAllTargetTranslationsTask();
+                                    syncTask.addOnProgressListener(HomeActivity.this);
+                                    syncTask.addOnFinishedListener(HomeActivity.this);
+                                    TaskMetrics.addTask(syncTask, SyncAllTargetTranslationsTask.TASK_ID);
+                                }
+                                return true;
+                            case R.id.action_export_all_usfm:
+                                if(TaskManager.getTask(ExportToUsfmTask.TASK_ID_ALL) == null) {
+                                    String fileName = "usfm_" + new SimpleDateFormat("yyyy-MM-dd_HH-mm", Locale.US).format(new Date()) + ".zip";
+                                    ExportToUsfmTask exportTask = new ExportToUsfmTask(HomeActivity.this, App.getTranslator().getTargetTranslations(), null, fileName, false);
+                                    exportTask.addOnProgressListener(HomeActivity.this);
+                                    exportTask.addOnFinishedListener(HomeActivity.this);
+                                    TaskMetrics.addTask(exportTask, ExportToUsfmTask.TASK_ID_ALL);
+                                }
+                                return true;
                             case R.id.action_import:
                                 ImportDialog importDialog = new ImportDialog();
                                 showDialogFragment(importDialog, ImportDialog.TAG);
@@ -230,7 +253,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
     private void doLogout() {
         User user = App.getProfile().gogsUser;
         LogoutTask task = new LogoutTask(user);
-        TaskManager.addTask(task, LogoutTask.TASK_ID);
+        TaskMetrics.addTask(task, LogoutTask.TASK_ID);
         task.addOnFinishedListener(this);
 
         App.setProfile(null);
@@ -294,6 +317,21 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
             task.addOnProgressListener(this);
             task.addOnFinishedListener(this);
         }
+        task = TaskManager.getTask(SyncAllTargetTranslationsTask.TASK_ID);
+        if(task != null) {
+            task.addOnProgressListener(this);
+            task.addOnFinishedListener(this);
+        }
+        task = TaskManager.getTask(ExportToUsfmTask.TASK_ID_ALL);
+        if(task != null) {
+            task.addOnProgressListener(this);
+            task.addOnFinishedListener(this);
+        }
+        ManagedTask migrationTask = TaskManager.getTask(MigrateTargetTranslationsTask.TASK_ID);
+        if(migrationTask != null) {
+            // reload the list once the background migration has finished
+            migrationTask.addOnFinishedListener(this);
+        }
 
         mTargetTranslationWithUpdates = App.getNotifyTargetTranslationWithUpdates();
         if(mTargetTranslationWithUpdates != null && task == null) {
@@ -434,7 +472,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
 
                 RegisterSSHKeysTask keyTask = new RegisterSSHKeysTask(false);
                 taskWatcher.watch(keyTask);
-                TaskManager.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
+                TaskMetrics.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
             } else if (status == PullTargetTranslationTask.Status.MERGE_CONFLICTS) {
                 new AlertDialog.Builder(this, R.style.AppTheme_Dialog)
                         .setTitle(R.string.success)
@@ -504,7 +542,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
                         mAlertShown = DialogShown.NONE;
                         RegisterSSHKeysTask keyTask = new RegisterSSHKeysTask(true);
                         taskWatcher.watch(keyTask);
-                        TaskManager.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
+                        TaskMetrics.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
                     }
                 })
                 .setNegativeButton(R.string.no, new DialogInterface.OnClickListener() {
@@ -562,7 +600,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
     private void importFromUri(ContentResolver resolver, Uri contentUri) {
         mExamineTask = new ExamineImportsForCollisionsTask(resolver, contentUri);
         taskWatcher.watch(mExamineTask);
-        TaskManager.addTask(mExamineTask, ExamineImportsForCollisionsTask.TASK_ID);
+        TaskMetrics.addTask(mExamineTask, ExamineImportsForCollisionsTask.TASK_ID);
     }
 
     /**
@@ -609,7 +647,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
     private void doArchiveImport(boolean overwrite) {
         ImportProjectsTask importTask = new ImportProjectsTask(mExamineTask.mProjectsFolder, overwrite);
         taskWatcher.watch(importTask);
-        TaskManager.addTask(importTask, ImportProjectsTask.TASK_ID);
+        TaskMetrics.addTask(importTask, ImportProjectsTask.TASK_ID);
     }
 
     /**
@@ -664,7 +702,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
                 String targetTranslationId = data.getStringExtra(NewTargetTranslationActivity.EXTRA_TARGET_TRANSLATION_ID);
                 TargetTranslation existingTranslation = mTranslator.getTargetTranslation(targetTranslationId);
                 if(existingTranslation != null) {
-                    Project project = mLibrary.index().getProject(App.getDeviceLanguageCode(), existingTranslation.getProjectId(), true);
+                    Project project = App.getLibrary().index().getProject(App.getDeviceLanguageCode(), existingTranslation.getProjectId(), true);
                     Snackbar snack = Snackbar.make(findViewById(android.R.id.content), String.format(getResources().getString(R.string.duplicate_target_translation), project.name, existingTranslation.getTargetLanguageName()), Snackbar.LENGTH_LONG);
                     ViewUtil.setSnackBarTextColor(snack, getResources().getColor(R.color.light_primary_text));
                     snack.show();
@@ -681,7 +719,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
                 String taskId = UpdateSourceTask.TASK_ID;
                 task.addOnProgressListener(this);
                 task.addOnFinishedListener(this);
-                TaskManager.addTask(task, taskId);
+                TaskMetrics.addTask(task, taskId);
             }
         }
     }
@@ -744,7 +782,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
                     MergeStrategy.RECURSIVE,
                     null);
             taskWatcher.watch(task);
-            TaskManager.addTask(task, PullTargetTranslationTask.TASK_ID);
+            TaskMetrics.addTask(task, PullTargetTranslationTask.TASK_ID);
         } else {
             Snackbar snack = Snackbar.make(findViewById(android.R.id.content), R.string.internet_not_available, Snackbar.LENGTH_LONG);
             ViewUtil.setSnackBarTextColor(snack, getResources().getColor(R.color.light_primary_text));
@@ -817,6 +855,10 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
             task.removeOnProgressListener(this);
             task.removeOnFinishedListener(this);
         }
+        task = TaskManager.getTask(MigrateTargetTranslationsTask.TASK_ID);
+        if(task != null) {
+            task.removeOnFinishedListener(this);
+        }
 
         // dismiss progress
         Handler hand = new Handler(Looper.getMainLooper());
@@ -884,7 +926,7 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
             }
             task.addOnProgressListener(this);
             task.addOnFinishedListener(this);
-            TaskManager.addTask(task, taskId);
+            TaskMetrics.addTask(task, taskId);
 
         }
     }
@@ -968,7 +1010,10 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
         hand.post(new Runnable() {
             @Override
             public void run() {
-                if(task instanceof GetAvailableSourcesTask) {
+                if(task instanceof MigrateTargetTranslationsTask) {
+                    // show the target translations that were hidden during the migration
+                    notifyDatasetChanged();
+                } else if(task instanceof GetAvailableSourcesTask) {
                     GetAvailableSourcesTask availableSourcesTask = (GetAvailableSourcesTask) task;
                     if (progressDialog != null) {
                         progressDialog.dismiss();
@@ -996,6 +1041,29 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
                         SettingsActivity.promptUserToDownloadLatestVersion(HomeActivity.this, checkForLatestReleaseTask.getLatestRelease());
                     }
 
+                } else if(task instanceof SyncAllTargetTranslationsTask) {
+                    if (progressDialog != null) {
+                        progressDialog.dismiss();
+                        progressDialog = null;
+                    }
+                    showSyncAllResults((SyncAllTargetTranslationsTask) task);
+                } else if(task instanceof ExportToUsfmTask) {
+                    if (progressDialog != null) {
+                        progressDialog.dismiss();
+                        progressDialog = null;
+                    }
+                    Uri exportFile = (Uri) task.getResult();
+                    String message;
+                    if(exportFile != null) {
+                        message = String.format(getResources().getString(R.string.export_success), SdUtils.getPathString(exportFile.toString()));
+                    } else {
+                        message = getResources().getString(R.string.export_failed);
+                    }
+                    new AlertDialog.Builder(HomeActivity.this, R.style.AppTheme_Dialog)
+                            .setTitle(R.string.export_all_to_usfm)
+                            .setMessage(message)
+                            .setPositiveButton(R.string.dismiss, null)
+                            .show();
                 } else if(task instanceof LogoutTask) {
                     if (progressDialog != null) {
                         progressDialog.dismiss();
@@ -1057,6 +1125,72 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
         });
     }
 
+    /**
+     * Displays the result of uploading all of the projects
+     * @param task
+     */
+    private void showSyncAllResults(SyncAllTargetTranslationsTask task) {
+        Map<String, SyncAllTargetTranslationsTask.Status> results = task.getResults();
+        int uploaded = 0;
+        StringBuilder conflicts = new StringBuilder();
+        StringBuilder failed = new StringBuilder();
+        for(Map.Entry<String, SyncAllTargetTranslationsTask.Status> entry:results.entrySet()) {
+            switch (entry.getValue()) {
+                case OK:
+                    uploaded ++;
+                    break;
+                case MERGE_CONFLICTS:
+                case REJECTED:
+                    conflicts.append("\n").append(entry.getKey());
+                    break;
+                default:
+                    failed.append("\n").append(entry.getKey());
+                    break;
+            }
+        }
+
+        StringBuilder message = new StringBuilder(getResources().getString(R.string.backup_all_results, uploaded, results.size()));
+        if(conflicts.length() > 0) {
+            message.append("\n\n").append(getResources().getString(R.string.backup_all_conflicts)).append(conflicts);
+        }
+        if(failed.length() > 0) {
+            message.append("\n\n").append(getResources().getString(R.string.backup_all_failed)).append(failed);
+        }
+        if(task.isAuthFailure()) {
+            message.append("\n\n").append(getResources().getString(R.string.auth_failure_retry));
+        }
+
+        AlertDialog.Builder dlg = new AlertDialog.Builder(this, R.style.AppTheme_Dialog)
+                .setTitle(uploaded == results.size() ? R.string.success : R.string.backup_failed_title)
+                .setMessage(message.toString());
+        if(task.isAuthFailure()) {
+            dlg.setPositiveButton(R.string.yes, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialog, int which) {
+                    // register new keys and try again
+                    RegisterSSHKeysTask keyTask = new RegisterSSHKeysTask(true);
+                    keyTask.addOnFinishedListener(new ManagedTask.OnFinishedListener() {
+                        @Override
+                        public void onTaskFinished(ManagedTask finishedTask) {
+                            TaskManager.clearTask(finishedTask);
+                            if(((RegisterSSHKeysTask) finishedTask).isSuccess()) {
+                                SyncAllTargetTranslationsTask syncTask = new SyncAllTargetTranslationsTask();
+                                syncTask.addOnProgressListener(HomeActivity.this);
+                                syncTask.addOnFinishedListener(HomeActivity.this);
+                                TaskMetrics.addTask(syncTask, SyncAllTargetTranslationsTask.TASK_ID);
+                            }
+                        }
+                    });
+                    TaskMetrics.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
+                }
+            });
+            dlg.setNegativeButton(R.string.no, null);
+        } else {
+            dlg.setPositiveButton(R.string.dismiss, null);
+        }
+        dlg.show();
+    }
+
     private boolean isTaskSuccess(ManagedTask task) {
         boolean success = false;
         if(task instanceof UpdateAllTask) {
@@ -1080,6 +1214,8 @@ public class HomeActivity extends BaseActivity implements SimpleTaskWatcher.OnFi
         if(task != null) TaskManager.cancelTask(task);
         task = TaskManager.getTask(UpdateCatalogsTask.TASK_ID);
         if(task != null) TaskManager.cancelTask(task);
+        task = TaskManager.getTask(SyncAllTargetTranslationsTask.TASK_ID);
+        if(task != null) TaskManager.cancelTask(task);
     }
 
     /**
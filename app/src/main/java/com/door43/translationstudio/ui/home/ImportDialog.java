@@ -29,6 +29,7 @@ import org.unfoldingword.tools.taskmanager.TaskManager;
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.tasks.ImportProjectFromUriTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.filechooser.FileChooserActivity;
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.core.TranslationViewMode;
@@ -355,7 +356,7 @@ public class ImportDialog extends DialogFragment implements SimpleTaskWatcher.On
         mImportUri = importUri;
         ImportProjectFromUriTask importProjectFromUriTask = new ImportProjectFromUriTask(mImportUri, mMergeSelection == MergeOptions.OVERWRITE);
         taskWatcher.watch(importProjectFromUriTask);
-        TaskManager.addTask(importProjectFromUriTask, ImportProjectFromUriTask.TASK_ID);
+        TaskMetrics.addTask(importProjectFromUriTask, ImportProjectFromUriTask.TASK_ID);
     }
 
     /**
@@ -35,6 +35,8 @@ import com.door43.translationstudio.tasks.AdvancedGogsRepoSearchTask;
 import com.door43.translationstudio.tasks.CloneRepositoryTask;
 import com.door43.translationstudio.tasks.RegisterSSHKeysTask;
 import com.door43.translationstudio.tasks.SearchGogsRepositoriesTask;
+import com.door43.translationstudio.tasks.SubmitNewLanguageRequestsTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import org.unfoldingword.tools.taskmanager.SimpleTaskWatcher;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
@@ -121,7 +123,7 @@ public class ImportFromDoor43Dialog extends DialogFragment implements SimpleTask
                 Profile profile = App.getProfile();
                 if(profile != null && profile.gogsUser != null) {
                     AdvancedGogsRepoSearchTask task = new AdvancedGogsRepoSearchTask(profile.gogsUser, userQuery, repoQuery, 50);
-                    TaskManager.addTask(task, AdvancedGogsRepoSearchTask.TASK_ID);
+                    TaskMetrics.addTask(task, AdvancedGogsRepoSearchTask.TASK_ID);
                     taskWatcher.watch(task);
                 } else {
                     Snackbar snack = Snackbar.make(getActivity().findViewById(android.R.id.content), getResources().getString(R.string.login_doo43), Snackbar.LENGTH_LONG);
@@ -189,6 +191,19 @@ public class ImportFromDoor43Dialog extends DialogFragment implements SimpleTask
             }
         }
 
+        // submit new language requests once in the background instead of with every search
+        if(savedInstanceState == null && App.isNetworkAvailable()
+                && TaskManager.getTask(SubmitNewLanguageRequestsTask.TASK_ID) == null) {
+            SubmitNewLanguageRequestsTask requestsTask = new SubmitNewLanguageRequestsTask();
+            requestsTask.addOnFinishedListener(new ManagedTask.OnFinishedListener() {
+                @Override
+                public void onTaskFinished(ManagedTask task) {
+                    TaskManager.clearTask(task);
+                }
+            });
+            TaskMetrics.addTask(requestsTask, SubmitNewLanguageRequestsTask.TASK_ID);
+        }
+
         // connect to existing task
         AdvancedGogsRepoSearchTask searchTask = (AdvancedGogsRepoSearchTask) TaskManager.getTask(AdvancedGogsRepoSearchTask.TASK_ID);
         CloneRepositoryTask cloneTask = (CloneRepositoryTask) TaskManager.getTask(CloneRepositoryTask.TASK_ID);
@@ -223,7 +238,7 @@ public class ImportFromDoor43Dialog extends DialogFragment implements SimpleTask
         mMergeSelection = mergeSelection;
         CloneRepositoryTask task = new CloneRepositoryTask(mCloneHtmlUrl, cloneDestDir);
         taskWatcher.watch(task);
-        TaskManager.addTask(task, CloneRepositoryTask.TASK_ID);
+        TaskMetrics.addTask(task, CloneRepositoryTask.TASK_ID);
     }
 
     /**
@@ -372,7 +387,7 @@ public class ImportFromDoor43Dialog extends DialogFragment implements SimpleTask
 
                     RegisterSSHKeysTask keyTask = new RegisterSSHKeysTask(false);
                     taskWatcher.watch(keyTask);
-                    TaskManager.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
+                    TaskMetrics.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
                 } else {
                     notifyImportFailed();
                 }
@@ -475,7 +490,7 @@ public class ImportFromDoor43Dialog extends DialogFragment implements SimpleTask
                         mDialogShown = DialogShown.NONE;
                         RegisterSSHKeysTask keyTask = new RegisterSSHKeysTask(true);
                         taskWatcher.watch(keyTask);
-                        TaskManager.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
+                        TaskMetrics.addTask(keyTask, RegisterSSHKeysTask.TASK_ID);
                     }
                 })
                 .setNegativeButton(R.string.no, new DialogInterface.OnClickListener() {
@@ -28,6 +28,7 @@ import org.unfoldingword.tools.logger.Logger;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
 
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.tasks.TranslationProgressTask;
 import com.door43.widget.ViewUtil;
 import com.filippudak.ProgressPieView.ProgressPieView;
@@ -183,7 +184,7 @@ public class TargetTranslationAdapter extends BaseAdapter implements ManagedTask
             } else {
                 progressTask = new TranslationProgressTask(targetTranslation);
                 progressTask.addOnFinishedListener(this);
-                TaskManager.addTask(progressTask, TranslationProgressTask.TASK_ID + targetTranslation.getId());
+                TaskMetrics.addTask(progressTask, TranslationProgressTask.TASK_ID + targetTranslation.getId());
                 TaskManager.groupTask(progressTask, "calc-translation-progress");
             }
         } else {
@@ -27,6 +27,7 @@ import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.core.TranslationType;
 import com.door43.translationstudio.core.Translator;
 import com.door43.translationstudio.core.Typography;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.tasks.TranslationProgressTask;
 import com.door43.translationstudio.ui.dialogs.PrintDialog;
 import com.door43.translationstudio.ui.newtranslation.NewTargetTranslationActivity;
@@ -114,7 +115,7 @@ public class TargetTranslationInfoDialog extends DialogFragment implements Manag
         if(task == null) {
             task = new TranslationProgressTask(mTargetTranslation);
             task.addOnFinishedListener(this);
-            TaskManager.addTask(task, TranslationProgressTask.TASK_ID);
+            TaskMetrics.addTask(task, TranslationProgressTask.TASK_ID);
         } else {
             task.addOnFinishedListener(this);
         }
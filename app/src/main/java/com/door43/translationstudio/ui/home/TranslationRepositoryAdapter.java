@@ -30,13 +30,8 @@ public class TranslationRepositoryAdapter extends BaseAdapter {
 
     private List<Repository> repositories = new ArrayList<>();
     private Item[] items = new Item[0];
-    private final Door43Client library;
     private boolean textOnlyResources = false; // if set then anything not a text resource is disabled
 
-    public TranslationRepositoryAdapter() {
-        this.library = App.getLibrary();
-    }
-
     @Override
     public int getCount() {
         return this.repositories.size();
@@ -165,6 +160,7 @@ public class TranslationRepositoryAdapter extends BaseAdapter {
                         }
                     }
 
+                    Door43Client library = App.getLibrary();
                     Project p = library.index.getProject(App.getDeviceLanguageCode(), projectSlug, true);
                     if (p != null) {
                         projectName = p.name;
@@ -23,6 +23,7 @@ import com.door43.translationstudio.R;
 import com.door43.translationstudio.core.MergeConflictsHandler;
 import com.door43.translationstudio.core.TranslationViewMode;
 import com.door43.translationstudio.tasks.MergeTargetTranslationTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.SettingsActivity;
 import com.door43.translationstudio.core.NewLanguageRequest;
 import com.door43.translationstudio.core.TargetTranslation;
@@ -164,7 +165,7 @@ public class NewTargetTranslationActivity extends BaseActivity implements Target
                         mDialogShown = DialogShown.NONE;
                         MergeTargetTranslationTask mergeTask = new MergeTargetTranslationTask(existingTranslation, sourceTargetTranslation, true);
                         taskWatcher.watch(mergeTask);
-                        TaskManager.addTask(mergeTask, MergeTargetTranslationTask.TASK_ID);
+                        TaskMetrics.addTask(mergeTask, MergeTargetTranslationTask.TASK_ID);
                     }
                 })
                 .setNegativeButton(R.string.no, new DialogInterface.OnClickListener() {
@@ -331,7 +332,11 @@ public class NewTargetTranslationActivity extends BaseActivity implements Target
 
                 newProjectCreated(targetTranslation);
             } else {
-                App.getTranslator().deleteTargetTranslation(TargetTranslation.generateTargetTranslationId(mSelectedTargetLanguage.slug, projectId, ResourceType.TEXT, resourceSlug));
+                String targetTranslationId = TargetTranslation.generateTargetTranslationId(mSelectedTargetLanguage.slug, projectId, ResourceType.TEXT, resourceSlug);
+                // TRICKY: a translation that is waiting to be migrated already exists and must be kept
+                if(!Translator.isMigrationPending(targetTranslationId)) {
+                    App.getTranslator().deleteTargetTranslation(targetTranslationId);
+                }
                 Intent data = new Intent();
                 setResult(RESULT_ERROR, data);
                 finish();
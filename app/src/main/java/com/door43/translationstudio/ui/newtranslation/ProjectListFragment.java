@@ -16,7 +16,6 @@ import com.door43.translationstudio.ui.Searchable;
 import com.door43.translationstudio.ui.BaseFragment;
 import com.door43.translationstudio.App;
 
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.CategoryEntry;
 
 import java.util.List;
@@ -27,13 +26,11 @@ import java.util.List;
  */
 public class ProjectListFragment extends BaseFragment implements Searchable {
     private OnItemClickListener mListener;
-    private Door43Client mLibrary;
     private ProjectCategoryAdapter mAdapter;
 
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         View rootView = inflater.inflate(R.layout.fragment_project_list, container, false);
 
-        mLibrary = App.getLibrary();
 
         EditText searchView = (EditText) rootView.findViewById(R.id.search_text);
         searchView.setHint(R.string.choose_a_project);
@@ -46,7 +43,7 @@ public class ProjectListFragment extends BaseFragment implements Searchable {
         // TODO: set up update button
 
         ListView list = (ListView) rootView.findViewById(R.id.list);
-        List<CategoryEntry> entries = mLibrary.index().getProjectCategories(0, App.getDeviceLanguageCode(), "all");
+        List<CategoryEntry> entries = App.getLibrary().index().getProjectCategories(0, App.getDeviceLanguageCode(), "all");
         mAdapter = new ProjectCategoryAdapter(entries);
         list.setAdapter(mAdapter);
         list.setOnItemClickListener(new AdapterView.OnItemClickListener() {
@@ -57,7 +54,7 @@ public class ProjectListFragment extends BaseFragment implements Searchable {
                     mListener.onItemClick(category.slug);
                 } else {
                     // TODO: we need to display another back arrow to back up a level in the categories
-                    mAdapter.changeData(mLibrary.index().getProjectCategories(category.id, App.getDeviceLanguageCode(), "all"));
+                    mAdapter.changeData(App.getLibrary().index().getProjectCategories(category.id, App.getDeviceLanguageCode(), "all"));
 
                     updateIcon.setVisibility(View.GONE);
                 }
@@ -23,6 +23,7 @@ import java.security.InvalidParameterException;
 import java.util.List;
 
 import org.unfoldingword.door43client.Door43Client;
+import org.unfoldingword.resourcecontainer.ContainerTools;
 import org.unfoldingword.resourcecontainer.Project;
 import org.unfoldingword.resourcecontainer.Resource;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
@@ -90,6 +91,7 @@ public class PublishActivity extends BaseActivity implements PublishStepFragment
                     List<Resource> resources = library.index().getResources(p.languageSlug, p.slug);
                     ResourceContainer resourceContainer = null;
                     try {
+                        App.prepareContainer(ContainerTools.makeSlug(p.languageSlug, p.slug, resources.get(0).slug));
                         resourceContainer = library.open(p.languageSlug, p.slug, resources.get(0).slug);
                     } catch (Exception e) {
                         e.printStackTrace();
@@ -245,6 +247,7 @@ public class PublishActivity extends BaseActivity implements PublishStepFragment
             List<Resource> resources = App.getLibrary().index().getResources(p.languageSlug, p.slug);
             ResourceContainer resourceContainer = null;
             try {
+                App.prepareContainer(ContainerTools.makeSlug(p.languageSlug, p.slug, resources.get(0).slug));
                 resourceContainer = App.getLibrary().open(p.languageSlug, p.slug, resources.get(0).slug);
             } catch (Exception e) {
                 e.printStackTrace();
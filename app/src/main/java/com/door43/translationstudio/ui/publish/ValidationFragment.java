@@ -12,6 +12,7 @@ import android.view.ViewGroup;
 import android.widget.LinearLayout;
 
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.tasks.ValidationTask;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
@@ -60,7 +61,7 @@ public class ValidationFragment extends PublishStepFragment implements ManagedTa
             // start new task
             task = new ValidationTask(getActivity(), targetTranslationId, sourceTranslationId);
             task.addOnFinishedListener(this);
-            TaskManager.addTask(task);
+            TaskMetrics.addTask(task);
         }
 
         return rootView;
@@ -1,5 +1,7 @@
 package com.door43.translationstudio.ui.spannables;
 
+import com.door43.translationstudio.rendering.PatternRegistry;
+
 import java.util.regex.Pattern;
 
 /**
@@ -37,7 +39,7 @@ public class USFMChar {
      * @return
      */
     public static Pattern getPattern(String style) {
-        return Pattern.compile("\\\\f"+style+"+\\s([^\\\\]+)", Pattern.DOTALL); // \\f(\S)+\s([^\\]+)
+        return PatternRegistry.get("\\\\f"+style+"+\\s([^\\\\]+)", Pattern.DOTALL); // \\f(\S)+\s([^\\]+)
     }
 }
 
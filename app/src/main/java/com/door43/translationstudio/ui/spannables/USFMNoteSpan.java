@@ -15,6 +15,7 @@ import android.text.style.StyleSpan;
 
 import com.door43.translationstudio.R;
 import com.door43.translationstudio.App;
+import com.door43.translationstudio.rendering.PatternRegistry;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -184,7 +185,7 @@ public class USFMNoteSpan extends NoteSpan {
     public static USFMNoteSpan parseNote(CharSequence caller, CharSequence noteText) {
         List<USFMChar> chars = new ArrayList<>();
 
-        Pattern pattern = Pattern.compile(CHAR_PATTERN);
+        Pattern pattern = PatternRegistry.USFM_NOTE_CHAR;
         Matcher matcher = pattern.matcher(noteText);
         int lastIndex = 0;
         CharSequence note = "";
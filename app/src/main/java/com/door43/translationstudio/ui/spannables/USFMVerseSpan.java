@@ -7,16 +7,17 @@ import android.text.style.RelativeSizeSpan;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.core.UsfmVerses;
+import com.door43.translationstudio.rendering.PatternRegistry;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created by joel on 1/27/2015.
  * TODO: we need to provide support for rendering with a range of verses as well as provide accessor methods to the ranged verse numbers
  */
 public class USFMVerseSpan extends VerseSpan {
-    public static final String PATTERN = "\\\\v\\s(\\d+(-\\d+)?)\\s?";
+    public static final String PATTERN = UsfmVerses.PATTERN;
     private int mStartVerseNumber = 0;
     private int mEndVerseNumber = 0;
     //    private int mVerseNumber = -1;
@@ -97,8 +98,7 @@ public class USFMVerseSpan extends VerseSpan {
      * @return
      */
     public static USFMVerseSpan parseVerse(String usfm) {
-        Pattern pattern = Pattern.compile(PATTERN);
-        Matcher matcher = pattern.matcher(usfm);
+        Matcher matcher = PatternRegistry.USFM_VERSE.matcher(usfm);
         while(matcher.find()) {
             return new USFMVerseSpan(matcher.group(1));
         }
@@ -112,39 +112,6 @@ public class USFMVerseSpan extends VerseSpan {
      * @return int[0] if no verses, int[1] if one verse, int[2] if a range of verses
      */
     public static int[] getVerseRange(CharSequence text) {
-        // locate verse range
-        Pattern pattern = Pattern.compile(PATTERN);
-        Matcher matcher = pattern.matcher(text);
-        int numVerses = 0;
-        int startVerse = 0;
-        int endVerse = 0;
-        USFMVerseSpan verse = null;
-        while(matcher.find()) {
-            verse = new USFMVerseSpan(matcher.group(1));
-
-            if(numVerses == 0) {
-                // first verse
-                startVerse = verse.getStartVerseNumber();
-                endVerse = verse.getEndVerseNumber();
-            }
-            numVerses ++;
-        }
-        if(verse != null) {
-            if(verse.getEndVerseNumber() > 0) {
-                endVerse = verse.getEndVerseNumber();
-            } else {
-                endVerse = verse.getStartVerseNumber();
-            }
-        }
-        if(startVerse <= 0 || endVerse <= 0) {
-            // no verse range
-            return new int[0];
-        } else if(startVerse == endVerse) {
-            // single verse
-            return new int[]{startVerse};
-        } else {
-            // verse range
-            return new int[]{startVerse, endVerse};
-        }
+        return UsfmVerses.getVerseRange(text);
     }
 }
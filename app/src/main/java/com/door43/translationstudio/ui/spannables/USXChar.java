@@ -1,5 +1,7 @@
 package com.door43.translationstudio.ui.spannables;
 
+import com.door43.translationstudio.rendering.PatternRegistry;
+
 import java.util.regex.Pattern;
 
 /**
@@ -37,6 +39,6 @@ public class USXChar {
      * @return
      */
     public static Pattern getPattern(String style) {
-        return Pattern.compile("<char\\s+style=\"" + style + "\"\\s*>\\s*(((?!</char>).)*)</char>", Pattern.DOTALL);
+        return PatternRegistry.get("<char\\s+style=\"" + style + "\"\\s*>\\s*(((?!</char>).)*)</char>", Pattern.DOTALL);
     }
 }
@@ -7,9 +7,10 @@ import android.text.style.RelativeSizeSpan;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.R;
+import com.door43.translationstudio.core.UsfmVerses;
+import com.door43.translationstudio.rendering.PatternRegistry;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created by joel on 1/27/2015.
@@ -97,8 +98,7 @@ public class USXVerseSpan extends VerseSpan {
      * @return
      */
     public static USXVerseSpan parseVerse(String usx) {
-        Pattern pattern = Pattern.compile(PATTERN);
-        Matcher matcher = pattern.matcher(usx);
+        Matcher matcher = PatternRegistry.USX_VERSE.matcher(usx);
         while(matcher.find()) {
             return new USXVerseSpan(matcher.group(1));
         }
@@ -113,38 +113,21 @@ public class USXVerseSpan extends VerseSpan {
      */
     public static int[] getVerseRange(CharSequence text) {
         // locate verse range
-        Pattern pattern = Pattern.compile(USXVerseSpan.PATTERN);
-        Matcher matcher = pattern.matcher(text);
-        int numVerses = 0;
+        Matcher matcher = PatternRegistry.USX_VERSE.matcher(text);
         int startVerse = 0;
         int endVerse = 0;
-        USXVerseSpan verse = null;
+        boolean found = false;
+        int[] verses = new int[2];
         while(matcher.find()) {
-            verse = new USXVerseSpan(matcher.group(1));
-
-            if(numVerses == 0) {
+            UsfmVerses.parseVerseNumbers(text, matcher.start(1), matcher.end(1), verses);
+            if(!found) {
                 // first verse
-                startVerse = verse.getStartVerseNumber();
-                endVerse = verse.getEndVerseNumber();
-            }
-            numVerses ++;
-        }
-        if(verse != null) {
-            if(verse.getEndVerseNumber() > 0) {
-                endVerse = verse.getEndVerseNumber();
-            } else {
-                endVerse = verse.getStartVerseNumber();
+                startVerse = verses[0];
+                found = true;
             }
+            // last verse
+            endVerse = verses[1] > 0 ? verses[1] : verses[0];
         }
-        if(startVerse <= 0 || endVerse <= 0) {
-            // no verse range
-            return new int[0];
-        } else if(startVerse == endVerse) {
-            // single verse
-            return new int[]{startVerse};
-        } else {
-            // verse range
-            return new int[]{startVerse, endVerse};
-        }
+        return UsfmVerses.toVerseRange(startVerse, endVerse);
     }
 }
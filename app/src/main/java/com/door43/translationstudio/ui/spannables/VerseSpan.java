@@ -24,6 +24,4 @@ public class VerseSpan extends Span {
     public int getEndVerseNumber() {
         return -1;
     }
-
-
 }
@@ -30,6 +30,7 @@ import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
+import com.door43.translationstudio.tasks.TaskMetrics;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -115,6 +116,7 @@ public class ChooseSourceTranslationAdapter extends BaseAdapter {
                     Log.i(TAG, "Checking for updates on " + item.containerSlug);
                     try {
                         if (interrupted()) return;
+                        App.prepareContainer(item.containerSlug);
                         ResourceContainer container = App.getLibrary().open(item.containerSlug);
                         int lastModified = App.getLibrary().getResourceContainerLastModified(container.language.slug, container.project.slug, container.resource.slug);
                         setResult(lastModified > container.modifiedAt);
@@ -147,7 +149,7 @@ public class ChooseSourceTranslationAdapter extends BaseAdapter {
                     });
                 }
             });
-            item.currentTaskId = TaskManager.addTask(task);
+            item.currentTaskId = TaskMetrics.addTask(task);
         }
     }
 
@@ -29,9 +29,9 @@ import com.door43.translationstudio.core.ContainerCache;
 import com.door43.translationstudio.core.TargetTranslation;
 import com.door43.translationstudio.core.Translator;
 import com.door43.translationstudio.tasks.DownloadResourceContainerTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.widget.ViewUtil;
 
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.Translation;
 
 import java.text.NumberFormat;
@@ -54,7 +54,6 @@ public class ChooseSourceTranslationDialog extends DialogFragment implements Man
     private TargetTranslation mTargetTranslation;
     private OnClickListener mListener;
     private ChooseSourceTranslationAdapter mAdapter;
-    private Door43Client mLibrary;
     private ProgressDialog mProgressDialog;
     private boolean mInitializing = true;
 
@@ -63,7 +62,6 @@ public class ChooseSourceTranslationDialog extends DialogFragment implements Man
         View v = inflater.inflate(R.layout.dialog_choose_source_translation, container, false);
 
         mTranslator = App.getTranslator();
-        mLibrary = App.getLibrary();
 
         Bundle args = getArguments();
         if(args == null) {
@@ -135,7 +133,7 @@ public class ChooseSourceTranslationDialog extends DialogFragment implements Man
                                         task.addOnProgressListener(ChooseSourceTranslationDialog.this);
                                         task.TAG = position;
                                         mProgressDialog = null;
-                                        TaskManager.addTask(task, TASK_DOWNLOAD_CONTAINER);
+                                        TaskMetrics.addTask(task, TASK_DOWNLOAD_CONTAINER);
                                     }
                                 })
                                 .setNegativeButton(R.string.no, new DialogInterface.OnClickListener() {
@@ -167,7 +165,7 @@ public class ChooseSourceTranslationDialog extends DialogFragment implements Man
                             .setPositiveButton(R.string.confirm, new DialogInterface.OnClickListener() {
                                 @Override
                                 public void onClick(DialogInterface dialog, int which) {
-                                    mLibrary.delete(item.containerSlug);
+                                    App.deleteContainer(App.getLibrary(), item.containerSlug);
                                     mAdapter.markItemDeleted(position);
                                 }
                             })
@@ -263,14 +261,14 @@ public class ChooseSourceTranslationDialog extends DialogFragment implements Man
                     // add selected source translations
                     String[] sourceTranslationSlugs = App.getOpenSourceTranslations(mTargetTranslation.getId());
                     for (String slug : sourceTranslationSlugs) {
-                        Translation st = mLibrary.index.getTranslation(slug);
+                        Translation st = App.getLibrary().index.getTranslation(slug);
                         if (st != null) {
                             this.publishProgress(-1,st.resourceContainerSlug);
                             addSourceTranslation(st, true);
                         }
                     }
 
-                    List<Translation> availableTranslations = mLibrary.index.findTranslations(null, mTargetTranslation.getProjectId(), null, "book", null, App.MIN_CHECKING_LEVEL, -1);
+                    List<Translation> availableTranslations = App.getLibrary().index.findTranslations(null, mTargetTranslation.getProjectId(), null, "book", null, App.MIN_CHECKING_LEVEL, -1);
                     for (Translation sourceTranslation : availableTranslations) {
                         this.publishProgress(-1,sourceTranslation.resourceContainerSlug);
                         addSourceTranslation(sourceTranslation, false);
@@ -280,7 +278,7 @@ public class ChooseSourceTranslationDialog extends DialogFragment implements Man
 
             initTask.addOnFinishedListener(this);
             initTask.addOnProgressListener(this);
-            TaskManager.addTask(initTask, TASK_INIT);
+            TaskMetrics.addTask(initTask, TASK_INIT);
         } else {
             // connect to existing
             initTask.addOnFinishedListener(this);
@@ -302,7 +300,7 @@ public class ChooseSourceTranslationDialog extends DialogFragment implements Man
      */
     private void addSourceTranslation(final Translation sourceTranslation, final boolean selected) {
         final String title = sourceTranslation.language.name + " (" + sourceTranslation.language.slug + ") - " + sourceTranslation.resource.name;
-        final boolean isDownloaded = mLibrary.exists(sourceTranslation.resourceContainerSlug);
+        final boolean isDownloaded = App.containerExists(App.getLibrary(), sourceTranslation.resourceContainerSlug);
         mAdapter.addItem(new ChooseSourceTranslationAdapter.ViewItem(title, sourceTranslation, selected, isDownloaded), selected);
     }
 
@@ -29,7 +29,6 @@ import android.widget.ImageButton;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
 
@@ -72,7 +71,6 @@ public class ChunkModeAdapter extends ViewModeAdapter<ChunkModeAdapter.ViewHolde
     private static final int TOP_ELEVATION = 3;
     private final TargetTranslation mTargetTranslation;
     private ResourceContainer mSourceContainer;
-    private final Door43Client mLibrary;
     private final Translator mTranslator;
     private List<ListItem> mItems = new ArrayList<>();
     private List<ListItem> mFilteredItems = new ArrayList<>();
@@ -87,7 +85,6 @@ public class ChunkModeAdapter extends ViewModeAdapter<ChunkModeAdapter.ViewHolde
         this.startingChapterSlug = startingChapterSlug;
         this.startingChunkSlug = startingChunkSlug;
 
-        mLibrary = App.getLibrary();
         mTranslator = App.getTranslator();
         mContext = context;
         mTargetTranslation = mTranslator.getTargetTranslation(targetTranslationId);
@@ -154,11 +151,11 @@ public class ChunkModeAdapter extends ViewModeAdapter<ChunkModeAdapter.ViewHolde
         List<ContentValues> tabContents = new ArrayList<>();
         String[] sourceTranslationIds = App.getOpenSourceTranslations(mTargetTranslation.getId());
         for(String slug:sourceTranslationIds) {
-            Translation st = mLibrary.index().getTranslation(slug);
+            Translation st = App.getLibrary().index().getTranslation(slug);
             if(st != null) {
                 ContentValues values = new ContentValues();
                 // include the resource id if there are more than one
-                if(mLibrary.index().getResources(st.language.slug, st.project.slug).size() > 1) {
+                if(App.getLibrary().index().getResources(st.language.slug, st.project.slug).size() > 1) {
                     values.put("title", st.language.name + " " + st.resource.slug.toUpperCase());
                 } else {
                     values.put("title", st.language.name);
@@ -216,6 +213,7 @@ public class ChunkModeAdapter extends ViewModeAdapter<ChunkModeAdapter.ViewHolde
         int cardMargin = mContext.getResources().getDimensionPixelSize(R.dimen.card_margin);
         int stackedCardMargin = mContext.getResources().getDimensionPixelSize(R.dimen.stacked_card_margin);
         final ListItem item = mFilteredItems.get(position);
+        bindListItem(holder, item);
         if(((ChunkListItem)item).isTargetCardOpen) {
             // target on top
             // elevation takes precedence for API 21+
@@ -37,7 +37,6 @@ import java.util.List;
 public class FirstTabFragment extends BaseFragment implements ChooseSourceTranslationDialog.OnClickListener {
 
     private Translator mTranslator;
-    private Door43Client mLibrary;
     private OnEventListener mListener;
 
     @Override
@@ -45,7 +44,6 @@ public class FirstTabFragment extends BaseFragment implements ChooseSourceTransl
         View rootView = inflater.inflate(R.layout.fragment_first_tab, container, false);
 
         mTranslator = App.getTranslator();
-        mLibrary = App.getLibrary();
 
         Bundle args = getArguments();
         final String targetTranslationId = args.getString(App.EXTRA_TARGET_TRANSLATION_ID, null);
@@ -58,7 +56,7 @@ public class FirstTabFragment extends BaseFragment implements ChooseSourceTransl
         LinearLayout secondaryNewTabButton = (LinearLayout) rootView.findViewById(R.id.secondaryNewTabButton);
         TextView translationTitle = (TextView) rootView.findViewById(R.id.source_translation_title);
         try {
-            Project p = mLibrary.index.getProject(App.getDeviceLanguageCode(), targetTranslation.getProjectId(), true);
+            Project p = App.getLibrary().index.getProject(App.getDeviceLanguageCode(), targetTranslation.getProjectId(), true);
             translationTitle.setText(p.name + " - " + targetTranslation.getTargetLanguageName());
         } catch (Exception e) {
             Logger.e(FirstTabFragment.class.getSimpleName(),"Error getting resource container for '" + targetTranslationId + "'", e);
@@ -129,8 +127,9 @@ public class FirstTabFragment extends BaseFragment implements ChooseSourceTransl
         if(sourceTranslationIds.size() > 0) {
             // save open source language tabs
             for(String slug:sourceTranslationIds) {
-                Translation t = mLibrary.index().getTranslation(slug);
-                int modifiedAt = mLibrary.getResourceContainerLastModified(t.language.slug, t.project.slug, t.resource.slug);
+                Door43Client library = App.getLibrary();
+                Translation t = library.index().getTranslation(slug);
+                int modifiedAt = library.getResourceContainerLastModified(t.language.slug, t.project.slug, t.resource.slug);
                 try {
                     App.addOpenSourceTranslation(targetTranslationId, slug);
                     TargetTranslation targetTranslation = mTranslator.getTargetTranslation(targetTranslationId);
@@ -44,6 +44,7 @@ public abstract class ListItem {
     protected FrameTranslation ft;
     protected FileHistory fileHistory = null;
     private TargetTranslation targetTranslation;
+    private ListItemPager pager = null;
 
     /**
      * Initializes a new list item
@@ -75,6 +76,14 @@ public abstract class ListItem {
         return !chapterSlug.equals("front") && !chapterSlug.equals("back") && chunkSlug.equals("reference");
     }
 
+    /**
+     * Sets the pager that keeps loaded items within the memory budget
+     * @param pager
+     */
+    void setPager(ListItemPager pager) {
+        this.pager = pager;
+    }
+
     /**
      * Loads the file history or returns it from the cache
      * @return
@@ -184,6 +193,89 @@ public abstract class ListItem {
             this.targetTranslationFormat = targetTranslation.getFormat();
             loadTarget(targetTranslation);
         }
+        if(this.pager != null) {
+            this.pager.onAccess(this);
+        }
+    }
+
+    /**
+     * Checks the target translation for merge conflicts without keeping the text loaded.
+     * This will not do anything if the item is already loaded
+     *
+     * @param targetTranslation
+     */
+    public void loadMergeConflictState(TargetTranslation targetTranslation) {
+        if(this.sourceText == null) {
+            this.targetTranslationFormat = targetTranslation.getFormat();
+            loadTarget(targetTranslation);
+            this.targetText = null;
+            this.ft = null;
+            this.ct = null;
+        }
+    }
+
+    /**
+     * Releases the loaded translation text.
+     * Unlike {@link #reset()} the completion and merge conflict state is retained.
+     * The text will be loaded again the next time the item is displayed.
+     */
+    void unload() {
+        this.sourceText = null;
+        this.targetText = null;
+        this.renderedSourceText = null;
+        this.renderedTargetText = null;
+        this.ft = null;
+        this.ct = null;
+    }
+
+    /**
+     * Returns the source text without loading the item.
+     * This is safe to call from a background thread because the item is not changed.
+     * @param sourceContainer
+     * @return
+     */
+    String readSourceText(ResourceContainer sourceContainer) {
+        String text = this.sourceText;
+        if(text == null) text = sourceContainer.readChunk(chapterSlug, chunkSlug);
+        return text == null ? "" : text;
+    }
+
+    /**
+     * Returns the target text without loading the item.
+     * This is safe to call from a background thread because the item is not changed.
+     * @param targetTranslation
+     * @return
+     */
+    String readTargetText(TargetTranslation targetTranslation) {
+        String text = this.targetText;
+        if(text == null) {
+            if(chapterSlug.equals("front")) {
+                if(chunkSlug.equals("title")) text = targetTranslation.getProjectTranslation().getTitle();
+            } else if(!chapterSlug.equals("back")) {
+                if(chunkSlug.equals("title")) {
+                    text = targetTranslation.getChapterTranslation(chapterSlug).title;
+                } else if(chunkSlug.equals("reference")) {
+                    text = targetTranslation.getChapterTranslation(chapterSlug).reference;
+                } else {
+                    text = targetTranslation.getFrameTranslation(chapterSlug, chunkSlug, targetTranslation.getFormat()).body;
+                }
+            }
+        }
+        return text == null ? "" : text;
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the loaded text
+     * @return
+     */
+    long estimateSize() {
+        long chars = 0;
+        if(sourceText != null) chars += sourceText.length();
+        if(targetText != null) chars += targetText.length();
+        // rendered text carries spans as well
+        if(renderedSourceText != null) chars += renderedSourceText.length() * 2;
+        if(renderedTargetText != null) chars += renderedTargetText.length() * 2;
+        return chars * 2;
     }
 
     /**
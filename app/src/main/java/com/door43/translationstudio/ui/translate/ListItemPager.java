@@ -0,0 +1,140 @@
+package com.door43.translationstudio.ui.translate;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the text of loaded list items within a memory budget.
+ * Loaded items are grouped into pages by chapter. When the budget is exceeded the pages
+ * that were least recently accessed are unloaded so only their slugs and state remain.
+ * Items that are bound to a view holder are never unloaded because the adapters use their
+ * translations while they are displayed.
+ * Unloaded items are transparently reloaded the next time they are displayed.
+ */
+class ListItemPager {
+    /**
+     * Portion of the heap that may be used by loaded items
+     */
+    private static final int HEAP_FRACTION = 8;
+    /**
+     * The number of most recently used chapters that are never unloaded.
+     * This covers the chapters around the viewport.
+     */
+    private static final int MIN_PAGES = 3;
+
+    private final LinkedHashMap<String, Set<ListItem>> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<ListItem, Integer> bound = new HashMap<>();
+    private long budget = Runtime.getRuntime().maxMemory() / HEAP_FRACTION;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private boolean trimScheduled = false;
+
+    /**
+     * Sets the maximum number of bytes the loaded items may use
+     * @param budget
+     */
+    synchronized void setMemoryBudget(long budget) {
+        this.budget = budget;
+        trim();
+    }
+
+    /**
+     * Records that an item is displayed by a view holder
+     * @param item
+     */
+    synchronized void onBind(ListItem item) {
+        Integer count = bound.get(item);
+        bound.put(item, count == null ? 1 : count + 1);
+    }
+
+    /**
+     * Records that an item is no longer displayed by a view holder
+     * @param item
+     */
+    synchronized void onUnbind(ListItem item) {
+        Integer count = bound.get(item);
+        if(count == null || count <= 1) {
+            bound.remove(item);
+        } else {
+            bound.put(item, count - 1);
+        }
+    }
+
+    /**
+     * Records that an item was loaded or displayed
+     * @param item
+     */
+    synchronized void onAccess(ListItem item) {
+        Set<ListItem> page = pages.get(item.chapterSlug);
+        if(page == null) {
+            page = new HashSet<>();
+            pages.put(item.chapterSlug, page);
+        }
+        if(page.add(item)) {
+            if(Looper.myLooper() == Looper.getMainLooper()) {
+                trim();
+            } else if(!trimScheduled) {
+                // TRICKY: items are only unloaded on the ui thread where they are displayed
+                trimScheduled = true;
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        synchronized (ListItemPager.this) {
+                            trimScheduled = false;
+                            trim();
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Forgets all of the loaded pages without unloading them
+     */
+    synchronized void clear() {
+        pages.clear();
+        bound.clear();
+    }
+
+    /**
+     * Unloads the least recently used pages until the loaded items fit within the budget
+     */
+    private void trim() {
+        long size = 0;
+        for(Set<ListItem> page:pages.values()) {
+            for(ListItem item:page) {
+                size += item.estimateSize();
+            }
+        }
+
+        int evictable = pages.size() - MIN_PAGES;
+        Iterator<Map.Entry<String, Set<ListItem>>> iterator = pages.entrySet().iterator();
+        while(size > budget && evictable > 0 && iterator.hasNext()) {
+            evictable --;
+            Set<ListItem> page = iterator.next().getValue();
+            List<ListItem> retained = new ArrayList<>();
+            for(ListItem item:page) {
+                if(item.isEditing || bound.containsKey(item)) {
+                    retained.add(item);
+                } else {
+                    size -= item.estimateSize();
+                    item.unload();
+                }
+            }
+            if(retained.isEmpty()) {
+                iterator.remove();
+            } else {
+                page.retainAll(retained);
+            }
+        }
+    }
+}
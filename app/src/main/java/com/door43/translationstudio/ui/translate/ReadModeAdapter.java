@@ -37,16 +37,14 @@ import com.door43.translationstudio.rendering.Clickables;
 import com.door43.translationstudio.rendering.DefaultRenderer;
 import com.door43.translationstudio.rendering.RenderingGroup;
 import com.door43.translationstudio.tasks.CheckForMergeConflictsTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.spannables.NoteSpan;
 import com.door43.translationstudio.ui.spannables.Span;
 import com.door43.widget.ViewUtil;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.SourceLanguage;
 import org.unfoldingword.door43client.models.TargetLanguage;
 import org.unfoldingword.door43client.models.Translation;
@@ -60,10 +58,16 @@ import org.unfoldingword.tools.taskmanager.TaskManager;
  */
 public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>  implements ManagedTask.OnFinishedListener {
 
-    private CharSequence[] mRenderedTargetBody = new CharSequence[0];
-    private CharSequence[] mRenderedSourceBody = new CharSequence[0];
+    private static final int PREFETCH_MARGIN = 1;
+    // long chapters are split over several cards so a card never renders more than this
+    private static final int MAX_CHUNKS_PER_CARD = 20;
+    private final RenderedChapterCache mRenderedTargetBody = new RenderedChapterCache();
+    private final RenderedChapterCache mRenderedSourceBody = new RenderedChapterCache();
+    private int mPrefetchTaskId = -1;
+    private List<ChapterCard> mPrefetchCards = new ArrayList<>();
 
     private final String startingChapterSlug;
+    private final String startingChunkSlug;
     private SourceLanguage mSourceLanguage;
     private final TargetLanguage mTargetLanguage;
     private boolean[] mTargetStateOpen = new boolean[0];
@@ -72,17 +76,16 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
     private static final int TOP_ELEVATION = 3;
     private final TargetTranslation mTargetTranslation;
     private ResourceContainer mSourceContainer;
-    private final Door43Client mLibrary;
     private final Translator mTranslator;
     private List<String> chapters = new ArrayList<>();
-    private int mLayoutBuildNumber = 0;
+    private volatile int mLayoutBuildNumber = 0;
     private ContentValues[] mTabs = new ContentValues[0];
-    private Map<String, List<String>> chunks = new HashMap<>();
+    private List<ChapterCard> cards = new ArrayList<>();
 
     public ReadModeAdapter(Activity context, String targetTranslationId, String startingChapterSlug, String startingChunkSlug) {
         this.startingChapterSlug = startingChapterSlug;
+        this.startingChunkSlug = startingChunkSlug;
 
-        mLibrary = App.getLibrary();
         mTranslator = App.getTranslator();
         mContext = context;
         mTargetTranslation = mTranslator.getTargetTranslation(targetTranslationId);
@@ -96,31 +99,28 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
     public void setSourceContainer(ResourceContainer sourceContainer) {
         mSourceContainer = sourceContainer;
         this.chapters = new ArrayList<>();
-        this.chunks = new HashMap<>();
+        this.cards = new ArrayList<>();
         mLayoutBuildNumber++; // force resetting of fonts
 
         setListStartPosition(0);
 
         if(mSourceContainer != null) {
-            mSourceLanguage = mLibrary.index.getSourceLanguage(mSourceContainer.language.slug);
-            boolean foundStartingChapter = false;
+            mSourceLanguage = App.getLibrary().index.getSourceLanguage(mSourceContainer.language.slug);
             SlugSorter sorter = new SlugSorter();
             List<String> chapterSlugs = sorter.sort(mSourceContainer.chapters());
 
             for (String chapterSlug : chapterSlugs) {
-                if(!foundStartingChapter && chapterSlug.equals(startingChapterSlug)) {
-                    setListStartPosition(this.chapters.size());
-                    foundStartingChapter = true;
-                }
-                this.chapters.add(chapterSlug);
                 List<String> chunkSlugs = sorter.sort(mSourceContainer.chunks(chapterSlug));
-                this.chunks.put(chapterSlug, chunkSlugs);
+                addChapterCards(this.chapters.size(), chapterSlug, chunkSlugs);
+                this.chapters.add(chapterSlug);
             }
+            setListStartPosition(Math.max(0, getItemPosition(startingChapterSlug, startingChunkSlug)));
         }
 
-        mTargetStateOpen = new boolean[chapters.size()];
-        mRenderedSourceBody = new CharSequence[chapters.size()];
-        mRenderedTargetBody = new CharSequence[chapters.size()];
+        mTargetStateOpen = new boolean[cards.size()];
+        cancelPrefetch();
+        mRenderedSourceBody.clear();
+        mRenderedTargetBody.clear();
 
         loadTabInfo();
 
@@ -128,6 +128,22 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
         updateMergeConflict();
     }
 
+    /**
+     * Adds the cards for a chapter. Long chapters are split into cards of consecutive chunks
+     * so the text rendered for a card stays small.
+     * @param chapterIndex
+     * @param chapterSlug
+     * @param chunkSlugs the sorted chunks in the chapter
+     */
+    private void addChapterCards(int chapterIndex, String chapterSlug, List<String> chunkSlugs) {
+        int start = 0;
+        do {
+            int end = Math.min(chunkSlugs.size(), start + MAX_CHUNKS_PER_CARD);
+            cards.add(new ChapterCard(chapterIndex, chapterSlug, new ArrayList<>(chunkSlugs.subList(start, end)), start == 0));
+            start = end;
+        } while(start < chunkSlugs.size());
+    }
+
     @Override
     public ListItem createListItem(String chapterSlug, String chunkSlug) {
         return new ReadListItem(chapterSlug, chunkSlug);
@@ -160,7 +176,7 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
                 doCheckForMergeConflictTask(mItems, mSourceContainer, mTargetTranslation);
             }
         });
-        TaskManager.addTask(task);
+        TaskMetrics.addTask(task);
     }
 
     @Override
@@ -196,16 +212,35 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
 
     @Override
     public String getFocusedChapterSlug(int position) {
-        if(position >= 0 && position < chapters.size()) {
-            return chapters.get(position);
+        if(position >= 0 && position < cards.size()) {
+            return cards.get(position).chapterSlug;
         } else {
             return null;
         }
     }
 
+    /**
+     * Returns the position of the card that contains the chunk.
+     * If the chunk is not found the position of the first card of the chapter is returned.
+     * @param chapterSlug
+     * @param chunkSlug
+     * @return -1 if the chapter was not found
+     */
     @Override
     public int getItemPosition(String chapterSlug, String chunkSlug) {
-        return chapters.indexOf(chapterSlug);
+        int position = -1;
+        for(int i = 0; i < cards.size(); i ++) {
+            ChapterCard card = cards.get(i);
+            if(card.chapterSlug.equals(chapterSlug)) {
+                if(position == -1) {
+                    position = i;
+                }
+                if(chunkSlug != null && card.chunkSlugs.contains(chunkSlug)) {
+                    return i;
+                }
+            }
+        }
+        return position;
     }
 
     @Override
@@ -222,12 +257,12 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
         List<ContentValues> tabContents = new ArrayList<>();
         String[] sourceTranslationSlugs = App.getOpenSourceTranslations(mTargetTranslation.getId());
         for(String slug:sourceTranslationSlugs) {
-            Translation st = mLibrary.index().getTranslation(slug);
+            Translation st = App.getLibrary().index().getTranslation(slug);
             if(st != null) {
                 ContentValues values = new ContentValues();
                 values.put("title", st.language.name + " " + st.resource.slug.toUpperCase());
                 // include the resource id if there are more than one
-                if(mLibrary.index().getResources(st.language.slug, st.project.slug).size() > 1) {
+                if(App.getLibrary().index().getResources(st.language.slug, st.project.slug).size() > 1) {
                     values.put("title", st.language.name + " " + st.resource.slug.toUpperCase());
                 } else {
                     values.put("title", st.language.name);
@@ -249,10 +284,10 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
     public String getChapterForPosition(int position) {
         if(position < 0) {
             position = 0;
-        } else if(position >= chapters.size()) {
-            position = chapters.size() - 1;
+        } else if(position >= cards.size()) {
+            position = cards.size() - 1;
         }
-        return chapters.get(position);
+        return cards.get(position).chapterSlug;
     }
 
     @Override
@@ -321,54 +356,23 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
             }
         });
 
-        final String chapterSlug = chapters.get(position);
+        final ChapterCard card = cards.get(position);
+        final String chapterSlug = card.chapterSlug;
 
         // render the source chapter body
-        if(mRenderedSourceBody[position] == null) {
-            String chapterBody = "";
-            for(String chunk:chunks.get(chapterSlug)) {
-                if(!chunk.equals("title")) {
-                    chapterBody += mSourceContainer.readChunk(chapterSlug, chunk);
-                }
-            }
-            TranslationFormat bodyFormat = TranslationFormat.parse(mSourceContainer.contentMimeType);
-            RenderingGroup sourceRendering = new RenderingGroup();
-            if (Clickables.isClickableFormat(bodyFormat)) {
-                // TODO: add click listeners
-                Span.OnClickListener noteClickListener = new Span.OnClickListener() {
-                    @Override
-                    public void onClick(View view, Span span, int start, int end) {
-                        if(span instanceof NoteSpan) {
-                            new AlertDialog.Builder(mContext,R.style.AppTheme_Dialog)
-                                    .setTitle(R.string.title_footnote)
-                                    .setMessage(((NoteSpan)span).getNotes())
-                                    .setPositiveButton(R.string.dismiss, null)
-                                    .show();
-                        }
-                    }
-
-                    @Override
-                    public void onLongClick(View view, Span span, int start, int end) {
-
-                    }
-                };
-                ClickableRenderingEngine renderer = Clickables.setupRenderingGroup(bodyFormat, sourceRendering, null, noteClickListener, true);
-
-                // In read mode (and only in read mode), pull leading major section headings out for
-                // display above chapter headings.
-                renderer.setSuppressLeadingMajorSectionHeadings(true);
-                CharSequence heading = renderer.getLeadingMajorSectionHeading(chapterBody);
-                holder.mSourceHeading.setText(heading);
-                holder.mSourceHeading.setVisibility(
-                        heading.length() > 0 ? View.VISIBLE : View.GONE);
-            } else {
-                sourceRendering.addEngine(new DefaultRenderer());
-            }
-            sourceRendering.init(chapterBody);
-            mRenderedSourceBody[position] = sourceRendering.start();
+        RenderedChapterCache.RenderedChapter renderedSource = mRenderedSourceBody.get(card.key);
+        if(renderedSource == null) {
+            renderedSource = renderSourceChapter(mSourceContainer, chapterSlug, card.chunkSlugs, card.first);
+            mRenderedSourceBody.put(card.key, renderedSource);
         }
-
-        holder.mSourceBody.setText(mRenderedSourceBody[position]);
+        holder.mSourceHeading.setText(renderedSource.heading);
+        holder.mSourceHeading.setVisibility(
+                renderedSource.heading.length() > 0 ? View.VISIBLE : View.GONE);
+        // the rest of a long chapter continues the first card so the titles are not repeated
+        holder.mSourceTitle.setVisibility(card.first ? View.VISIBLE : View.GONE);
+        holder.mTargetTitle.setVisibility(card.first ? View.VISIBLE : View.GONE);
+
+        holder.mSourceBody.setText(renderedSource.body);
         ViewUtil.makeLinksClickable(holder.mSourceBody);
 
         String chapterTitle = mSourceContainer.readChunk(chapterSlug, "title").trim();
@@ -379,29 +383,14 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
         holder.mSourceTitle.setText(chapterTitle);
 
         // render the target chapter body
-        if(mRenderedTargetBody[position] == null) {
-            TranslationFormat bodyFormat = mTargetTranslation.getFormat();
-            String chapterBody = "";
-            SlugSorter sorter = new SlugSorter();
-            List<String> frameSlugs = sorter.sort(mSourceContainer.chunks(chapterSlug));
-            for (String frameSlug : frameSlugs) {
-                FrameTranslation frameTranslation = mTargetTranslation.getFrameTranslation(chapterSlug, frameSlug, bodyFormat);
-                chapterBody += " " + frameTranslation.body;
-            }
-            RenderingGroup targetRendering = new RenderingGroup();
-            if(Clickables.isClickableFormat(bodyFormat)) {
-                // TODO: add click listeners
-                ClickableRenderingEngine renderer = Clickables.setupRenderingGroup(bodyFormat, targetRendering, null, null, true);
-                renderer.setVersesEnabled(true);
-            } else {
-                targetRendering.addEngine(new DefaultRenderer());
-            }
-            targetRendering.init(chapterBody);
-            mRenderedTargetBody[position] = targetRendering.start();
+        RenderedChapterCache.RenderedChapter renderedTarget = mRenderedTargetBody.get(card.key);
+        if(renderedTarget == null) {
+            renderedTarget = renderTargetChapter(chapterSlug, card.chunkSlugs);
+            mRenderedTargetBody.put(card.key, renderedTarget);
         }
 
         // display begin translation button
-        if(mRenderedTargetBody[position].toString().trim().isEmpty()) {
+        if(card.first && renderedTarget.body.toString().trim().isEmpty()) {
             holder.mBeginButton.setVisibility(View.VISIBLE);
             final GestureDetector detector = new GestureDetector(new GestureDetector.SimpleOnGestureListener() {
                 @Override
@@ -430,7 +419,7 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
 //            holder.mTargetInnerCard.setBackgroundResource(R.drawable.paper_repeating);
 //        }
 
-        holder.mTargetBody.setText(mRenderedTargetBody[position]);
+        holder.mTargetBody.setText(renderedTarget.body);
 
 //        ChapterTranslation getChapterTranslation(String chapterSlug);
 
@@ -518,11 +507,162 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
             Typography.formatTitle(mContext, TranslationType.TARGET, holder.mTargetTitle, mTargetLanguage.slug, mTargetLanguage.direction);
             Typography.format(mContext, TranslationType.TARGET, holder.mTargetBody, mTargetLanguage.slug, mTargetLanguage.direction);
         }
+
+        prefetchChapters(position);
+    }
+
+    /**
+     * Renders the source text of a chapter
+     * @param sourceContainer
+     * @param chapterSlug
+     * @param chunkSlugs the sorted chunks on the card
+     * @param firstCard true if this is the first card of the chapter
+     * @return
+     */
+    private RenderedChapterCache.RenderedChapter renderSourceChapter(ResourceContainer sourceContainer, String chapterSlug, List<String> chunkSlugs, boolean firstCard) {
+        StringBuilder chapterBody = new StringBuilder();
+        for(String chunk:chunkSlugs) {
+            if(!chunk.equals("title")) {
+                chapterBody.append(sourceContainer.readChunk(chapterSlug, chunk));
+            }
+        }
+        CharSequence heading = null;
+        TranslationFormat bodyFormat = TranslationFormat.parse(sourceContainer.contentMimeType);
+        RenderingGroup sourceRendering = new RenderingGroup();
+        if (Clickables.isClickableFormat(bodyFormat)) {
+            // TODO: add click listeners
+            Span.OnClickListener noteClickListener = new Span.OnClickListener() {
+                @Override
+                public void onClick(View view, Span span, int start, int end) {
+                    if(span instanceof NoteSpan) {
+                        new AlertDialog.Builder(mContext,R.style.AppTheme_Dialog)
+                                .setTitle(R.string.title_footnote)
+                                .setMessage(((NoteSpan)span).getNotes())
+                                .setPositiveButton(R.string.dismiss, null)
+                                .show();
+                    }
+                }
+
+                @Override
+                public void onLongClick(View view, Span span, int start, int end) {
+
+                }
+            };
+            ClickableRenderingEngine renderer = Clickables.setupRenderingGroup(bodyFormat, sourceRendering, null, noteClickListener, true);
+
+            // In read mode (and only in read mode), pull leading major section headings out for
+            // display above chapter headings. Continuation cards have no chapter heading.
+            if(firstCard) {
+                renderer.setSuppressLeadingMajorSectionHeadings(true);
+                heading = renderer.getLeadingMajorSectionHeading(chapterBody.toString());
+            }
+        } else {
+            sourceRendering.addEngine(new DefaultRenderer());
+        }
+        sourceRendering.init(chapterBody.toString());
+        return new RenderedChapterCache.RenderedChapter(sourceRendering.start(), heading);
+    }
+
+    /**
+     * Renders the target text of a chapter
+     * @param chapterSlug
+     * @param chunkSlugs the sorted chunks on the card
+     * @return
+     */
+    private RenderedChapterCache.RenderedChapter renderTargetChapter(String chapterSlug, List<String> chunkSlugs) {
+        TranslationFormat bodyFormat = mTargetTranslation.getFormat();
+        StringBuilder chapterBody = new StringBuilder();
+        for (String frameSlug : chunkSlugs) {
+            FrameTranslation frameTranslation = mTargetTranslation.getFrameTranslation(chapterSlug, frameSlug, bodyFormat);
+            chapterBody.append(" ").append(frameTranslation.body);
+        }
+        RenderingGroup targetRendering = new RenderingGroup();
+        if(Clickables.isClickableFormat(bodyFormat)) {
+            // TODO: add click listeners
+            ClickableRenderingEngine renderer = Clickables.setupRenderingGroup(bodyFormat, targetRendering, null, null, true);
+            renderer.setVersesEnabled(true);
+        } else {
+            targetRendering.addEngine(new DefaultRenderer());
+        }
+        targetRendering.init(chapterBody.toString());
+        return new RenderedChapterCache.RenderedChapter(targetRendering.start(), null);
+    }
+
+    /**
+     * Renders the cards around the displayed card in the background
+     * so they are ready when scrolled into view.
+     * Only the cards within the prefetch margin are rendered, everything else is
+     * rendered when it is displayed and evicted once the memory budget is exceeded.
+     * @param position the position of the displayed card
+     */
+    private void prefetchChapters(int position) {
+        final List<ChapterCard> pending = new ArrayList<>();
+        for(int i = position - PREFETCH_MARGIN; i <= position + PREFETCH_MARGIN; i ++) {
+            if(i != position && i >= 0 && i < cards.size()) {
+                ChapterCard card = cards.get(i);
+                if(!mRenderedSourceBody.contains(card.key) || !mRenderedTargetBody.contains(card.key)) {
+                    pending.add(card);
+                }
+            }
+        }
+        ManagedTask current = mPrefetchTaskId == -1 ? null : TaskManager.getTask(mPrefetchTaskId);
+        if(current != null && !current.isFinished() && !current.isCanceled() && mPrefetchCards.containsAll(pending)) {
+            // the cards are already being rendered
+            return;
+        }
+        cancelPrefetch();
+        if(pending.isEmpty()) {
+            return;
+        }
+
+        final int buildNumber = mLayoutBuildNumber;
+        final ResourceContainer sourceContainer = mSourceContainer;
+        ManagedTask task = new ManagedTask() {
+            @Override
+            public void start() {
+                setThreadPriority(Thread.MIN_PRIORITY);
+                for(ChapterCard card:pending) {
+                    if(isCanceled() || buildNumber != mLayoutBuildNumber) return;
+                    if(!mRenderedSourceBody.contains(card.key)) {
+                        RenderedChapterCache.RenderedChapter source = renderSourceChapter(sourceContainer, card.chapterSlug, card.chunkSlugs, card.first);
+                        if(buildNumber == mLayoutBuildNumber) mRenderedSourceBody.put(card.key, source);
+                    }
+                    if(isCanceled() || buildNumber != mLayoutBuildNumber) return;
+                    if(!mRenderedTargetBody.contains(card.key)) {
+                        RenderedChapterCache.RenderedChapter target = renderTargetChapter(card.chapterSlug, card.chunkSlugs);
+                        if(buildNumber == mLayoutBuildNumber) mRenderedTargetBody.put(card.key, target);
+                    }
+                }
+            }
+        };
+        task.addOnFinishedListener(new ManagedTask.OnFinishedListener() {
+            @Override
+            public void onTaskFinished(ManagedTask task) {
+                TaskManager.clearTask(task);
+            }
+        });
+        mPrefetchCards = pending;
+        mPrefetchTaskId = TaskMetrics.addTask(task);
+    }
+
+    /**
+     * Stops rendering chapters in the background
+     */
+    private void cancelPrefetch() {
+        if(mPrefetchTaskId != -1) {
+            ManagedTask task = TaskManager.getTask(mPrefetchTaskId);
+            if(task != null) {
+                TaskManager.cancelTask(task);
+                TaskManager.clearTask(task);
+            }
+            mPrefetchTaskId = -1;
+            mPrefetchCards = new ArrayList<>();
+        }
     }
 
     @Override
     public int getItemCount() {
-        return chapters.size();
+        return cards.size();
     }
 
     /**
@@ -630,15 +770,41 @@ public class ReadModeAdapter extends ViewModeAdapter<ReadModeAdapter.ViewHolder>
 
     @Override
     public int getPositionForSection(int sectionIndex) {
-        // not used
+        if(sectionIndex >= 0 && sectionIndex < chapters.size()) {
+            return getItemPosition(chapters.get(sectionIndex), null);
+        }
         return sectionIndex;
     }
 
     @Override
     public int getSectionForPosition(int position) {
+        if(position >= 0 && position < cards.size()) {
+            return cards.get(position).chapterIndex;
+        }
         return position;
     }
 
+    /**
+     * The chunks of a chapter shown on a single card
+     */
+    private static class ChapterCard {
+        final int chapterIndex;
+        final String chapterSlug;
+        final List<String> chunkSlugs;
+        // identifies the rendered text of the card
+        final String key;
+        // only the first card of a chapter shows the titles
+        final boolean first;
+
+        ChapterCard(int chapterIndex, String chapterSlug, List<String> chunkSlugs, boolean first) {
+            this.chapterIndex = chapterIndex;
+            this.chapterSlug = chapterSlug;
+            this.chunkSlugs = chunkSlugs;
+            this.first = first;
+            this.key = first ? chapterSlug : chapterSlug + "-" + chunkSlugs.get(0);
+        }
+    }
+
     public static class ViewHolder extends RecyclerView.ViewHolder {
         private final Button mBeginButton;
         private final TextView mTargetTitle;
@@ -0,0 +1,85 @@
+package com.door43.translationstudio.ui.translate;
+
+import android.util.LruCache;
+
+/**
+ * Holds rendered chapter text within a memory budget.
+ * Chapters that were least recently displayed are evicted first once the budget is exceeded.
+ * This is used from the ui thread and the prefetch task. {@link LruCache} is thread safe.
+ */
+class RenderedChapterCache {
+    /**
+     * Portion of the heap that may be used for rendered text
+     */
+    private static final int HEAP_FRACTION = 16;
+    /**
+     * Rough cost of a rendered character including its share of the spans
+     */
+    private static final int BYTES_PER_CHAR = 4;
+
+    private final LruCache<String, RenderedChapter> cache;
+
+    /**
+     * Creates a cache sized to a fraction of the available heap
+     */
+    RenderedChapterCache() {
+        this((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / HEAP_FRACTION));
+    }
+
+    /**
+     * @param budget the maximum number of bytes of rendered text to keep
+     */
+    RenderedChapterCache(int budget) {
+        cache = new LruCache<String, RenderedChapter>(Math.max(1, budget)) {
+            @Override
+            protected int sizeOf(String key, RenderedChapter chapter) {
+                return chapter.size();
+            }
+        };
+    }
+
+    /**
+     * Returns the rendered chapter and marks it as the most recently displayed
+     * @param chapterSlug
+     * @return null if the chapter has not been rendered or was evicted
+     */
+    RenderedChapter get(String chapterSlug) {
+        return cache.get(chapterSlug);
+    }
+
+    void put(String chapterSlug, RenderedChapter chapter) {
+        cache.put(chapterSlug, chapter);
+    }
+
+    /**
+     * Checks if a chapter is rendered without changing when it was last displayed
+     * so prefetching does not keep chapters alive.
+     * @param chapterSlug
+     * @return
+     */
+    boolean contains(String chapterSlug) {
+        // TRICKY: the snapshot is a copy so reading it does not touch the recency of the entry
+        return cache.snapshot().containsKey(chapterSlug);
+    }
+
+    void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * The rendered text of a single chapter
+     */
+    static class RenderedChapter {
+        final CharSequence body;
+        final CharSequence heading;
+
+        RenderedChapter(CharSequence body, CharSequence heading) {
+            this.body = body;
+            this.heading = heading == null ? "" : heading;
+        }
+
+        private int size() {
+            return (body.length() + heading.length()) * BYTES_PER_CHAR + 1;
+        }
+    }
+}
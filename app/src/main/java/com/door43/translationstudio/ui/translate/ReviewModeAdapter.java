@@ -31,7 +31,6 @@ import android.widget.EditText;
 import android.widget.FrameLayout;
 import android.widget.TextView;
 
-import org.unfoldingword.door43client.Door43Client;
 import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.resourcecontainer.Link;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
@@ -47,6 +46,7 @@ import com.door43.translationstudio.core.TranslationType;
 import com.door43.translationstudio.core.Util;
 import com.door43.translationstudio.tasks.MergeConflictsParseTask;
 import com.door43.translationstudio.tasks.CheckForMergeConflictsTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.translate.review.OnResourceClickListener;
 import com.door43.translationstudio.ui.translate.review.OnSourceClickListener;
 import com.door43.translationstudio.ui.translate.review.RenderHelpsTask;
@@ -97,7 +97,6 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
     private static final int TAB_QUESTIONS = 2;
     public static final int HIGHLIGHT_COLOR = Color.YELLOW;
     private static final String RENDER_GROUP = "review_mode_render_group";
-    private final Door43Client mLibrary;
     private static final int VIEW_TYPE_NORMAL = 0;
     private static final int VIEW_TYPE_CONFLICT = 1;
     private final Translator mTranslator;
@@ -201,7 +200,6 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
 
         TaskManager.killGroup(RENDER_GROUP);
 
-        mLibrary = App.getLibrary();
         mTranslator = App.getTranslator();
         mContext = context;
         mTargetTranslation = mTranslator.getTargetTranslation(targetTranslationSlug);
@@ -259,11 +257,11 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
         List<ContentValues> tabContents = new ArrayList<>();
         String[] sourceTranslationIds = App.getOpenSourceTranslations(mTargetTranslation.getId());
         for(String slug:sourceTranslationIds) {
-            Translation st = mLibrary.index().getTranslation(slug);
+            Translation st = App.getLibrary().index().getTranslation(slug);
             if(st != null) {
                 ContentValues values = new ContentValues();
                 // include the resource id if there are more than one
-                if(mLibrary.index().getResources(st.language.slug, st.project.slug).size() > 1) {
+                if(App.getLibrary().index().getResources(st.language.slug, st.project.slug).size() > 1) {
                     values.put("title", st.language.name + " " + st.resource.slug.toUpperCase());
                 } else {
                     values.put("title", st.language.name);
@@ -385,6 +383,7 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
             if (sourceTask != null) {
 //                Logger.i(TAG, "Garbage collecting task: " + sourceTag);
                 TaskManager.cancelTask(sourceTask);
+                TaskMetrics.onGarbageCollected(sourceTask);
                 sourceTask.destroy();
                 TaskManager.clearTask(sourceTask);
             }
@@ -395,6 +394,7 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
             if (helpsTask != null) {
 //                Logger.i(TAG, "Garbage collecting task: " + helpsTag);
                 TaskManager.cancelTask(helpsTask);
+                TaskMetrics.onGarbageCollected(helpsTask);
                 helpsTask.destroy();
                 TaskManager.clearTask(helpsTask);
             }
@@ -405,6 +405,7 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
     public void onBindManagedViewHolder(final ReviewHolder holder, final int position) {
          final ReviewListItem item = (ReviewListItem) mFilteredItems.get(position);
          holder.currentItem = item;
+         bindListItem(holder, item);
          holder.showResourceCard(mResourcesOpened);
 
         // fetch translation from disk
@@ -455,7 +456,7 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
         if(task == null && item.renderedSourceText == null) {
             task = new RenderSourceTask(item, this, mSearchText, searchSubject);
             task.addOnFinishedListener(this);
-            TaskManager.addTask(task, tag);
+            TaskMetrics.addTask(task, tag);
             TaskManager.groupTask(task, RENDER_GROUP);
         } else if(item.renderedSourceText != null) {
             // show cached render
@@ -496,7 +497,7 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
                 });
             }
         });
-        TaskManager.addTask(parseTask);
+        TaskMetrics.addTask(parseTask);
 
         holder.mConflictText.setVisibility(View.VISIBLE);
         holder.mButtonBar.setVisibility(View.GONE);
@@ -681,7 +682,7 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
                     }
                 }
             });
-            item.currentTargetTaskId = TaskManager.addTask(task);
+            item.currentTargetTaskId = TaskMetrics.addTask(task);
 //            Log.i(TAG, "renderTargetCard(): Position " + position + ": Adding task ID: " + item.currentTargetTaskId);
 
             ManagedTask verifiedTask = TaskManager.getTask(item.currentTargetTaskId); // verify task in queue
@@ -1490,9 +1491,9 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
 
             // schedule rendering
             if (task == null) {
-                task = new RenderHelpsTask(mLibrary, item, mSortedChunks);
+                task = new RenderHelpsTask(item, mSortedChunks);
                 task.addOnFinishedListener(this);
-                TaskManager.addTask(task, tag);
+                TaskMetrics.addTask(task, tag);
                 TaskManager.groupTask(task, RENDER_GROUP);
             }
         }
@@ -2222,10 +2223,12 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
                         if (mSearchingTarget) {
                             boolean foundMatch = false;
 
-                            if (item.targetText != null) {
-                                foundMatch = item.targetText.toString().toLowerCase().contains(matcher);
+                            // TRICKY: the item may be unloaded on the ui thread while we search
+                            String targetText = item.readTargetText(mTargetTranslation);
+                            if (!targetText.isEmpty()) {
+                                foundMatch = targetText.toLowerCase().contains(matcher);
                                 if(foundMatch) { // if match, it could be in markup, so we double check by rendering and searching that
-                                    CharSequence text = renderTargetText(item.targetText, item.targetTranslationFormat, item.ft, null, item);
+                                    CharSequence text = renderTargetText(targetText, mTargetTranslation.getFormat(), item.ft, null, item);
                                     foundMatch = text.toString().toLowerCase().contains(matcher);
                                 }
                             }
@@ -2234,13 +2237,14 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
                         if (!mSearchingTarget) {
                             boolean foundMatch = false;
 
-                            if (item.renderedSourceText != null) {
-                                foundMatch = item.renderedSourceText.toString().toLowerCase().contains(matcher);
-                            } else
-                            if (item.sourceText != null) {
-                                foundMatch = item.sourceText.toString().toLowerCase().contains(matcher);
+                            CharSequence renderedSourceText = item.renderedSourceText;
+                            if (renderedSourceText != null) {
+                                foundMatch = renderedSourceText.toString().toLowerCase().contains(matcher);
+                            } else if (mSourceContainer != null) {
+                                String sourceText = item.readSourceText(mSourceContainer);
+                                foundMatch = sourceText.toLowerCase().contains(matcher);
                                 if(foundMatch) { // if match, it could be in markup, so we double check by rendering and searching that
-                                    CharSequence text = renderSourceText(item.sourceText, item.sourceTranslationFormat, null, item, false);
+                                    CharSequence text = renderSourceText(sourceText, TranslationFormat.parse(mSourceContainer.contentMimeType), null, item, false);
                                     foundMatch = text.toString().toLowerCase().contains(matcher);
                                 }
                             }
@@ -2293,7 +2297,7 @@ public class ReviewModeAdapter extends ViewModeAdapter<ReviewHolder> implements
             return;
         }
         onSearching(true, 0, true, true);
-        mStringSearchTaskID = TaskManager.addTask(task);
+        mStringSearchTaskID = TaskMetrics.addTask(task);
     }
 
     /**
@@ -56,16 +56,13 @@ public class TranslationFilter extends Filter {
                 item.renderedSourceText = null;
                 item.renderedTargetText = null;
 
-                // load text
-                item.load(sourceContainer, targetTranslation);
-
-                // match
+                // TRICKY: the items are not loaded here because they are being displayed on the ui thread
                 boolean match = false;
                 if(subject == SearchSubject.TARGET || subject == SearchSubject.BOTH) {
-                    match = item.targetText.toString().toLowerCase().contains(matcher) || match;
+                    match = item.readTargetText(targetTranslation).toLowerCase().contains(matcher) || match;
                 }
                 if(subject == SearchSubject.SOURCE || subject == SearchSubject.BOTH) {
-                    match = item.sourceText.toString().toLowerCase().contains(matcher) || match;
+                    match = item.readSourceText(sourceContainer).toLowerCase().contains(matcher) || match;
                 }
 
                 // record matches
@@ -17,15 +17,17 @@ import com.door43.translationstudio.core.TranslationType;
 import com.door43.translationstudio.core.TranslationViewMode;
 import com.door43.translationstudio.core.Typography;
 import com.door43.translationstudio.tasks.CheckForMergeConflictsTask;
+import com.door43.translationstudio.tasks.TaskMetrics;
 import com.door43.translationstudio.ui.translate.review.SearchSubject;
 
 import org.unfoldingword.door43client.models.Translation;
 import org.unfoldingword.resourcecontainer.ResourceContainer;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
-import org.unfoldingword.tools.taskmanager.TaskManager;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Created by joel on 9/18/2015.
@@ -39,6 +41,8 @@ public abstract class ViewModeAdapter<VH extends RecyclerView.ViewHolder> extend
     private int currentPosition = -1;
     private MovementDirection currentMovementDirection = MovementDirection.UNKNOWN;
     protected boolean mShowMergeSummary = false;
+    private final ListItemPager mItemPager = new ListItemPager();
+    private final Map<VH, ListItem> mBoundItems = new HashMap<>();
 
     private enum MovementDirection {
         UP,
@@ -75,6 +79,31 @@ public abstract class ViewModeAdapter<VH extends RecyclerView.ViewHolder> extend
         onVisiblePositionsChanged(range);
     }
 
+    @Override
+    public void onViewRecycled(VH holder) {
+        super.onViewRecycled(holder);
+        ListItem item = mBoundItems.remove(holder);
+        if(item != null) {
+            mItemPager.onUnbind(item);
+        }
+    }
+
+    /**
+     * Records that the holder displays the list item so the item is not unloaded while it is displayed.
+     * This should be called before the item is loaded.
+     * @param holder
+     * @param item
+     */
+    protected void bindListItem(VH holder, ListItem item) {
+        ListItem previous = mBoundItems.put(holder, item);
+        if(previous != item) {
+            if(previous != null) {
+                mItemPager.onUnbind(previous);
+            }
+            mItemPager.onBind(item);
+        }
+    }
+
     /**
      * Calculates a theoretical range of visible positions.
      * You should validate the upper bound.
@@ -238,6 +267,8 @@ public abstract class ViewModeAdapter<VH extends RecyclerView.ViewHolder> extend
         setListStartPosition(0);
         items.clear();
         chapters.clear();
+        mItemPager.clear();
+        mBoundItems.clear();
         boolean foundStartPosition = false;
         if(sourceContainer != null) {
             SlugSorter sorter = new SlugSorter();
@@ -251,12 +282,23 @@ public abstract class ViewModeAdapter<VH extends RecyclerView.ViewHolder> extend
                         setListStartPosition(items.size());
                         foundStartPosition = true;
                     }
-                    items.add(createListItem(chapterSlug, chunkSlug));
+                    ListItem item = createListItem(chapterSlug, chunkSlug);
+                    item.setPager(mItemPager);
+                    items.add(item);
                 }
             }
         }
     }
 
+    /**
+     * Sets the maximum amount of memory the loaded list items may use.
+     * Chapters that were least recently displayed are unloaded once this is exceeded.
+     * @param bytes
+     */
+    public void setItemMemoryBudget(long bytes) {
+        mItemPager.setMemoryBudget(bytes);
+    }
+
     /**
      * need to override
      * @param chapterSlug
@@ -272,7 +314,7 @@ public abstract class ViewModeAdapter<VH extends RecyclerView.ViewHolder> extend
         if((items != null) && (items.size() > 0) ) {  // make sure initialized
             CheckForMergeConflictsTask task = new CheckForMergeConflictsTask(items, sourceContainer, targetTranslation);
             task.addOnFinishedListener(this);
-            TaskManager.addTask(task, CheckForMergeConflictsTask.TASK_ID);
+            TaskMetrics.addTask(task, CheckForMergeConflictsTask.TASK_ID);
         }
     }
 
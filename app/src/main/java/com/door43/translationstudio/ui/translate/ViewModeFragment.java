@@ -37,6 +37,7 @@ import com.door43.translationstudio.ui.translate.review.SearchSubject;
 import org.json.JSONException;
 import org.unfoldingword.tools.taskmanager.ManagedTask;
 import org.unfoldingword.tools.taskmanager.TaskManager;
+import com.door43.translationstudio.tasks.TaskMetrics;
 
 import java.util.List;
 
@@ -56,7 +57,6 @@ public abstract class ViewModeFragment extends BaseFragment implements ViewModeA
     private OnEventListener mListener;
     private TargetTranslation mTargetTranslation;
     private Translator mTranslator;
-    private Door43Client mLibrary;
     private GestureDetector mGesture;
     private Translation mSourceTranslation = null;
     private ProgressDialog mProgressDialog = null;
@@ -85,7 +85,6 @@ public abstract class ViewModeFragment extends BaseFragment implements ViewModeA
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         View rootView = inflater.inflate(R.layout.fragment_stacked_card_list, container, false);
 
-        mLibrary = App.getLibrary();
         mTranslator = App.getTranslator();
 
         Bundle args = getArguments();
@@ -101,7 +100,7 @@ public abstract class ViewModeFragment extends BaseFragment implements ViewModeA
 
         try {
             String sourceTranslationSlug = App.getSelectedSourceTranslationId(targetTranslationSlug);
-            mSourceTranslation = mLibrary.index().getTranslation(sourceTranslationSlug);
+            mSourceTranslation = App.getLibrary().index().getTranslation(sourceTranslationSlug);
             if(mSourceTranslation == null) App.removeOpenSourceTranslation(targetTranslationSlug, sourceTranslationSlug);
         } catch (Exception e) {
             e.printStackTrace();
@@ -243,7 +242,7 @@ public abstract class ViewModeFragment extends BaseFragment implements ViewModeA
      * @return
      */
     protected ResourceContainer getSelectedResourceContainer() {
-        return ContainerCache.cache(mLibrary, mSourceTranslation.resourceContainerSlug);
+        return ContainerCache.cache(App.getLibrary(), mSourceTranslation.resourceContainerSlug);
     }
 
     /**
@@ -360,12 +359,12 @@ public abstract class ViewModeFragment extends BaseFragment implements ViewModeA
                 @Override
                 public void start() {
                     if (mSourceTranslation != null) {
-                        mSourceContainer = ContainerCache.cache(mLibrary, mSourceTranslation.resourceContainerSlug);
+                        mSourceContainer = ContainerCache.cache(App.getLibrary(), mSourceTranslation.resourceContainerSlug);
                     }
                 }
             };
             task.addOnFinishedListener(this);
-            TaskManager.addTask(task, TASK_ID_OPEN_SELECTED_SOURCE);
+            TaskMetrics.addTask(task, TASK_ID_OPEN_SELECTED_SOURCE);
         } else if(mAdapter != null) {
             mAdapter.setSourceContainer(mSourceContainer);
             doScrollToPosition(mAdapter.getListStartPosition(), 0);
@@ -387,14 +386,14 @@ public abstract class ViewModeFragment extends BaseFragment implements ViewModeA
         ManagedTask task = new ManagedTask() {
             @Override
             public void start() {
-                setResult(ContainerCache.cache(mLibrary, slug));
+                setResult(ContainerCache.cache(App.getLibrary(), slug));
             }
         };
         Bundle args = new Bundle();
         args.putString("slug", slug);
         task.setArgs(args);
         task.addOnFinishedListener(this);
-        TaskManager.addTask(task, TASK_ID_OPEN_SOURCE);
+        TaskMetrics.addTask(task, TASK_ID_OPEN_SOURCE);
     }
 
     /**
@@ -637,8 +636,9 @@ public abstract class ViewModeFragment extends BaseFragment implements ViewModeA
         if(sourceTranslationIds.size() > 0) {
             // save open source language tabs
             for(String slug:sourceTranslationIds) {
-                Translation t = mLibrary.index().getTranslation(slug);
-                int modifiedAt = mLibrary.getResourceContainerLastModified(t.language.slug, t.project.slug, t.resource.slug);
+                Door43Client library = App.getLibrary();
+                Translation t = library.index().getTranslation(slug);
+                int modifiedAt = library.getResourceContainerLastModified(t.language.slug, t.project.slug, t.resource.slug);
                 try {
                     App.addOpenSourceTranslation(targetTranslationId, slug);
                     TargetTranslation targetTranslation = mTranslator.getTargetTranslation(targetTranslationId);
@@ -2,6 +2,7 @@ package com.door43.translationstudio.ui.translate.review;
 
 import com.door43.translationstudio.App;
 import com.door43.translationstudio.core.ContainerCache;
+import com.door43.translationstudio.rendering.PatternRegistry;
 import com.door43.translationstudio.ui.translate.ReviewModeAdapter;
 import com.door43.translationstudio.ui.translate.TranslationHelp;
 
@@ -26,12 +27,10 @@ import java.util.regex.Pattern;
 public class RenderHelpsTask extends ManagedTask {
 
     private static final String TAG = "RenderHelpsTask";
-    private final Door43Client library;
     private final ReviewListItem item;
     private final Map<String, String[]> sortedChunks;
 
-    public RenderHelpsTask (Door43Client library, ReviewListItem item, Map<String, String[]> sortedChunks) {
-        this.library = library;
+    public RenderHelpsTask (ReviewListItem item, Map<String, String[]> sortedChunks) {
         this.item = item;
         this.sortedChunks = sortedChunks;
     }
@@ -39,6 +38,8 @@ public class RenderHelpsTask extends ManagedTask {
     @Override
     public void start() {
         setThreadPriority(Thread.MAX_PRIORITY);
+        // TRICKY: the library may have been reopened since the task was queued
+        Door43Client library = App.getLibrary();
 
         // init default values
         Map<String, Object> result = new HashMap<>();
@@ -54,7 +55,7 @@ public class RenderHelpsTask extends ManagedTask {
         if (config.containsKey("words")) {
             Language sourceLanguage = item.getSource().language;
             List<Link> links = ContainerCache.cacheFromLinks(library, config.get("words"), sourceLanguage);
-            Pattern titlePattern = Pattern.compile("#(.*)");
+            Pattern titlePattern = PatternRegistry.MARKDOWN_TITLE;
             for (Link link : links) {
                 if (interrupted()) return;
                 try {
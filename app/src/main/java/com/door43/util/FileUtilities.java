@@ -5,6 +5,7 @@ import androidx.annotation.Nullable;
 import org.unfoldingword.tools.logger.Logger;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileFilter;
@@ -60,6 +61,26 @@ public class FileUtilities {
         }
     }
 
+    /**
+     * Returns the contents of a file as bytes
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    public static byte[] readFileToByteArray(File file) throws IOException {
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) file.length());
+            copyLarge(fis, bytes);
+            return bytes.toByteArray();
+        } finally {
+            if(fis != null) {
+                fis.close();
+            }
+        }
+    }
+
     /**
      * Writes a string to a file
      * @param file
@@ -15,6 +15,7 @@ import java.util.Iterator;
 public class Manifest {
     private final File mManifestFile;
     private JSONObject mManifest = new JSONObject();
+    private int mBatchDepth = 0;
     public static final String MANIFEST_JSON = "manifest.json";
 
     /**
@@ -118,7 +119,7 @@ public class Manifest {
     public void put(String key, JSONObject json) {
         try {
             mManifest.put(key, json);
-            save();
+            autoSave();
         } catch (JSONException e) {
             e.printStackTrace();
         }
@@ -132,7 +133,7 @@ public class Manifest {
     public void put(String key, Object obj) {
         try {
             mManifest.put(key, obj);
-            save();
+            autoSave();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -146,7 +147,7 @@ public class Manifest {
     public void put(String key, JSONArray json) {
         try {
             mManifest.put(key, json);
-            save();
+            autoSave();
         } catch (JSONException e) {
             e.printStackTrace();
         }
@@ -160,7 +161,7 @@ public class Manifest {
     public void put(String key, int value) {
         try {
             mManifest.put(key, value);
-            save();
+            autoSave();
         } catch (JSONException e) {
             e.printStackTrace();
         }
@@ -174,7 +175,7 @@ public class Manifest {
     public void put(String key, String value) {
         try {
             mManifest.put(key, value);
-            save();
+            autoSave();
         } catch (JSONException e) {
             e.printStackTrace();
         }
@@ -186,7 +187,35 @@ public class Manifest {
      */
     public void remove(String key) {
         mManifest.remove(key);
-        save();
+        autoSave();
+    }
+
+    /**
+     * Defers saving changes to the disk until {@link #endBatch()} is called
+     */
+    public void beginBatch() {
+        mBatchDepth ++;
+    }
+
+    /**
+     * Saves the changes made since {@link #beginBatch()} in a single write
+     */
+    public void endBatch() {
+        if(mBatchDepth > 0) {
+            mBatchDepth --;
+            if(mBatchDepth == 0) {
+                save();
+            }
+        }
+    }
+
+    /**
+     * Saves the manifest unless changes are being batched
+     */
+    private void autoSave() {
+        if(mBatchDepth == 0) {
+            save();
+        }
     }
 
     /**
@@ -209,6 +238,18 @@ public class Manifest {
         mManifest = new JSONObject();
     }
 
+    /**
+     * Creates a manifest object from contents that were already read from the manifest file
+     * @param directory the directory in which the manifest file exists
+     * @param contents the contents of the manifest file
+     * @return
+     */
+    public static Manifest fromString(File directory, String contents) {
+        Manifest m = new Manifest(new File(directory, MANIFEST_JSON));
+        m.parse(contents);
+        return m;
+    }
+
     /**
      * Reads the manifest file from the disk
      */
@@ -219,6 +260,10 @@ public class Manifest {
         } catch (IOException e) {
             e.printStackTrace();
         }
+        parse(contents);
+    }
+
+    private void parse(String contents) {
         if(contents.isEmpty()) {
             mManifest = new JSONObject();
         } else {
@@ -251,7 +296,7 @@ public class Manifest {
                     }
                     mManifest.put(key, array);
                 }
-                save();
+                autoSave();
             } catch (JSONException e) {
                 e.printStackTrace();
             }
@@ -279,7 +324,7 @@ public class Manifest {
                     }
                     mManifest.put(key, obj);
                 }
-                save();
+                autoSave();
             } catch (JSONException e) {
                 e.printStackTrace();
             }
@@ -0,0 +1,75 @@
+package com.door43.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a list of jobs on an executor a fixed number of jobs ahead of the one being consumed.
+ * This lets slow conversions run in parallel while the results are used in order
+ * and keeps only a small window of results in memory.
+ * The queue is used from a single thread.
+ */
+public class ReadAheadQueue<T> {
+    private final ExecutorService executor;
+    private final List<Callable<T>> jobs;
+    private final int window;
+    private final List<Future<T>> futures = new ArrayList<>();
+
+    /**
+     * @param executor the executor that runs the jobs
+     * @param jobs the jobs in the order their results will be taken
+     * @param window the number of jobs that may run ahead of the one being taken
+     */
+    public ReadAheadQueue(ExecutorService executor, List<Callable<T>> jobs, int window) {
+        this.executor = executor;
+        this.jobs = jobs;
+        this.window = window;
+    }
+
+    /**
+     * Starts the jobs up to the window after the job at the index
+     * @param index
+     */
+    public void fill(int index) {
+        while(futures.size() < jobs.size() && futures.size() <= index + window) {
+            futures.add(executor.submit(jobs.get(futures.size())));
+        }
+    }
+
+    /**
+     * Waits for the result of a job. Each result can only be taken once.
+     * @param index
+     * @return
+     * @throws IOException if the job failed or the thread was interrupted
+     */
+    public T take(int index) throws IOException {
+        fill(index);
+        Future<T> future = futures.get(index);
+        futures.set(index, null);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for job " + index);
+        } catch (ExecutionException e) {
+            throw new IOException("Job " + index + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Cancels the jobs that have not been taken
+     */
+    public void cancel() {
+        for(Future<T> future:futures) {
+            if(future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.door43.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads individual files out of a zip archive on a web server without downloading the whole archive.
+ * The central directory at the end of the archive is read first and then each file is fetched
+ * with an http range request.
+ * The central directory can be kept on the disk so it only has to be downloaded once.
+ */
+public class RemoteZip {
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int CENTRAL_FILE_HEADER = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int END_RECORD_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xffff;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    // room for the extra field of the local header which may differ from the central directory
+    private static final int LOCAL_EXTRA_ALLOWANCE = 256;
+    private static final int TIMEOUT = 10000;
+
+    private final URL url;
+    private final File directoryCache;
+    private Map<String, Entry> entries = null;
+
+    /**
+     * @param url the url of the archive
+     * @param directoryCache where the central directory is kept. May be null
+     */
+    public RemoteZip(URL url, File directoryCache) {
+        this.url = url;
+        this.directoryCache = directoryCache;
+    }
+
+    /**
+     * Returns the files in the archive by name.
+     * The names do not include the directories in the archive.
+     * @return
+     * @throws IOException
+     */
+    public synchronized Map<String, Entry> entries() throws IOException {
+        if(entries == null) {
+            byte[] directory = null;
+            if(directoryCache != null && directoryCache.isFile()) {
+                InputStream in = new FileInputStream(directoryCache);
+                try {
+                    directory = readFully(in);
+                } finally {
+                    in.close();
+                }
+            }
+            if(directory == null) {
+                directory = downloadCentralDirectory();
+                if(directoryCache != null) {
+                    directoryCache.getParentFile().mkdirs();
+                    FileUtilities.copyInputStreamToFile(new ByteArrayInputStream(directory), directoryCache);
+                }
+            }
+            try {
+                entries = parseCentralDirectory(directory);
+            } catch (ZipException e) {
+                forget();
+                throw e;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Downloads and decompresses a single file
+     * @param name the name of the file without any directories
+     * @param dest the destination file
+     * @return false if the archive does not contain the file
+     * @throws IOException
+     */
+    public boolean extract(String name, File dest) throws IOException {
+        Entry entry = entries().get(name);
+        if(entry == null) return false;
+
+        long start = entry.localHeaderOffset;
+        int headerSize = LOCAL_HEADER_SIZE + entry.path.length() + LOCAL_EXTRA_ALLOWANCE;
+        byte[] data = readRange(start, start + headerSize + entry.compressedSize - 1);
+        if(readInt(data, 0) != LOCAL_FILE_HEADER) {
+            // the archive probably changed on the server
+            forget();
+            throw new ZipException("Invalid local header for " + entry.path);
+        }
+        int dataOffset = LOCAL_HEADER_SIZE + readShort(data, 26) + readShort(data, 28);
+        if(dataOffset + entry.compressedSize > data.length) {
+            // the extra field was larger than expected
+            data = readRange(start + dataOffset, start + dataOffset + entry.compressedSize - 1);
+            dataOffset = 0;
+        }
+
+        File temp = new File(dest.getParentFile(), dest.getName() + ".download");
+        dest.getParentFile().mkdirs();
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(temp));
+        try {
+            CRC32 crc = new CRC32();
+            if(entry.method == 0) {
+                crc.update(data, dataOffset, (int) entry.compressedSize);
+                out.write(data, dataOffset, (int) entry.compressedSize);
+            } else if(entry.method == 8) {
+                inflate(data, dataOffset, (int) entry.compressedSize, out, crc);
+            } else {
+                throw new ZipException("Unsupported compression method " + entry.method + " for " + entry.path);
+            }
+            if(crc.getValue() != entry.crc) {
+                throw new ZipException("Checksum mismatch for " + entry.path);
+            }
+        } catch (IOException e) {
+            out.close();
+            FileUtilities.deleteQuietly(temp);
+            throw e;
+        }
+        out.close();
+        FileUtilities.deleteQuietly(dest);
+        if(!temp.renameTo(dest)) {
+            FileUtilities.deleteQuietly(temp);
+            throw new IOException("Failed to move " + temp + " to " + dest);
+        }
+        return true;
+    }
+
+    /**
+     * Discards the central directory so it is downloaded again
+     */
+    public synchronized void forget() {
+        entries = null;
+        if(directoryCache != null) {
+            FileUtilities.deleteQuietly(directoryCache);
+        }
+    }
+
+    private static void inflate(byte[] data, int offset, int length, OutputStream out, CRC32 crc) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, length);
+            byte[] buffer = new byte[16 * 1024];
+            while(!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if(count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("Truncated data");
+                }
+                crc.update(buffer, 0, count);
+                out.write(buffer, 0, count);
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Finds the central directory from the end of the archive and downloads it
+     * @return
+     * @throws IOException
+     */
+    private byte[] downloadCentralDirectory() throws IOException {
+        byte[] tail = readSuffix(END_RECORD_SIZE + MAX_COMMENT_SIZE);
+        int end = -1;
+        for(int i = tail.length - END_RECORD_SIZE; i >= 0; i --) {
+            if(readInt(tail, i) == END_OF_CENTRAL_DIRECTORY) {
+                end = i;
+                break;
+            }
+        }
+        if(end < 0) throw new ZipException("Missing end of central directory");
+
+        long size = readInt(tail, end + 12) & 0xffffffffL;
+        long offset = readInt(tail, end + 16) & 0xffffffffL;
+        if(size == 0xffffffffL || offset == 0xffffffffL) {
+            throw new ZipException("Zip64 archives are not supported");
+        }
+        return readRange(offset, offset + size - 1);
+    }
+
+    private static Map<String, Entry> parseCentralDirectory(byte[] directory) throws IOException {
+        Map<String, Entry> map = new HashMap<>();
+        int position = 0;
+        while(position + 46 <= directory.length && readInt(directory, position) == CENTRAL_FILE_HEADER) {
+            int nameLength = readShort(directory, position + 28);
+            int extraLength = readShort(directory, position + 30);
+            int commentLength = readShort(directory, position + 32);
+            if(position + 46 + nameLength > directory.length) break;
+            String path = new String(directory, position + 46, nameLength, "UTF-8");
+            if(!path.endsWith("/")) {
+                Entry entry = new Entry(path,
+                        readShort(directory, position + 10),
+                        readInt(directory, position + 16) & 0xffffffffL,
+                        readInt(directory, position + 20) & 0xffffffffL,
+                        readInt(directory, position + 24) & 0xffffffffL,
+                        readInt(directory, position + 42) & 0xffffffffL);
+                map.put(path.substring(path.lastIndexOf('/') + 1), entry);
+            }
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        if(map.isEmpty()) throw new ZipException("Invalid central directory");
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Downloads the last bytes of the archive
+     * @param length the maximum number of bytes
+     * @return
+     * @throws IOException
+     */
+    private byte[] readSuffix(int length) throws IOException {
+        return request("bytes=-" + length);
+    }
+
+    /**
+     * Downloads part of the archive
+     * @param first the first byte
+     * @param last the last byte (inclusive)
+     * @return
+     * @throws IOException
+     */
+    private byte[] readRange(long first, long last) throws IOException {
+        return request("bytes=" + first + "-" + last);
+    }
+
+    private byte[] request(String range) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        connection.setRequestProperty("Range", range);
+        // byte ranges refer to the encoded body so it must not be compressed
+        connection.setRequestProperty("Accept-Encoding", "identity");
+        try {
+            int code = connection.getResponseCode();
+            if(code != HttpURLConnection.HTTP_PARTIAL) {
+                throw new RangeNotSupportedException("Expected a partial response but received " + code);
+            }
+            InputStream in = connection.getInputStream();
+            try {
+                return readFully(in);
+            } finally {
+                in.close();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FileUtilities.copy(in, out);
+        return out.toByteArray();
+    }
+
+    private static int readShort(byte[] data, int offset) {
+        return (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return readShort(data, offset) | readShort(data, offset + 2) << 16;
+    }
+
+    /**
+     * A file in the archive
+     */
+    public static class Entry {
+        public final String path;
+        public final int method;
+        public final long crc;
+        public final long compressedSize;
+        public final long size;
+        public final long localHeaderOffset;
+
+        Entry(String path, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+            this.path = path;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    /**
+     * Thrown when the server does not support range requests
+     */
+    public static class RangeNotSupportedException extends IOException {
+        public RangeNotSupportedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.door43.translationstudio.ui.spannables;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+public class USFMVerseSpanTest {
+
+    @Test
+    public void verseRangeWithoutVerses() throws Exception {
+        assertEquals(0, USFMVerseSpan.getVerseRange("").length);
+        assertEquals(0, USFMVerseSpan.getVerseRange("In the beginning \\v").length);
+        assertEquals(0, USFMVerseSpan.getVerseRange("\\v a").length);
+    }
+
+    @Test
+    public void verseRangeSingleVerse() throws Exception {
+        int[] range = USFMVerseSpan.getVerseRange("\\v 12 In the beginning");
+        assertEquals(1, range.length);
+        assertEquals(12, range[0]);
+    }
+
+    @Test
+    public void verseRangeMultipleVerses() throws Exception {
+        int[] range = USFMVerseSpan.getVerseRange("\\c 1 \\v 1 In the beginning \\v 2 And the earth \\v 3-5 And God said");
+        assertEquals(2, range.length);
+        assertEquals(1, range[0]);
+        assertEquals(5, range[1]);
+    }
+
+    @Test
+    public void verseRangeBridgedVerse() throws Exception {
+        int[] range = USFMVerseSpan.getVerseRange("\\v 4-6 text");
+        assertEquals(2, range.length);
+        assertEquals(4, range[0]);
+        assertEquals(6, range[1]);
+
+        range = USFMVerseSpan.getVerseRange("\\v 7- text");
+        assertEquals(1, range.length);
+        assertEquals(7, range[0]);
+    }
+}
@@ -0,0 +1,185 @@
+package com.door43.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reads the files of a small archive through a local server that handles byte ranges
+ * and compares them with the files read by {@link ZipFile}.
+ */
+public class RemoteZipTest {
+    private static final String[] IMAGES = {"obs-01-01.jpg", "obs-01-02.jpg", "obs-01-03.jpg"};
+
+    private File archive;
+    private byte[] archiveBytes;
+    private File tempDir;
+    private HttpServer server;
+    private URL url;
+    private final AtomicInteger requests = new AtomicInteger();
+    private boolean rangesSupported = true;
+
+    @Before
+    public void setUp() throws Exception {
+        archive = new File(getClass().getResource("images.zip").toURI());
+        archiveBytes = FileUtilities.readFileToByteArray(archive);
+        tempDir = new File(System.getProperty("java.io.tmpdir"), "remote-zip-test-" + System.nanoTime());
+        tempDir.mkdirs();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/images.zip", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                requests.incrementAndGet();
+                String range = exchange.getRequestHeaders().getFirst("Range");
+                byte[] body = archiveBytes;
+                int code = 200;
+                if(rangesSupported && range != null && range.startsWith("bytes=")) {
+                    body = slice(archiveBytes, range.substring("bytes=".length()));
+                    code = 206;
+                }
+                exchange.sendResponseHeaders(code, body.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(body);
+                out.close();
+            }
+        });
+        server.start();
+        url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/images.zip");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        FileUtilities.deleteQuietly(tempDir);
+    }
+
+    @Test
+    public void listsFilesWithoutDirectories() throws Exception {
+        RemoteZip zip = new RemoteZip(url, null);
+        Map<String, RemoteZip.Entry> entries = zip.entries();
+
+        assertEquals(IMAGES.length, entries.size());
+        for(String name:IMAGES) {
+            assertTrue(entries.containsKey(name));
+            assertEquals("obs/" + name, entries.get(name).path);
+        }
+    }
+
+    @Test
+    public void extractsStoredAndDeflatedFiles() throws Exception {
+        RemoteZip zip = new RemoteZip(url, null);
+        ZipFile expected = new ZipFile(archive);
+        try {
+            for(String name:IMAGES) {
+                File dest = new File(tempDir, name);
+                assertTrue(zip.extract(name, dest));
+
+                ZipEntry entry = expected.getEntry("obs/" + name);
+                assertArrayEquals(read(expected.getInputStream(entry)), FileUtilities.readFileToByteArray(dest));
+                assertFalse(new File(tempDir, name + ".download").exists());
+            }
+        } finally {
+            expected.close();
+        }
+        assertEquals(ZipEntry.STORED, zip.entries().get("obs-01-01.jpg").method);
+        assertEquals(ZipEntry.DEFLATED, zip.entries().get("obs-01-02.jpg").method);
+    }
+
+    @Test
+    public void missingFileIsNotExtracted() throws Exception {
+        RemoteZip zip = new RemoteZip(url, null);
+        File dest = new File(tempDir, "obs-99-99.jpg");
+
+        assertFalse(zip.extract("obs-99-99.jpg", dest));
+        assertFalse(dest.exists());
+    }
+
+    @Test
+    public void centralDirectoryIsDownloadedOnce() throws Exception {
+        File directoryCache = new File(tempDir, "images.directory");
+        new RemoteZip(url, directoryCache).entries();
+        assertTrue(directoryCache.isFile());
+        // the end record and the central directory
+        assertEquals(2, requests.get());
+
+        requests.set(0);
+        RemoteZip zip = new RemoteZip(url, directoryCache);
+        assertTrue(zip.extract("obs-01-02.jpg", new File(tempDir, "obs-01-02.jpg")));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void changedArchiveDiscardsTheCachedDirectory() throws Exception {
+        File directoryCache = new File(tempDir, "images.directory");
+        new RemoteZip(url, directoryCache).entries();
+
+        // the files have moved on the server
+        byte[] changed = new byte[archiveBytes.length + 64];
+        System.arraycopy(archiveBytes, 0, changed, 64, archiveBytes.length);
+        archiveBytes = changed;
+
+        RemoteZip zip = new RemoteZip(url, directoryCache);
+        try {
+            zip.extract("obs-01-01.jpg", new File(tempDir, "obs-01-01.jpg"));
+            fail("The local header should not have been found");
+        } catch (ZipException e) {
+            // expected
+        }
+        assertFalse(directoryCache.exists());
+    }
+
+    @Test(expected = RemoteZip.RangeNotSupportedException.class)
+    public void serverWithoutRangesIsReported() throws Exception {
+        rangesSupported = false;
+        new RemoteZip(url, null).entries();
+    }
+
+    /**
+     * Returns the bytes of a single range e.g. "10-19" or "-10"
+     */
+    private static byte[] slice(byte[] data, String range) {
+        int dash = range.indexOf('-');
+        int first;
+        int last;
+        if(dash == 0) {
+            first = Math.max(0, data.length - Integer.parseInt(range.substring(1)));
+            last = data.length - 1;
+        } else {
+            first = Integer.parseInt(range.substring(0, dash));
+            String end = range.substring(dash + 1);
+            last = end.isEmpty() ? data.length - 1 : Math.min(data.length - 1, Integer.parseInt(end));
+        }
+        return Arrays.copyOfRange(data, first, last + 1);
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            FileUtilities.copy(in, out);
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.door43.translationstudio.benchmarks;
+
+import com.door43.util.FileUtilities;
+import com.door43.util.Manifest;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and merging target translation manifests
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ManifestBenchmark {
+    @Param({"50", "150"})
+    public int chapters;
+
+    private File dir;
+    private String contents;
+    private JSONArray importedChunks;
+    private JSONArray importedTranslators;
+    private JSONArray importedSources;
+
+    @Setup
+    public void setup() throws Exception {
+        SyntheticProject project = new SyntheticProject(chapters, 10);
+        dir = SyntheticProject.createTempDir("manifest");
+        JSONObject manifest = project.manifest();
+        contents = manifest.toString();
+
+        // the imported copy finished the same chunks and a few more
+        importedChunks = new JSONArray(manifest.getJSONArray("finished_chunks").toString());
+        for(int i = 0; i < 10; i ++) {
+            importedChunks.put("extra-" + i);
+        }
+        importedTranslators = new JSONArray().put("benchmark").put("imported");
+        importedSources = new JSONArray().put(new JSONObject().put("language_id", "en").put("resource_id", "ulb"));
+    }
+
+    @Setup(Level.Invocation)
+    public void resetManifest() throws Exception {
+        FileUtilities.writeStringToFile(new File(dir, Manifest.MANIFEST_JSON), contents);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtilities.deleteQuietly(dir);
+    }
+
+    @Benchmark
+    public Manifest load() {
+        return Manifest.generate(dir);
+    }
+
+    /**
+     * Merges an imported manifest saving after each field as before batching was added
+     */
+    @Benchmark
+    public Manifest merge() {
+        Manifest manifest = Manifest.generate(dir);
+        manifest.join(importedTranslators, "translators");
+        manifest.join(importedChunks, "finished_chunks");
+        manifest.join(importedSources, "source_translations");
+        return manifest;
+    }
+
+    /**
+     * Merges an imported manifest with a single save
+     */
+    @Benchmark
+    public Manifest mergeBatched() {
+        Manifest manifest = Manifest.generate(dir);
+        manifest.beginBatch();
+        manifest.join(importedTranslators, "translators");
+        manifest.join(importedChunks, "finished_chunks");
+        manifest.join(importedSources, "source_translations");
+        manifest.endBatch();
+        return manifest;
+    }
+}
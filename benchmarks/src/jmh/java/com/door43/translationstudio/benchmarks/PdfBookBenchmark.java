@@ -0,0 +1,186 @@
+package com.door43.translationstudio.benchmarks;
+
+import com.door43.translationstudio.core.UsfmVerses;
+import com.door43.util.ReadAheadQueue;
+import com.itextpdf.text.Chunk;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Laying out the chapters of a project as a PDF the way PdfPrinter.addContent does.
+ * PdfPrinter depends on the Android framework so the chapter pipeline is reproduced here
+ * with the same iText calls, conversion window and flush size.
+ * The document is written to a stream that discards the output so only the layout is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfBookBenchmark {
+    /**
+     * The Bible has 1189 chapters in 66 books
+     */
+    private static final int CHAPTERS_PER_BOOK = 18;
+    private static final int READ_AHEAD_CHAPTERS = 3;
+    private static final int ROWS_PER_FLUSH = 20;
+    private static final Pattern VERSE = Pattern.compile(UsfmVerses.PATTERN);
+
+    @Param({"1", "66"})
+    public int books;
+
+    private final List<List<String>> chapters = new ArrayList<>();
+    private ExecutorService executor;
+    private Font bodyFont;
+    private Font superScriptFont;
+
+    @Setup
+    public void setup() throws Exception {
+        SyntheticProject book = new SyntheticProject(CHAPTERS_PER_BOOK, 10);
+        for(int b = 0; b < books; b ++) {
+            for(int c = 0; c < book.chapters; c ++) {
+                chapters.add(book.chunkBodies.subList(c * book.chunksPerChapter, (c + 1) * book.chunksPerChapter));
+            }
+        }
+        int threads = Math.max(1, Math.min(READ_AHEAD_CHAPTERS, Runtime.getRuntime().availableProcessors()));
+        executor = Executors.newFixedThreadPool(threads);
+        BaseFont baseFont = BaseFont.createFont();
+        bodyFont = new Font(baseFont, 12);
+        superScriptFont = new Font(baseFont, 12 * 0.9f);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Converts chapters on worker threads ahead of the writer and flushes each chapter table as rows are added
+     */
+    @Benchmark
+    public void printStreamed() throws Exception {
+        Document document = openDocument();
+        List<Callable<List<PdfPCell>>> jobs = new ArrayList<>();
+        for(final List<String> chapter:chapters) {
+            jobs.add(new Callable<List<PdfPCell>>() {
+                @Override
+                public List<PdfPCell> call() throws Exception {
+                    return renderChapterBody(chapter, VERSE);
+                }
+            });
+        }
+        ReadAheadQueue<List<PdfPCell>> bodies = new ReadAheadQueue<>(executor, jobs, READ_AHEAD_CHAPTERS);
+        try {
+            for(int i = 0; i < chapters.size(); i ++) {
+                bodies.fill(i);
+                List<PdfPCell> cells = bodies.take(i);
+                PdfPTable table = new PdfPTable(1);
+                table.setWidthPercentage(100);
+                table.setComplete(false);
+                for(int j = 0; j < cells.size(); j ++) {
+                    table.addCell(cells.get(j));
+                    if((j + 1) % ROWS_PER_FLUSH == 0) {
+                        document.add(table);
+                    }
+                }
+                table.setComplete(true);
+                document.add(table);
+            }
+        } finally {
+            bodies.cancel();
+        }
+        document.close();
+    }
+
+    /**
+     * Converts each chapter on the writing thread, compiling the verse pattern for every chunk,
+     * and adds the whole chapter table at once. This is how chapters were printed before they were streamed.
+     */
+    @Benchmark
+    public void printWholeChapters() throws Exception {
+        Document document = openDocument();
+        for(List<String> chapter:chapters) {
+            PdfPTable table = new PdfPTable(1);
+            table.setWidthPercentage(100);
+            for(String chunk:chapter) {
+                table.addCell(createCell(createUSFMParagraph(chunk, Pattern.compile(UsfmVerses.PATTERN))));
+            }
+            document.add(table);
+        }
+        document.close();
+    }
+
+    private Document openDocument() throws Exception {
+        Document document = new Document(PageSize.LETTER, 72, 72, 72, 72);
+        PdfWriter.getInstance(document, new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+        document.open();
+        return document;
+    }
+
+    private List<PdfPCell> renderChapterBody(List<String> chapter, Pattern verse) {
+        List<PdfPCell> cells = new ArrayList<>();
+        for(String chunk:chapter) {
+            cells.add(createCell(createUSFMParagraph(chunk, verse)));
+        }
+        return cells;
+    }
+
+    private Paragraph createUSFMParagraph(String usfm, Pattern verse) {
+        Matcher matcher = verse.matcher(usfm);
+        int lastIndex = 0;
+        Paragraph paragraph = new Paragraph(12 * 1.6f, "", bodyFont);
+        while(matcher.find()) {
+            paragraph.add(usfm.substring(lastIndex, matcher.start()));
+            Chunk chunk = new Chunk();
+            chunk.setFont(superScriptFont);
+            chunk.setTextRise(6);
+            chunk.append(matcher.group(1));
+            chunk.append(" ");
+            paragraph.add(chunk);
+            lastIndex = matcher.end();
+        }
+        paragraph.add(usfm.substring(lastIndex));
+        return paragraph;
+    }
+
+    private static PdfPCell createCell(Paragraph paragraph) {
+        PdfPCell cell = new PdfPCell();
+        cell.addElement(paragraph);
+        cell.setRunDirection(PdfWriter.RUN_DIRECTION_LTR);
+        cell.setBorder(Rectangle.NO_BORDER);
+        return cell;
+    }
+}
@@ -0,0 +1,84 @@
+package com.door43.translationstudio.benchmarks;
+
+import com.door43.util.FileUtilities;
+import com.door43.util.Zip;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading, writing and archiving the chunk files of a target translation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectStorageBenchmark {
+    @Param({"50", "150"})
+    public int chapters;
+
+    private SyntheticProject project;
+    private File workDir;
+    private File projectDir;
+    private File archive;
+
+    @Setup
+    public void setup() throws Exception {
+        project = new SyntheticProject(chapters, 10);
+        workDir = SyntheticProject.createTempDir("storage");
+        projectDir = new File(workDir, "en_gen_text_ulb");
+        project.writeTo(projectDir);
+        archive = new File(workDir, "project.zip");
+        Zip.zip(projectDir.getAbsolutePath(), archive.getAbsolutePath());
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtilities.deleteQuietly(workDir);
+    }
+
+    /**
+     * Reads every chunk as when opening a translation for review or export
+     */
+    @Benchmark
+    public void readChunks(Blackhole blackhole) throws Exception {
+        for(String slug:project.chunkSlugs) {
+            blackhole.consume(FileUtilities.readFileToString(new File(projectDir, slug + ".txt")));
+        }
+    }
+
+    /**
+     * Writes every chunk as when importing a translation
+     */
+    @Benchmark
+    public void writeChunks() throws Exception {
+        File dir = new File(workDir, "write");
+        project.writeTo(dir);
+    }
+
+    /**
+     * Archives the project as when exporting or backing up
+     */
+    @Benchmark
+    public void zip() throws Exception {
+        Zip.zip(projectDir.getAbsolutePath(), new File(workDir, "export.zip").getAbsolutePath());
+    }
+
+    /**
+     * Extracts an archived project as when importing
+     */
+    @Benchmark
+    public void unzip() throws Exception {
+        Zip.unzip(archive, new File(workDir, "import"));
+    }
+}
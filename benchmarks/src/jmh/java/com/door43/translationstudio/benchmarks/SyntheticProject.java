@@ -0,0 +1,125 @@
+package com.door43.translationstudio.benchmarks;
+
+import com.door43.util.FileUtilities;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a target translation shaped like a book of the Bible.
+ * The layout matches the one written by the app: a manifest, a folder for each chapter
+ * and a file for each chunk containing USFM verse markers.
+ */
+class SyntheticProject {
+    static final int VERSES_PER_CHUNK = 3;
+    static final int WORDS_PER_VERSE = 25;
+    private static final String[] WORDS = {"the", "and", "of", "to", "in", "that", "he", "shall", "unto",
+            "for", "his", "a", "they", "be", "is", "lord", "him", "them", "not", "it", "with", "all", "thou"};
+
+    final int chapters;
+    final int chunksPerChapter;
+    final List<String> chunkSlugs = new ArrayList<>();
+    final List<String> chunkBodies = new ArrayList<>();
+    final List<String> chapterBodies = new ArrayList<>();
+
+    /**
+     * @param chapters the number of chapters e.g. 50 for Genesis or 150 for Psalms
+     * @param chunksPerChapter
+     */
+    SyntheticProject(int chapters, int chunksPerChapter) {
+        this.chapters = chapters;
+        this.chunksPerChapter = chunksPerChapter;
+        Random random = new Random(chapters * 31 + chunksPerChapter);
+        for(int c = 1; c <= chapters; c ++) {
+            StringBuilder chapter = new StringBuilder();
+            int verse = 1;
+            for(int k = 0; k < chunksPerChapter; k ++) {
+                StringBuilder chunk = new StringBuilder();
+                for(int v = 0; v < VERSES_PER_CHUNK; v ++) {
+                    chunk.append("\\v ").append(verse ++).append(' ');
+                    for(int w = 0; w < WORDS_PER_VERSE; w ++) {
+                        chunk.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                    }
+                }
+                chunkSlugs.add(slug(c) + "/" + slug(verse - VERSES_PER_CHUNK));
+                chunkBodies.add(chunk.toString());
+                chapter.append(chunk);
+            }
+            chapterBodies.add(chapter.toString());
+        }
+    }
+
+    /**
+     * The manifest of the project with every chunk marked as finished
+     * @return
+     * @throws Exception
+     */
+    JSONObject manifest() throws Exception {
+        JSONObject manifest = new JSONObject();
+        manifest.put("package_version", 7);
+        manifest.put("format", "usfm");
+        manifest.put("project", new JSONObject().put("id", "gen").put("name", "Genesis"));
+        manifest.put("target_language", new JSONObject().put("id", "en").put("name", "English").put("direction", "ltr"));
+        manifest.put("translators", new JSONArray().put("benchmark"));
+        manifest.put("source_translations", new JSONArray());
+        JSONArray finished = new JSONArray();
+        for(String slug:chunkSlugs) {
+            finished.put(slug.replace('/', '-'));
+        }
+        manifest.put("finished_chunks", finished);
+        return manifest;
+    }
+
+    /**
+     * The project as a USFM book the way it is exported and imported.
+     * Every verse is on its own line and every chunk after the first in a chapter starts with a section marker.
+     * @return
+     */
+    String usfmBook() {
+        StringBuilder book = new StringBuilder();
+        book.append("\\id GEN\n\\toc1 Genesis\n\\toc2 Genesis\n\\toc3 gen\n\\h Genesis\n\\mt Genesis\n");
+        int chunk = 0;
+        for(int c = 1; c <= chapters; c ++) {
+            book.append("\\c ").append(c).append("\n\\p\n");
+            for(int k = 0; k < chunksPerChapter; k ++) {
+                if(k > 0) {
+                    book.append("\\s5\n");
+                }
+                book.append(chunkBodies.get(chunk ++).replace(" \\v ", "\n\\v ")).append('\n');
+            }
+        }
+        return book.toString();
+    }
+
+    /**
+     * Writes the project to a directory
+     * @param dir
+     * @throws Exception
+     */
+    void writeTo(File dir) throws Exception {
+        FileUtilities.forceMkdir(dir);
+        FileUtilities.writeStringToFile(new File(dir, "manifest.json"), manifest().toString());
+        FileUtilities.forceMkdir(new File(dir, "front"));
+        FileUtilities.writeStringToFile(new File(dir, "front/title.txt"), "Genesis");
+        for(int i = 0; i < chunkSlugs.size(); i ++) {
+            File file = new File(dir, chunkSlugs.get(i) + ".txt");
+            FileUtilities.forceMkdir(file.getParentFile());
+            FileUtilities.writeStringToFile(file, chunkBodies.get(i));
+        }
+    }
+
+    static File createTempDir(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix).toFile();
+    }
+
+    private static String slug(int number) {
+        return number < 10 ? "0" + number : Integer.toString(number);
+    }
+}
@@ -0,0 +1,91 @@
+package com.door43.translationstudio.benchmarks;
+
+import com.door43.translationstudio.core.UsfmChapterReader;
+import com.door43.translationstudio.core.UsfmVerses;
+import com.door43.util.FileUtilities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reading a USFM book file and splitting it into chapters and verses as the USFM import does
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UsfmBookBenchmark {
+    private static final Pattern CHAPTER = Pattern.compile(UsfmChapterReader.PATTERN);
+
+    @Param({"50", "150"})
+    public int chapters;
+
+    private File workDir;
+    private File bookFile;
+
+    @Setup
+    public void setup() throws Exception {
+        SyntheticProject project = new SyntheticProject(chapters, 10);
+        workDir = SyntheticProject.createTempDir("usfm");
+        bookFile = new File(workDir, "01-GEN.usfm");
+        FileUtilities.writeStringToFile(bookFile, project.usfmBook());
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtilities.deleteQuietly(workDir);
+    }
+
+    /**
+     * Reads the book one chapter at a time and walks the verse markers of each chapter
+     */
+    @Benchmark
+    public void readChapters(Blackhole blackhole) throws Exception {
+        UsfmChapterReader reader = new UsfmChapterReader(new InputStreamReader(new FileInputStream(bookFile)));
+        try {
+            UsfmChapterReader.Section section;
+            while((section = reader.next()) != null) {
+                walkVerses(section.text, blackhole);
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads the whole book into memory and splits it at the chapter markers.
+     * This is how books were read before they were read one chapter at a time.
+     */
+    @Benchmark
+    public void readWholeBook(Blackhole blackhole) throws Exception {
+        String book = FileUtilities.readFileToString(bookFile);
+        Matcher matcher = CHAPTER.matcher(book);
+        int lastIndex = 0;
+        while(matcher.find()) {
+            walkVerses(book.subSequence(lastIndex, matcher.start()), blackhole);
+            lastIndex = matcher.end();
+        }
+        walkVerses(book.subSequence(lastIndex, book.length()), blackhole);
+    }
+
+    private static void walkVerses(CharSequence chapter, Blackhole blackhole) {
+        UsfmVerses.Markers.Cursor cursor = new UsfmVerses.Markers(chapter).cursor();
+        while(cursor.find()) {
+            blackhole.consume(cursor.start());
+        }
+    }
+}
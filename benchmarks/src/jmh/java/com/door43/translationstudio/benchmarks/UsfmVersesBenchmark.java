@@ -0,0 +1,56 @@
+package com.door43.translationstudio.benchmarks;
+
+import com.door43.translationstudio.core.UsfmVerses;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verse parsing used while rendering, validating and importing USFM
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UsfmVersesBenchmark {
+    @Param({"50", "150"})
+    public int chapters;
+
+    private SyntheticProject project;
+
+    @Setup
+    public void setup() {
+        project = new SyntheticProject(chapters, 10);
+    }
+
+    /**
+     * Finds the verse range of every chunk in the book
+     */
+    @Benchmark
+    public void chunkVerseRanges(Blackhole blackhole) {
+        for(String body:project.chunkBodies) {
+            blackhole.consume(UsfmVerses.getVerseRange(body));
+        }
+    }
+
+    /**
+     * Scans every chapter for verse markers as the USFM import does
+     */
+    @Benchmark
+    public void chapterVerseMarkers(Blackhole blackhole) {
+        for(String body:project.chapterBodies) {
+            UsfmVerses.Markers.Cursor cursor = new UsfmVerses.Markers(body).cursor();
+            while(cursor.find()) {
+                blackhole.consume(cursor.start());
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.unfoldingword.tools.logger;
+
+/**
+ * Stands in for the Android logger when the app sources are compiled for the JVM benchmarks.
+ * Only the methods used by the benchmarked sources are provided.
+ * Nothing is logged so console output does not add to the measurements.
+ */
+public class Logger {
+
+    private Logger() {
+    }
+
+    public static void i(String tag, String message) {
+    }
+
+    public static void w(String tag, String message) {
+    }
+
+    public static void w(String tag, String message, Throwable t) {
+    }
+
+    public static void e(String tag, String message) {
+    }
+
+    public static void e(String tag, String message, Throwable t) {
+    }
+}